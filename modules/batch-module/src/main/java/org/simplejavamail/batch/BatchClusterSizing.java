@@ -0,0 +1,56 @@
+package org.simplejavamail.batch;
+
+import java.util.OptionalInt;
+
+/**
+ * Immutable snapshot of how many connections one cluster uses and allows, for monitoring and for deciding on a
+ * {@link BatchTransportExecutor#resizeCluster(Object, int) resize}.
+ */
+public final class BatchClusterSizing {
+
+	private final int activeLeases;
+	private final int limit;
+	private final int capacity;
+	private final int serverLimit;
+
+	BatchClusterSizing(final int activeLeases, final int limit, final int capacity, final int serverLimit) {
+		this.activeLeases = activeLeases;
+		this.limit = limit;
+		this.capacity = capacity;
+		this.serverLimit = serverLimit;
+	}
+
+	/** @return the number of transports currently claimed from the cluster */
+	public int getActiveLeases() {
+		return activeLeases;
+	}
+
+	/** @return the number of transports the cluster currently allows to be claimed at once */
+	public int getLimit() {
+		return limit;
+	}
+
+	/** @return the maximum pool size times the number of registered Sessions, which the limit never exceeds */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the number of connections the cluster's servers were found to accept, when one of them replied 421
+	 * because of too many connections and the cluster hasn't recovered to its capacity or been resized since, raised by
+	 * one for each minute without another such reply
+	 */
+	public OptionalInt getServerLimit() {
+		return serverLimit > 0 ? OptionalInt.of(serverLimit) : OptionalInt.empty();
+	}
+
+	@Override
+	public String toString() {
+		return "BatchClusterSizing{" +
+				"activeLeases=" + activeLeases +
+				", limit=" + limit +
+				", capacity=" + capacity +
+				", serverLimit=" + (serverLimit > 0 ? String.valueOf(serverLimit) : "none") +
+				'}';
+	}
+}
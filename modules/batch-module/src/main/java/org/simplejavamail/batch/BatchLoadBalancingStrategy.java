@@ -12,5 +12,22 @@ public enum BatchLoadBalancingStrategy {
 	/**
 	 * Select a registered Session pool randomly for each claim.
 	 */
-	RANDOM_ACCESS
+	RANDOM_ACCESS,
+
+	/**
+	 * Select the registered Session pool with the fewest claims outstanding, which are the transports claimed from it plus the claims still waiting
+	 * for one. Pools ejected after consecutive failures are skipped.
+	 *
+	 * @see BatchTransportPoolConfiguration.Builder#withEjectAfterConsecutiveFailures(int)
+	 */
+	LEAST_OUTSTANDING,
+
+	/**
+	 * Select the registered Session pool with the lowest expected latency: the moving average of how long its transports were held by successful
+	 * operations, times the claims outstanding on it plus one. Pools without measurements yet are tried first, and pools ejected after consecutive
+	 * failures are skipped.
+	 *
+	 * @see BatchTransportPoolConfiguration.Builder#withEjectAfterConsecutiveFailures(int)
+	 */
+	EWMA_LATENCY
 }
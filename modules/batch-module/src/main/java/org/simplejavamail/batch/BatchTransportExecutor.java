@@ -3,13 +3,14 @@ package org.simplejavamail.batch;
 import jakarta.mail.Session;
 import org.simplejavamail.internal.batchsupport.BatchTransportEngine;
 import org.simplejavamail.internal.batchsupport.concurrent.NonJvmBlockingThreadPoolExecutor;
+import org.simplejavamail.internal.batchsupport.concurrent.StripedOperationCounter;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -28,6 +29,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * waits for all accepted work, including work queued on a caller-owned executor; that executor therefore must continue
  * making progress. Forced shutdown rejects new claims, invalidates active leases, and cancels not-yet-started facade
  * tasks, but cannot forcibly stop arbitrary callback code that ignores interruption.
+ * <p>
+ * Accepting and finishing work takes no shared lock: operations in progress are counted on striped counters, and only
+ * shutdown itself synchronizes with the threads finishing the last accepted work.
  *
  * @param <K> cluster-key type
  */
@@ -40,15 +44,16 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 
 	private enum State { OPEN, CLOSING, CLOSED }
 
+	// guards lifecycle transitions and lets shutdown wait for accepted work; not taken when accepting or finishing work while open
 	private final Object lifecycleMonitor = new Object();
 	private final BatchTransportEngine<K> engine;
 	private final BatchTransportPoolConfiguration defaultPoolConfiguration;
 	private final Map<K, BatchTransportPoolConfiguration> clusterConfigurations;
 	private final ExecutorService executorService;
 	private final boolean ownsExecutorService;
-	private final Set<AsyncSubmission<?>> asyncSubmissions = new HashSet<>();
-	private State state = State.OPEN;
-	private int acceptedOperations;
+	private final Set<AsyncSubmission<?>> asyncSubmissions = ConcurrentHashMap.newKeySet();
+	private final StripedOperationCounter acceptedOperations = new StripedOperationCounter();
+	private volatile State state = State.OPEN;
 	private boolean forceRequested;
 	private CompletableFuture<Void> shutdownFuture;
 
@@ -100,6 +105,34 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 		return this;
 	}
 
+	/**
+	 * Sets how many connections a cluster may use at once, for example ahead of a known peak. This replaces any limit
+	 * learned from a server replying 421 because of too many connections. The cluster never exceeds the maximum pool
+	 * size per registered Session, and an adaptively sized cluster only grows to the new size when claims have to wait.
+	 *
+	 * @param clusterKey registered cluster
+	 * @param maxConnections a positive number of connections
+	 * @return this facade
+	 * @throws BatchTransportException when no Session is registered under the cluster key
+	 * @see BatchTransportPoolConfiguration.Builder#withAdaptiveSizing(boolean)
+	 */
+	public BatchTransportExecutor<K> resizeCluster(final K clusterKey, final int maxConnections) {
+		engine.resize(clusterKey, maxConnections);
+		return this;
+	}
+
+	/**
+	 * Reports how many connections a cluster uses and allows.
+	 *
+	 * @param clusterKey cluster to report on
+	 * @return a snapshot of the cluster's sizing, all zero for an unknown cluster
+	 */
+	public BatchClusterSizing getClusterSizing(final K clusterKey) {
+		Objects.requireNonNull(clusterKey, "clusterKey");
+		return new BatchClusterSizing(engine.countActiveLeases(clusterKey), engine.countLimit(clusterKey),
+				engine.countCapacity(clusterKey), engine.countServerLimit(clusterKey));
+	}
+
 	/**
 	 * Runs an operation using whichever registered Session the cluster selects.
 	 *
@@ -188,9 +221,7 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 	 * @return {@code true} once this facade no longer accepts new work
 	 */
 	public boolean isShutdown() {
-		synchronized (lifecycleMonitor) {
-			return state != State.OPEN;
-		}
+		return state != State.OPEN;
 	}
 
 	/**
@@ -217,11 +248,11 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 			final BatchTransportOperation<T, E> operation) throws E {
 		Objects.requireNonNull(clusterKey, "clusterKey");
 		Objects.requireNonNull(operation, "operation");
-		beginOperation();
+		final int stripe = beginOperation("execute work");
 		try {
 			return engine.execute(clusterKey, stickySession, operation);
 		} finally {
-			finishOperation();
+			finishOperation(stripe);
 		}
 	}
 
@@ -229,11 +260,12 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 			final BatchTransportOperation<T, E> operation) {
 		Objects.requireNonNull(clusterKey, "clusterKey");
 		Objects.requireNonNull(operation, "operation");
-		final AsyncSubmission<T> submission = new AsyncSubmission<>(clusterKey, stickySession, operation);
-		synchronized (lifecycleMonitor) {
-			ensureOpen("submit work");
-			acceptedOperations++;
-			asyncSubmissions.add(submission);
+		final AsyncSubmission<T> submission = new AsyncSubmission<>(clusterKey, stickySession, operation, acceptedOperations.begin());
+		asyncSubmissions.add(submission);
+		if (state != State.OPEN) {
+			final BatchTransportException rejection = shutdownStartedException("submit work");
+			submission.cancel(rejection);
+			throw rejection;
 		}
 		try {
 			executorService.execute(submission);
@@ -243,17 +275,27 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 		return submission.future;
 	}
 
-	private void beginOperation() {
-		synchronized (lifecycleMonitor) {
-			ensureOpen("execute work");
-			acceptedOperations++;
+	/**
+	 * Counts the operation before checking the state, so shutdown, which changes the state before it checks the count, either sees the operation
+	 * or the operation sees that shutdown has begun.
+	 *
+	 * @return the stripe the operation is counted on
+	 */
+	private int beginOperation(final String operation) {
+		final int stripe = acceptedOperations.begin();
+		if (state != State.OPEN) {
+			finishOperation(stripe);
+			throw shutdownStartedException(operation);
 		}
+		return stripe;
 	}
 
-	private void finishOperation() {
-		synchronized (lifecycleMonitor) {
-			acceptedOperations--;
-			lifecycleMonitor.notifyAll();
+	private void finishOperation(final int stripe) {
+		acceptedOperations.end(stripe);
+		if (state != State.OPEN) {
+			synchronized (lifecycleMonitor) {
+				lifecycleMonitor.notifyAll();
+			}
 		}
 	}
 
@@ -298,7 +340,7 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 	private void completeShutdown() {
 		try {
 			synchronized (lifecycleMonitor) {
-				while (acceptedOperations != 0) {
+				while (!acceptedOperations.isZero()) {
 					lifecycleMonitor.wait();
 				}
 			}
@@ -339,23 +381,29 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 
 	private void ensureOpen(final String operation) {
 		if (state != State.OPEN) {
-			throw new BatchTransportException("Cannot " + operation + " after shutdown has begun");
+			throw shutdownStartedException(operation);
 		}
 	}
 
+	private static BatchTransportException shutdownStartedException(final String operation) {
+		return new BatchTransportException("Cannot " + operation + " after shutdown has begun");
+	}
+
 	private final class AsyncSubmission<T> implements Runnable {
 		private final K clusterKey;
 		private final Session stickySession;
 		private final BatchTransportOperation<T, ? extends Exception> operation;
+		private final int stripe;
 		private final CompletableFuture<T> future = new CompletableFuture<>();
 		private final AtomicBoolean executionClaimed = new AtomicBoolean();
 		private final AtomicBoolean operationFinished = new AtomicBoolean();
 
 		private AsyncSubmission(final K clusterKey, final Session stickySession,
-				final BatchTransportOperation<T, ? extends Exception> operation) {
+				final BatchTransportOperation<T, ? extends Exception> operation, final int stripe) {
 			this.clusterKey = clusterKey;
 			this.stickySession = stickySession;
 			this.operation = operation;
+			this.stripe = stripe;
 		}
 
 		@Override
@@ -381,11 +429,8 @@ public final class BatchTransportExecutor<K> implements AutoCloseable {
 
 		private void finish() {
 			if (operationFinished.compareAndSet(false, true)) {
-				synchronized (lifecycleMonitor) {
-					asyncSubmissions.remove(this);
-					acceptedOperations--;
-					lifecycleMonitor.notifyAll();
-				}
+				asyncSubmissions.remove(this);
+				finishOperation(stripe);
 			}
 		}
 	}
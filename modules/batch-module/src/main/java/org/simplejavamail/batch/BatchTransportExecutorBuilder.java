@@ -93,6 +93,114 @@ public final class BatchTransportExecutorBuilder<K> {
 		return this;
 	}
 
+	/**
+	 * Sets whether the default number of connections a cluster allows at once adapts to the load.
+	 *
+	 * @param adaptiveSizing {@code true} to adapt between the core and maximum sizes
+	 * @return this builder
+	 * @see BatchTransportPoolConfiguration.Builder#withAdaptiveSizing(boolean)
+	 */
+	public BatchTransportExecutorBuilder<K> withAdaptiveSizing(final boolean adaptiveSizing) {
+		defaultPoolConfiguration.withAdaptiveSizing(adaptiveSizing);
+		return this;
+	}
+
+	/**
+	 * Sets the default claim wait after which an adaptively sized cluster allows one more connection.
+	 *
+	 * @param growAfterClaimWaitMillis a nonnegative duration in milliseconds
+	 * @return this builder
+	 */
+	public BatchTransportExecutorBuilder<K> withGrowAfterClaimWaitMillis(final int growAfterClaimWaitMillis) {
+		defaultPoolConfiguration.withGrowAfterClaimWaitMillis(growAfterClaimWaitMillis);
+		return this;
+	}
+
+	/**
+	 * Sets the default time an adaptively sized cluster must leave connections unused before it allows one less.
+	 *
+	 * @param shrinkAfterIdleMillis a positive duration in milliseconds
+	 * @return this builder
+	 */
+	public BatchTransportExecutorBuilder<K> withShrinkAfterIdleMillis(final int shrinkAfterIdleMillis) {
+		defaultPoolConfiguration.withShrinkAfterIdleMillis(shrinkAfterIdleMillis);
+		return this;
+	}
+
+	/**
+	 * Sets the default number of consecutive failures after which a Session pool is ejected from its cluster. Ejection only applies to clusters
+	 * using the {@link BatchLoadBalancingStrategy#LEAST_OUTSTANDING} or {@link BatchLoadBalancingStrategy#EWMA_LATENCY} strategy; with the
+	 * other strategies, the upstream pool selects the Session and this setting has no effect.
+	 *
+	 * @param ejectAfterConsecutiveFailures a nonnegative count; zero disables ejection
+	 * @return this builder
+	 * @see BatchTransportPoolConfiguration.Builder#withEjectAfterConsecutiveFailures(int)
+	 */
+	public BatchTransportExecutorBuilder<K> withEjectAfterConsecutiveFailures(final int ejectAfterConsecutiveFailures) {
+		defaultPoolConfiguration.withEjectAfterConsecutiveFailures(ejectAfterConsecutiveFailures);
+		return this;
+	}
+
+	/**
+	 * Sets the default time an ejected Session pool is skipped, which is also how long its gradual reintroduction takes. Like ejection itself,
+	 * this only applies to the {@link BatchLoadBalancingStrategy#LEAST_OUTSTANDING} and {@link BatchLoadBalancingStrategy#EWMA_LATENCY} strategies.
+	 *
+	 * @param ejectionMillis a positive duration in milliseconds
+	 * @return this builder
+	 */
+	public BatchTransportExecutorBuilder<K> withEjectionMillis(final int ejectionMillis) {
+		defaultPoolConfiguration.withEjectionMillis(ejectionMillis);
+		return this;
+	}
+
+	/**
+	 * Sets whether the warm connections of a Session are opened in the background when it is registered.
+	 *
+	 * @param prewarm {@code true} to open connections on registration
+	 * @return this builder
+	 * @see BatchTransportPoolConfiguration.Builder#withPrewarm(boolean)
+	 */
+	public BatchTransportExecutorBuilder<K> withPrewarm(final boolean prewarm) {
+		defaultPoolConfiguration.withPrewarm(prewarm);
+		return this;
+	}
+
+	/**
+	 * Sets the default interval at which the warm connections of idle Sessions are checked and reopened when dropped.
+	 *
+	 * @param connectionKeepAliveMillis a nonnegative duration in milliseconds; zero disables the checks
+	 * @return this builder
+	 * @see BatchTransportPoolConfiguration.Builder#withConnectionKeepAliveMillis(int)
+	 */
+	public BatchTransportExecutorBuilder<K> withConnectionKeepAliveMillis(final int connectionKeepAliveMillis) {
+		defaultPoolConfiguration.withConnectionKeepAliveMillis(connectionKeepAliveMillis);
+		return this;
+	}
+
+	/**
+	 * Sets the default number of messages after which a connection is closed and replaced.
+	 *
+	 * @param maxMessagesPerConnection a nonnegative count; zero reuses connections without limit
+	 * @return this builder
+	 * @see BatchTransportPoolConfiguration.Builder#withMaxMessagesPerConnection(int)
+	 */
+	public BatchTransportExecutorBuilder<K> withMaxMessagesPerConnection(final int maxMessagesPerConnection) {
+		defaultPoolConfiguration.withMaxMessagesPerConnection(maxMessagesPerConnection);
+		return this;
+	}
+
+	/**
+	 * Sets the default age after which a connection is closed and replaced.
+	 *
+	 * @param maxConnectionAgeMillis a nonnegative duration in milliseconds; zero reuses connections regardless of their age
+	 * @return this builder
+	 * @see BatchTransportPoolConfiguration.Builder#withMaxConnectionAgeMillis(int)
+	 */
+	public BatchTransportExecutorBuilder<K> withMaxConnectionAgeMillis(final int maxConnectionAgeMillis) {
+		defaultPoolConfiguration.withMaxConnectionAgeMillis(maxConnectionAgeMillis);
+		return this;
+	}
+
 	/**
 	 * Supplies a complete pool configuration for one cluster. The first Session registered for a cluster fixes that
 	 * cluster's upstream pool settings.
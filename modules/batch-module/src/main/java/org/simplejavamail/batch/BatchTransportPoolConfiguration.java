@@ -21,12 +21,39 @@ public final class BatchTransportPoolConfiguration {
 	public static final int DEFAULT_EXPIRE_AFTER_MILLIS = 5000;
 	/** Default cluster selection strategy. */
 	public static final BatchLoadBalancingStrategy DEFAULT_LOAD_BALANCING_STRATEGY = BatchLoadBalancingStrategy.ROUND_ROBIN;
+	/** Default for adaptive sizing, which is off, so the whole maximum is available right away. */
+	public static final boolean DEFAULT_ADAPTIVE_SIZING = false;
+	/** Default claim wait, in milliseconds, after which an adaptively sized cluster allows one more connection. */
+	public static final int DEFAULT_GROW_AFTER_CLAIM_WAIT_MILLIS = 50;
+	/** Default time, in milliseconds, that an adaptively sized cluster must leave connections unused before it allows one less. */
+	public static final int DEFAULT_SHRINK_AFTER_IDLE_MILLIS = 30000;
+	/** Default number of consecutive failures after which a Session pool is ejected from its cluster. */
+	public static final int DEFAULT_EJECT_AFTER_CONSECUTIVE_FAILURES = 5;
+	/** Default time, in milliseconds, that an ejected Session pool is skipped, and then the time it takes to be fully reintroduced. */
+	public static final int DEFAULT_EJECTION_MILLIS = 30000;
+	/** Default for pre-warming, which is off, so connections are opened by the first claims that need them. */
+	public static final boolean DEFAULT_PREWARM = false;
+	/** Default interval, in milliseconds, at which idle connections are checked, which is {@code 0}, so they are only checked when claimed. */
+	public static final int DEFAULT_CONNECTION_KEEP_ALIVE_MILLIS = 0;
+	/** Default maximum number of messages sent over one connection, which is {@code 0}, so connections are reused without limit. */
+	public static final int DEFAULT_MAX_MESSAGES_PER_CONNECTION = 0;
+	/** Default maximum age of a connection, in milliseconds, which is {@code 0}, so connections are reused regardless of their age. */
+	public static final int DEFAULT_MAX_CONNECTION_AGE_MILLIS = 0;
 
 	private final int corePoolSize;
 	private final int maxPoolSize;
 	private final int claimTimeoutMillis;
 	private final int expireAfterMillis;
 	private final BatchLoadBalancingStrategy loadBalancingStrategy;
+	private final boolean adaptiveSizing;
+	private final int growAfterClaimWaitMillis;
+	private final int shrinkAfterIdleMillis;
+	private final int ejectAfterConsecutiveFailures;
+	private final int ejectionMillis;
+	private final boolean prewarm;
+	private final int connectionKeepAliveMillis;
+	private final int maxMessagesPerConnection;
+	private final int maxConnectionAgeMillis;
 
 	private BatchTransportPoolConfiguration(final Builder builder) {
 		this.corePoolSize = builder.corePoolSize;
@@ -34,6 +61,15 @@ public final class BatchTransportPoolConfiguration {
 		this.claimTimeoutMillis = builder.claimTimeoutMillis;
 		this.expireAfterMillis = builder.expireAfterMillis;
 		this.loadBalancingStrategy = builder.loadBalancingStrategy;
+		this.adaptiveSizing = builder.adaptiveSizing;
+		this.growAfterClaimWaitMillis = builder.growAfterClaimWaitMillis;
+		this.shrinkAfterIdleMillis = builder.shrinkAfterIdleMillis;
+		this.ejectAfterConsecutiveFailures = builder.ejectAfterConsecutiveFailures;
+		this.ejectionMillis = builder.ejectionMillis;
+		this.prewarm = builder.prewarm;
+		this.connectionKeepAliveMillis = builder.connectionKeepAliveMillis;
+		this.maxMessagesPerConnection = builder.maxMessagesPerConnection;
+		this.maxConnectionAgeMillis = builder.maxConnectionAgeMillis;
 	}
 
 	/**
@@ -80,6 +116,51 @@ public final class BatchTransportPoolConfiguration {
 		return loadBalancingStrategy;
 	}
 
+	/** @return whether the number of connections a cluster allows at once adapts to the load, between the core and maximum sizes */
+	public boolean isAdaptiveSizing() {
+		return adaptiveSizing;
+	}
+
+	/** @return the claim wait after which an adaptively sized cluster allows one more connection, in milliseconds */
+	public int getGrowAfterClaimWaitMillis() {
+		return growAfterClaimWaitMillis;
+	}
+
+	/** @return how long an adaptively sized cluster must leave connections unused before it allows one less, in milliseconds */
+	public int getShrinkAfterIdleMillis() {
+		return shrinkAfterIdleMillis;
+	}
+
+	/** @return the number of consecutive failures after which a Session pool is ejected from its cluster, or {@code 0} when pools are never ejected */
+	public int getEjectAfterConsecutiveFailures() {
+		return ejectAfterConsecutiveFailures;
+	}
+
+	/** @return how long an ejected Session pool is skipped, and then how long it takes to be fully reintroduced, in milliseconds */
+	public int getEjectionMillis() {
+		return ejectionMillis;
+	}
+
+	/** @return whether the core connections of a Session (at least one) are opened in the background when it is registered */
+	public boolean isPrewarm() {
+		return prewarm;
+	}
+
+	/** @return the interval at which the core connections (at least one) of idle Sessions are checked, in milliseconds, or {@code 0} when they aren't */
+	public int getConnectionKeepAliveMillis() {
+		return connectionKeepAliveMillis;
+	}
+
+	/** @return the number of messages after which a connection is closed instead of reused, or {@code 0} when there is no limit */
+	public int getMaxMessagesPerConnection() {
+		return maxMessagesPerConnection;
+	}
+
+	/** @return the age after which a connection is closed instead of reused, in milliseconds, or {@code 0} when there is no limit */
+	public int getMaxConnectionAgeMillis() {
+		return maxConnectionAgeMillis;
+	}
+
 	@Override
 	public boolean equals(final Object other) {
 		if (this == other) {
@@ -93,12 +174,23 @@ public final class BatchTransportPoolConfiguration {
 				&& maxPoolSize == that.maxPoolSize
 				&& claimTimeoutMillis == that.claimTimeoutMillis
 				&& expireAfterMillis == that.expireAfterMillis
-				&& loadBalancingStrategy == that.loadBalancingStrategy;
+				&& loadBalancingStrategy == that.loadBalancingStrategy
+				&& adaptiveSizing == that.adaptiveSizing
+				&& growAfterClaimWaitMillis == that.growAfterClaimWaitMillis
+				&& shrinkAfterIdleMillis == that.shrinkAfterIdleMillis
+				&& ejectAfterConsecutiveFailures == that.ejectAfterConsecutiveFailures
+				&& ejectionMillis == that.ejectionMillis
+				&& prewarm == that.prewarm
+				&& connectionKeepAliveMillis == that.connectionKeepAliveMillis
+				&& maxMessagesPerConnection == that.maxMessagesPerConnection
+				&& maxConnectionAgeMillis == that.maxConnectionAgeMillis;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(corePoolSize, maxPoolSize, claimTimeoutMillis, expireAfterMillis, loadBalancingStrategy);
+		return Objects.hash(corePoolSize, maxPoolSize, claimTimeoutMillis, expireAfterMillis, loadBalancingStrategy,
+				adaptiveSizing, growAfterClaimWaitMillis, shrinkAfterIdleMillis, ejectAfterConsecutiveFailures, ejectionMillis, prewarm,
+				connectionKeepAliveMillis, maxMessagesPerConnection, maxConnectionAgeMillis);
 	}
 
 	@Override
@@ -109,6 +201,15 @@ public final class BatchTransportPoolConfiguration {
 				", claimTimeoutMillis=" + claimTimeoutMillis +
 				", expireAfterMillis=" + expireAfterMillis +
 				", loadBalancingStrategy=" + loadBalancingStrategy +
+				", adaptiveSizing=" + adaptiveSizing +
+				", growAfterClaimWaitMillis=" + growAfterClaimWaitMillis +
+				", shrinkAfterIdleMillis=" + shrinkAfterIdleMillis +
+				", ejectAfterConsecutiveFailures=" + ejectAfterConsecutiveFailures +
+				", ejectionMillis=" + ejectionMillis +
+				", prewarm=" + prewarm +
+				", connectionKeepAliveMillis=" + connectionKeepAliveMillis +
+				", maxMessagesPerConnection=" + maxMessagesPerConnection +
+				", maxConnectionAgeMillis=" + maxConnectionAgeMillis +
 				'}';
 	}
 
@@ -121,6 +222,15 @@ public final class BatchTransportPoolConfiguration {
 		private int claimTimeoutMillis = DEFAULT_CLAIM_TIMEOUT_MILLIS;
 		private int expireAfterMillis = DEFAULT_EXPIRE_AFTER_MILLIS;
 		private BatchLoadBalancingStrategy loadBalancingStrategy = DEFAULT_LOAD_BALANCING_STRATEGY;
+		private boolean adaptiveSizing = DEFAULT_ADAPTIVE_SIZING;
+		private int growAfterClaimWaitMillis = DEFAULT_GROW_AFTER_CLAIM_WAIT_MILLIS;
+		private int shrinkAfterIdleMillis = DEFAULT_SHRINK_AFTER_IDLE_MILLIS;
+		private int ejectAfterConsecutiveFailures = DEFAULT_EJECT_AFTER_CONSECUTIVE_FAILURES;
+		private int ejectionMillis = DEFAULT_EJECTION_MILLIS;
+		private boolean prewarm = DEFAULT_PREWARM;
+		private int connectionKeepAliveMillis = DEFAULT_CONNECTION_KEEP_ALIVE_MILLIS;
+		private int maxMessagesPerConnection = DEFAULT_MAX_MESSAGES_PER_CONNECTION;
+		private int maxConnectionAgeMillis = DEFAULT_MAX_CONNECTION_AGE_MILLIS;
 
 		private Builder() {
 		}
@@ -131,6 +241,15 @@ public final class BatchTransportPoolConfiguration {
 			this.claimTimeoutMillis = configuration.claimTimeoutMillis;
 			this.expireAfterMillis = configuration.expireAfterMillis;
 			this.loadBalancingStrategy = configuration.loadBalancingStrategy;
+			this.adaptiveSizing = configuration.adaptiveSizing;
+			this.growAfterClaimWaitMillis = configuration.growAfterClaimWaitMillis;
+			this.shrinkAfterIdleMillis = configuration.shrinkAfterIdleMillis;
+			this.ejectAfterConsecutiveFailures = configuration.ejectAfterConsecutiveFailures;
+			this.ejectionMillis = configuration.ejectionMillis;
+			this.prewarm = configuration.prewarm;
+			this.connectionKeepAliveMillis = configuration.connectionKeepAliveMillis;
+			this.maxMessagesPerConnection = configuration.maxMessagesPerConnection;
+			this.maxConnectionAgeMillis = configuration.maxConnectionAgeMillis;
 		}
 
 		/**
@@ -188,6 +307,133 @@ public final class BatchTransportPoolConfiguration {
 			return this;
 		}
 
+		/**
+		 * Sets whether the number of connections a cluster allows at once adapts to the load. An adaptively sized cluster
+		 * starts out allowing the core size (at least one) per Session, allows one more whenever a claim waited
+		 * {@link #withGrowAfterClaimWaitMillis(int) long enough}, up to the maximum size, and one less for each
+		 * {@link #withShrinkAfterIdleMillis(int) period} in which it didn't use all connections it allowed.
+		 * <p>
+		 * Regardless of this setting, a cluster doesn't allow more connections than its servers accepted when one of them
+		 * replied 421 because of too many connections. It allows one more for each minute without another such reply, until
+		 * the maximum size is reached again or the cluster is resized.
+		 *
+		 * @param adaptiveSizing {@code true} to adapt, {@code false} to allow the maximum size right away
+		 * @return this builder
+		 * @see BatchTransportExecutor#resizeCluster(Object, int)
+		 */
+		public Builder withAdaptiveSizing(final boolean adaptiveSizing) {
+			this.adaptiveSizing = adaptiveSizing;
+			return this;
+		}
+
+		/**
+		 * Sets how long a claim may wait before an adaptively sized cluster allows one more connection.
+		 *
+		 * @param growAfterClaimWaitMillis a nonnegative duration in milliseconds
+		 * @return this builder
+		 */
+		public Builder withGrowAfterClaimWaitMillis(final int growAfterClaimWaitMillis) {
+			this.growAfterClaimWaitMillis = growAfterClaimWaitMillis;
+			return this;
+		}
+
+		/**
+		 * Sets how long an adaptively sized cluster must leave connections unused before it allows one less.
+		 *
+		 * @param shrinkAfterIdleMillis a positive duration in milliseconds
+		 * @return this builder
+		 */
+		public Builder withShrinkAfterIdleMillis(final int shrinkAfterIdleMillis) {
+			this.shrinkAfterIdleMillis = shrinkAfterIdleMillis;
+			return this;
+		}
+
+		/**
+		 * Sets after how many consecutive failures a Session pool is ejected from its cluster. An ejected pool is skipped for the
+		 * {@link #withEjectionMillis(int) ejection time}, after which it is reintroduced gradually: over the same time again, it is
+		 * considered for a growing share of claims, and a failure in that period ejects it again right away.
+		 * <p>
+		 * A failure is a claim that couldn't connect, or an operation that failed with its transport. Ejection only applies to the
+		 * {@link BatchLoadBalancingStrategy#LEAST_OUTSTANDING} and {@link BatchLoadBalancingStrategy#EWMA_LATENCY} strategies, and
+		 * when every pool of a cluster is ejected, claims use all of them anyway.
+		 *
+		 * @param ejectAfterConsecutiveFailures a nonnegative count; zero disables ejection
+		 * @return this builder
+		 */
+		public Builder withEjectAfterConsecutiveFailures(final int ejectAfterConsecutiveFailures) {
+			this.ejectAfterConsecutiveFailures = ejectAfterConsecutiveFailures;
+			return this;
+		}
+
+		/**
+		 * Sets how long an ejected Session pool is skipped, which is also how long its gradual reintroduction takes.
+		 *
+		 * @param ejectionMillis a positive duration in milliseconds
+		 * @return this builder
+		 */
+		public Builder withEjectionMillis(final int ejectionMillis) {
+			this.ejectionMillis = ejectionMillis;
+			return this;
+		}
+
+		/**
+		 * Sets whether the warm connections of a Session, which are as many as the core size but at least one, are opened in the
+		 * background when the Session is registered, so the first claims don't wait for the connection, TLS handshake and
+		 * authentication. Connections beyond the core size still expire when left idle, unless kept alive.
+		 *
+		 * @param prewarm {@code true} to open connections on registration, {@code false} to open them when first claimed
+		 * @return this builder
+		 * @see #withConnectionKeepAliveMillis(int)
+		 */
+		public Builder withPrewarm(final boolean prewarm) {
+			this.prewarm = prewarm;
+			return this;
+		}
+
+		/**
+		 * Sets the interval at which the warm connections of Sessions without claims in progress, which are as many as the core
+		 * size but at least one, are checked in the background. Each is checked with a NOOP command (RSET when
+		 * {@code mail.smtp.userset} is set) and reopened when the server dropped it, so a later claim doesn't have to. This also
+		 * keeps them from expiring.
+		 * <p>
+		 * A connection that can't be reopened counts as a failure of its Session's pool.
+		 *
+		 * @param connectionKeepAliveMillis a nonnegative duration in milliseconds; zero disables the checks
+		 * @return this builder
+		 * @see #withEjectAfterConsecutiveFailures(int)
+		 */
+		public Builder withConnectionKeepAliveMillis(final int connectionKeepAliveMillis) {
+			this.connectionKeepAliveMillis = connectionKeepAliveMillis;
+			return this;
+		}
+
+		/**
+		 * Sets the number of messages after which a connection is closed with QUIT and replaced by a new one, for servers that
+		 * limit the messages per connection and would otherwise reply 421 and drop it in the middle of a batch. Each operation
+		 * that completes normally counts as one message, so an operation that sends several messages over its transport should
+		 * divide the server's limit by the number of messages it sends. A connection that is dropped while idle and reconnected
+		 * by the pool starts counting again.
+		 *
+		 * @param maxMessagesPerConnection a nonnegative count; zero reuses connections without limit
+		 * @return this builder
+		 */
+		public Builder withMaxMessagesPerConnection(final int maxMessagesPerConnection) {
+			this.maxMessagesPerConnection = maxMessagesPerConnection;
+			return this;
+		}
+
+		/**
+		 * Sets the age after which a connection is closed with QUIT and replaced by a new one. A claimed connection is closed
+		 * when it is released after reaching this age, and an idle one expires like it would after the idle expiry time.
+		 *
+		 * @param maxConnectionAgeMillis a nonnegative duration in milliseconds; zero reuses connections regardless of their age
+		 * @return this builder
+		 */
+		public Builder withMaxConnectionAgeMillis(final int maxConnectionAgeMillis) {
+			this.maxConnectionAgeMillis = maxConnectionAgeMillis;
+			return this;
+		}
+
 		/**
 		 * Validates and creates the immutable configuration.
 		 *
@@ -211,6 +457,27 @@ public final class BatchTransportPoolConfiguration {
 				throw new IllegalArgumentException("expireAfterMillis must not be negative");
 			}
 			Objects.requireNonNull(loadBalancingStrategy, "loadBalancingStrategy");
+			if (growAfterClaimWaitMillis < 0) {
+				throw new IllegalArgumentException("growAfterClaimWaitMillis must not be negative");
+			}
+			if (shrinkAfterIdleMillis < 1) {
+				throw new IllegalArgumentException("shrinkAfterIdleMillis must be at least one");
+			}
+			if (ejectAfterConsecutiveFailures < 0) {
+				throw new IllegalArgumentException("ejectAfterConsecutiveFailures must not be negative");
+			}
+			if (ejectionMillis < 1) {
+				throw new IllegalArgumentException("ejectionMillis must be at least one");
+			}
+			if (connectionKeepAliveMillis < 0) {
+				throw new IllegalArgumentException("connectionKeepAliveMillis must not be negative");
+			}
+			if (maxMessagesPerConnection < 0) {
+				throw new IllegalArgumentException("maxMessagesPerConnection must not be negative");
+			}
+			if (maxConnectionAgeMillis < 0) {
+				throw new IllegalArgumentException("maxConnectionAgeMillis must not be negative");
+			}
 			return new BatchTransportPoolConfiguration(this);
 		}
 	}
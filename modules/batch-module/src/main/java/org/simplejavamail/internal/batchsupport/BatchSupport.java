@@ -1,19 +1,25 @@
 package org.simplejavamail.internal.batchsupport;
 
 import jakarta.mail.Session;
+import jakarta.mail.Transport;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
+import org.simplejavamail.api.mailer.MetricsRecorder;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 import org.simplejavamail.internal.batchsupport.concurrent.NonJvmBlockingThreadPoolExecutor;
 import org.simplejavamail.internal.modules.BatchModule;
 import org.simplejavamail.internal.util.concurrent.AsyncOperationHelper;
 import org.simplejavamail.smtpconnectionpool.SmtpConnectionPoolClustered;
+import org.simplejavamail.smtpconnectionpool.SmtpTransportLease;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -32,6 +38,8 @@ public class BatchSupport implements BatchModule {
 	@Nullable private BatchTransportEngine<UUID> batchTransportEngine;
 	// Retained as a direct field for diagnostics and compatibility with existing internal tests.
 	@Nullable private SmtpConnectionPoolClustered<UUID> smtpConnectionPool;
+	// like the pool settings, the first Mailer in a cluster that has a metrics recorder determines where the pool metrics go
+	private final Map<UUID, MetricsRecorder> clusterMetricsRecorders = new ConcurrentHashMap<>();
 
 	/**
 	 * @see BatchModule#executeAsync(String, Runnable)
@@ -51,12 +59,13 @@ public class BatchSupport implements BatchModule {
 	}
 
 	/**
-	 * @see BatchModule#createDefaultExecutorService(int, int)
+	 * @see BatchModule#createDefaultExecutorService(int, int, int, ThreadPoolRejectionPolicy)
 	 */
 	@NotNull
 	@Override
-	public ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime) {
-		return new NonJvmBlockingThreadPoolExecutor(threadPoolSize, keepAliveTime);
+	public ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime, final int queueCapacity,
+			@NotNull final ThreadPoolRejectionPolicy rejectionPolicy) {
+		return new NonJvmBlockingThreadPoolExecutor(threadPoolSize, keepAliveTime, queueCapacity, rejectionPolicy);
 	}
 
 	/**
@@ -65,10 +74,22 @@ public class BatchSupport implements BatchModule {
 	@Override
 	public synchronized void registerToCluster(@NotNull final OperationalConfig operationalConfig, @NotNull final UUID clusterKey, @NotNull final Session session) {
 		ensureEngineInitialized(operationalConfig);
-		if (requireNonNull(batchTransportEngine).register(clusterKey, session, PoolSettings.from(operationalConfig, clusterKey))) {
+		final PoolSettings poolSettings = PoolSettings.from(operationalConfig, clusterKey);
+		if (requireNonNull(batchTransportEngine).register(clusterKey, session, poolSettings)) {
 			LOGGER.warn("SMTP Connection pool cluster {} is already configured with pool defaults from the first Mailer instance in that cluster; ignoring later pool settings",
 					clusterKey);
 		}
+		final MetricsRecorder metricsRecorder = operationalConfig.getMetricsRecorder();
+		if (metricsRecorder != MetricsRecorder.NOOP && clusterMetricsRecorders.putIfAbsent(clusterKey, metricsRecorder) == null) {
+			registerPoolGauges(metricsRecorder, requireNonNull(batchTransportEngine), clusterKey);
+		}
+	}
+
+	private static void registerPoolGauges(@NotNull final MetricsRecorder metricsRecorder, @NotNull final BatchTransportEngine<UUID> engine, @NotNull final UUID clusterKey) {
+		final String cluster = clusterKey.toString();
+		metricsRecorder.registerGauge(MetricsRecorder.POOL_ACTIVE_LEASES, () -> engine.countActiveLeases(clusterKey), MetricsRecorder.TAG_CLUSTER, cluster);
+		metricsRecorder.registerGauge(MetricsRecorder.POOL_CAPACITY, () -> engine.countCapacity(clusterKey), MetricsRecorder.TAG_CLUSTER, cluster);
+		metricsRecorder.registerGauge(MetricsRecorder.POOL_LIMIT, () -> engine.countLimit(clusterKey), MetricsRecorder.TAG_CLUSTER, cluster);
 	}
 
 	private void ensureEngineInitialized(@NotNull OperationalConfig operationalConfig) {
@@ -80,14 +101,37 @@ public class BatchSupport implements BatchModule {
 	}
 
 	/**
-	 * @see BatchModule#acquireTransport(UUID, Session, boolean)
+	 * @see BatchModule#acquireTransport(UUID, Session, boolean, boolean)
 	 */
 	@NotNull
 	@Override
-	public LifecycleDelegatingTransport acquireTransport(@NotNull final UUID clusterKey, @NotNull final Session session, boolean stickySession) {
+	public LifecycleDelegatingTransport acquireTransport(@NotNull final UUID clusterKey, @NotNull final Session session, boolean stickySession, boolean onVirtualThread) {
 		final BatchTransportEngine<UUID> engine = requireNonNull(batchTransportEngine,
 				"Connection pool used before it was initialized. This shouldn't be possible.");
-		return new LifecycleDelegatingTransportImpl(engine, engine.claim(clusterKey, stickySession ? session : null));
+		final MetricsRecorder metricsRecorder = clusterMetricsRecorders.getOrDefault(clusterKey, MetricsRecorder.NOOP);
+		final String cluster = clusterKey.toString();
+		final long startTime = System.nanoTime();
+		final SmtpTransportLease lease;
+		try {
+			lease = engine.claim(clusterKey, stickySession ? session : null, onVirtualThread);
+		} catch (final RuntimeException e) {
+			metricsRecorder.recordTime(MetricsRecorder.POOL_CLAIM_WAIT_TIME, System.nanoTime() - startTime,
+					MetricsRecorder.TAG_CLUSTER, cluster, MetricsRecorder.TAG_OUTCOME, MetricsRecorder.OUTCOME_FAILURE);
+			throw e;
+		}
+		metricsRecorder.recordTime(MetricsRecorder.POOL_CLAIM_WAIT_TIME, System.nanoTime() - startTime,
+				MetricsRecorder.TAG_CLUSTER, cluster, MetricsRecorder.TAG_OUTCOME, MetricsRecorder.OUTCOME_SUCCESS);
+		return new LifecycleDelegatingTransportImpl(engine, lease, () -> metricsRecorder.incrementCounter(MetricsRecorder.POOL_INVALIDATED, MetricsRecorder.TAG_CLUSTER, cluster));
+	}
+
+	/**
+	 * @see BatchModule#countMessageSent(Transport)
+	 */
+	@Override
+	public void countMessageSent(@NotNull final Transport transport) {
+		if (batchTransportEngine != null) {
+			batchTransportEngine.countMessageSent(transport);
+		}
 	}
 
 	/**
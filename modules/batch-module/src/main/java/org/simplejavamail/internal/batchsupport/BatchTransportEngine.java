@@ -4,39 +4,82 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import jakarta.mail.URLName;
+import org.bbottema.clusteredobjectpool.core.ClusterConfig;
 import org.bbottema.clusteredobjectpool.core.api.ResourceKey.ResourceClusterAndPoolKey;
 import org.simplejavamail.batch.BatchTransportException;
 import org.simplejavamail.batch.BatchTransportOperation;
 import org.simplejavamail.batch.BatchTransportPoolConfiguration;
+import org.simplejavamail.smtpconnectionpool.SessionTransport;
 import org.simplejavamail.smtpconnectionpool.SmtpConnectionPool;
 import org.simplejavamail.smtpconnectionpool.SmtpConnectionPoolClustered;
 import org.simplejavamail.smtpconnectionpool.SmtpTransportLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.simplejavamail.batch.BatchTransportExecutor.OAUTH2_TOKEN_PROPERTY;
 import static org.simplejavamail.batch.BatchTransportExecutor.OAUTH2_TOKEN_PROVIDER_PROPERTY;
 
-/** Shared transport-lease engine for the public facade and the reflection-loaded Mailer adapter. */
+/**
+ * Shared transport-lease engine for the public facade and the reflection-loaded Mailer adapter.
+ * <p>
+ * Claiming and releasing a transport takes no shared lock: registrations are published as immutable snapshots, which are
+ * replaced as a whole when Sessions are registered or removed, and active leases are tracked in a concurrent map with a
+ * striped count per cluster.
+ * <p>
+ * Each cluster limits how many transports can be claimed at once with a {@link ClusterConnectionLimit}, which adapts to
+ * the load when so configured, and which learns from servers that reply 421 because of too many connections.
+ * <p>
+ * The outstanding claims, latency and failures of each Session's pool are measured by a {@link ClusterSessionSelector}, which
+ * also selects the Session to claim from for the strategies based on these measurements.
+ * <p>
+ * Pre-warming and keep-alive checks run on a single background thread, which is only started for clusters configured to use
+ * them. They claim a Session's warm connections like a sender would, so the upstream pool opens missing connections, and
+ * checks idle ones with a NOOP and reopens them when dropped, off the sending threads. These claims are not counted towards the
+ * cluster's connection limit, so they never hold a permit a sender is waiting for; they are only made while the limit has room.
+ * <p>
+ * Clusters that limit the messages or age of a connection count its use with a {@link ConnectionBudget}, and invalidate
+ * instead of release a transport that reached either limit, which makes the upstream pool close it with QUIT. Messages are
+ * counted as the Mailer reports them sent, or one per operation run by {@link #execute(Object, Session, BatchTransportOperation)}.
+ */
 public final class BatchTransportEngine<K> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(BatchTransportEngine.class);
 	private static final String SMTP_POOL_PROTOCOL = "smtppool";
 
+	// guards changes to the registrations and the lifecycle, which are rare compared to claims
 	private final Object lifecycleMonitor = new Object();
 	private final SmtpConnectionPoolClustered<K> smtpConnectionPool;
 	private final Map<K, PoolSettings> clusterSettings = new HashMap<>();
-	private final Map<K, Set<Session>> registeredSessions = new HashMap<>();
-	private final Set<SmtpTransportLease> activeLeases = Collections.newSetFromMap(new ConcurrentHashMap<SmtpTransportLease, Boolean>());
-	private boolean claimsOpen = true;
+	// copy-on-write: replaced, never modified, so claims can read it without the lifecycle monitor
+	private volatile Map<K, Set<Session>> registeredSessions = Collections.emptyMap();
+	// limits are kept when a cluster loses its last Session, because its leases may still be active
+	private final Map<K, ClusterConnectionLimit> connectionLimits = new ConcurrentHashMap<>();
+	// kept alongside the limits, for the same reason
+	private final Map<K, ClusterSessionSelector> sessionSelectors = new ConcurrentHashMap<>();
+	// only for clusters that limit the messages or age of a connection
+	private final Map<K, ConnectionBudget> connectionBudgets = new ConcurrentHashMap<>();
+	private final Map<SmtpTransportLease, ActiveLease> activeLeases = new ConcurrentHashMap<>();
+	private volatile boolean claimsOpen = true;
 	private boolean shutdownStarted;
+	// started by the first cluster that pre-warms or keeps connections alive
+	private ScheduledExecutorService maintenance;
+	// cancelled when the cluster loses its last Session
+	private final Map<K, ScheduledFuture<?>> keepAliveTasks = new HashMap<>();
 
 	BatchTransportEngine(final PoolSettings defaultSettings) {
 		smtpConnectionPool = new SmtpConnectionPoolClustered<>(requireNonNull(defaultSettings, "defaultSettings").toSmtpClusterConfig());
@@ -67,20 +110,46 @@ public final class BatchTransportEngine<K> {
 			ensureClaimsOpen("register a Session");
 			final PoolSettings existingSettings = clusterSettings.get(clusterKey);
 			if (existingSettings == null) {
-				smtpConnectionPool.registerResourceCluster(clusterKey, settings.<K>toSmtpClusterConfig().getConfigBuilder().build());
+				final ClusterConfig.ClusterConfigBuilder<Session, SessionTransport> clusterConfig = settings.<K>toSmtpClusterConfig().getConfigBuilder();
+				if (settings.hasConnectionBudget()) {
+					final ConnectionBudget connectionBudget = new ConnectionBudget(settings);
+					clusterConfig.allocatorFactory(connectionBudget.track(clusterConfig.build().getAllocatorFactory()));
+					connectionBudgets.put(clusterKey, connectionBudget);
+				}
+				smtpConnectionPool.registerResourceCluster(clusterKey, clusterConfig.build());
 				clusterSettings.put(clusterKey, settings);
 			}
 
-			Set<Session> sessions = registeredSessions.get(clusterKey);
-			if (sessions == null) {
-				sessions = Collections.newSetFromMap(new IdentityHashMap<Session, Boolean>());
-				registeredSessions.put(clusterKey, sessions);
-			}
+			final ClusterConnectionLimit connectionLimit = connectionLimits.computeIfAbsent(clusterKey,
+					k -> new ClusterConnectionLimit(clusterSettings.get(clusterKey)));
+			final ClusterSessionSelector sessionSelector = sessionSelectors.computeIfAbsent(clusterKey,
+					k -> new ClusterSessionSelector(clusterSettings.get(clusterKey)));
+
 			final ResourceClusterAndPoolKey<K, Session> resourceKey = new ResourceClusterAndPoolKey<>(clusterKey, session);
 			if (!smtpConnectionPool.isPoolRegistered(resourceKey)) {
 				smtpConnectionPool.registerResourcePool(resourceKey);
 			}
-			sessions.add(session);
+			final Set<Session> sessions = registeredSessions.get(clusterKey);
+			if (sessions == null || !sessions.contains(session)) {
+				final Set<Session> updatedSessions = Collections.newSetFromMap(new IdentityHashMap<Session, Boolean>());
+				if (sessions != null) {
+					updatedSessions.addAll(sessions);
+				}
+				updatedSessions.add(session);
+				sessionSelector.register(session);
+				final Map<K, Set<Session>> updatedRegistrations = new HashMap<>(registeredSessions);
+				updatedRegistrations.put(clusterKey, Collections.unmodifiableSet(updatedSessions));
+				registeredSessions = Collections.unmodifiableMap(updatedRegistrations);
+				connectionLimit.updateSessionCount(updatedSessions.size());
+				final PoolSettings effectiveSettings = clusterSettings.get(clusterKey);
+				if (effectiveSettings.getConnectionKeepAliveMillis() > 0 && !keepAliveTasks.containsKey(clusterKey)) {
+					keepAliveTasks.put(clusterKey, maintenance().scheduleWithFixedDelay(() -> keepAlive(clusterKey, effectiveSettings.getWarmConnections()),
+							effectiveSettings.getConnectionKeepAliveMillis(), effectiveSettings.getConnectionKeepAliveMillis(), MILLISECONDS));
+				}
+				if (effectiveSettings.isPrewarm()) {
+					maintenance().execute(() -> warm(clusterKey, session, effectiveSettings.getWarmConnections()));
+				}
+			}
 			return existingSettings != null && !existingSettings.equals(settings);
 		}
 	}
@@ -93,6 +162,7 @@ public final class BatchTransportEngine<K> {
 		try {
 			final T result = operation.execute(lease.getSession(), lease.getTransport());
 			completedNormally = true;
+			countMessageSent(lease.getTransport());
 			return result;
 		} catch (RuntimeException | Error failure) {
 			operationFailure = failure;
@@ -106,7 +176,7 @@ public final class BatchTransportEngine<K> {
 				release(lease);
 			} else {
 				try {
-					invalidate(lease);
+					invalidate(lease, operationFailure);
 				} catch (RuntimeException cleanupFailure) {
 					if (operationFailure != null) {
 						operationFailure.addSuppressed(cleanupFailure);
@@ -119,56 +189,223 @@ public final class BatchTransportEngine<K> {
 	}
 
 	SmtpTransportLease claim(final K clusterKey, final Session stickySession) {
+		return claim(clusterKey, stickySession, false);
+	}
+
+	/**
+	 * @param waitForLimit Whether to wait without timeout until the cluster's connection limit allows another claim, which then only waits the
+	 *                     claim timeout for the transport itself. For callers on virtual threads, which can queue up in any number.
+	 */
+	SmtpTransportLease claim(final K clusterKey, final Session stickySession, final boolean waitForLimit) {
 		requireNonNull(clusterKey, "clusterKey");
-		synchronized (lifecycleMonitor) {
-			ensureClaimsOpen("claim a transport");
-			if (!registeredSessions.containsKey(clusterKey)) {
-				throw new BatchTransportException("No Sessions are registered for the requested cluster");
-			}
-			if (stickySession != null && !registeredSessions.get(clusterKey).contains(stickySession)) {
-				throw new BatchTransportException("The requested Session is not registered for the requested cluster");
-			}
+		ensureClaimsOpen("claim a transport");
+		final Set<Session> sessions = registeredSessions.get(clusterKey);
+		if (sessions == null) {
+			throw new BatchTransportException("No Sessions are registered for the requested cluster");
+		}
+		if (stickySession != null && !sessions.contains(stickySession)) {
+			throw new BatchTransportException("The requested Session is not registered for the requested cluster");
 		}
 
+		final ClusterConnectionLimit connectionLimit = connectionLimits.get(clusterKey);
+		final ClusterSessionSelector sessionSelector = sessionSelectors.get(clusterKey);
 		final SmtpTransportLease lease;
 		try {
-			lease = stickySession == null
+			if (!connectionLimit.acquire(waitForLimit)) {
+				throw new BatchTransportException("Timed out waiting for an SMTP transport");
+			}
+		} catch (InterruptedException interrupted) {
+			Thread.currentThread().interrupt();
+			throw new BatchTransportException("Interrupted while waiting for an SMTP transport", interrupted);
+		}
+		final Session targetSession = stickySession != null ? stickySession : sessionSelector.select(sessions);
+		// when the upstream pool selects the Session, its outstanding claim is only counted once it is known
+		SessionPoolHealth health = targetSession != null ? sessionSelector.healthOf(targetSession) : null;
+		if (health != null) {
+			health.claimStarted();
+		}
+		try {
+			lease = targetSession == null
 					? smtpConnectionPool.claimTransportFromCluster(clusterKey)
-					: smtpConnectionPool.claimTransport(new ResourceClusterAndPoolKey<>(clusterKey, stickySession));
+					: smtpConnectionPool.claimTransport(new ResourceClusterAndPoolKey<>(clusterKey, targetSession));
 		} catch (InterruptedException interrupted) {
+			connectionLimit.release();
+			if (health != null) {
+				health.claimAbandoned();
+			}
 			Thread.currentThread().interrupt();
 			throw new BatchTransportException("Interrupted while waiting for an SMTP transport", interrupted);
 		} catch (RuntimeException failure) {
+			connectionLimit.release();
+			if (health != null) {
+				health.failed();
+			}
+			if (ClusterConnectionLimit.isTooManyConnections(failure)) {
+				connectionLimit.learnServerLimit();
+			}
 			throw new BatchTransportException("Unable to claim an SMTP transport", failure);
 		}
 
-		synchronized (lifecycleMonitor) {
-			if (!claimsOpen) {
+		// recorded before checking for shutdown, which closes claims before it collects the active leases, so either shutdown
+		// invalidates this lease or this claim sees that shutdown has begun
+		if (health == null) {
+			health = sessionSelector.healthOf(lease.getSession());
+			health.claimStarted();
+		}
+		connectionLimit.leaseStarted();
+		activeLeases.put(lease, new ActiveLease(connectionLimit, health, connectionBudgets.get(clusterKey)));
+		if (!claimsOpen) {
+			final ActiveLease activeLease = untrack(lease);
+			if (activeLease != null) {
+				activeLease.health.claimAbandoned();
 				lease.invalidate();
-				throw new BatchTransportException("The batch transport executor is shutting down");
 			}
-			activeLeases.add(lease);
+			throw new BatchTransportException("The batch transport executor is shutting down");
 		}
 		return lease;
 	}
 
+	/**
+	 * Returns the transport to its pool, unless it reached its cluster's limit of messages or age, in which case it is closed and replaced.
+	 */
 	void release(final SmtpTransportLease lease) {
+		final ActiveLease trackedLease = activeLeases.get(lease);
+		final boolean spent = trackedLease != null && trackedLease.connectionBudget != null
+				&& trackedLease.connectionBudget.isSpent(lease.getTransport());
 		try {
-			lease.release();
+			if (spent) {
+				lease.invalidate();
+			} else {
+				lease.release();
+			}
 		} catch (RuntimeException failure) {
 			throw new BatchTransportException("Unable to return an SMTP transport to the pool", failure);
 		} finally {
-			activeLeases.remove(lease);
+			final ActiveLease activeLease = untrack(lease);
+			if (activeLease != null) {
+				activeLease.health.succeeded(System.nanoTime() - activeLease.startNanos);
+			}
+		}
+	}
+
+	/**
+	 * Counts a message submitted over the transport towards the budget of its connection, if its cluster limits the messages or age of connections.
+	 */
+	void countMessageSent(final Transport transport) {
+		for (final ConnectionBudget connectionBudget : connectionBudgets.values()) {
+			if (connectionBudget.countMessage(transport)) {
+				return;
+			}
 		}
 	}
 
 	void invalidate(final SmtpTransportLease lease) {
+		invalidate(lease, null);
+	}
+
+	/**
+	 * @param failure what made the transport fail, which counts towards ejecting the Session's pool, and which caps the cluster's connection limit
+	 *                when it is a 421 reply about too many connections; {@code null} when the transport is invalidated for another reason
+	 */
+	void invalidate(final SmtpTransportLease lease, final Throwable failure) {
 		try {
 			lease.invalidate();
-		} catch (RuntimeException failure) {
-			throw new BatchTransportException("Unable to invalidate a failed SMTP transport", failure);
+		} catch (RuntimeException invalidationFailure) {
+			throw new BatchTransportException("Unable to invalidate a failed SMTP transport", invalidationFailure);
+		} finally {
+			final ActiveLease activeLease = untrack(lease);
+			if (activeLease != null) {
+				if (failure != null) {
+					activeLease.health.failed();
+				} else {
+					activeLease.health.claimAbandoned();
+				}
+				if (activeLease.connectionLimit != null && ClusterConnectionLimit.isTooManyConnections(failure)) {
+					activeLease.connectionLimit.learnServerLimit();
+				}
+			}
+		}
+	}
+
+	/** @return the tracked lease when it was still active, so that exactly one caller accounts for it */
+	private ActiveLease untrack(final SmtpTransportLease lease) {
+		final ActiveLease activeLease = activeLeases.remove(lease);
+		if (activeLease != null && activeLease.connectionLimit != null) {
+			activeLease.connectionLimit.leaseEnded();
+		}
+		return activeLease;
+	}
+
+	private ScheduledExecutorService maintenance() {
+		if (maintenance == null) {
+			final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+				final Thread thread = new Thread(runnable, "Simple Java Mail batch transport maintenance");
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+			maintenance = executor;
+		}
+		return maintenance;
+	}
+
+	private void keepAlive(final K clusterKey, final int warmConnections) {
+		final Set<Session> sessions = registeredSessions.get(clusterKey);
+		if (sessions != null) {
+			final ClusterSessionSelector sessionSelector = sessionSelectors.get(clusterKey);
+			for (final Session session : sessions) {
+				// a pool with claims in progress is in use, and checking it could make a sender wait
+				if (sessionSelector.healthOf(session).getOutstanding() == 0) {
+					warm(clusterKey, session, warmConnections);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Claims the given number of transports from the Session's pool at once, which makes the upstream pool open the ones it doesn't have yet, and
+	 * check the idle ones it has, reconnecting those that were dropped, and then releases them. Only claims while the cluster's connection limit
+	 * has room, but without taking a permit, so a sender never waits for a permit held during the network round trip of a check.
+	 */
+	private void warm(final K clusterKey, final Session session, final int warmConnections) {
+		final ClusterConnectionLimit connectionLimit = connectionLimits.get(clusterKey);
+		final SessionPoolHealth health = sessionSelectors.get(clusterKey).healthOf(session);
+		final List<SmtpTransportLease> leases = new ArrayList<>(warmConnections);
+		try {
+			while (leases.size() < warmConnections && claimsOpen && connectionLimit.hasRoom()) {
+				health.claimStarted();
+				final SmtpTransportLease lease;
+				try {
+					lease = smtpConnectionPool.claimTransport(new ResourceClusterAndPoolKey<>(clusterKey, session));
+				} catch (InterruptedException interrupted) {
+					health.claimAbandoned();
+					Thread.currentThread().interrupt();
+					return;
+				} catch (RuntimeException failure) {
+					health.failed();
+					if (ClusterConnectionLimit.isTooManyConnections(failure)) {
+						connectionLimit.learnServerLimit();
+					}
+					LOGGER.debug("Unable to open or check a connection of an idle SMTP transport pool", failure);
+					return;
+				}
+				// tracked only so shutdown invalidates it; not counted towards the connection limit, nor towards the connection's budget
+				activeLeases.put(lease, new ActiveLease(null, health, null));
+				leases.add(lease);
+			}
 		} finally {
-			activeLeases.remove(lease);
+			for (final SmtpTransportLease lease : leases) {
+				// shutdown may have invalidated it already
+				final ActiveLease activeLease = untrack(lease);
+				if (activeLease != null) {
+					activeLease.health.claimAbandoned();
+					try {
+						lease.release();
+					} catch (RuntimeException failure) {
+						LOGGER.debug("Unable to return a checked SMTP transport to the pool", failure);
+					}
+				}
+			}
 		}
 	}
 
@@ -176,7 +413,7 @@ public final class BatchTransportEngine<K> {
 		final SmtpTransportLease[] snapshot;
 		synchronized (lifecycleMonitor) {
 			claimsOpen = false;
-			snapshot = activeLeases.toArray(new SmtpTransportLease[0]);
+			snapshot = activeLeases.keySet().toArray(new SmtpTransportLease[0]);
 		}
 		for (SmtpTransportLease lease : snapshot) {
 			try {
@@ -194,6 +431,9 @@ public final class BatchTransportEngine<K> {
 				throw new IllegalStateException("Batch transport engine shutdown was already started");
 			}
 			shutdownStarted = true;
+			if (maintenance != null) {
+				maintenance.shutdownNow();
+			}
 			return smtpConnectionPool.shutDown();
 		}
 	}
@@ -201,22 +441,88 @@ public final class BatchTransportEngine<K> {
 	Future<Void> shutdownPool(final Session session) {
 		synchronized (lifecycleMonitor) {
 			final Future<Void> shutdown = smtpConnectionPool.shutdownPool(session);
-			final Iterator<Map.Entry<K, Set<Session>>> clusters = registeredSessions.entrySet().iterator();
-			while (clusters.hasNext()) {
-				final Set<Session> sessions = clusters.next().getValue();
+			final Map<K, Set<Session>> updatedRegistrations = new HashMap<>();
+			for (Map.Entry<K, Set<Session>> cluster : registeredSessions.entrySet()) {
+				final Set<Session> sessions = Collections.newSetFromMap(new IdentityHashMap<Session, Boolean>());
+				sessions.addAll(cluster.getValue());
 				sessions.remove(session);
-				if (sessions.isEmpty()) {
-					clusters.remove();
+				if (!sessions.isEmpty()) {
+					updatedRegistrations.put(cluster.getKey(), Collections.unmodifiableSet(sessions));
+				} else {
+					final ScheduledFuture<?> keepAliveTask = keepAliveTasks.remove(cluster.getKey());
+					if (keepAliveTask != null) {
+						keepAliveTask.cancel(false);
+					}
 				}
+				connectionLimits.get(cluster.getKey()).updateSessionCount(sessions.size());
+				sessionSelectors.get(cluster.getKey()).remove(session);
 			}
+			registeredSessions = Collections.unmodifiableMap(updatedRegistrations);
 			return shutdown;
 		}
 	}
 
+	/** @return the number of transports currently claimed from the cluster */
+	public int countActiveLeases(final K clusterKey) {
+		final ClusterConnectionLimit connectionLimit = connectionLimits.get(clusterKey);
+		return connectionLimit != null ? connectionLimit.countActiveLeases() : 0;
+	}
+
+	/** @return the number of transports the cluster currently allows to be claimed at once */
+	public int countLimit(final K clusterKey) {
+		final ClusterConnectionLimit connectionLimit = connectionLimits.get(clusterKey);
+		return connectionLimit != null ? connectionLimit.getLimit() : 0;
+	}
+
+	/** @return the number of connections a server of the cluster was found to accept, or {@code 0} when none replied 421 because of too many */
+	public int countServerLimit(final K clusterKey) {
+		final ClusterConnectionLimit connectionLimit = connectionLimits.get(clusterKey);
+		return connectionLimit != null ? connectionLimit.getServerLimit() : 0;
+	}
+
+	/**
+	 * Sets the number of transports the cluster may allow at once, which replaces any limit learned from its servers. The capacity of the cluster's
+	 * pools still applies, and an adaptively sized cluster still only grows to this size when needed.
+	 */
+	public void resize(final K clusterKey, final int limit) {
+		requireNonNull(clusterKey, "clusterKey");
+		if (limit < 1) {
+			throw new IllegalArgumentException("limit must be at least one");
+		}
+		final ClusterConnectionLimit connectionLimit = connectionLimits.get(clusterKey);
+		if (connectionLimit == null) {
+			throw new BatchTransportException("No Sessions are registered for the requested cluster");
+		}
+		connectionLimit.resize(limit);
+	}
+
+	/** @return the maximum number of transports of all pools in the cluster together, which each have their own Session */
+	public int countCapacity(final K clusterKey) {
+		synchronized (lifecycleMonitor) {
+			final PoolSettings settings = clusterSettings.get(clusterKey);
+			final Set<Session> sessions = registeredSessions.get(clusterKey);
+			return settings != null && sessions != null ? settings.getMaxPoolSize() * sessions.size() : 0;
+		}
+	}
+
 	SmtpConnectionPoolClustered<K> getSmtpConnectionPool() {
 		return smtpConnectionPool;
 	}
 
+	private static final class ActiveLease {
+		// null for maintenance claims, which don't take a permit
+		private final ClusterConnectionLimit connectionLimit;
+		private final SessionPoolHealth health;
+		private final ConnectionBudget connectionBudget;
+		private final long startNanos = System.nanoTime();
+
+		private ActiveLease(final ClusterConnectionLimit connectionLimit, final SessionPoolHealth health, final ConnectionBudget connectionBudget) {
+			this.connectionLimit = connectionLimit;
+			this.health = health;
+			this.connectionBudget = connectionBudget;
+		}
+	}
+
 	private void ensureClaimsOpen(final String operation) {
 		if (!claimsOpen) {
 			throw new BatchTransportException("Cannot " + operation + " after shutdown has begun");
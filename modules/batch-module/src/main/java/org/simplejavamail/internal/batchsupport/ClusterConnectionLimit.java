@@ -0,0 +1,273 @@
+package org.simplejavamail.internal.batchsupport;
+
+import jakarta.mail.MessagingException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits how many transports can be claimed from one cluster at once. The upstream pool fixes the size of its pools when they are registered, so this
+ * limit moves below that capacity (the maximum pool size times the number of registered Sessions) instead.
+ * <p>
+ * Without adaptive sizing, the limit is the capacity. With adaptive sizing, the limit starts at the core size (at least one) per Session and grows by one
+ * whenever a claim waited long enough, up to the capacity, and shrinks by one for each period in which not all allowed transports were claimed. Either
+ * way, the limit doesn't exceed a size set at runtime, nor the number of transports the cluster had claimed when a server replied 421 because of too
+ * many connections. That learned size is raised by one for each recovery period without another such reply, and forgotten once it reaches the
+ * capacity or when the cluster is resized, so a server that accepts more connections again is used to the full again.
+ * <p>
+ * Claiming and releasing within the limit only takes and returns a permit of a semaphore. The monitor of this object is only entered to change the limit.
+ */
+final class ClusterConnectionLimit {
+
+	// also found when nested, as in "Got bad greeting from SMTP host: .., response: 421 .."
+	private static final Pattern REPLY_421 = Pattern.compile("\\b421[ -]([^\r\n]*)");
+	// e.g. "Too many concurrent SMTP connections", "The maximum number of concurrent server connections has exceeded a limit" or "Connection limit
+	// exceeded", but not replies about a single connection, such as "Too many messages on this connection" or "Too many bad commands; closing connection"
+	private static final Pattern CONNECTION_LIMIT = Pattern.compile(
+			"too many (?:(?:concurrent|simultaneous|parallel|open|active|smtp) )*connections" +
+					"|maximum (?:number of )?(?:(?:concurrent|simultaneous|parallel|open|active|smtp|server) )*connections" +
+					"|connection (?:count|limit)\\b",
+			Pattern.CASE_INSENSITIVE);
+	private static final long DEFAULT_SERVER_LIMIT_RECOVERY_MILLIS = 60_000;
+
+	private final AdjustableSemaphore permits = new AdjustableSemaphore();
+	private final LongAdder activeLeases = new LongAdder();
+	private final PoolSettings settings;
+	private final long claimTimeoutNanos;
+	private final long growAfterClaimWaitNanos;
+	private final long shrinkAfterIdleNanos;
+	private final long serverLimitRecoveryNanos;
+	// the last time a claim found all allowed transports claimed, only maintained with adaptive sizing
+	private volatile long lastSaturatedNanos = System.nanoTime();
+	// whether a size learned from a server applies, and since when it was last learned or raised
+	private volatile boolean serverLimited;
+	private volatile long serverLimitChangedNanos;
+	private int sessionCount;
+	private int requestedLimit = Integer.MAX_VALUE;
+	private int serverLimit = Integer.MAX_VALUE;
+	private int limit;
+
+	ClusterConnectionLimit(@NotNull final PoolSettings settings) {
+		this(settings, DEFAULT_SERVER_LIMIT_RECOVERY_MILLIS);
+	}
+
+	ClusterConnectionLimit(@NotNull final PoolSettings settings, final long serverLimitRecoveryMillis) {
+		this.settings = settings;
+		this.claimTimeoutNanos = MILLISECONDS.toNanos(settings.getClaimTimeoutMillis());
+		this.growAfterClaimWaitNanos = MILLISECONDS.toNanos(settings.getGrowAfterClaimWaitMillis());
+		this.shrinkAfterIdleNanos = MILLISECONDS.toNanos(settings.getShrinkAfterIdleMillis());
+		this.serverLimitRecoveryNanos = MILLISECONDS.toNanos(serverLimitRecoveryMillis);
+	}
+
+	/**
+	 * Waits at most the claim timeout for a permit. With adaptive sizing, each time the wait reaches the configured claim wait, the limit grows by one.
+	 *
+	 * @return whether a permit was acquired, which should be returned with {@link #release()}
+	 */
+	boolean acquire() throws InterruptedException {
+		return acquire(false);
+	}
+
+	/**
+	 * Like {@link #acquire()}, but optionally waits without timeout.
+	 *
+	 * @param withoutTimeout whether to wait until a permit is acquired, instead of at most the claim timeout
+	 * @return whether a permit was acquired, which should be returned with {@link #release()}
+	 */
+	boolean acquire(final boolean withoutTimeout) throws InterruptedException {
+		if (serverLimited && System.nanoTime() - serverLimitChangedNanos >= serverLimitRecoveryNanos) {
+			recoverServerLimit();
+		}
+		if (permits.tryAcquire()) {
+			if (settings.isAdaptiveSizing() && permits.availablePermits() <= 0) {
+				lastSaturatedNanos = System.nanoTime();
+			}
+			return true;
+		}
+		final long deadline = System.nanoTime() + claimTimeoutNanos;
+		boolean mayGrow = settings.isAdaptiveSizing();
+		while (true) {
+			if (mayGrow) {
+				lastSaturatedNanos = System.nanoTime();
+			}
+			final long remaining = withoutTimeout ? Long.MAX_VALUE : deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return false;
+			}
+			if (permits.tryAcquire(mayGrow ? Math.min(remaining, growAfterClaimWaitNanos) : remaining, NANOSECONDS)) {
+				return true;
+			}
+			mayGrow = mayGrow && grow();
+		}
+	}
+
+	/**
+	 * For work that shouldn't compete with claims, and therefore runs only while a permit is available, without taking one.
+	 *
+	 * @return whether a claim would get a permit right away, without growing an adaptively sized limit
+	 */
+	boolean hasRoom() {
+		return permits.availablePermits() > 0;
+	}
+
+	/**
+	 * Returns a permit. With adaptive sizing, shrinks the limit when not all allowed transports were claimed for long enough.
+	 */
+	void release() {
+		permits.release();
+		if (settings.isAdaptiveSizing() && System.nanoTime() - lastSaturatedNanos >= shrinkAfterIdleNanos) {
+			shrinkAfterIdle();
+		}
+	}
+
+	void leaseStarted() {
+		activeLeases.increment();
+	}
+
+	void leaseEnded() {
+		activeLeases.decrement();
+		release();
+	}
+
+	int countActiveLeases() {
+		return activeLeases.intValue();
+	}
+
+	private synchronized boolean grow() {
+		if (limit >= ceiling()) {
+			return false;
+		}
+		applyLimit(limit + 1);
+		return true;
+	}
+
+	private synchronized void shrinkAfterIdle() {
+		final long now = System.nanoTime();
+		final long idlePeriods = (now - lastSaturatedNanos) / shrinkAfterIdleNanos;
+		if (idlePeriods > 0) {
+			applyLimit((int) Math.max(floor(), limit - Math.min(idlePeriods, limit)));
+			lastSaturatedNanos = now;
+		}
+	}
+
+	/**
+	 * Caps the limit at the number of transports that were claimed from the cluster, other than the one that failed, when a server replied that
+	 * there were too many connections.
+	 */
+	synchronized void learnServerLimit() {
+		serverLimit = Math.max(1, activeLeases.intValue());
+		serverLimitChangedNanos = System.nanoTime();
+		serverLimited = true;
+		applyLimit(Math.min(limit, ceiling()));
+	}
+
+	/**
+	 * Raises the size learned from a server by one for each recovery period that passed without the server replying that there were too many
+	 * connections, and forgets it once it no longer caps the capacity.
+	 */
+	private synchronized void recoverServerLimit() {
+		final long now = System.nanoTime();
+		final long recoveryPeriods = (now - serverLimitChangedNanos) / serverLimitRecoveryNanos;
+		if (serverLimited && recoveryPeriods > 0) {
+			final long raisedLimit = serverLimit + recoveryPeriods;
+			serverLimit = raisedLimit < capacity() ? (int) raisedLimit : Integer.MAX_VALUE;
+			serverLimitChangedNanos = now;
+			serverLimited = serverLimit != Integer.MAX_VALUE;
+			reapplyLimit();
+		}
+	}
+
+	/**
+	 * Sets the size the limit should not exceed, which replaces any size learned from a server, but is still capped at the capacity.
+	 */
+	synchronized void resize(final int requestedLimit) {
+		this.requestedLimit = requestedLimit;
+		this.serverLimit = Integer.MAX_VALUE;
+		this.serverLimited = false;
+		reapplyLimit();
+	}
+
+	synchronized void updateSessionCount(final int sessionCount) {
+		this.sessionCount = sessionCount;
+		reapplyLimit();
+	}
+
+	synchronized int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @return the size learned from a server replying that there were too many connections, or {@code 0} when there is none
+	 */
+	synchronized int getServerLimit() {
+		return serverLimit != Integer.MAX_VALUE ? serverLimit : 0;
+	}
+
+	private int capacity() {
+		return sessionCount * settings.getMaxPoolSize();
+	}
+
+	private int ceiling() {
+		return Math.min(capacity(), Math.min(requestedLimit, serverLimit));
+	}
+
+	private int floor() {
+		return Math.min(Math.max(1, sessionCount * settings.getCorePoolSize()), ceiling());
+	}
+
+	private void reapplyLimit() {
+		applyLimit(settings.isAdaptiveSizing() ? Math.min(Math.max(limit, floor()), ceiling()) : ceiling());
+	}
+
+	private void applyLimit(final int newLimit) {
+		if (newLimit > limit) {
+			permits.release(newLimit - limit);
+		} else if (newLimit < limit) {
+			// permits of claimed transports may go negative, so the new limit applies as soon as enough of them are released
+			permits.reduce(limit - newLimit);
+		}
+		limit = newLimit;
+	}
+
+	/**
+	 * @return whether the failure, or any failure it wraps, is an SMTP reply 421 about there being too many connections
+	 */
+	static boolean isTooManyConnections(@Nullable final Throwable failure) {
+		final Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+		Throwable current = failure;
+		while (current != null && seen.add(current)) {
+			final Matcher reply = REPLY_421.matcher(current.getMessage() != null ? current.getMessage() : "");
+			while (reply.find()) {
+				if (CONNECTION_LIMIT.matcher(reply.group(1)).find()) {
+					return true;
+				}
+			}
+			current = current instanceof MessagingException && ((MessagingException) current).getNextException() != null
+					? ((MessagingException) current).getNextException()
+					: current.getCause();
+		}
+		return false;
+	}
+
+	private static final class AdjustableSemaphore extends Semaphore {
+		private static final long serialVersionUID = 1L;
+
+		private AdjustableSemaphore() {
+			super(0);
+		}
+
+		private void reduce(final int reduction) {
+			reducePermits(reduction);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package org.simplejavamail.internal.batchsupport;
+
+import jakarta.mail.Session;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.batch.BatchLoadBalancingStrategy;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Keeps the {@link SessionPoolHealth} of each Session registered for one cluster and, for the strategies that select by these measurements, selects
+ * the Session a claim should be served by. For the other strategies, the upstream pool selects the Session and the measurements are only recorded.
+ * <p>
+ * Selection only reads the measurements, so claims don't wait for each other. Sessions that score equally are selected randomly, so concurrent claims
+ * that see the same measurements spread over them.
+ */
+final class ClusterSessionSelector {
+
+	private final BatchLoadBalancingStrategy strategy;
+	private final int ejectAfterConsecutiveFailures;
+	private final long ejectionNanos;
+	private final Map<Session, SessionPoolHealth> healthBySession = new ConcurrentHashMap<>();
+
+	ClusterSessionSelector(@NotNull final PoolSettings settings) {
+		this.strategy = settings.getLoadBalancingStrategy();
+		this.ejectAfterConsecutiveFailures = settings.getEjectAfterConsecutiveFailures();
+		this.ejectionNanos = MILLISECONDS.toNanos(settings.getEjectionMillis());
+	}
+
+	void register(@NotNull final Session session) {
+		healthBySession.computeIfAbsent(session, s -> new SessionPoolHealth(ejectAfterConsecutiveFailures, ejectionNanos));
+	}
+
+	void remove(@NotNull final Session session) {
+		healthBySession.remove(session);
+	}
+
+	/**
+	 * @return The health of the Session's pool, or a detached one for a Session removed in the meantime, so its leases can still be accounted for.
+	 */
+	@NotNull
+	SessionPoolHealth healthOf(@NotNull final Session session) {
+		final SessionPoolHealth health = healthBySession.get(session);
+		return health != null ? health : new SessionPoolHealth(0, ejectionNanos);
+	}
+
+	/**
+	 * @param sessions The Sessions currently registered for the cluster.
+	 * @return The selected Session, or {@code null} when the upstream pool should select one. When all pools are ejected, the best of them is selected.
+	 */
+	@Nullable
+	Session select(@NotNull final Set<Session> sessions) {
+		if (strategy != BatchLoadBalancingStrategy.LEAST_OUTSTANDING && strategy != BatchLoadBalancingStrategy.EWMA_LATENCY) {
+			return null;
+		}
+		final long now = System.nanoTime();
+		final Selection selectable = new Selection();
+		final Selection any = new Selection();
+		for (final Session session : sessions) {
+			final SessionPoolHealth health = healthOf(session);
+			final double score = strategy == BatchLoadBalancingStrategy.LEAST_OUTSTANDING ? health.getOutstanding() : health.getLatencyScore();
+			any.consider(session, score);
+			if (health.isSelectable(now)) {
+				selectable.consider(session, score);
+			}
+		}
+		return selectable.session != null ? selectable.session : any.session;
+	}
+
+	private static final class Selection {
+		private Session session;
+		private double score;
+		private int ties;
+
+		private void consider(final Session candidate, final double candidateScore) {
+			if (session == null || candidateScore < score) {
+				session = candidate;
+				score = candidateScore;
+				ties = 1;
+			} else if (candidateScore == score && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+				// each of the equally scoring Sessions ends up selected with the same chance
+				session = candidate;
+			}
+		}
+	}
+}
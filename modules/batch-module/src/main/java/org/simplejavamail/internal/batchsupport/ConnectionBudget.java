@@ -0,0 +1,109 @@
+package org.simplejavamail.internal.batchsupport;
+
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.bbottema.clusteredobjectpool.core.api.AllocatorFactory;
+import org.bbottema.genericobjectpool.Allocator;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.smtpconnectionpool.SessionTransport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Counts the messages sent over each connection of one cluster and knows when each was opened, so a connection can be closed with QUIT and replaced
+ * before a server that limits messages per connection, or the age of a connection, drops it in the middle of a batch.
+ * <p>
+ * Connections are tracked from the moment the upstream pool opens them until it closes them, by wrapping its allocators, so nothing is kept for
+ * connections the pool has let go, for example when they expired while idle. When the pool reconnects a transport that was dropped while idle, the
+ * new connection starts with a fresh count and age.
+ */
+final class ConnectionBudget {
+
+	private final int maxMessagesPerConnection;
+	private final long maxConnectionAgeNanos;
+	private final Map<Transport, Usage> usageByTransport = new ConcurrentHashMap<>();
+
+	ConnectionBudget(@NotNull final PoolSettings settings) {
+		this.maxMessagesPerConnection = settings.getMaxMessagesPerConnection();
+		this.maxConnectionAgeNanos = MILLISECONDS.toNanos(settings.getMaxConnectionAgeMillis());
+	}
+
+	/**
+	 * @return An allocator factory that creates the same allocators, but tracks the connections they open and close.
+	 */
+	@NotNull
+	AllocatorFactory<Session, SessionTransport> track(@NotNull final AllocatorFactory<Session, SessionTransport> allocatorFactory) {
+		return session -> new TrackingAllocator(allocatorFactory.create(session));
+	}
+
+	/**
+	 * Counts a message submitted over the connection, delivered or not.
+	 *
+	 * @return Whether the transport is one of the connections tracked here.
+	 */
+	boolean countMessage(@NotNull final Transport transport) {
+		final Usage usage = usageByTransport.get(transport);
+		if (usage == null) {
+			return false;
+		}
+		usage.messages.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * @return Whether the connection has sent the maximum number of messages or reached the maximum age, so it should be closed instead of reused.
+	 */
+	boolean isSpent(@NotNull final Transport transport) {
+		final Usage usage = usageByTransport.get(transport);
+		return usage != null && ((maxMessagesPerConnection > 0 && usage.messages.get() >= maxMessagesPerConnection)
+				|| (maxConnectionAgeNanos > 0 && System.nanoTime() - usage.openedNanos >= maxConnectionAgeNanos));
+	}
+
+	private static final class Usage {
+		private final long openedNanos = System.nanoTime();
+		private final AtomicInteger messages = new AtomicInteger();
+	}
+
+	private final class TrackingAllocator extends Allocator<SessionTransport> {
+		private final Allocator<SessionTransport> delegate;
+
+		private TrackingAllocator(final Allocator<SessionTransport> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public SessionTransport allocate() {
+			final SessionTransport sessionTransport = delegate.allocate();
+			usageByTransport.put(sessionTransport.getTransport(), new Usage());
+			return sessionTransport;
+		}
+
+		/**
+		 * The upstream allocator only reconnects a transport that is no longer connected, which opens a new connection on the same transport. So
+		 * that the connection isn't checked twice, a connected transport is reused as is.
+		 */
+		@Override
+		public void allocateForReuse(final SessionTransport sessionTransport) {
+			final Transport transport = sessionTransport.getTransport();
+			if (!transport.isConnected()) {
+				delegate.allocateForReuse(sessionTransport);
+				usageByTransport.put(transport, new Usage());
+			}
+		}
+
+		@Override
+		public void deallocateForReuse(final SessionTransport sessionTransport) {
+			delegate.deallocateForReuse(sessionTransport);
+		}
+
+		@Override
+		public void deallocate(final SessionTransport sessionTransport) {
+			usageByTransport.remove(sessionTransport.getTransport());
+			delegate.deallocate(sessionTransport);
+		}
+	}
+}
@@ -13,10 +13,15 @@ import org.simplejavamail.smtpconnectionpool.SmtpTransportLease;
 class LifecycleDelegatingTransportImpl implements LifecycleDelegatingTransport {
 	private final BatchTransportEngine<?> engine;
 	private final SmtpTransportLease transportLease;
+	private final Runnable invalidationListener;
 
-	LifecycleDelegatingTransportImpl(final BatchTransportEngine<?> engine, final SmtpTransportLease transportLease) {
+	/**
+	 * @param invalidationListener Invoked when the transport is discarded after a failure.
+	 */
+	LifecycleDelegatingTransportImpl(final BatchTransportEngine<?> engine, final SmtpTransportLease transportLease, final Runnable invalidationListener) {
 		this.engine = engine;
 		this.transportLease = transportLease;
+		this.invalidationListener = invalidationListener;
 	}
 
 	@NotNull
@@ -39,5 +44,12 @@ class LifecycleDelegatingTransportImpl implements LifecycleDelegatingTransport {
 	@Override
 	public void signalTransportFailed() {
 		engine.invalidate(transportLease);
+		invalidationListener.run();
+	}
+
+	@Override
+	public void signalTransportFailed(@NotNull final Throwable failure) {
+		engine.invalidate(transportLease, failure);
+		invalidationListener.run();
 	}
 }
@@ -4,6 +4,8 @@ import org.bbottema.clusteredobjectpool.core.api.LoadBalancingStrategy;
 import org.bbottema.clusteredobjectpool.cyclingstrategies.RandomAccessLoadBalancing;
 import org.bbottema.clusteredobjectpool.cyclingstrategies.RoundRobinLoadBalancing;
 import org.bbottema.genericobjectpool.ExpirationPolicy;
+import org.bbottema.genericobjectpool.expirypolicies.CombinedExpirationPolicies;
+import org.bbottema.genericobjectpool.expirypolicies.TimeoutSinceCreationExpirationPolicy;
 import org.bbottema.genericobjectpool.expirypolicies.TimeoutSinceLastAllocationExpirationPolicy;
 import org.bbottema.genericobjectpool.util.Timeout;
 import org.simplejavamail.api.mailer.config.ConnectionPoolClusterConfig;
@@ -13,6 +15,8 @@ import org.simplejavamail.batch.BatchTransportPoolConfiguration;
 import org.simplejavamail.smtpconnectionpool.SessionTransport;
 import org.simplejavamail.smtpconnectionpool.SmtpClusterConfig;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -25,20 +29,45 @@ final class PoolSettings {
 	private final int claimTimeoutMillis;
 	private final int expireAfterMillis;
 	private final BatchLoadBalancingStrategy loadBalancingStrategy;
+	private final boolean adaptiveSizing;
+	private final int growAfterClaimWaitMillis;
+	private final int shrinkAfterIdleMillis;
+	private final int ejectAfterConsecutiveFailures;
+	private final int ejectionMillis;
+	private final boolean prewarm;
+	private final int connectionKeepAliveMillis;
+	private final int maxMessagesPerConnection;
+	private final int maxConnectionAgeMillis;
 
 	private PoolSettings(final int corePoolSize, final int maxPoolSize, final int claimTimeoutMillis,
-			final int expireAfterMillis, final BatchLoadBalancingStrategy loadBalancingStrategy) {
+			final int expireAfterMillis, final BatchLoadBalancingStrategy loadBalancingStrategy, final boolean adaptiveSizing,
+			final int growAfterClaimWaitMillis, final int shrinkAfterIdleMillis, final int ejectAfterConsecutiveFailures,
+			final int ejectionMillis, final boolean prewarm, final int connectionKeepAliveMillis, final int maxMessagesPerConnection,
+			final int maxConnectionAgeMillis) {
 		this.corePoolSize = corePoolSize;
 		this.maxPoolSize = maxPoolSize;
 		this.claimTimeoutMillis = claimTimeoutMillis;
 		this.expireAfterMillis = expireAfterMillis;
 		this.loadBalancingStrategy = loadBalancingStrategy;
+		this.adaptiveSizing = adaptiveSizing;
+		this.growAfterClaimWaitMillis = growAfterClaimWaitMillis;
+		this.shrinkAfterIdleMillis = shrinkAfterIdleMillis;
+		this.ejectAfterConsecutiveFailures = ejectAfterConsecutiveFailures;
+		this.ejectionMillis = ejectionMillis;
+		this.prewarm = prewarm;
+		this.connectionKeepAliveMillis = connectionKeepAliveMillis;
+		this.maxMessagesPerConnection = maxMessagesPerConnection;
+		this.maxConnectionAgeMillis = maxConnectionAgeMillis;
 	}
 
 	static PoolSettings from(final BatchTransportPoolConfiguration configuration) {
 		return new PoolSettings(configuration.getCorePoolSize(), configuration.getMaxPoolSize(),
 				configuration.getClaimTimeoutMillis(), configuration.getExpireAfterMillis(),
-				configuration.getLoadBalancingStrategy());
+				configuration.getLoadBalancingStrategy(), configuration.isAdaptiveSizing(),
+				configuration.getGrowAfterClaimWaitMillis(), configuration.getShrinkAfterIdleMillis(),
+				configuration.getEjectAfterConsecutiveFailures(), configuration.getEjectionMillis(),
+				configuration.isPrewarm(), configuration.getConnectionKeepAliveMillis(),
+				configuration.getMaxMessagesPerConnection(), configuration.getMaxConnectionAgeMillis());
 	}
 
 	static PoolSettings from(final OperationalConfig operationalConfig, final UUID clusterKey) {
@@ -55,24 +84,43 @@ final class PoolSettings {
 				clusterConfig != null && clusterConfig.getExpireAfterMillis() != null
 						? clusterConfig.getExpireAfterMillis() : operationalConfig.getConnectionPoolExpireAfterMillis(),
 				toBatchStrategy(clusterConfig != null && clusterConfig.getLoadBalancingStrategy() != null
-						? clusterConfig.getLoadBalancingStrategy() : operationalConfig.getConnectionPoolLoadBalancingStrategy()));
+						? clusterConfig.getLoadBalancingStrategy() : operationalConfig.getConnectionPoolLoadBalancingStrategy()),
+				// Mailers have no adaptive sizing settings, so their clusters allow the maximum size right away
+				BatchTransportPoolConfiguration.DEFAULT_ADAPTIVE_SIZING,
+				BatchTransportPoolConfiguration.DEFAULT_GROW_AFTER_CLAIM_WAIT_MILLIS,
+				BatchTransportPoolConfiguration.DEFAULT_SHRINK_AFTER_IDLE_MILLIS,
+				BatchTransportPoolConfiguration.DEFAULT_EJECT_AFTER_CONSECUTIVE_FAILURES,
+				BatchTransportPoolConfiguration.DEFAULT_EJECTION_MILLIS,
+				BatchTransportPoolConfiguration.DEFAULT_PREWARM,
+				BatchTransportPoolConfiguration.DEFAULT_CONNECTION_KEEP_ALIVE_MILLIS,
+				BatchTransportPoolConfiguration.DEFAULT_MAX_MESSAGES_PER_CONNECTION,
+				BatchTransportPoolConfiguration.DEFAULT_MAX_CONNECTION_AGE_MILLIS);
 	}
 
 	private static BatchLoadBalancingStrategy toBatchStrategy(
 			final org.simplejavamail.api.mailer.config.LoadBalancingStrategy strategy) {
-		return strategy == org.simplejavamail.api.mailer.config.LoadBalancingStrategy.ROUND_ROBIN
-				? BatchLoadBalancingStrategy.ROUND_ROBIN
-				: BatchLoadBalancingStrategy.RANDOM_ACCESS;
+		switch (strategy) {
+			case ROUND_ROBIN: return BatchLoadBalancingStrategy.ROUND_ROBIN;
+			case LEAST_OUTSTANDING: return BatchLoadBalancingStrategy.LEAST_OUTSTANDING;
+			case EWMA_LATENCY: return BatchLoadBalancingStrategy.EWMA_LATENCY;
+			default: return BatchLoadBalancingStrategy.RANDOM_ACCESS;
+		}
 	}
 
 	@SuppressWarnings({"rawtypes", "unchecked"})
 	<K> SmtpClusterConfig<K> toSmtpClusterConfig() {
-		final LoadBalancingStrategy balancing = loadBalancingStrategy == BatchLoadBalancingStrategy.ROUND_ROBIN
-				? new RoundRobinLoadBalancing<>()
-				: new RandomAccessLoadBalancing<>();
-		final ExpirationPolicy<SessionTransport> expirationPolicy = expireAfterMillis == 0
+		// the strategies that select by measurements claim from an exact Session, so the upstream strategy is never used for them
+		final LoadBalancingStrategy balancing = loadBalancingStrategy == BatchLoadBalancingStrategy.RANDOM_ACCESS
+				? new RandomAccessLoadBalancing<>()
+				: new RoundRobinLoadBalancing<>();
+		final ExpirationPolicy<SessionTransport> idleExpirationPolicy = expireAfterMillis == 0
 				? poolableObject -> false
 				: new TimeoutSinceLastAllocationExpirationPolicy<>(expireAfterMillis, MILLISECONDS);
+		// claimed connections are recycled on release by the engine instead, see ConnectionBudget
+		final ExpirationPolicy<SessionTransport> expirationPolicy = maxConnectionAgeMillis == 0
+				? idleExpirationPolicy
+				: new CombinedExpirationPolicies<>(new HashSet<>(Arrays.asList(idleExpirationPolicy,
+						new TimeoutSinceCreationExpirationPolicy<>(maxConnectionAgeMillis, MILLISECONDS))));
 		final SmtpClusterConfig<K> config = new SmtpClusterConfig<>();
 		config.getConfigBuilder()
 				.defaultCorePoolSize(corePoolSize)
@@ -83,6 +131,69 @@ final class PoolSettings {
 		return config;
 	}
 
+	int getCorePoolSize() {
+		return corePoolSize;
+	}
+
+	int getMaxPoolSize() {
+		return maxPoolSize;
+	}
+
+	int getClaimTimeoutMillis() {
+		return claimTimeoutMillis;
+	}
+
+	boolean isAdaptiveSizing() {
+		return adaptiveSizing;
+	}
+
+	int getGrowAfterClaimWaitMillis() {
+		return growAfterClaimWaitMillis;
+	}
+
+	int getShrinkAfterIdleMillis() {
+		return shrinkAfterIdleMillis;
+	}
+
+	BatchLoadBalancingStrategy getLoadBalancingStrategy() {
+		return loadBalancingStrategy;
+	}
+
+	int getEjectAfterConsecutiveFailures() {
+		return ejectAfterConsecutiveFailures;
+	}
+
+	int getEjectionMillis() {
+		return ejectionMillis;
+	}
+
+	boolean isPrewarm() {
+		return prewarm;
+	}
+
+	int getConnectionKeepAliveMillis() {
+		return connectionKeepAliveMillis;
+	}
+
+	int getMaxMessagesPerConnection() {
+		return maxMessagesPerConnection;
+	}
+
+	int getMaxConnectionAgeMillis() {
+		return maxConnectionAgeMillis;
+	}
+
+	boolean hasConnectionBudget() {
+		return maxMessagesPerConnection > 0 || maxConnectionAgeMillis > 0;
+	}
+
+	/**
+	 * @return the number of connections per Session that pre-warming opens and keep-alive checks, which is the core size but at least one
+	 */
+	int getWarmConnections() {
+		return Math.max(1, corePoolSize);
+	}
+
 	@Override
 	public boolean equals(final Object other) {
 		if (this == other) {
@@ -96,11 +207,22 @@ final class PoolSettings {
 				&& maxPoolSize == that.maxPoolSize
 				&& claimTimeoutMillis == that.claimTimeoutMillis
 				&& expireAfterMillis == that.expireAfterMillis
-				&& loadBalancingStrategy == that.loadBalancingStrategy;
+				&& loadBalancingStrategy == that.loadBalancingStrategy
+				&& adaptiveSizing == that.adaptiveSizing
+				&& growAfterClaimWaitMillis == that.growAfterClaimWaitMillis
+				&& shrinkAfterIdleMillis == that.shrinkAfterIdleMillis
+				&& ejectAfterConsecutiveFailures == that.ejectAfterConsecutiveFailures
+				&& ejectionMillis == that.ejectionMillis
+				&& prewarm == that.prewarm
+				&& connectionKeepAliveMillis == that.connectionKeepAliveMillis
+				&& maxMessagesPerConnection == that.maxMessagesPerConnection
+				&& maxConnectionAgeMillis == that.maxConnectionAgeMillis;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(corePoolSize, maxPoolSize, claimTimeoutMillis, expireAfterMillis, loadBalancingStrategy);
+		return Objects.hash(corePoolSize, maxPoolSize, claimTimeoutMillis, expireAfterMillis, loadBalancingStrategy,
+				adaptiveSizing, growAfterClaimWaitMillis, shrinkAfterIdleMillis, ejectAfterConsecutiveFailures, ejectionMillis, prewarm,
+				connectionKeepAliveMillis, maxMessagesPerConnection, maxConnectionAgeMillis);
 	}
 }
@@ -0,0 +1,96 @@
+package org.simplejavamail.internal.batchsupport;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What the engine measured of the pool of one Session in a cluster: the number of claims outstanding on it, the exponentially weighted moving average
+ * of how long its transports were held by successful operations, and whether it is ejected after consecutive failures.
+ * <p>
+ * An ejected pool is not selected for the ejection duration, after which it is reintroduced gradually: during the next ejection duration, its chance
+ * of being considered grows linearly from nothing to always. A failure during reintroduction ejects it again right away.
+ */
+final class SessionPoolHealth {
+
+	// weight of the newest measurement, so the average mostly reflects the last ten or so operations
+	private static final double EWMA_WEIGHT = 0.2;
+
+	private final int ejectAfterConsecutiveFailures;
+	private final long ejectionNanos;
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final AtomicLong latencyEwmaBits = new AtomicLong(Double.doubleToLongBits(0));
+	// zero when never ejected
+	private volatile long ejectedUntilNanos;
+
+	/**
+	 * @param ejectAfterConsecutiveFailures {@code 0} to never eject the pool.
+	 */
+	SessionPoolHealth(final int ejectAfterConsecutiveFailures, final long ejectionNanos) {
+		this.ejectAfterConsecutiveFailures = ejectAfterConsecutiveFailures;
+		this.ejectionNanos = ejectionNanos;
+	}
+
+	void claimStarted() {
+		outstanding.incrementAndGet();
+	}
+
+	/**
+	 * For a claim that ended without measuring the pool, such as an interrupted claim or a claim to keep connections alive.
+	 */
+	void claimAbandoned() {
+		outstanding.decrementAndGet();
+	}
+
+	void succeeded(final long heldNanos) {
+		outstanding.decrementAndGet();
+		consecutiveFailures.set(0);
+		long current;
+		long updated;
+		do {
+			current = latencyEwmaBits.get();
+			final double average = Double.longBitsToDouble(current);
+			updated = Double.doubleToLongBits(average == 0 ? heldNanos : average + (heldNanos - average) * EWMA_WEIGHT);
+		} while (!latencyEwmaBits.compareAndSet(current, updated));
+	}
+
+	void failed() {
+		outstanding.decrementAndGet();
+		if (ejectAfterConsecutiveFailures > 0) {
+			final long now = System.nanoTime();
+			final boolean reintroducing = ejectedUntilNanos != 0 && now - ejectedUntilNanos < ejectionNanos;
+			if (reintroducing || consecutiveFailures.incrementAndGet() >= ejectAfterConsecutiveFailures) {
+				consecutiveFailures.set(0);
+				ejectedUntilNanos = now + ejectionNanos;
+			}
+		}
+	}
+
+	/**
+	 * @return Whether the pool may be selected, which for a pool being reintroduced is decided randomly with a growing chance.
+	 */
+	boolean isSelectable(final long nowNanos) {
+		final long ejectedUntil = ejectedUntilNanos;
+		if (ejectedUntil == 0) {
+			return true;
+		}
+		final long sinceEjection = nowNanos - ejectedUntil;
+		if (sinceEjection < 0) {
+			return false;
+		}
+		return sinceEjection >= ejectionNanos || ThreadLocalRandom.current().nextLong(ejectionNanos) < sinceEjection;
+	}
+
+	int getOutstanding() {
+		return outstanding.get();
+	}
+
+	/**
+	 * @return the expected time to get a claim served, growing with both the average latency and the claims already outstanding, and {@code 0} for
+	 * a pool without measurements yet, so new pools are tried first.
+	 */
+	double getLatencyScore() {
+		return Double.longBitsToDouble(latencyEwmaBits.get()) * (outstanding.get() + 1);
+	}
+}
@@ -1,16 +1,24 @@
 package org.simplejavamail.internal.batchsupport.concurrent;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.AsyncSendRejectedException;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
 /**
- * Unbounded ThreadPoolExecutor that won't block the JVM from shutting down,
+ * ThreadPoolExecutor that won't block the JVM from shutting down,
  * unless the keepAliveTime is explicitly set to zero by user config.
+ * <p>
+ * The queue is unbounded, unless a queue capacity is given, in which case the {@link ThreadPoolRejectionPolicy} determines what happens
+ * to tasks that don't fit in the queue anymore.
  *
  * @see ThreadPoolExecutor
  * @see LinkedBlockingQueue
@@ -20,18 +28,63 @@ public class NonJvmBlockingThreadPoolExecutor extends ThreadPoolExecutor {
 
 	private static int counter = 1;
 
-	@SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
 	public NonJvmBlockingThreadPoolExecutor(int threadPoolSize, int threadPoolKeepAliveTime) {
+		this(threadPoolSize, threadPoolKeepAliveTime, 0, ThreadPoolRejectionPolicy.BLOCK);
+	}
+
+	/**
+	 * @param queueCapacity The maximum number of queued tasks, or {@code 0} for an unbounded queue.
+	 */
+	@SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
+	public NonJvmBlockingThreadPoolExecutor(int threadPoolSize, int threadPoolKeepAliveTime, int queueCapacity, @NotNull ThreadPoolRejectionPolicy rejectionPolicy) {
 		super(threadPoolSize,
 				threadPoolSize,
 				threadPoolKeepAliveTime,
 				TimeUnit.MILLISECONDS,
-				new LinkedBlockingQueue<>(),
-				new NamedThreadFactory(format("Simple Java Mail async mail sender, executor %s / thread", counter++)));
+				queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>(),
+				new NamedThreadFactory(format("Simple Java Mail async mail sender, executor %s / thread", counter++)),
+				determineRejectionHandler(queueCapacity, rejectionPolicy));
 		// if a timeout is configured, the user wants threads to die off automatically,
 		// so they won't block the JVM from shutting down
 		if (threadPoolKeepAliveTime > 0) {
 			allowCoreThreadTimeOut(true);
 		}
 	}
-}
\ No newline at end of file
+
+	@NotNull
+	private static RejectedExecutionHandler determineRejectionHandler(int queueCapacity, @NotNull ThreadPoolRejectionPolicy rejectionPolicy) {
+		switch (rejectionPolicy) {
+			case FAIL_FAST:
+				return (task, executor) -> {
+					throw new AsyncSendRejectedException(queueCapacity);
+				};
+			case CALLER_RUNS:
+				return new CallerRunsPolicy();
+			default:
+				return new BlockCallerPolicy();
+		}
+	}
+
+	/**
+	 * Waits for room in the queue, rather than rejecting the task. Tasks are still rejected once the executor is shut down, also when that happened
+	 * while waiting, as the workers may already have stopped taking tasks from the queue by then.
+	 */
+	private static class BlockCallerPolicy implements RejectedExecutionHandler {
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			if (executor.isShutdown()) {
+				throw new RejectedExecutionException("Executor has been shut down");
+			}
+			try {
+				executor.getQueue().put(task);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException("Interrupted while waiting for room in the queue", e);
+			}
+			// a task that is no longer in the queue was taken by a worker, which runs it despite the shutdown
+			if (executor.isShutdown() && executor.remove(task)) {
+				throw new RejectedExecutionException("Executor has been shut down");
+			}
+		}
+	}
+}
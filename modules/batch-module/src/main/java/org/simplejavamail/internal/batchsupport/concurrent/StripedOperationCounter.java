@@ -0,0 +1,56 @@
+package org.simplejavamail.internal.batchsupport.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts operations in progress without a shared lock or a single contended counter. Each operation is counted on the stripe of the thread that
+ * begins it, and must end on that same stripe, so a stripe never drops below the number of operations that began on it and haven't ended yet.
+ * <p>
+ * Unlike a {@link java.util.concurrent.atomic.LongAdder}, this makes {@link #isZero()} reliable: once no new operations are admitted, it only returns
+ * {@code true} when every admitted operation has ended, even while rejected operations are still being counted and uncounted concurrently.
+ */
+public final class StripedOperationCounter {
+
+	// a long per 64 bytes cache line, so neighbouring stripes don't contend through false sharing
+	private static final int PADDING = 8;
+
+	private final int stripeMask;
+	private final AtomicLongArray stripes;
+
+	public StripedOperationCounter() {
+		int stripeCount = 1;
+		while (stripeCount < Runtime.getRuntime().availableProcessors() && stripeCount < 64) {
+			stripeCount <<= 1;
+		}
+		stripeMask = stripeCount - 1;
+		stripes = new AtomicLongArray(stripeCount * PADDING);
+	}
+
+	/**
+	 * @return The stripe the operation was counted on, which should be passed to {@link #end(int)}.
+	 */
+	public int begin() {
+		final int stripe = (int) (Thread.currentThread().getId() & stripeMask);
+		stripes.incrementAndGet(stripe * PADDING);
+		return stripe;
+	}
+
+	/**
+	 * @param stripe The stripe returned by {@link #begin()} for the operation that ended.
+	 */
+	public void end(final int stripe) {
+		stripes.decrementAndGet(stripe * PADDING);
+	}
+
+	/**
+	 * @return Whether no operations are in progress, which is only conclusive when no new operations are admitted anymore.
+	 */
+	public boolean isZero() {
+		for (int stripe = 0; stripe <= stripeMask; stripe++) {
+			if (stripes.get(stripe * PADDING) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
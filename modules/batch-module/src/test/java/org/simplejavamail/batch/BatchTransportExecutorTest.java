@@ -1,5 +1,6 @@
 package org.simplejavamail.batch;
 
+import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import jakarta.mail.URLName;
@@ -23,9 +24,12 @@ import java.util.function.Supplier;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -209,6 +213,322 @@ class BatchTransportExecutorTest {
 		assertThat(executor.isShutdown()).isTrue();
 	}
 
+	@Test
+	void gracefulShutdownWaitsForWorkAcceptedConcurrently() throws Exception {
+		TestSession testSession = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder().withMaxPoolSize(4).build();
+		executor.registerSession("cluster", testSession.session);
+		AtomicInteger inProgress = new AtomicInteger();
+		AtomicInteger completed = new AtomicInteger();
+		AtomicReference<Throwable> unexpectedFailure = new AtomicReference<>();
+		CountDownLatch sendersStarted = new CountDownLatch(16);
+		List<Thread> senders = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			Thread sender = new Thread(() -> {
+				sendersStarted.countDown();
+				try {
+					while (true) {
+						executor.execute("cluster", (session, transport) -> {
+							inProgress.incrementAndGet();
+							Thread.yield();
+							return inProgress.decrementAndGet();
+						});
+						completed.incrementAndGet();
+					}
+				} catch (BatchTransportException shutdownStarted) {
+					// expected once shutdown has begun
+				} catch (Throwable failure) {
+					unexpectedFailure.set(failure);
+				}
+			}, "concurrent batch sender " + i);
+			senders.add(sender);
+			sender.start();
+		}
+		assertThat(sendersStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(100);
+
+		AtomicInteger inProgressAtShutdown = new AtomicInteger(-1);
+		executor.shutdown().thenRun(() -> inProgressAtShutdown.set(inProgress.get())).get(5, TimeUnit.SECONDS);
+		for (Thread sender : senders) {
+			sender.join(TimeUnit.SECONDS.toMillis(5));
+			assertThat(sender.isAlive()).isFalse();
+		}
+
+		assertThat(unexpectedFailure.get()).isNull();
+		assertThat(completed.get()).isPositive();
+		assertThat(inProgressAtShutdown).hasValue(0);
+	}
+
+	@Test
+	void adaptiveClusterGrowsWhileClaimsWaitAndShrinksWhenIdle() throws Exception {
+		TestSession testSession = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder()
+				.withCorePoolSize(1)
+				.withMaxPoolSize(3)
+				.withAdaptiveSizing(true)
+				.withGrowAfterClaimWaitMillis(10)
+				.withShrinkAfterIdleMillis(200)
+				.build();
+		try {
+			executor.registerSession("cluster", testSession.session);
+			assertThat(executor.getClusterSizing("cluster").getLimit()).isEqualTo(1);
+
+			CountDownLatch holding = new CountDownLatch(1);
+			CountDownLatch releaseHold = new CountDownLatch(1);
+			CompletableFuture<Void> held = executor.submit("cluster", (session, transport) -> {
+				holding.countDown();
+				releaseHold.await();
+				return null;
+			});
+			assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+			String claimed = executor.execute("cluster", (session, transport) -> "claimed while the other is held");
+			assertThat(claimed).isNotNull();
+			assertThat(executor.getClusterSizing("cluster").getLimit()).isEqualTo(2);
+
+			releaseHold.countDown();
+			held.get(5, TimeUnit.SECONDS);
+			Thread.sleep(450);
+			executor.execute("cluster", (session, transport) -> null);
+
+			assertThat(executor.getClusterSizing("cluster").getLimit()).isEqualTo(1);
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void capsClusterAtConnectionsAcceptedBeforeTooManyConnectionsReplyUntilResized() throws Exception {
+		TestSession testSession = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder().withMaxPoolSize(4).build();
+		try {
+			executor.registerSession("cluster", testSession.session);
+			CountDownLatch holding = new CountDownLatch(2);
+			CountDownLatch releaseHolds = new CountDownLatch(1);
+			List<CompletableFuture<Void>> held = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				held.add(executor.submit("cluster", (session, transport) -> {
+					holding.countDown();
+					releaseHolds.await();
+					return null;
+				}));
+			}
+			assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(() -> executor.execute("cluster", (session, transport) -> {
+				throw new MessagingException("421 4.7.0 Too many concurrent SMTP connections from this IP");
+			})).isInstanceOf(MessagingException.class);
+
+			BatchClusterSizing sizing = executor.getClusterSizing("cluster");
+			assertThat(sizing.getActiveLeases()).isEqualTo(2);
+			assertThat(sizing.getCapacity()).isEqualTo(4);
+			assertThat(sizing.getLimit()).isEqualTo(2);
+			assertThat(sizing.getServerLimit()).hasValue(2);
+
+			releaseHolds.countDown();
+			for (CompletableFuture<Void> future : held) {
+				future.get(5, TimeUnit.SECONDS);
+			}
+			executor.resizeCluster("cluster", 3);
+
+			sizing = executor.getClusterSizing("cluster");
+			assertThat(sizing.getLimit()).isEqualTo(3);
+			assertThat(sizing.getServerLimit()).isEmpty();
+			assertThatThrownBy(() -> executor.resizeCluster("unknown", 3)).isInstanceOf(BatchTransportException.class);
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void leastOutstandingSelectsTheSessionPoolWithFewestClaims() throws Exception {
+		TestSession busy = testSession();
+		TestSession idle = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder()
+				.withLoadBalancingStrategy(BatchLoadBalancingStrategy.LEAST_OUTSTANDING)
+				.build();
+		try {
+			executor.registerSession("cluster", busy.session)
+					.registerSession("cluster", idle.session);
+			CountDownLatch holding = new CountDownLatch(1);
+			CountDownLatch releaseHold = new CountDownLatch(1);
+			CompletableFuture<Void> held = executor.submit("cluster", busy.session, (session, transport) -> {
+				holding.countDown();
+				releaseHold.await();
+				return null;
+			});
+			assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+			List<Session> selected = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				executor.execute("cluster", (session, transport) -> selected.add(session));
+			}
+
+			assertThat(selected).containsOnly(idle.session);
+			releaseHold.countDown();
+			held.get(5, TimeUnit.SECONDS);
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void ejectsSessionPoolAfterConsecutiveFailuresAndReintroducesIt() throws Exception {
+		TestSession failing = testSession();
+		TestSession healthy = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder()
+				.withLoadBalancingStrategy(BatchLoadBalancingStrategy.EWMA_LATENCY)
+				.withEjectAfterConsecutiveFailures(2)
+				.withEjectionMillis(500)
+				.build();
+		try {
+			executor.registerSession("cluster", failing.session)
+					.registerSession("cluster", healthy.session);
+			for (int i = 0; i < 2; i++) {
+				assertThatThrownBy(() -> executor.execute("cluster", failing.session, (session, transport) -> {
+					throw new MessagingException("451 temporary failure");
+				})).isInstanceOf(MessagingException.class);
+			}
+
+			// unmeasured pools are preferred, so only ejection keeps the failing pool from being selected
+			List<Session> selected = new ArrayList<>();
+			for (int i = 0; i < 5; i++) {
+				executor.execute("cluster", (session, transport) -> selected.add(session));
+			}
+			assertThat(selected).containsOnly(healthy.session);
+
+			Thread.sleep(1100);
+			selected.clear();
+			for (int i = 0; i < 5; i++) {
+				executor.execute("cluster", (session, transport) -> selected.add(session));
+			}
+			assertThat(selected).contains(failing.session);
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void prewarmOpensConnectionBeforeFirstClaim() throws Exception {
+		CountDownLatch prewarmed = new CountDownLatch(1);
+		Transport pooled = transport("smtp");
+		doAnswer(invocation -> {
+			prewarmed.countDown();
+			return null;
+		}).when(pooled).connect();
+		Transport probe = transport("probe");
+		Session session = mock(Session.class);
+		when(session.getProperties()).thenReturn(new Properties());
+		when(session.getTransport()).thenReturn(probe, pooled);
+		BatchTransportExecutor<String> executor = executorBuilder().withPrewarm(true).build();
+		try {
+			executor.registerSession("cluster", session);
+
+			assertThat(prewarmed.await(5, TimeUnit.SECONDS)).isTrue();
+			Transport claimed = executor.execute("cluster", (claimedSession, transport) -> transport);
+			assertThat(claimed).isSameAs(pooled);
+			verify(session, times(2)).getTransport();
+			verify(pooled).connect();
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void keepAliveChecksIdleConnectionsAndReopensDroppedOnes() throws Exception {
+		AtomicBoolean connected = new AtomicBoolean(true);
+		AtomicInteger checks = new AtomicInteger();
+		AtomicInteger connects = new AtomicInteger();
+		// stubbed up front, because the keep-alive thread uses the transport concurrently with the test
+		Transport pooled = transport("smtp");
+		when(pooled.isConnected()).thenAnswer(invocation -> {
+			checks.incrementAndGet();
+			return connected.get();
+		});
+		doAnswer(invocation -> connects.incrementAndGet()).when(pooled).connect();
+		Transport probe = transport("probe");
+		Session session = mock(Session.class);
+		when(session.getProperties()).thenReturn(new Properties());
+		when(session.getTransport()).thenReturn(probe, pooled);
+		BatchTransportExecutor<String> executor = executorBuilder().withConnectionKeepAliveMillis(50).build();
+		try {
+			executor.registerSession("cluster", session);
+			Transport claimed = executor.execute("cluster", (claimedSession, transport) -> transport);
+			assertThat(claimed).isSameAs(pooled);
+
+			awaitAtLeast(checks, 3);
+			connected.set(false);
+			awaitAtLeast(connects, 2);
+			verify(session, times(2)).getTransport();
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void recyclesConnectionAfterMaxMessages() throws Exception {
+		TestSession testSession = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder().withMaxMessagesPerConnection(2).build();
+		try {
+			executor.registerSession("cluster", testSession.session);
+
+			Transport first = executor.execute("cluster", (session, transport) -> transport);
+			Transport second = executor.execute("cluster", (session, transport) -> transport);
+			Transport third = executor.execute("cluster", (session, transport) -> transport);
+
+			assertThat(second).isSameAs(first);
+			assertThat(third).isNotSameAs(first);
+			awaitClosed(first);
+			verify(third, never()).close();
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void restartsMessageCountWhenPoolReconnectsDroppedConnection() throws Exception {
+		TestSession testSession = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder().withMaxMessagesPerConnection(2).build();
+		try {
+			executor.registerSession("cluster", testSession.session);
+
+			Transport first = executor.execute("cluster", (session, transport) -> transport);
+			// dropped while idle, so the pool reconnects it on the next claim
+			when(first.isConnected()).thenReturn(false).thenReturn(true);
+			Transport reconnected = executor.execute("cluster", (session, transport) -> transport);
+			Transport secondOnNewConnection = executor.execute("cluster", (session, transport) -> transport);
+			Transport replacement = executor.execute("cluster", (session, transport) -> transport);
+
+			assertThat(reconnected).isSameAs(first);
+			assertThat(secondOnNewConnection).isSameAs(first);
+			assertThat(replacement).isNotSameAs(first);
+			awaitClosed(first);
+		} finally {
+			executor.close();
+		}
+	}
+
+	@Test
+	void recyclesClaimedConnectionPastMaxAgeOnRelease() throws Exception {
+		TestSession testSession = testSession();
+		BatchTransportExecutor<String> executor = executorBuilder().withMaxConnectionAgeMillis(50).build();
+		try {
+			executor.registerSession("cluster", testSession.session);
+
+			Transport aged = executor.execute("cluster", (session, transport) -> {
+				Thread.sleep(100);
+				return transport;
+			});
+			Transport replacement = executor.execute("cluster", (session, transport) -> transport);
+
+			assertThat(replacement).isNotSameAs(aged);
+			awaitClosed(aged);
+			assertThat(executor.getClusterSizing("cluster").getActiveLeases()).isZero();
+		} finally {
+			executor.close();
+		}
+	}
+
 	@Test
 	void forcedShutdownInvalidatesActiveLease() throws Exception {
 		TestSession testSession = testSession();
@@ -320,6 +640,31 @@ class BatchTransportExecutorTest {
 		executor.close();
 	}
 
+	private static void awaitAtLeast(AtomicInteger counter, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (counter.get() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(counter.get()).isGreaterThanOrEqualTo(expected);
+	}
+
+	/**
+	 * Waits for the pool to close the transport without calling the mock meanwhile, as {@code verify(..., timeout(...))} would hold the monitor of
+	 * the synchronized {@link Transport#close()} and block the pool thread that closes it.
+	 */
+	private static void awaitClosed(Transport transport) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!isClosed(transport) && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		verify(transport).close();
+	}
+
+	private static boolean isClosed(Transport transport) {
+		return mockingDetails(transport).getInvocations().stream()
+				.anyMatch(invocation -> invocation.getMethod().getName().equals("close"));
+	}
+
 	private static BatchTransportExecutorBuilder<String> executorBuilder() {
 		return BatchTransportExecutor.<String>builder()
 				.withCorePoolSize(0)
@@ -0,0 +1,83 @@
+package org.simplejavamail.internal.batchsupport;
+
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.batch.BatchTransportPoolConfiguration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterConnectionLimitTest {
+
+	@Test
+	void recognizesRepliesAboutTheNumberOfConnectionsOnly() {
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("421 4.7.0 Too many concurrent SMTP connections from this IP"))).isTrue();
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("421 4.7.0 Error: too many connections from 192.0.2.1"))).isTrue();
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("Got bad greeting from SMTP host: smtp.example.com, port: 25, " +
+				"response: 421 4.3.2 The maximum number of concurrent server connections has exceeded a limit, closing transmission channel"))).isTrue();
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("send failed",
+				new MessagingException("421 Connection limit exceeded")))).isTrue();
+
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("421 4.7.0 Too many messages on this connection"))).isFalse();
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("421 4.7.0 Too many bad commands; closing connection"))).isFalse();
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("421 4.7.0 Try again later, closing connection"))).isFalse();
+		assertThat(ClusterConnectionLimit.isTooManyConnections(new MessagingException("550 Too many concurrent SMTP connections"))).isFalse();
+	}
+
+	@Test
+	void learnedServerLimitHoldsUntilTheRecoveryPeriodHasPassed() throws Exception {
+		ClusterConnectionLimit connectionLimit = serverLimitedToTwo(60_000);
+
+		assertThat(connectionLimit.acquire()).isTrue();
+		assertThat(connectionLimit.getLimit()).isEqualTo(2);
+		assertThat(connectionLimit.getServerLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void learnedServerLimitIsForgottenOnceRecoveredToTheCapacity() throws Exception {
+		ClusterConnectionLimit connectionLimit = serverLimitedToTwo(1);
+		Thread.sleep(10);
+
+		assertThat(connectionLimit.acquire()).isTrue();
+		assertThat(connectionLimit.getLimit()).isEqualTo(4);
+		assertThat(connectionLimit.getServerLimit()).isZero();
+	}
+
+	@Test
+	void acquireWithoutTimeoutWaitsPastTheClaimTimeoutUntilAPermitIsReleased() throws Exception {
+		ClusterConnectionLimit connectionLimit = new ClusterConnectionLimit(PoolSettings.from(BatchTransportPoolConfiguration.builder()
+				.withMaxPoolSize(1)
+				.withClaimTimeoutMillis(10)
+				.build()));
+		connectionLimit.updateSessionCount(1);
+		assertThat(connectionLimit.acquire()).isTrue();
+		assertThat(connectionLimit.acquire()).isFalse();
+
+		CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return connectionLimit.acquire(true);
+			} catch (InterruptedException e) {
+				throw new AssertionError(e);
+			}
+		});
+		Thread.sleep(100);
+		assertThat(waiting).isNotDone();
+
+		connectionLimit.release();
+		assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private static ClusterConnectionLimit serverLimitedToTwo(final long serverLimitRecoveryMillis) {
+		ClusterConnectionLimit connectionLimit = new ClusterConnectionLimit(PoolSettings.from(BatchTransportPoolConfiguration.builder()
+				.withMaxPoolSize(4)
+				.build()), serverLimitRecoveryMillis);
+		connectionLimit.updateSessionCount(1);
+		connectionLimit.leaseStarted();
+		connectionLimit.leaseStarted();
+		connectionLimit.learnServerLimit();
+		assertThat(connectionLimit.getLimit()).isEqualTo(2);
+		return connectionLimit;
+	}
+}
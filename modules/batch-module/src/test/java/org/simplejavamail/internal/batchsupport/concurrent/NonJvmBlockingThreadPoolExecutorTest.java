@@ -0,0 +1,51 @@
+package org.simplejavamail.internal.batchsupport.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NonJvmBlockingThreadPoolExecutorTest {
+
+	@Test
+	void blockedTaskIsRejectedOrRunWhenExecutorShutsDownWhileWaiting() throws Exception {
+		NonJvmBlockingThreadPoolExecutor executor = new NonJvmBlockingThreadPoolExecutor(1, 1000, 1, ThreadPoolRejectionPolicy.BLOCK);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch releaseRunning = new CountDownLatch(1);
+		executor.execute(() -> {
+			running.countDown();
+			try {
+				releaseRunning.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		executor.execute(() -> { }); // fills the queue
+
+		AtomicBoolean blockedTaskRan = new AtomicBoolean();
+		CompletableFuture<Boolean> blockedSubmit = CompletableFuture.supplyAsync(() -> {
+			try {
+				executor.execute(() -> blockedTaskRan.set(true));
+				return true;
+			} catch (RejectedExecutionException e) {
+				return false;
+			}
+		});
+		Thread.sleep(100);
+		assertThat(blockedSubmit).isNotDone();
+
+		executor.shutdown();
+		releaseRunning.countDown();
+
+		boolean accepted = blockedSubmit.get(5, TimeUnit.SECONDS);
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(blockedTaskRan.get()).isEqualTo(accepted);
+	}
+}
@@ -0,0 +1,83 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.batch.BatchTransportExecutor;
+import org.subethamail.smtp.server.SMTPServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims and releases pooled transports from many threads at once, without sending anything over them, so the score reflects the bookkeeping
+ * around each claim (registration lookup, lease tracking and counting the operation for shutdown) and how well it scales under contention.
+ * <p>
+ * The pool is large enough for every thread to hold a connection, so threads don't wait for each other's transports. Run with {@code -t} to measure
+ * other thread counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class BatchClaimContentionBenchmark {
+
+	private static final String CLUSTER = "benchmark";
+	private static final int SESSIONS = 2;
+
+	private SMTPServer smtpServer;
+	private BatchTransportExecutor<String> executor;
+
+	@Setup
+	public void start()
+			throws IOException {
+		final int port = findFreePort();
+		smtpServer = SMTPServer.port(port)
+				.messageHandler((context, from, to, data) -> { /* discard */ })
+				.build();
+		smtpServer.start();
+		executor = BatchTransportExecutor.<String>builder()
+				.withMaxPoolSize(64)
+				.withExpireAfterMillis(0)
+				.build();
+		for (int i = 0; i < SESSIONS; i++) {
+			final Properties properties = new Properties();
+			properties.setProperty("mail.smtp.host", "localhost");
+			properties.setProperty("mail.smtp.port", String.valueOf(port));
+			executor.registerSession(CLUSTER, Session.getInstance(properties));
+		}
+	}
+
+	@TearDown
+	public void stop() {
+		executor.close();
+		smtpServer.stop();
+	}
+
+	@Benchmark
+	public Session claimAndRelease() {
+		return executor.execute(CLUSTER, (session, transport) -> session);
+	}
+
+	private static int findFreePort()
+			throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
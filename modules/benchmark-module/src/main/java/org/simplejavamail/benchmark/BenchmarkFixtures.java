@@ -0,0 +1,219 @@
+package org.simplejavamail.benchmark;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.email.config.SmimeEncryptionConfig;
+import org.simplejavamail.api.email.config.SmimeSigningConfig;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static jakarta.mail.Message.RecipientType.CC;
+import static jakarta.mail.Message.RecipientType.TO;
+import static java.lang.String.format;
+
+/**
+ * Shared test data for the benchmarks: emails for each of the {@code MimeMessageProducer} shapes and the S/MIME material also used by the junit tests
+ * of the simple-java-mail module.
+ */
+public final class BenchmarkFixtures {
+
+	/**
+	 * The DKIM module skips the DNS lookup of the domain key for this sender domain, so signing stays a pure CPU cost.
+	 */
+	static final String FROM_ADDRESS = "benchmark@supersecret-testing-domain.com";
+
+	/**
+	 * Can be used to point the benchmarks to the test resources of the simple-java-mail module when running from an unexpected working directory.
+	 */
+	private static final String RESOURCES_PROPERTY = "simplejavamail.benchmark.resources";
+
+	private static final byte[] ATTACHMENT_DATA = repeat("Simple Java Mail attachment content, ", 2048).getBytes(StandardCharsets.UTF_8);
+	private static final byte[] IMAGE_DATA = new byte[8 * 1024];
+	private static final String PLAIN_TEXT = repeat("We should meet up! ", 200);
+	private static final String HTML_TEXT = "<html><body>" + repeat("<p>We should meet up!</p>", 200) + "<img src='cid:thumbsup'></body></html>";
+
+	static {
+		Arrays.fill(IMAGE_DATA, (byte) 0x7F);
+	}
+
+	private BenchmarkFixtures() {
+	}
+
+	/**
+	 * Each shape results in exactly one of the eight {@code MimeMessageProducer} implementations being selected for the email.
+	 */
+	public enum MessageShape {
+		SIMPLE(false, false, false),
+		ALTERNATIVE(false, false, true),
+		RELATED(false, true, false),
+		MIXED(true, false, false),
+		RELATED_ALTERNATIVE(false, true, true),
+		MIXED_ALTERNATIVE(true, false, true),
+		MIXED_RELATED(true, true, false),
+		MIXED_RELATED_ALTERNATIVE(true, true, true);
+
+		private final boolean mixed;
+		private final boolean related;
+		private final boolean alternative;
+
+		MessageShape(final boolean mixed, final boolean related, final boolean alternative) {
+			this.mixed = mixed;
+			this.related = related;
+			this.alternative = alternative;
+		}
+
+		@NotNull
+		public EmailPopulatingBuilder populate(@NotNull final EmailPopulatingBuilder builder) {
+			builder.from("Simple Java Mail", FROM_ADDRESS)
+					.withRecipients(
+							new Recipient("C. Cane", "candycane@candyshop.org", TO, null),
+							new Recipient("C. Bo", "chocobo@candyshop.org", CC, null))
+					.withReplyTo("Lollypop", "lolly.pop@othermail.com")
+					.withSubject("hey")
+					.withHeader("X-Priority", 2);
+			if (alternative) {
+				builder.withPlainText(PLAIN_TEXT).withHTMLText(HTML_TEXT);
+			} else if (related) {
+				builder.withHTMLText(HTML_TEXT);
+			} else {
+				builder.withPlainText(PLAIN_TEXT);
+			}
+			if (related) {
+				builder.withEmbeddedImage("thumbsup", IMAGE_DATA, "image/png");
+			}
+			if (mixed) {
+				builder.withAttachment("dresscode.txt", ATTACHMENT_DATA, "text/plain");
+			}
+			return builder;
+		}
+
+		@NotNull
+		public Email buildEmail() {
+			return populate(EmailBuilder.startingBlank()).buildEmail();
+		}
+	}
+
+	@NotNull
+	static DkimConfig dkimConfig() {
+		return DkimConfig.builder()
+				.dkimPrivateKeyData(generateDkimPrivateKey())
+				.dkimSigningDomain("supersecret-testing-domain.com")
+				.dkimSelector("dkim1")
+				.build();
+	}
+
+	@NotNull
+	static SmimeSigningConfig smimeSigningConfig() {
+		return SmimeSigningConfig.builder()
+				.pkcs12Config(Pkcs12Config.builder()
+						.pkcs12Store(readResource("pkcs12/smime_keystore.pkcs12"))
+						.storePassword("letmein")
+						.keyAlias("smime_test_user_alias_rsa")
+						.keyPassword("letmein")
+						.build())
+				.build();
+	}
+
+	@NotNull
+	static SmimeEncryptionConfig smimeEncryptionConfig() {
+		return SmimeEncryptionConfig.builder()
+				.x509Certificate(resolveResource("pkcs12/smime_test_user.pem.standard.crt"))
+				.build();
+	}
+
+	/**
+	 * Self-signed certificates for as many distinct S/MIME recipients, which share one throwaway 2048 bit RSA key, as generating keys is slow and
+	 * only the certificates need to differ.
+	 */
+	@NotNull
+	static List<X509Certificate> smimeRecipientCertificates(final int count) {
+		try {
+			final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+			keyPairGenerator.initialize(2048);
+			final KeyPair keyPair = keyPairGenerator.generateKeyPair();
+			final ContentSigner contentSigner = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+			final Date notBefore = new Date();
+			final Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(1));
+
+			final List<X509Certificate> certificates = new ArrayList<>();
+			for (int i = 1; i <= count; i++) {
+				final X500Name subject = new X500Name("CN=recipient" + i + ",E=recipient" + i + "@supersecret-testing-domain.com");
+				certificates.add(new JcaX509CertificateConverter().getCertificate(new JcaX509v3CertificateBuilder(
+						subject, BigInteger.valueOf(i), notBefore, notAfter, subject, keyPair.getPublic()).build(contentSigner)));
+			}
+			return certificates;
+		} catch (GeneralSecurityException | OperatorCreationException e) {
+			throw new IllegalStateException("unable to generate S/MIME recipient certificates for benchmark", e);
+		}
+	}
+
+	/**
+	 * A throwaway 2048 bit RSA key in PKCS#8 DER format, as there is no DNS record to verify against anyway.
+	 */
+	private static byte[] generateDkimPrivateKey() {
+		try {
+			final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+			keyPairGenerator.initialize(2048);
+			return keyPairGenerator.generateKeyPair().getPrivate().getEncoded();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("unable to generate DKIM key for benchmark", e);
+		}
+	}
+
+	private static byte[] readResource(@NotNull final String resource) {
+		try {
+			return Files.readAllBytes(resolveResource(resource).toPath());
+		} catch (IOException e) {
+			throw new IllegalStateException(format("unable to read benchmark resource %s", resource), e);
+		}
+	}
+
+	@NotNull
+	private static File resolveResource(@NotNull final String resource) {
+		final String[] candidateFolders = {
+				System.getProperty(RESOURCES_PROPERTY),
+				"../simple-java-mail/src/test/resources",
+				"modules/simple-java-mail/src/test/resources"
+		};
+		for (final String candidateFolder : candidateFolders) {
+			if (candidateFolder != null && new File(candidateFolder, resource).isFile()) {
+				return new File(candidateFolder, resource);
+			}
+		}
+		throw new IllegalStateException(format("unable to locate benchmark resource %s, run from the project root or set -D%s", resource, RESOURCES_PROPERTY));
+	}
+
+	@SuppressWarnings("SameParameterValue")
+	private static String repeat(final String value, final int times) {
+		final StringBuilder sb = new StringBuilder(value.length() * times);
+		for (int i = 0; i < times; i++) {
+			sb.append(value);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,25 @@
+package org.simplejavamail.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * Used to force a MimeMessage to be fully rendered (and signed, in case of DKIM), without measuring the cost of buffering the result.
+ */
+final class DiscardingOutputStream extends OutputStream {
+
+	private long count;
+
+	@Override
+	public void write(final int b) {
+		count++;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) {
+		count += len;
+	}
+
+	long getCount() {
+		return count;
+	}
+}
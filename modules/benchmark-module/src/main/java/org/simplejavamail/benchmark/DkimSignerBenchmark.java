@@ -0,0 +1,82 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.benchmark.BenchmarkFixtures.MessageShape;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.internal.dkimsupport.DKIMSigner;
+import org.simplejavamail.mailer.internal.EmailGovernanceImpl;
+import org.simplejavamail.utils.mail.dkim.DkimMessage;
+import org.simplejavamail.utils.mail.dkim.DkimSigner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.simplejavamail.utils.mail.dkim.Canonicalization.RELAXED;
+
+/**
+ * Measures the per-message cost of preparing a MimeMessage for DKIM signing, which is everything but computing the signature itself (that
+ * happens while the message is written, see {@link SigningBenchmark}).
+ * <p>
+ * {@link #prepareParsingKeyPerMessage()} is how every message used to be prepared, parsing the PKCS#8 private key each time.
+ * {@link #prepareWithCachedSigner()} goes through the DKIM module, which parses the key once per {@link DkimConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DkimSignerBenchmark {
+
+	private final DKIMSigner dkimModule = new DKIMSigner();
+
+	private Email email;
+	private MimeMessage message;
+	private DkimConfig dkimConfig;
+
+	@Setup
+	public void setup()
+			throws MessagingException, IOException {
+		dkimConfig = BenchmarkFixtures.dkimConfig();
+		email = EmailGovernanceImpl.NO_GOVERNANCE().produceEmailApplyingDefaultsAndOverrides(MessageShape.SIMPLE.buildEmail());
+		message = MimeMessageProducerHelper.produceMimeMessage(email, Session.getInstance(new Properties()));
+	}
+
+	@Benchmark
+	public MimeMessage prepareParsingKeyPerMessage()
+			throws IOException, NoSuchAlgorithmException, InvalidKeySpecException, MessagingException {
+		final DkimSigner dkimSigner = new DkimSigner(dkimConfig.getDkimSigningDomain(), dkimConfig.getDkimSelector(),
+				new ByteArrayInputStream(dkimConfig.getDkimPrivateKeyData()));
+		dkimSigner.setIdentity(BenchmarkFixtures.FROM_ADDRESS);
+		dkimSigner.setHeaderCanonicalization(RELAXED);
+		dkimSigner.setBodyCanonicalization(RELAXED);
+		dkimSigner.setLengthParam(false);
+		dkimSigner.setZParam(false);
+		dkimSigner.setCheckDomainKey(false);
+		return new DkimMessage(message, dkimSigner);
+	}
+
+	@Benchmark
+	public MimeMessage prepareWithCachedSigner() {
+		return dkimModule.signMessageWithDKIM(email, message, dkimConfig, email.getFromRecipient(), MetricsRecorder.NOOP);
+	}
+}
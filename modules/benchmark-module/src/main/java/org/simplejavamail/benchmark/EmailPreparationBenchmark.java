@@ -0,0 +1,64 @@
+package org.simplejavamail.benchmark;
+
+import com.sanctionco.jmail.JMail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.EmailGovernance;
+import org.simplejavamail.benchmark.BenchmarkFixtures.MessageShape;
+import org.simplejavamail.mailer.MailerHelper;
+import org.simplejavamail.mailer.internal.EmailGovernanceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Covers everything that happens to an {@link Email} before it is converted to a MimeMessage: building it, applying the Mailer's defaults and overrides
+ * and validating the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailPreparationBenchmark {
+
+	@Param
+	public MessageShape shape;
+
+	private EmailGovernance governance;
+	private Email email;
+	private Email governedEmail;
+
+	@Setup
+	public void setup() {
+		// same validator a Mailer uses unless configured otherwise
+		governance = new EmailGovernanceImpl(JMail.strictValidator(), null, null, null);
+		email = shape.buildEmail();
+		governedEmail = governance.produceEmailApplyingDefaultsAndOverrides(email);
+	}
+
+	@Benchmark
+	public Email buildEmail() {
+		return shape.buildEmail();
+	}
+
+	@Benchmark
+	public Email applyGovernance() {
+		return governance.produceEmailApplyingDefaultsAndOverrides(email);
+	}
+
+	@Benchmark
+	public boolean validate() {
+		return MailerHelper.validate(governedEmail, governance.getEmailValidator());
+	}
+}
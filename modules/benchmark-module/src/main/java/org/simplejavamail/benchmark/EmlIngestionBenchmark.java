@@ -0,0 +1,128 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailEnvelope;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.email.EmailBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static jakarta.mail.Message.RecipientType.TO;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures converting EML files to emails, reading the files regularly versus memory-mapping them, and with or without fetching the attachment
+ * data, or reading only the envelope from the headers. Each invocation converts the next file of the corpus.
+ * <p>
+ * By default, a corpus of generated files is used, of which the size of the attachment in each file is given by {@link #attachmentKilobytes}. Set
+ * the {@value #CORPUS_PROPERTY} system property to a directory of .eml files to measure a real (multi-GB) corpus instead. The score multiplied by
+ * the average file size gives the throughput in bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmlIngestionBenchmark {
+
+	private static final String CORPUS_PROPERTY = "simplejavamail.benchmark.emlCorpus";
+	private static final int GENERATED_CORPUS_FILES = 16;
+
+	@Param({ "64", "4096" })
+	public int attachmentKilobytes;
+
+	private final Session session = Session.getInstance(new Properties());
+	private final List<File> corpus = new ArrayList<>();
+	private Path generatedCorpus;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup()
+			throws IOException {
+		final String corpusDirectory = System.getProperty(CORPUS_PROPERTY);
+		if (corpusDirectory != null) {
+			try (Stream<Path> files = Files.walk(new File(corpusDirectory).toPath())) {
+				files.filter(path -> path.toString().toLowerCase().endsWith(".eml")).sorted().forEach(path -> corpus.add(path.toFile()));
+			}
+			if (corpus.isEmpty()) {
+				throw new IllegalStateException("no .eml files found in " + corpusDirectory);
+			}
+		} else {
+			generatedCorpus = Files.createTempDirectory("simplejavamail-eml-corpus-");
+			final Random random = new Random(42);
+			for (int i = 0; i < GENERATED_CORPUS_FILES; i++) {
+				final byte[] attachment = new byte[attachmentKilobytes * 1024];
+				random.nextBytes(attachment);
+				final Email email = EmailBuilder.startingBlank()
+						.from("Simple Java Mail", BenchmarkFixtures.FROM_ADDRESS)
+						.withRecipients(new Recipient("C. Cane", "candycane@candyshop.org", TO, null))
+						.withSubject("EML ingestion " + i)
+						.withPlainText("We should meet up!")
+						.withHTMLText("<p>We should meet up!</p>")
+						.withAttachment("attachment-" + i + ".bin", attachment, "application/octet-stream")
+						.buildEmail();
+				corpus.add(Files.write(generatedCorpus.resolve("message-" + i + ".eml"), EmailConverter.emailToEML(email).getBytes(UTF_8)).toFile());
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+			throws IOException {
+		if (generatedCorpus != null) {
+			for (final File file : corpus) {
+				Files.deleteIfExists(file.toPath());
+			}
+			Files.deleteIfExists(generatedCorpus);
+		}
+	}
+
+	@Benchmark
+	public Email readFile() {
+		return EmailConverter.emlToEmail(nextFile());
+	}
+
+	@Benchmark
+	public Email memoryMapFile() {
+		return EmailConverter.mimeMessageToEmail(EmailConverter.emlToMimeMessageMemoryMapped(nextFile(), session));
+	}
+
+	@Benchmark
+	public Email memoryMapFileWithoutFetchingAttachmentData() {
+		return EmailConverter.mimeMessageToEmailBuilder(EmailConverter.emlToMimeMessageMemoryMapped(nextFile(), session), null, false).buildEmail();
+	}
+
+	@Benchmark
+	public EmailEnvelope readEnvelope() {
+		return EmailConverter.emlToEnvelope(nextFile());
+	}
+
+	private File nextFile() {
+		return corpus.get(next++ % corpus.size());
+	}
+}
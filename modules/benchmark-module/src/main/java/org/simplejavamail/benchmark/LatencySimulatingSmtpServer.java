@@ -0,0 +1,108 @@
+package org.simplejavamail.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * SMTP stand-in that discards all mail, but holds back its replies for a fixed round trip time, as if the client were talking to a remote server.
+ * <p>
+ * Replies are only sent once the client has no more commands in flight, so a client pipelining its commands (RFC 2920) pays the round trip once for
+ * the whole batch while a client waiting for each reply pays it per command. Whether {@code PIPELINING} is advertised in the {@code EHLO} reply can be
+ * switched off, to measure the fallback path against the same server.
+ */
+class LatencySimulatingSmtpServer implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final long roundTripMillis;
+	private final boolean advertisePipelining;
+
+	LatencySimulatingSmtpServer(final long roundTripMillis, final boolean advertisePipelining)
+			throws IOException {
+		this.serverSocket = new ServerSocket(0);
+		this.roundTripMillis = roundTripMillis;
+		this.advertisePipelining = advertisePipelining;
+		final Thread acceptor = new Thread(this::acceptConnections, "latency-simulating-smtp-server");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	@Override
+	public void close()
+			throws IOException {
+		serverSocket.close();
+	}
+
+	private void acceptConnections() {
+		while (!serverSocket.isClosed()) {
+			try {
+				final Socket socket = serverSocket.accept();
+				final Thread connection = new Thread(() -> serveConnection(socket), "latency-simulating-smtp-connection");
+				connection.setDaemon(true);
+				connection.start();
+			} catch (SocketException e) {
+				// server socket closed
+			} catch (IOException e) {
+				throw new IllegalStateException("unable to accept SMTP connection", e);
+			}
+		}
+	}
+
+	private void serveConnection(@NotNull final Socket socket) {
+		try (Socket s = socket) {
+			final BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), ISO_8859_1));
+			final OutputStream out = s.getOutputStream();
+			final StringBuilder pendingReplies = new StringBuilder("220 stand-in ESMTP\r\n");
+			flushAfterRoundTrip(out, pendingReplies);
+
+			boolean inData = false;
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (inData) {
+					if (line.equals(".")) {
+						inData = false;
+						pendingReplies.append("250 OK queued\r\n");
+					}
+				} else if (line.startsWith("EHLO")) {
+					pendingReplies.append(advertisePipelining ? "250-stand-in\r\n250-PIPELINING\r\n250 8BITMIME\r\n" : "250-stand-in\r\n250 8BITMIME\r\n");
+				} else if (line.equals("DATA")) {
+					inData = true;
+					pendingReplies.append("354 go ahead\r\n");
+				} else if (line.equals("QUIT")) {
+					pendingReplies.append("221 bye\r\n");
+					flushAfterRoundTrip(out, pendingReplies);
+					return;
+				} else {
+					pendingReplies.append("250 OK\r\n");
+				}
+				if (!in.ready() && pendingReplies.length() > 0) {
+					flushAfterRoundTrip(out, pendingReplies);
+				}
+			}
+		} catch (IOException | InterruptedException e) {
+			// client went away
+		}
+	}
+
+	private void flushAfterRoundTrip(@NotNull final OutputStream out, @NotNull final StringBuilder pendingReplies)
+			throws IOException, InterruptedException {
+		if (roundTripMillis > 0) {
+			Thread.sleep(roundTripMillis);
+		}
+		out.write(pendingReplies.toString().getBytes(ISO_8859_1));
+		out.flush();
+		pendingReplies.setLength(0);
+	}
+}
@@ -0,0 +1,64 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.benchmark.BenchmarkFixtures.MessageShape;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.mailer.internal.EmailGovernanceImpl;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MimeMessageProducerHelper#produceMimeMessage(Email, Session)} for each of the producer shapes, both just building the MimeMessage
+ * structure and rendering it to the wire format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MimeMessageProductionBenchmark {
+
+	@Param
+	public MessageShape shape;
+
+	private Session session;
+	private Email email;
+
+	@Setup
+	public void setup() {
+		session = Session.getInstance(new Properties());
+		email = EmailGovernanceImpl.NO_GOVERNANCE().produceEmailApplyingDefaultsAndOverrides(shape.buildEmail());
+	}
+
+	@Benchmark
+	public MimeMessage produceMimeMessage()
+			throws IOException, MessagingException {
+		return MimeMessageProducerHelper.produceMimeMessage(email, session);
+	}
+
+	@Benchmark
+	public long produceAndWriteMimeMessage()
+			throws IOException, MessagingException {
+		final MimeMessage message = MimeMessageProducerHelper.produceMimeMessage(email, session);
+		final DiscardingOutputStream os = new DiscardingOutputStream();
+		message.writeTo(os);
+		return os.getCount();
+	}
+}
@@ -0,0 +1,62 @@
+package org.simplejavamail.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the shaded benchmarks jar. Accepts the regular JMH command line options (e.g. a benchmark regex, {@code -t 4} or {@code -p shape=SIMPLE})
+ * and runs the selected benchmarks twice:
+ * <ol>
+ *     <li>in throughput mode, reported in ops/s and with the {@code gc} profiler attached for allocation rate and GC counts</li>
+ *     <li>in sample time mode, reported in µs/op, for the latency distribution (p50, p90, p99, p99.9 etc.)</li>
+ * </ol>
+ * When {@code -bm} is given explicitly, only that single run is performed (the {@code gc} profiler is still added).
+ * <p>
+ * Usage, from the project root: {@code mvn -Pbenchmarks -pl modules/benchmark-module -am package -DskipTests} followed by
+ * {@code java -jar modules/benchmark-module/target/benchmarks.jar [jmh options]}.
+ */
+public final class PipelineBenchmarkRunner {
+
+	private PipelineBenchmarkRunner() {
+	}
+
+	public static void main(final String[] args)
+			throws CommandLineOptionException, RunnerException {
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		if (!commandLineOptions.getBenchModes().isEmpty()) {
+			new Runner(new OptionsBuilder()
+					.parent(commandLineOptions)
+					.addProfiler(GCProfiler.class)
+					.build()).run();
+		} else {
+			new Runner(throughputOptions(commandLineOptions)).run();
+			new Runner(sampleTimeOptions(commandLineOptions)).run();
+		}
+	}
+
+	private static Options throughputOptions(final CommandLineOptions commandLineOptions) {
+		return new OptionsBuilder()
+				.parent(commandLineOptions)
+				.mode(Mode.Throughput)
+				.timeUnit(TimeUnit.SECONDS)
+				.addProfiler(GCProfiler.class)
+				.build();
+	}
+
+	private static Options sampleTimeOptions(final CommandLineOptions commandLineOptions) {
+		return new OptionsBuilder()
+				.parent(commandLineOptions)
+				.mode(Mode.SampleTime)
+				.timeUnit(TimeUnit.MICROSECONDS)
+				.build();
+	}
+}
@@ -0,0 +1,84 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.benchmark.BenchmarkFixtures.MessageShape;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.internal.EmailGovernanceImpl;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures producing and rendering a MimeMessage with DKIM and/or S/MIME protection applied, using the DKIM and S/MIME modules. Compare with
+ * {@link MimeMessageProductionBenchmark#produceAndWriteMimeMessage()} (or {@link Protection#NONE}) for the cost of the protection itself.
+ * <p>
+ * DKIM signing is performed lazily while the message is written, which is why every variant renders the full message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+	public enum Protection {
+		NONE, DKIM, SMIME_SIGN, SMIME_ENCRYPT, SMIME_SIGN_AND_ENCRYPT, SMIME_SIGN_AND_DKIM
+	}
+
+	@Param
+	public Protection protection;
+
+	@Param({"MIXED_ALTERNATIVE"})
+	public MessageShape shape;
+
+	private Session session;
+	private Email email;
+
+	@Setup
+	public void setup() {
+		session = Session.getInstance(new Properties());
+		email = EmailGovernanceImpl.NO_GOVERNANCE().produceEmailApplyingDefaultsAndOverrides(applyProtection(shape.populate(EmailBuilder.startingBlank())).buildEmail());
+	}
+
+	@NotNull
+	private EmailPopulatingBuilder applyProtection(@NotNull final EmailPopulatingBuilder builder) {
+		if (protection == Protection.DKIM || protection == Protection.SMIME_SIGN_AND_DKIM) {
+			builder.signWithDomainKey(BenchmarkFixtures.dkimConfig());
+		}
+		if (protection == Protection.SMIME_SIGN || protection == Protection.SMIME_SIGN_AND_ENCRYPT || protection == Protection.SMIME_SIGN_AND_DKIM) {
+			builder.signWithSmime(BenchmarkFixtures.smimeSigningConfig());
+		}
+		if (protection == Protection.SMIME_ENCRYPT || protection == Protection.SMIME_SIGN_AND_ENCRYPT) {
+			builder.encryptWithSmime(BenchmarkFixtures.smimeEncryptionConfig());
+		}
+		return builder;
+	}
+
+	@Benchmark
+	public long produceProtectedMimeMessage()
+			throws IOException, MessagingException {
+		final MimeMessage message = MimeMessageProducerHelper.produceMimeMessage(email, session);
+		final DiscardingOutputStream os = new DiscardingOutputStream();
+		message.writeTo(os);
+		return os.getCount();
+	}
+}
@@ -0,0 +1,100 @@
+package org.simplejavamail.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.config.TransportStrategy;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static jakarta.mail.Message.RecipientType.BCC;
+import static java.lang.String.format;
+
+/**
+ * Sends a simple batch over one connection to a {@link LatencySimulatingSmtpServer}, with and without SMTP pipelining, reported per email. Without
+ * pipelining every envelope command costs a round trip, so the gap grows with the number of recipients and the latency.
+ * <p>
+ * The connection is opened for each batch, so the connect and {@code EHLO} round trips are part of the numbers, as they would be in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SimpleBatchPipeliningBenchmark {
+
+	private static final int BATCH_SIZE = 20;
+
+	@Param({"false", "true"})
+	public boolean pipelining;
+
+	@Param({"1", "10"})
+	public int recipients;
+
+	@Param({"0", "10"})
+	public long roundTripMillis;
+
+	private LatencySimulatingSmtpServer smtpServer;
+	private Mailer mailer;
+	private List<Email> batch;
+
+	@Setup
+	public void setup()
+			throws IOException {
+		smtpServer = new LatencySimulatingSmtpServer(roundTripMillis, true);
+		mailer = MailerBuilder
+				.withSMTPServer("localhost", smtpServer.getPort())
+				.withTransportStrategy(TransportStrategy.SMTP)
+				.withSmtpPipelining(pipelining)
+				.buildMailer();
+		batch = new ArrayList<>();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.add(createEmail());
+		}
+	}
+
+	@TearDown
+	public void tearDown()
+			throws Exception {
+		mailer.close();
+		smtpServer.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void sendMailsInSimpleBatch() {
+		mailer.sendMailsInSimpleBatch(batch, false).join();
+	}
+
+	private Email createEmail() {
+		final Recipient[] subscribers = new Recipient[recipients];
+		for (int i = 0; i < recipients; i++) {
+			subscribers[i] = new Recipient(null, format("subscriber%d@candyshop.org", i), BCC, null);
+		}
+		return EmailBuilder.startingBlank()
+				.from("Simple Java Mail", BenchmarkFixtures.FROM_ADDRESS)
+				.withRecipients(subscribers)
+				.withSubject("newsletter")
+				.withPlainText("We should meet up!")
+				.buildEmail();
+	}
+}
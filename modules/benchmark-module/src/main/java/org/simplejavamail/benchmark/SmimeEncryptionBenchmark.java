@@ -0,0 +1,107 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.jcajce.JceCMSContentEncryptorBuilder;
+import org.bouncycastle.cms.jcajce.JceKeyTransRecipientInfoGenerator;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.mail.smime.SMIMEEnvelopedGenerator;
+import org.bouncycastle.mail.smime.SMIMEException;
+import org.bouncycastle.operator.jcajce.JcaAlgorithmParametersConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.benchmark.BenchmarkFixtures.MessageShape;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.internal.smimesupport.SMIMESupport;
+import org.simplejavamail.mailer.internal.EmailGovernanceImpl;
+import org.simplejavamail.utils.mail.smime.SmimeUtil;
+
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.security.spec.MGF1ParameterSpec;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-message cost of S/MIME encrypting a message for 1, 10 and 100 distinct recipients, including writing the message, which is when
+ * the content is actually encrypted and the content key is wrapped for each recipient.
+ * <p>
+ * {@link #encryptCreatingRecipientInfoPerMessage()} is how every message used to be encrypted, parsing each recipient certificate and preparing its
+ * key wrapping parameters each time. {@link #encryptWithCachedRecipientInfo()} goes through the S/MIME module, which does that once per
+ * certificate. The module also copies the headers into a new message, so it does slightly more work besides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmimeEncryptionBenchmark {
+
+	private static final String KEY_ENCAPSULATION_ALGORITHM = "RSA_OAEP_SHA256";
+
+	@Param({"1", "10", "100"})
+	public int recipients;
+
+	private final SMIMESupport smimeModule = new SMIMESupport();
+
+	private Session session;
+	private Email email;
+	private MimeMessage message;
+	private List<X509Certificate> recipientCertificates;
+
+	@Setup
+	public void setup()
+			throws MessagingException, IOException {
+		session = Session.getInstance(new Properties());
+		email = EmailGovernanceImpl.NO_GOVERNANCE().produceEmailApplyingDefaultsAndOverrides(MessageShape.SIMPLE.buildEmail());
+		message = MimeMessageProducerHelper.produceMimeMessage(email, session);
+		recipientCertificates = BenchmarkFixtures.smimeRecipientCertificates(recipients);
+	}
+
+	@Benchmark
+	public long encryptCreatingRecipientInfoPerMessage()
+			throws GeneralSecurityException, SMIMEException, MessagingException, IOException, CMSException {
+		final SMIMEEnvelopedGenerator generator = new SMIMEEnvelopedGenerator();
+		for (final X509Certificate certificate : recipientCertificates) {
+			final AlgorithmIdentifier oaepParams = new JcaAlgorithmParametersConverter().getAlgorithmIdentifier(PKCSObjectIdentifiers.id_RSAES_OAEP,
+					new OAEPParameterSpec("SHA-256", "MGF1", new MGF1ParameterSpec("SHA-256"), PSource.PSpecified.DEFAULT));
+			generator.addRecipientInfoGenerator(new JceKeyTransRecipientInfoGenerator(certificate, oaepParams).setProvider(BouncyCastleProvider.PROVIDER_NAME));
+		}
+		final MimeBodyPart encryptedBodyPart = generator.generate(message, new JceCMSContentEncryptorBuilder(SmimeUtil.DEFAULT_CIPHER)
+				.setProvider(BouncyCastleProvider.PROVIDER_NAME).build());
+		final DiscardingOutputStream os = new DiscardingOutputStream();
+		encryptedBodyPart.writeTo(os);
+		return os.getCount();
+	}
+
+	@Benchmark
+	public long encryptWithCachedRecipientInfo()
+			throws MessagingException, IOException {
+		final MimeMessage encryptedMessage = smimeModule.encryptMessageWithSmimeForRecipients(session, email, message, recipientCertificates,
+				KEY_ENCAPSULATION_ALGORITHM, null, MetricsRecorder.NOOP);
+		final DiscardingOutputStream os = new DiscardingOutputStream();
+		encryptedMessage.writeTo(os);
+		return os.getCount();
+	}
+}
@@ -0,0 +1,125 @@
+package org.simplejavamail.benchmark;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.config.TransportStrategy;
+import org.simplejavamail.benchmark.BenchmarkFixtures.MessageShape;
+import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
+import org.simplejavamail.mailer.MailerBuilder;
+import org.simplejavamail.mailer.internal.EmailGovernanceImpl;
+import org.subethamail.smtp.server.SMTPServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers emails to an in-process SMTP server that discards everything it receives, so the numbers reflect the client side of the SMTP conversation
+ * over loopback.
+ * <ul>
+ *     <li>{@link #transportSendMessage(ConnectionState)} only measures {@link Transport#sendMessage} on an already connected transport</li>
+ *     <li>{@link #mailerSendMail()} measures the full pipeline through a {@link Mailer}, from building the Email up to and including the server's reply. When
+ *     the batch-module is on the classpath (as it is here), this goes through the SMTP connection pool.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+	@Param({"ALTERNATIVE", "MIXED_RELATED_ALTERNATIVE"})
+	public MessageShape shape;
+
+	private SMTPServer smtpServer;
+	private Mailer mailer;
+	private int port;
+
+	@Setup
+	public void startServer()
+			throws IOException {
+		port = findFreePort();
+		smtpServer = SMTPServer.port(port)
+				.messageHandler((context, from, to, data) -> { /* discard */ })
+				.build();
+		smtpServer.start();
+		mailer = MailerBuilder
+				.withSMTPServer("localhost", port)
+				.withTransportStrategy(TransportStrategy.SMTP)
+				.buildMailer();
+	}
+
+	@TearDown
+	public void stopServer()
+			throws Exception {
+		mailer.close();
+		smtpServer.stop();
+	}
+
+	@Benchmark
+	public void mailerSendMail() {
+		mailer.sendMail(shape.buildEmail()).join();
+	}
+
+	@Benchmark
+	public void transportSendMessage(final ConnectionState connection)
+			throws MessagingException {
+		connection.transport.sendMessage(connection.message, connection.message.getAllRecipients());
+	}
+
+	/**
+	 * Transports are not thread-safe, so each benchmark thread gets its own connection.
+	 */
+	@State(Scope.Thread)
+	public static class ConnectionState {
+
+		private Transport transport;
+		private MimeMessage message;
+
+		@Setup
+		public void connect(final TransportBenchmark benchmark)
+				throws IOException, MessagingException {
+			final Properties properties = new Properties();
+			properties.setProperty("mail.smtp.host", "localhost");
+			properties.setProperty("mail.smtp.port", String.valueOf(benchmark.port));
+			final Session session = Session.getInstance(properties);
+
+			message = MimeMessageProducerHelper.produceMimeMessage(EmailGovernanceImpl.NO_GOVERNANCE().produceEmailApplyingDefaultsAndOverrides(benchmark.shape.buildEmail()), session);
+			message.saveChanges();
+
+			transport = session.getTransport("smtp");
+			transport.connect();
+		}
+
+		@TearDown
+		public void disconnect()
+				throws MessagingException {
+			transport.close();
+		}
+	}
+
+	private static int findFreePort()
+			throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
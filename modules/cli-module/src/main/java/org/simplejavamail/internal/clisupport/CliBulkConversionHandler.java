@@ -0,0 +1,82 @@
+package org.simplejavamail.internal.clisupport;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.converter.BulkConversionResult;
+import org.simplejavamail.api.converter.BulkConversionSummary;
+import org.simplejavamail.converter.BulkEmailConverter;
+import org.simplejavamail.converter.EmailConverter;
+import picocli.CommandLine.ParseResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static java.lang.System.err;
+import static java.lang.System.out;
+import static org.simplejavamail.internal.clisupport.CliCommandLineProducer.OPTION_INPUT;
+import static org.simplejavamail.internal.clisupport.CliCommandLineProducer.OPTION_MAX_IN_FLIGHT;
+import static org.simplejavamail.internal.clisupport.CliCommandLineProducer.OPTION_OUTPUT;
+import static org.simplejavamail.internal.clisupport.CliCommandLineProducer.OPTION_PARALLELISM;
+
+/**
+ * Runs the {@code convert} command, which converts a directory of .eml and .msg files with {@link BulkEmailConverter}. Failed files are reported
+ * as they occur and don't stop the conversion, and the progress is reported every few seconds.
+ */
+class CliBulkConversionHandler {
+
+	private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	static void processCliConvert(ParseResult convertCommand) {
+		final File inputDirectory = convertCommand.matchedOptionValue(OPTION_INPUT, null);
+		final File outputDirectory = convertCommand.matchedOptionValue(OPTION_OUTPUT, null);
+		final int parallelism = convertCommand.matchedOptionValue(OPTION_PARALLELISM, Runtime.getRuntime().availableProcessors());
+		final int maxInFlight = convertCommand.matchedOptionValue(OPTION_MAX_IN_FLIGHT, parallelism * 2);
+
+		if (!inputDirectory.isDirectory()) {
+			throw new CliExecutionException(format(CliExecutionException.ERROR_MISSING_INPUT_DIRECTORY, inputDirectory), null);
+		}
+
+		final long start = System.nanoTime();
+		final AtomicLong nextProgressReport = new AtomicLong(start + PROGRESS_INTERVAL_NANOS);
+		final AtomicInteger handledFiles = new AtomicInteger();
+		final BulkConversionSummary summary = BulkEmailConverter.convertDirectory(inputDirectory, null, parallelism, maxInFlight, result -> {
+			if (result.isConverted()) {
+				writeEml(result, inputDirectory, outputDirectory);
+			} else {
+				err.println(format("failed to convert %s: %s", result.getFile(), result.getFailure()));
+			}
+			reportProgress(handledFiles.incrementAndGet(), start, nextProgressReport);
+		});
+		out.println(summary);
+	}
+
+	private static void writeEml(@NotNull BulkConversionResult result, @NotNull File inputDirectory, @Nullable File outputDirectory) {
+		if (outputDirectory != null) {
+			final Path relativePath = inputDirectory.toPath().relativize(result.getFile().toPath());
+			final String fileName = relativePath.getFileName().toString();
+			final Path emlFile = outputDirectory.toPath().resolve(relativePath).resolveSibling(fileName.substring(0, fileName.lastIndexOf('.')) + ".eml");
+			try {
+				Files.createDirectories(emlFile.getParent());
+				//noinspection ConstantConditions
+				Files.write(emlFile, EmailConverter.mimeMessageToEMLByteArray(EmailConverter.emailToMimeMessage(result.getEmail())));
+			} catch (IOException e) {
+				throw new CliExecutionException(format(CliExecutionException.ERROR_WRITING_CONVERTED_EMAIL, emlFile), e);
+			}
+		}
+	}
+
+	private static void reportProgress(int handledFiles, long start, @NotNull AtomicLong nextProgressReport) {
+		final long now = System.nanoTime();
+		final long reportDue = nextProgressReport.get();
+		if (now >= reportDue && nextProgressReport.compareAndSet(reportDue, now + PROGRESS_INTERVAL_NANOS)) {
+			out.println(format(Locale.ROOT, "handled %d files (%.1f files/s)...", handledFiles, handledFiles * (double) TimeUnit.SECONDS.toNanos(1) / (now - start)));
+		}
+	}
+}
@@ -10,6 +10,7 @@ import picocli.CommandLine;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Model.OptionSpec;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -24,6 +25,10 @@ class CliCommandLineProducer {
     
     static final String OPTION_HELP_POSTFIX = "--help";
     static final String EMPTY_PARAM_LABEL = "<empty>";
+    static final String OPTION_INPUT = "--input";
+    static final String OPTION_OUTPUT = "--output";
+    static final String OPTION_PARALLELISM = "--parallelism";
+    static final String OPTION_MAX_IN_FLIGHT = "--maxInFlight";
     
     @SuppressWarnings("SameParameterValue")
     static CommandLine configurePicoCli(List<CliDeclaredOptionSpec> declaredOptions, int maxTextWidth) {
@@ -44,7 +49,8 @@ class CliCommandLineProducer {
                 .customSynopsis("",
                         colorizeOptionsInText("\tsend     [--help -h, --version -v] --email:options --mailer:options", COMMAND_OPTION_STYLE),
                         colorizeOptionsInText("\tconnect  [--help -h, --version -v] --mailer:options", COMMAND_OPTION_STYLE),
-                        colorizeOptionsInText("\tvalidate [--help -h, --version -v] --email:options", COMMAND_OPTION_STYLE));
+                        colorizeOptionsInText("\tvalidate [--help -h, --version -v] --email:options", COMMAND_OPTION_STYLE),
+                        colorizeOptionsInText("\tconvert  [--help -h, --version -v] --input DIR [--output DIR] [--parallelism N] [--maxInFlight N]", COMMAND_OPTION_STYLE));
     
         createRootCommand(rootCommandsHolder, "send", "Send an email: starting blank, replying to or forwarding another email.",
                 colorizeOptionsInText("\tsend [--help -h, --version -v] --email:options --mailer:options", COMMAND_OPTION_STYLE), declaredOptions, maxTextWidth);
@@ -52,6 +58,7 @@ class CliCommandLineProducer {
                 colorizeOptionsInText("\tconnect [--help -h, --version -v] --mailer:options", COMMAND_OPTION_STYLE), declaredOptions, maxTextWidth);
         createRootCommand(rootCommandsHolder, "validate", "Validate an email for mandatory fields, injection detection and optional email address validation",
                 colorizeOptionsInText("\tvalidate [--help -h, --version -v] --email:options --mailer:options", COMMAND_OPTION_STYLE), declaredOptions, maxTextWidth);
+        createConvertCommand(rootCommandsHolder);
         
         return new CommandLine(rootCommandsHolder).setUsageHelpWidth(maxTextWidth).setSeparator(" ");
     }
@@ -65,6 +72,39 @@ class CliCommandLineProducer {
         rootCommandsHolder.addSubcommand(rootCommand.name(), rootCommand);
     }
     
+    /**
+     * Unlike the other commands, this one doesn't translate to the builder API, but to {@link org.simplejavamail.converter.BulkEmailConverter}.
+     */
+    private static void createConvertCommand(CommandSpec rootCommandsHolder) {
+        final CommandSpec convertCommand = createDefaultCommandSpec("convert",
+                "Convert all .eml and .msg files in a directory (and its subdirectories) in parallel, reporting files that fail to convert " +
+                        "and the throughput reached. Optionally writes every converted email as EML to an output directory.");
+        convertCommand.usageMessage().customSynopsis(colorizeOptionsInText(
+                "\tconvert [--help -h, --version -v] --input DIR [--output DIR] [--parallelism N] [--maxInFlight N]", COMMAND_OPTION_STYLE));
+        convertCommand.addOption(OptionSpec.builder(OPTION_INPUT)
+                .type(File.class)
+                .paramLabel("DIR")
+                .required(true)
+                .description("The directory to convert the .eml and .msg files of.")
+                .build());
+        convertCommand.addOption(OptionSpec.builder(OPTION_OUTPUT)
+                .type(File.class)
+                .paramLabel("DIR")
+                .description("The directory to write the converted emails to as .eml files, keeping the relative paths of the input files.")
+                .build());
+        convertCommand.addOption(OptionSpec.builder(OPTION_PARALLELISM)
+                .type(Integer.class)
+                .paramLabel("N")
+                .description("The number of threads converting files. Defaults to the number of available processors.")
+                .build());
+        convertCommand.addOption(OptionSpec.builder(OPTION_MAX_IN_FLIGHT)
+                .type(Integer.class)
+                .paramLabel("N")
+                .description("The maximum number of files being converted or written at any time. Defaults to twice the parallelism.")
+                .build());
+        rootCommandsHolder.addSubcommand(convertCommand.name(), convertCommand);
+    }
+    
     private static void populateRootCommands(CommandSpec rootCommand, List<CliDeclaredOptionSpec> declaredOptions, Collection<CliBuilderApiType> compatibleBuilderApiTypes, int maxTextWidth) {
 		for (CliDeclaredOptionSpec cliDeclaredOptionSpec : declaredOptions) {
             if (cliDeclaredOptionSpec.applicableToRootCommand(compatibleBuilderApiTypes)) {
@@ -18,6 +18,8 @@ class CliExecutionException extends MailException {
 			"\t\t--email:replyingToAll message(=FILE) customQuotingTemplate(=TEXT)\n" +
 			"\t\t--email:replyingToAllWithDefaultQuoteMarkup message(=FILE)";
 	static final String ERROR_INVOKING_BUILDER_API = "Got error while invoking Builder API with argument(s) '%s' for '%s'";
+	static final String ERROR_MISSING_INPUT_DIRECTORY = "Input directory '%s' does not exist or is not a directory";
+	static final String ERROR_WRITING_CONVERTED_EMAIL = "Got error while writing converted email to '%s'";
 	
 	CliExecutionException(String message, Exception cause) {
 		super(message, cause);
@@ -1,6 +1,7 @@
 package org.simplejavamail.internal.clisupport;
 
 import org.simplejavamail.api.email.EmailStartingBuilder;
+import org.simplejavamail.api.internal.clisupport.model.CliCommandType;
 import org.simplejavamail.api.internal.clisupport.model.CliDeclaredOptionSpec;
 import org.simplejavamail.api.internal.clisupport.model.CliReceivedCommand;
 import org.simplejavamail.api.mailer.MailerFromSessionBuilder;
@@ -60,6 +61,10 @@ public class CliSupport {
 		ParseResult pr = PICOCLI_COMMAND_LINE.parseArgs(cutOffAtHelp(args));
 
 		if (!CliCommandLineConsumerUsageHelper.processAndApplyHelp(pr, CONSOLE_TEXT_WIDTH)) {
+			if (pr.hasSubcommand() && pr.subcommand().commandSpec().name().equals(CliCommandType.convert.name())) {
+				CliBulkConversionHandler.processCliConvert(pr.subcommand());
+				return;
+			}
 			CliReceivedCommand cliReceivedOptionData = CliCommandLineConsumer.consumeCommandLineInput(pr, DECLARED_OPTIONS);
 			CliCommandLineConsumerResultHandler.processCliResult(cliReceivedOptionData);
 		}
@@ -0,0 +1,27 @@
+package org.simplejavamail.internal.clisupport.valueinterpreters;
+
+import org.bbottema.javareflection.valueconverter.IncompatibleTypeException;
+import org.bbottema.javareflection.valueconverter.ValueFunction;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
+
+public class StringToThreadPoolRejectionPolicyFunction implements ValueFunction<String, ThreadPoolRejectionPolicy> {
+	
+	@Override
+	public Class<String> getFromType() {
+		return String.class;
+	}
+	
+	@Override
+	public Class<ThreadPoolRejectionPolicy> getTargetType() {
+		return ThreadPoolRejectionPolicy.class;
+	}
+	
+	@Override
+	public final ThreadPoolRejectionPolicy convertValue(String value) {
+		try {
+			return ThreadPoolRejectionPolicy.valueOf(value);
+		} catch (IllegalArgumentException e) {
+			throw new IncompatibleTypeException(value, String.class, ThreadPoolRejectionPolicy.class, e);
+		}
+	}
+}
\ No newline at end of file
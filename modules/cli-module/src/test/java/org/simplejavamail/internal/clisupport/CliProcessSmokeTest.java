@@ -6,9 +6,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -75,6 +79,50 @@ public class CliProcessSmokeTest {
 		}
 	}
 
+	@Test
+	public void convertCommandConvertsDirectoryAndReportsFailedFiles()
+			throws Exception {
+		final Path inputDirectory = Files.createTempDirectory("simple-java-mail-cli-convert-input-");
+		final Path outputDirectory = Files.createTempDirectory("simple-java-mail-cli-convert-output-");
+		final File cliOutput = File.createTempFile("simple-java-mail-cli-smoke-", ".log");
+		try {
+			Files.createDirectories(inputDirectory.resolve("inbox"));
+			Files.write(inputDirectory.resolve("inbox/valid.eml"), ("From: sender@example.com\r\n" +
+					"To: alice@example.com\r\n" +
+					"Subject: Smoke\r\n" +
+					"Content-Type: text/plain\r\n" +
+					"\r\n" +
+					"Body\r\n").getBytes(StandardCharsets.UTF_8));
+			Files.write(inputDirectory.resolve("broken.msg"), "not an Outlook message".getBytes(StandardCharsets.UTF_8));
+			Files.write(inputDirectory.resolve("ignored.txt"), "not an email".getBytes(StandardCharsets.UTF_8));
+
+			final Process process = new ProcessBuilder(cliCommand(
+					"convert",
+					"--input", inputDirectory.toString(),
+					"--output", outputDirectory.toString(),
+					"--parallelism", "2"))
+					.redirectErrorStream(true)
+					.redirectOutput(cliOutput)
+					.start();
+
+			final boolean exited = process.waitFor(15, TimeUnit.SECONDS);
+			if (!exited) {
+				process.destroyForcibly();
+			}
+			final String output = readFile(cliOutput);
+			assertThat(exited).as(output).isTrue();
+			assertThat(process.exitValue()).as(output).isEqualTo(0);
+			assertThat(output).contains("failed to convert " + inputDirectory.resolve("broken.msg"));
+			assertThat(output).contains("converted 1 files, 1 failed");
+			assertThat(readFile(outputDirectory.resolve("inbox/valid.eml").toFile())).contains("Subject: Smoke");
+		} finally {
+			deleteRecursively(inputDirectory);
+			deleteRecursively(outputDirectory);
+			//noinspection ResultOfMethodCallIgnored
+			cliOutput.delete();
+		}
+	}
+
 	private static List<String> cliCommand(String... args) {
 		final List<String> command = new ArrayList<>();
 		command.add(resolveJavaExecutable());
@@ -93,6 +141,15 @@ public class CliProcessSmokeTest {
 		return new File(new File(javaHome, "bin"), executableName).getAbsolutePath();
 	}
 
+	private static void deleteRecursively(Path directory)
+			throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+
 	private static String readFile(File file)
 			throws IOException {
 		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
@@ -56,6 +56,15 @@ public class GenerateCliHelpTest {
 		CliSupport.runCLI(new String[]{"validate", "--help"});
 	}
 
+	@Test
+	public void testListHelpForConvertWithoutError() {
+		CliSupport.runCLI(new String[]{"convert", "--help"});
+
+		assertThat(new String(outContent.toByteArray(), UTF_8))
+				.contains("--input")
+				.contains("--maxInFlight");
+	}
+
 	@Test
 	public void testListHelpForForwardingWithoutError() {
 		CliSupport.runCLI(new String[] {"send", "--email:forwarding--help",});
@@ -0,0 +1,77 @@
+package org.simplejavamail.api.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+
+import java.io.File;
+
+import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
+
+/**
+ * Result of converting a single file in a bulk conversion: either the converted email, or the reason the file could not be converted. A failure
+ * only concerns this file, the rest of the batch is still converted.
+ *
+ * @see BulkConversionSummary
+ */
+public class BulkConversionResult {
+
+	private final File file;
+	@Nullable private final Email email;
+	@Nullable private final Exception failure;
+	private final long durationNanos;
+
+	public BulkConversionResult(@NotNull final File file, @Nullable final Email email, @Nullable final Exception failure, final long durationNanos) {
+		this.file = checkNonEmptyArgument(file, "file");
+		this.email = email;
+		this.failure = failure;
+		this.durationNanos = durationNanos;
+	}
+
+	/**
+	 * @return The .eml or .msg file that was converted.
+	 */
+	@NotNull
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return The converted email, or {@code null} if the conversion failed.
+	 */
+	@Nullable
+	public Email getEmail() {
+		return email;
+	}
+
+	/**
+	 * @return Why the conversion failed, or {@code null} if it succeeded.
+	 */
+	@Nullable
+	public Exception getFailure() {
+		return failure;
+	}
+
+	/**
+	 * @return Whether the file was converted to an email.
+	 */
+	public boolean isConverted() {
+		return failure == null;
+	}
+
+	/**
+	 * @return How long reading and converting the file took.
+	 */
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkConversionResult{" +
+				"file=" + file +
+				(failure == null ? "" : ", failure=" + failure) +
+				", durationNanos=" + durationNanos +
+				'}';
+	}
+}
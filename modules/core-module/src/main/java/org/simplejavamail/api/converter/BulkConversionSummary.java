@@ -0,0 +1,78 @@
+package org.simplejavamail.api.converter;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Totals of a bulk conversion, which has finished once this is available, including the throughput that was reached.
+ *
+ * @see BulkConversionResult
+ */
+public class BulkConversionSummary {
+
+	private final int convertedFiles;
+	private final int failedFiles;
+	private final long bytes;
+	private final long elapsedNanos;
+
+	public BulkConversionSummary(final int convertedFiles, final int failedFiles, final long bytes, final long elapsedNanos) {
+		this.convertedFiles = convertedFiles;
+		this.failedFiles = failedFiles;
+		this.bytes = bytes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return The number of files that were converted to an email.
+	 */
+	public int getConvertedFiles() {
+		return convertedFiles;
+	}
+
+	/**
+	 * @return The number of files that could not be converted.
+	 */
+	public int getFailedFiles() {
+		return failedFiles;
+	}
+
+	/**
+	 * @return The combined size of all files, whether they were converted or not.
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return The wall-clock time from starting the first conversion until the last result was consumed.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return The number of files (converted or failed) handled per second.
+	 */
+	public double getFilesPerSecond() {
+		return perSecond(convertedFiles + failedFiles);
+	}
+
+	/**
+	 * @return The number of bytes handled per second.
+	 */
+	public double getBytesPerSecond() {
+		return perSecond(bytes);
+	}
+
+	private double perSecond(final long amount) {
+		return elapsedNanos > 0 ? amount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+	}
+
+	@Override
+	public String toString() {
+		return format(Locale.ROOT, "converted %d files, %d failed, in %.3f s (%.1f files/s, %.1f MB/s)",
+				convertedFiles, failedFiles, elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1), getFilesPerSecond(), getBytesPerSecond() / (1024 * 1024));
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Public API for the results of converting many email files in bulk.
+ */
+package org.simplejavamail.api.converter;
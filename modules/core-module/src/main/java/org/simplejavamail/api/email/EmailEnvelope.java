@@ -0,0 +1,67 @@
+package org.simplejavamail.api.email;
+
+import lombok.Value;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * An immutable summary of an email, holding only what can be read from its top-level headers. Parsing this is much cheaper than parsing a full
+ * {@link Email}, since the body and attachments are never read, which makes it suitable for scanning large mailboxes (deduplication, routing etc.).
+ * <p>
+ * Produced by {@code EmailConverter.emlToEnvelope(..)} and {@code EmailConverter.mimeMessageToEnvelope(..)}.
+ */
+@Value
+public class EmailEnvelope implements Serializable {
+
+    private static final long serialVersionUID = 1234567L;
+
+    /**
+     * @see Email#getId()
+     */
+    @Nullable String id;
+
+    /**
+     * @see Email#getFromRecipient()
+     */
+    @Nullable Recipient fromRecipient;
+
+    /**
+     * The TO, CC and BCC recipients, in that order.
+     *
+     * @see Email#getRecipients()
+     */
+    @NotNull List<Recipient> recipients;
+
+    /**
+     * @see Email#getSubject()
+     */
+    @NotNull String subject;
+
+    /**
+     * @see Email#getSentDate()
+     */
+    @Nullable Date sentDate;
+
+    public EmailEnvelope(@Nullable final String id, @Nullable final Recipient fromRecipient, @NotNull final List<Recipient> recipients,
+                         @NotNull final String subject, @Nullable final Date sentDate) {
+        this.id = id;
+        this.fromRecipient = fromRecipient;
+        this.recipients = Collections.unmodifiableList(new ArrayList<>(recipients));
+        this.subject = subject;
+        this.sentDate = sentDate != null ? new Date(sentDate.getTime()) : null;
+    }
+
+    /**
+     * @see Email#getSentDate()
+     */
+    @Nullable
+    public Date getSentDate() {
+        return sentDate != null ? new Date(sentDate.getTime()) : null;
+    }
+}
@@ -27,6 +27,7 @@ import static org.simplejavamail.internal.util.MiscUtil.readInputStreamToBytes;
  * @see DkimConfigBuilder#headerCanonicalization(DkimConfig.Canonicalization)
  * @see DkimConfigBuilder#bodyCanonicalization(DkimConfig.Canonicalization)
  * @see DkimConfigBuilder#signingAlgorithm(String)
+ * @see DkimConfigBuilder#streamingSpoolThreshold(Integer)
  */
 @ToString(exclude = "dkimPrivateKeyData")
 @Getter
@@ -127,12 +128,26 @@ public class DkimConfig implements Serializable {
     @Nullable
     private final String signingAlgorithm;
 
+    /**
+     * Enables streaming DKIM signing and sets how many bytes of a message are spooled on the heap at most.
+     * <p>
+     * By default, the DKIM library keeps several copies of the complete encoded message on the heap to compute the body hash, which adds up for
+     * messages with large attachments. With streaming signing, the message is encoded once into a spool while the body hash is computed along the
+     * way. Sending then writes the signed headers followed by the spooled body. Messages up to this threshold are spooled on the heap, larger ones
+     * in a temporary file, so the heap usage stays flat regardless of attachment size. {@code 0} spools every message to a file.
+     * <p>
+     * <strong>Default Value:</strong> null (buffered signing by the DKIM library).
+     */
+    @Nullable
+    private final Integer streamingSpoolThreshold;
+
 
     DkimConfig(byte[] dkimPrivateKeyData, String dkimSigningDomain, String dkimSelector, Boolean useLengthParam,
                @Nullable Set<String> excludedHeadersFromDkimDefaultSigningList,
                @Nullable Canonicalization headerCanonicalization,
                @Nullable Canonicalization bodyCanonicalization,
-               @Nullable String signingAlgorithm) {
+               @Nullable String signingAlgorithm,
+               @Nullable Integer streamingSpoolThreshold) {
         this.dkimPrivateKeyData = dkimPrivateKeyData.clone();
         this.dkimSigningDomain = dkimSigningDomain;
         this.dkimSelector = dkimSelector;
@@ -141,6 +156,7 @@ public class DkimConfig implements Serializable {
         this.headerCanonicalization = headerCanonicalization;
         this.bodyCanonicalization = bodyCanonicalization;
         this.signingAlgorithm = signingAlgorithm;
+        this.streamingSpoolThreshold = streamingSpoolThreshold;
     }
 
     /**
@@ -165,6 +181,7 @@ public class DkimConfig implements Serializable {
         @Nullable private Canonicalization headerCanonicalization;
         @Nullable private Canonicalization bodyCanonicalization;
         @Nullable private String signingAlgorithm;
+        @Nullable private Integer streamingSpoolThreshold;
 
         /**
          * @see EmailPopulatingBuilder#signWithDomainKey(DkimConfig)
@@ -295,9 +312,19 @@ public class DkimConfig implements Serializable {
             return this;
         }
 
+        /**
+         * Enables streaming DKIM signing, spooling messages up to the given number of bytes on the heap and larger ones in a temporary file.
+         *
+         * @see DkimConfig#streamingSpoolThreshold
+         */
+        public DkimConfigBuilder streamingSpoolThreshold(@Nullable Integer streamingSpoolThreshold) {
+            this.streamingSpoolThreshold = streamingSpoolThreshold;
+            return this;
+        }
+
         public DkimConfig build() {
             return new DkimConfig(dkimPrivateKeyData, dkimSigningDomain, dkimSelector, useLengthParam,
-                    excludedHeadersFromDkimDefaultSigningList, headerCanonicalization, bodyCanonicalization, signingAlgorithm);
+                    excludedHeadersFromDkimDefaultSigningList, headerCanonicalization, bodyCanonicalization, signingAlgorithm, streamingSpoolThreshold);
         }
     }
 
@@ -24,6 +24,7 @@ import static java.lang.String.format;
 /**
  * @see SmimeEncryptionConfigBuilder#keyEncapsulationAlgorithm(String)
  * @see SmimeEncryptionConfigBuilder#cipherAlgorithm(String)
+ * @see SmimeEncryptionConfigBuilder#streamingSpoolThreshold(Integer)
  * @see EmailPopulatingBuilder#encryptWithSmime(SmimeEncryptionConfig)
  */
 @ToString
@@ -96,6 +97,27 @@ public class SmimeEncryptionConfig implements Serializable {
     @Nullable
     final String cipherAlgorithm;
 
+    /**
+     * Enables streaming S/MIME encryption and sets how many bytes of an encrypted message are spooled on the heap at most.
+     * <p>
+     * With streaming encryption, the message content is encrypted and Base64 encoded straight into a spool, from which the encrypted message is read
+     * when sent, rather than being encrypted again each time the message is written. Messages up to this threshold are spooled on the heap, larger
+     * ones in a temporary file. {@code 0} spools every message to a file. Also applies to encryption for per-recipient certificates.
+     * <p>
+     * <strong>Default Value:</strong> null (encryption by the S/MIME library).
+     *
+     * @see SmimeSigningConfig#streamingSpoolThreshold
+     */
+    @Nullable
+    final Integer streamingSpoolThreshold;
+
+    /**
+     * Creates a configuration for encryption by the S/MIME library.
+     */
+    public SmimeEncryptionConfig(@NotNull final X509Certificate x509Certificate, @Nullable final String keyEncapsulationAlgorithm, @Nullable final String cipherAlgorithm) {
+        this(x509Certificate, keyEncapsulationAlgorithm, cipherAlgorithm, null);
+    }
+
     public static SmimeEncryptionConfigBuilder builder() {
         return new SmimeEncryptionConfigBuilder();
     }
@@ -105,6 +127,7 @@ public class SmimeEncryptionConfig implements Serializable {
         private X509Certificate x509Certificate;
         private String keyEncapsulationAlgorithm;
         private String cipherAlgorithm;
+        private Integer streamingSpoolThreshold;
 
         /**
          * @see EmailPopulatingBuilder#encryptWithSmime(SmimeEncryptionConfig)
@@ -174,8 +197,18 @@ public class SmimeEncryptionConfig implements Serializable {
             return this;
         }
 
+        /**
+         * Enables streaming S/MIME encryption, spooling encrypted messages up to the given number of bytes on the heap and larger ones in a temporary file.
+         *
+         * @see SmimeEncryptionConfig#streamingSpoolThreshold
+         */
+        public SmimeEncryptionConfigBuilder streamingSpoolThreshold(@Nullable Integer streamingSpoolThreshold) {
+            this.streamingSpoolThreshold = streamingSpoolThreshold;
+            return this;
+        }
+
         public SmimeEncryptionConfig build() {
-            return new SmimeEncryptionConfig(this.x509Certificate, this.keyEncapsulationAlgorithm, this.cipherAlgorithm);
+            return new SmimeEncryptionConfig(this.x509Certificate, this.keyEncapsulationAlgorithm, this.cipherAlgorithm, this.streamingSpoolThreshold);
         }
     }
 }
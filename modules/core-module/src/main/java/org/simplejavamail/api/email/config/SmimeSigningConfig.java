@@ -25,6 +25,7 @@ import static org.simplejavamail.internal.util.MiscUtil.readInputStreamToBytes;
  * as sensitive data.
  *
  * @see SmimeSigningConfigBuilder#signatureAlgorithm(String)
+ * @see SmimeSigningConfigBuilder#streamingSpoolThreshold(Integer)
  * @see EmailPopulatingBuilder#signWithSmime(SmimeSigningConfig)
  */
 @ToString
@@ -86,6 +87,28 @@ public class SmimeSigningConfig implements Serializable {
     @Nullable
     private final String signatureAlgorithm;
 
+    /**
+     * Enables streaming S/MIME signing and sets how many bytes of a signed message are spooled on the heap at most.
+     * <p>
+     * By default, the S/MIME library canonicalizes the message content into a byte array, parses it back into a new body part and then copies it
+     * into the signed message, so a message with large attachments is resident several times over. With streaming signing, the content is written
+     * once into a spool while the detached signature is computed along the way, and the signed message is read from that spool when sent. Messages
+     * up to this threshold are spooled on the heap, larger ones in a temporary file. {@code 0} spools every message to a file.
+     * <p>
+     * <strong>Default Value:</strong> null (buffered signing by the S/MIME library).
+     *
+     * @see SmimeEncryptionConfig#streamingSpoolThreshold
+     */
+    @Nullable
+    private final Integer streamingSpoolThreshold;
+
+    /**
+     * Creates a configuration for buffered signing.
+     */
+    public SmimeSigningConfig(@NotNull final Pkcs12Config pkcs12Config, @Nullable final String signatureAlgorithm) {
+        this(pkcs12Config, signatureAlgorithm, null);
+    }
+
     public static SmimeSigningConfigBuilder builder() {
         return new SmimeSigningConfigBuilder();
     }
@@ -94,6 +117,7 @@ public class SmimeSigningConfig implements Serializable {
     public static class SmimeSigningConfigBuilder {
         private Pkcs12Config pkcs12Config;
         private String signatureAlgorithm;
+        private Integer streamingSpoolThreshold;
 
         /**
          * @see EmailPopulatingBuilder#signWithSmime(SmimeSigningConfig)
@@ -152,8 +176,18 @@ public class SmimeSigningConfig implements Serializable {
             return this;
         }
 
+        /**
+         * Enables streaming S/MIME signing, spooling signed messages up to the given number of bytes on the heap and larger ones in a temporary file.
+         *
+         * @see SmimeSigningConfig#streamingSpoolThreshold
+         */
+        public SmimeSigningConfigBuilder streamingSpoolThreshold(@Nullable Integer streamingSpoolThreshold) {
+            this.streamingSpoolThreshold = streamingSpoolThreshold;
+            return this;
+        }
+
         public SmimeSigningConfig build() {
-            return new SmimeSigningConfig(this.pkcs12Config, this.signatureAlgorithm);
+            return new SmimeSigningConfig(this.pkcs12Config, this.signatureAlgorithm, this.streamingSpoolThreshold);
         }
     }
 }
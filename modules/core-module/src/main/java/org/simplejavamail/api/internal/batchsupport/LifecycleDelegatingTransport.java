@@ -13,4 +13,11 @@ public interface LifecycleDelegatingTransport {
 	@NotNull Transport getTransport();
 	void signalTransportUsed();
 	void signalTransportFailed();
+
+	/**
+	 * Like {@link #signalTransportFailed()}, but also passes on what made the transport fail, so the batch module can learn from it.
+	 */
+	default void signalTransportFailed(@NotNull final Throwable failure) {
+		signalTransportFailed();
+	}
 }
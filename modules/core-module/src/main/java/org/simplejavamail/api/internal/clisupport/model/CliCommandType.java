@@ -1,5 +1,5 @@
 package org.simplejavamail.api.internal.clisupport.model;
 
 public enum CliCommandType {
-    send, connect, validate
+    send, connect, validate, convert
 }
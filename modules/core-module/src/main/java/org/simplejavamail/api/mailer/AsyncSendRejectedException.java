@@ -0,0 +1,19 @@
+package org.simplejavamail.api.mailer;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.lang.String.format;
+
+/**
+ * Thrown when an async send is rejected because the queue of the thread pool is full and the policy is to fail fast.
+ *
+ * @see org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy#FAIL_FAST
+ * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+ */
+public class AsyncSendRejectedException extends RejectedExecutionException {
+    private static final long serialVersionUID = 1L;
+
+    public AsyncSendRejectedException(final int queueCapacity) {
+        super(format("Async send rejected, the queue of the thread pool is full (capacity %s)", queueCapacity));
+    }
+}
@@ -4,11 +4,13 @@ import static java.lang.String.format;
 
 /**
  * Thrown when an email (as MimeMessage) is bigger than the maximum allowed size.
+ * <p>
+ * The size check stops as soon as the maximum is exceeded, so the reported size is a lower bound rather than the full size of the email.
  *
  * @see MailerGenericBuilder#withMaximumEmailSize(int)
  */
 public class EmailTooBigException extends RuntimeException {
     public EmailTooBigException(final long emailSize, final long maximumEmailSize) {
-        super(format("Email size of %s bytes exceeds maximum allowed size of %s bytes", emailSize, maximumEmailSize));
+        super(format("Email size of at least %s bytes exceeds maximum allowed size of %s bytes", emailSize, maximumEmailSize));
     }
 }
@@ -5,8 +5,17 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
 import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
 
 /**
@@ -25,11 +34,25 @@ public final class MailSubmissionReceipt implements Serializable {
 	@Nullable private final String emailId;
 	@Nullable private final SmtpServerResponse smtpResponse;
 	@NotNull private final Instant submittedAt;
+	@NotNull private final List<RejectedRecipient> rejectedRecipients;
+	@NotNull private final Map<SendPhase, Long> phaseDurations;
 
 	public MailSubmissionReceipt(@Nullable final String emailId, @Nullable final SmtpServerResponse smtpResponse, @NotNull final Instant submittedAt) {
+		this(emailId, smtpResponse, submittedAt, emptyList());
+	}
+
+	public MailSubmissionReceipt(@Nullable final String emailId, @Nullable final SmtpServerResponse smtpResponse, @NotNull final Instant submittedAt,
+			@NotNull final List<RejectedRecipient> rejectedRecipients) {
+		this(emailId, smtpResponse, submittedAt, rejectedRecipients, emptyMap());
+	}
+
+	public MailSubmissionReceipt(@Nullable final String emailId, @Nullable final SmtpServerResponse smtpResponse, @NotNull final Instant submittedAt,
+			@NotNull final List<RejectedRecipient> rejectedRecipients, @NotNull final Map<SendPhase, Long> phaseDurations) {
 		this.emailId = emailId;
 		this.smtpResponse = smtpResponse;
 		this.submittedAt = checkNonEmptyArgument(submittedAt, "submittedAt");
+		this.rejectedRecipients = rejectedRecipients.isEmpty() ? emptyList() : unmodifiableList(new ArrayList<>(rejectedRecipients));
+		this.phaseDurations = phaseDurations.isEmpty() ? emptyMap() : unmodifiableMap(new EnumMap<>(phaseDurations));
 	}
 
 	/**
@@ -62,4 +85,34 @@ public final class MailSubmissionReceipt implements Serializable {
 	public Instant getSubmittedAt() {
 		return submittedAt;
 	}
+
+	/**
+	 * @return Recipients the server refused while accepting the message for the others, which can only happen with SMTP pipelining. Empty otherwise,
+	 * since without pipelining a refused recipient fails the whole submission.
+	 * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	@NotNull
+	public List<RejectedRecipient> getRejectedRecipients() {
+		return rejectedRecipients;
+	}
+
+	/**
+	 * @return {@code true} if the message was accepted for only part of the recipients.
+	 * @see #getRejectedRecipients()
+	 */
+	public boolean hasRejectedRecipients() {
+		return !rejectedRecipients.isEmpty();
+	}
+
+	/**
+	 * @return Time spent in each phase of sending the email up to the submission, in nanoseconds. Nested phases, such as S/MIME signing during
+	 * MIME production, are left out of the phases they are part of, so the durations add up. Only phases that actually ran are included, and
+	 * the breakdown is empty when the email was not sent through {@link Mailer#sendMailAndGetReceipt(org.simplejavamail.api.email.Email)}.
+	 * @see SendPhase
+	 * @see SendTracer
+	 */
+	@NotNull
+	public Map<SendPhase, Long> getPhaseDurations() {
+		return phaseDurations;
+	}
 }
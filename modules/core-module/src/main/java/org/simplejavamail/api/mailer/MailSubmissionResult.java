@@ -0,0 +1,75 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.MailException;
+import org.simplejavamail.api.email.Email;
+
+import java.util.Optional;
+
+import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
+
+/**
+ * Outcome of sending one email as part of a parallel batch: either a {@link MailSubmissionReceipt} or the exception that prevented submission.
+ * <p>
+ * Unlike the simple batch, a parallel batch does not stop at the first failure, so each email is reported individually.
+ *
+ * @see Mailer#sendMailsInParallelBatch(Iterable, int, int, java.util.function.Consumer)
+ */
+public final class MailSubmissionResult {
+
+	@NotNull private final Email email;
+	@Nullable private final MailSubmissionReceipt receipt;
+	@Nullable private final MailException failure;
+
+	private MailSubmissionResult(@NotNull final Email email, @Nullable final MailSubmissionReceipt receipt, @Nullable final MailException failure) {
+		this.email = checkNonEmptyArgument(email, "email");
+		this.receipt = receipt;
+		this.failure = failure;
+	}
+
+	@NotNull
+	public static MailSubmissionResult succeeded(@NotNull final Email email, @NotNull final MailSubmissionReceipt receipt) {
+		return new MailSubmissionResult(email, checkNonEmptyArgument(receipt, "receipt"), null);
+	}
+
+	@NotNull
+	public static MailSubmissionResult failed(@NotNull final Email email, @NotNull final MailException failure) {
+		return new MailSubmissionResult(email, null, checkNonEmptyArgument(failure, "failure"));
+	}
+
+	/**
+	 * @return The email as it was provided by the source iterable, so before defaults and overrides were applied.
+	 */
+	@NotNull
+	public Email getEmail() {
+		return email;
+	}
+
+	/**
+	 * @return Whether the email was accepted by the SMTP server (or custom mailer), in which case {@link #getReceipt()} is present.
+	 */
+	public boolean isSuccess() {
+		return receipt != null;
+	}
+
+	@NotNull
+	public Optional<MailSubmissionReceipt> getReceipt() {
+		return Optional.ofNullable(receipt);
+	}
+
+	/**
+	 * @return The reason the email was not sent, such as a validation failure, a conversion error or the server refusing the message.
+	 */
+	@NotNull
+	public Optional<MailException> getFailure() {
+		return Optional.ofNullable(failure);
+	}
+
+	@Override
+	public String toString() {
+		return isSuccess()
+				? "MailSubmissionResult{success, emailId=" + receipt.getEmailId() + "}"
+				: "MailSubmissionResult{failed, " + failure + "}";
+	}
+}
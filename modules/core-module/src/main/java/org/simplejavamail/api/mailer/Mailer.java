@@ -12,9 +12,12 @@ import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.api.mailer.config.ServerConfig;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
+import org.simplejavamail.internal.util.concurrent.BatchSendingHelper;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Mailing tool created exclusively using {@link MailerRegularBuilder}. This class is the facade to most Simple Java Mail functionality
@@ -197,7 +200,88 @@ public interface Mailer extends AutoCloseable {
 	 * @see #sendMail(Email, boolean)
 	 */
 	@NotNull CompletableFuture<Void> sendMailsInSimpleBatch(Iterable<Email> emails, boolean async);
-	
+
+	/**
+	 * Delegates to {@link #sendMailsInSimpleBatchAndGetReceipts(Iterable, boolean)} using the mailer's configured async default.
+	 *
+	 * @see MailerGenericBuilder#async()
+	 */
+	@NotNull
+	default CompletableFuture<List<MailSubmissionReceipt>> sendMailsInSimpleBatchAndGetReceipts(Iterable<Email> emails) {
+		return sendMailsInSimpleBatchAndGetReceipts(emails, getOperationalConfig().isAsync());
+	}
+
+	/**
+	 * Sends multiple emails sequentially over one SMTP connection, returning a receipt for each submission in the order the emails were sent.
+	 * <p>
+	 * The send behavior is identical to {@link #sendMailsInSimpleBatch(Iterable, boolean)}. With
+	 * {@link MailerGenericBuilder#withSmtpPipelining(Boolean) SMTP pipelining} enabled, recipients the server refused while the message was still
+	 * accepted for the others are reported through {@link MailSubmissionReceipt#getRejectedRecipients()} rather than failing the batch.
+	 * <p>
+	 * The default implementation sends the emails one at a time with {@link #sendMailAndGetReceipt(Email, boolean)}, without keeping a connection
+	 * open in between, and returns the receipts of those sends.
+	 *
+	 * @param emails The emails to send in order.
+	 * @param async  If false, this method blocks until all emails have been processed by the SMTP server. If true, a new task is started for the whole
+	 *               sequential simple batch and this method returns immediately.
+	 * @return With {@code async=false}, a completed future containing the receipts after every email has been sent successfully. With
+	 * {@code async=true}, a future representing scheduling and the complete sequential batch; failures complete it exceptionally.
+	 * @throws IllegalArgumentException If {@code emails} is {@code null}.
+	 * @throws MailException If {@code async=false} and an email isn't valid, or another problem occurs during preparation, connection or sending.
+	 * @see #sendMailsInSimpleBatch(Iterable, boolean)
+	 * @see MailSubmissionReceipt
+	 */
+	@NotNull
+	default CompletableFuture<List<MailSubmissionReceipt>> sendMailsInSimpleBatchAndGetReceipts(Iterable<Email> emails, boolean async) {
+		return BatchSendingHelper.sendInSimpleBatchOneByOne(this, emails, async);
+	}
+
+	/**
+	 * Delegates to {@link #sendMailsInParallelBatch(Iterable, int, int, Consumer)}, sending as many chunks concurrently as the connection pool
+	 * allows (or the thread pool size, without the batch-module) in chunks of 50 emails.
+	 * <p>
+	 * The default implementation doesn't use the connection pool, and sends as many chunks concurrently as the thread pool size.
+	 *
+	 * @see MailerGenericBuilder#withConnectionPoolMaxSize(Integer)
+	 * @see MailerGenericBuilder#withThreadPoolSize(Integer)
+	 */
+	@NotNull
+	default CompletableFuture<Void> sendMailsInParallelBatch(Iterable<Email> emails, Consumer<MailSubmissionResult> resultConsumer) {
+		return sendMailsInParallelBatch(emails, getOperationalConfig().getThreadPoolSize(), BatchSendingHelper.DEFAULT_PARALLEL_BATCH_CHUNK_SIZE, resultConsumer);
+	}
+
+	/**
+	 * Sends a large number of emails concurrently, reporting the outcome of each email individually rather than failing the whole batch.
+	 * <p>
+	 * The source iterable is consumed lazily in chunks of {@code chunkSize} emails, on the calling thread. Each chunk is then prepared, converted to
+	 * MIME and sent on a worker thread of the mailer's executor, over one transport claimed for that chunk. With the
+	 * <a href="https://www.simplejavamail.org/modules.html#batch-module">batch-module</a> these transports are leased from the connection pool of this
+	 * mailer's cluster, otherwise a new connection is opened per chunk. At most {@code parallelism} chunks are in flight at any time: once that limit
+	 * is reached, reading from the source blocks until a chunk completes. This keeps memory use bounded no matter how many emails the source produces.
+	 * <p>
+	 * A failing email does not stop the batch. If the transport was lost as a result, it is discarded and the remainder of the chunk is sent over a
+	 * newly claimed transport. Results are delivered one at a time (never concurrently), but from worker threads and in completion order rather than
+	 * source order; use {@link MailSubmissionResult#getEmail()} to correlate.
+	 * <p>
+	 * The default implementation sends each chunk on the mailer's executor one email at a time with {@link #sendMailAndGetReceipt(Email, boolean)},
+	 * rather than over one transport.
+	 *
+	 * @param emails         The emails to send, which may be a lazily produced sequence.
+	 * @param parallelism    The maximum number of chunks sent concurrently, so the number of connections used by this batch.
+	 * @param chunkSize      The number of emails sent over one transport before it is returned to the pool.
+	 * @param resultConsumer Receives the result for every email taken from {@code emails}.
+	 * @return A future that completes once every email has been reported, after this method has returned, as the last chunks may still be in flight.
+	 * It only completes exceptionally if reading the source or the {@code resultConsumer} failed.
+	 * @throws IllegalArgumentException If {@code emails} or {@code resultConsumer} is {@code null}, or {@code parallelism} or {@code chunkSize} is
+	 *                                  less than 1.
+	 * @see #sendMailsInSimpleBatch(Iterable, boolean)
+	 */
+	@NotNull
+	default CompletableFuture<Void> sendMailsInParallelBatch(Iterable<Email> emails, int parallelism, int chunkSize, Consumer<MailSubmissionResult> resultConsumer) {
+		return BatchSendingHelper.sendInParallelChunks(emails, parallelism, chunkSize, resultConsumer,
+				(chunk, chunkResultConsumer) -> BatchSendingHelper.sendChunkOneByOne(this, chunk, chunkResultConsumer));
+	}
+
 	/**
 	 * Runs this mailer's client-side validation against the supplied {@link Email} instance as it stands.
 	 * <p>
@@ -290,4 +374,14 @@ public interface Mailer extends AutoCloseable {
 	 */
 	@NotNull
 	EmailGovernance getEmailGovernance();
+
+	/**
+	 * @return The number of async sends waiting for a free thread, which can be used to shed load upstream before a bounded queue fills up. Always
+	 * {@code 0} when the executor doesn't queue sends, such as with virtual threads. The default implementation always returns {@code 0}, for mailers
+	 * that don't expose their queue.
+	 * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 */
+	default int getAsyncQueueDepth() {
+		return 0;
+	}
 }
@@ -12,6 +12,7 @@ import org.simplejavamail.api.internal.clisupport.model.CliBuilderApiType;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OAuth2AccessTokenProvider;
 import org.simplejavamail.api.mailer.config.SessionDebugOutput;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 
 import java.io.PrintStream;
@@ -104,6 +105,30 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 * Defaults to <code>{@value}</code>, sending mails rather than just only logging the mails.
 	 */
 	boolean DEFAULT_TRANSPORT_MODE_LOGGING_ONLY = false;
+	/**
+	 * Defaults to <code>{@value}</code>, waiting for the server's reply to each envelope command before sending the next one.
+	 */
+	boolean DEFAULT_SMTP_PIPELINING = false;
+	/**
+	 * Defaults to <code>{@value}</code>, rendering each email anew for every send attempt.
+	 */
+	int DEFAULT_RENDERED_MESSAGE_CACHE_SIZE = 0;
+	/**
+	 * Defaults to <code>{@value}</code> bytes of rendered emails kept in memory.
+	 */
+	int DEFAULT_RENDERED_MESSAGE_CACHE_HEAP_BUDGET = 16 * 1024 * 1024;
+	/**
+	 * Defaults to <code>{@value}</code>, sending asynchronously on a fixed pool of platform threads.
+	 */
+	boolean DEFAULT_VIRTUAL_THREADS = false;
+	/**
+	 * Defaults to <code>{@value}</code>, which means the queue of the thread pool is unbounded.
+	 */
+	int DEFAULT_THREAD_POOL_QUEUE_CAPACITY = 0;
+	/**
+	 * Defaults to {@value}, so callers wait for room in a bounded queue.
+	 */
+	String DEFAULT_THREAD_POOL_REJECTION_POLICY = ThreadPoolRejectionPolicy.BLOCK_REF;
 	/**
 	 * Defaults to <code>{@value}</code>, sending mails rather than just only logging the mails.
 	 */
@@ -555,6 +580,98 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withTransportModeLoggingOnly(@NotNull Boolean transportModeLoggingOnly);
 
+	/**
+	 * Enables <a href="https://www.rfc-editor.org/rfc/rfc2920">RFC 2920</a> command pipelining for {@link Mailer#sendMailsInSimpleBatch(Iterable)}, if the
+	 * server advertises the {@code PIPELINING} extension. Instead of waiting for a reply after each of {@code MAIL FROM}, every {@code RCPT TO} and
+	 * {@code DATA}, the envelope is written in one go and the replies are read afterwards, saving a network round trip per command. On high-latency
+	 * connections with many recipients per email this considerably increases batch throughput.
+	 * <p>
+	 * Servers that don't advertise pipelining are served the regular way. Recipients rejected by the server don't fail the email as long as at
+	 * least one recipient was accepted; instead they are reported on the {@link org.simplejavamail.api.mailer.MailSubmissionReceipt} (see
+	 * {@link Mailer#sendMailsInSimpleBatchAndGetReceipts(Iterable)}).
+	 *
+	 * @param smtpPipelining Flag {@code true} or {@code false} that enables or disables pipelining the SMTP envelope when sending a simple batch.
+	 *
+	 * @see #resetSmtpPipelining()
+	 */
+	T withSmtpPipelining(@NotNull Boolean smtpPipelining);
+
+	/**
+	 * Keeps the final rendered form of up to this many emails (MIME structure, encoded attachments, DKIM signature and S/MIME applied), so
+	 * sending the same email again, for example when retrying after a transient {@code 4xx} reply or submitting it to another cluster, streams the
+	 * pre-rendered bytes to the transport rather than producing the message all over again. Least recently used renderings are discarded first.
+	 * <p>
+	 * Emails are cached by their id, as that is what identifies a resubmission. Only emails that have an id when sent are cached: either a fixed
+	 * id (see {@link org.simplejavamail.api.email.EmailPopulatingBuilder#fixingMessageId(String)}), or the Message-ID generated when the same
+	 * email instance was sent before, which is stored on the email. Renderings are kept per mailer, so emails sent through mailers with different defaults and overrides never
+	 * share a rendering. Renderings are kept in memory up to {@link #withRenderedMessageCacheHeapBudget(Integer)}, and spill over to temporary files
+	 * beyond that.
+	 * <p>
+	 * A rendering is only reused for an email that equals the one it was rendered from and has the same attachment and embedded image data sources.
+	 * If an email with the same id is sent with different content or recipients, it is rendered again and replaces the cached rendering. To check
+	 * this, the cache keeps a digest of the last email rendered for each id, along with weak references to its attachment data sources, so it does
+	 * not keep the email itself in memory.
+	 *
+	 * @param renderedMessageCacheSize The maximum number of rendered emails to keep, or {@code 0} to disable caching.
+	 *
+	 * @see #resetRenderedMessageCacheSize()
+	 */
+	T withRenderedMessageCacheSize(@NotNull Integer renderedMessageCacheSize);
+
+	/**
+	 * Sets how many bytes of rendered emails the cache configured with {@link #withRenderedMessageCacheSize(Integer)} keeps in memory. Renderings
+	 * that don't fit anymore are written to temporary files instead, which are deleted once the rendering is evicted from the cache.
+	 *
+	 * @param renderedMessageCacheHeapBudget The maximum total size in bytes of the renderings kept in memory.
+	 *
+	 * @see #resetRenderedMessageCacheHeapBudget()
+	 */
+	T withRenderedMessageCacheHeapBudget(@NotNull Integer renderedMessageCacheHeapBudget);
+
+	/**
+	 * Sends asynchronously on a new virtual thread per email rather than on the fixed thread pool sized by {@link #withThreadPoolSize(Integer)}, which suits
+	 * sending well as it is almost entirely blocking socket I/O. Requires Java 21 or newer at runtime; on older runtimes a warning is logged and the
+	 * regular thread pool is used instead.
+	 * <p>
+	 * Since the number of concurrent sends is no longer limited by the thread pool, sends on these virtual threads wait without timeout until the
+	 * connection pool cluster's connection limit (at most the maximum pool size per Session, see {@link #withConnectionPoolMaxSize(Integer)}) allows
+	 * another claim, so waiting sends queue up without running into the claim timeout. Synchronous sends, and sends after falling back to the regular
+	 * thread pool, keep the claim timeout.
+	 * <p>
+	 * Does not apply when a custom executor is provided with {@link #withExecutorService(ExecutorService)}.
+	 *
+	 * @param virtualThreads Whether to send asynchronously on virtual threads.
+	 *
+	 * @see #resetVirtualThreads()
+	 */
+	T withVirtualThreads(@NotNull Boolean virtualThreads);
+
+	/**
+	 * Limits how many async sends can wait for a free thread in the thread pool. Every waiting send holds on to its complete
+	 * {@link org.simplejavamail.api.email.Email}, including attachments, so an unbounded queue can run out of memory when emails are produced faster
+	 * than they can be sent. What happens once the queue is full is determined by {@link #withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy)}.
+	 * <p>
+	 * The current number of waiting sends is available through {@link Mailer#getAsyncQueueDepth()}, to shed load upstream before the queue fills up.
+	 * <p>
+	 * <strong>Note:</strong> this is only used in combination with the {@value org.simplejavamail.internal.modules.BatchModule#NAME}, and not when
+	 * sending on virtual threads or with a custom executor.
+	 *
+	 * @param threadPoolQueueCapacity The maximum number of queued async sends, or {@code 0} for an unbounded queue.
+	 *
+	 * @see #resetThreadPoolQueueCapacity()
+	 */
+	T withThreadPoolQueueCapacity(@NotNull Integer threadPoolQueueCapacity);
+
+	/**
+	 * Determines what happens to an async send when the queue of the thread pool is full: wait for room, fail with an
+	 * {@link AsyncSendRejectedException} or send on the calling thread. Only relevant with a bounded queue (see {@link #withThreadPoolQueueCapacity(Integer)}).
+	 *
+	 * @param threadPoolRejectionPolicy See {@link ThreadPoolRejectionPolicy}.
+	 *
+	 * @see #resetThreadPoolRejectionPolicy()
+	 */
+	T withThreadPoolRejectionPolicy(@NotNull ThreadPoolRejectionPolicy threadPoolRejectionPolicy);
+
 	/**
 	 * Configures Angus Mail to trust certificates from the provided SMTP hosts without requiring their issuer to be present in the JVM trust store.
 	 * Server identity verification is a separate check and can be controlled with {@link #verifyingServerIdentity(boolean)}.
@@ -652,6 +769,31 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T withCustomMailer(@NotNull CustomMailer customMailer);
 
+	/**
+	 * Reports timings, sizes, SMTP replies and connection pool usage of this Mailer to the given recorder, which binds them to a metrics library
+	 * of choice, such as Micrometer through the micrometer-module.
+	 * <p>
+	 * Each Mailer reports to its own recorder, except for the connection pool metrics, which go to the recorder of the first Mailer in the cluster
+	 * that has one, just like the first Mailer in a cluster determines the pool settings.
+	 *
+	 * @param metricsRecorder Thread-safe recorder, defaults to {@link MetricsRecorder#NOOP}.
+	 * @see MetricsRecorder
+	 */
+	@Cli.ExcludeApi(reason = "metrics recorders are runtime Java integrations and cannot be represented as CLI values")
+	T withMetricsRecorder(@NotNull MetricsRecorder metricsRecorder);
+
+	/**
+	 * Reports the phases of each email sent with {@link Mailer#sendMailAndGetReceipt(org.simplejavamail.api.email.Email)} (and the methods
+	 * delegating to it) to the given tracer, such as the OpenTelemetry adapter from the opentelemetry-module. The time spent in each phase is
+	 * available from the receipt regardless of the tracer.
+	 *
+	 * @param sendTracer Thread-safe tracer, defaults to {@link SendTracer#NOOP}.
+	 * @see SendTracer
+	 * @see MailSubmissionReceipt#getPhaseDurations()
+	 */
+	@Cli.ExcludeApi(reason = "send tracers are runtime Java integrations and cannot be represented as CLI values")
+	T withSendTracer(@NotNull SendTracer sendTracer);
+
 	/**
 	 * Restores blocking client-side validation by resetting this option to its default ({@value #DEFAULT_DISABLE_ALL_CLIENTVALIDATION}).
 	 *
@@ -781,6 +923,48 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	T resetTransportModeLoggingOnly();
 
+	/**
+	 * Resets smtpPipelining to {@value #DEFAULT_SMTP_PIPELINING}.
+	 *
+	 * @see #withSmtpPipelining(Boolean)
+	 */
+	T resetSmtpPipelining();
+
+	/**
+	 * Resets renderedMessageCacheSize to {@value #DEFAULT_RENDERED_MESSAGE_CACHE_SIZE}, which disables the cache.
+	 *
+	 * @see #withRenderedMessageCacheSize(Integer)
+	 */
+	T resetRenderedMessageCacheSize();
+
+	/**
+	 * Resets renderedMessageCacheHeapBudget to {@value #DEFAULT_RENDERED_MESSAGE_CACHE_HEAP_BUDGET} bytes.
+	 *
+	 * @see #withRenderedMessageCacheHeapBudget(Integer)
+	 */
+	T resetRenderedMessageCacheHeapBudget();
+
+	/**
+	 * Resets virtualThreads to {@value #DEFAULT_VIRTUAL_THREADS}.
+	 *
+	 * @see #withVirtualThreads(Boolean)
+	 */
+	T resetVirtualThreads();
+
+	/**
+	 * Resets threadPoolQueueCapacity to {@value #DEFAULT_THREAD_POOL_QUEUE_CAPACITY}, which makes the queue unbounded.
+	 *
+	 * @see #withThreadPoolQueueCapacity(Integer)
+	 */
+	T resetThreadPoolQueueCapacity();
+
+	/**
+	 * Resets threadPoolRejectionPolicy to {@value #DEFAULT_THREAD_POOL_REJECTION_POLICY}.
+	 *
+	 * @see #withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy)
+	 */
+	T resetThreadPoolRejectionPolicy();
+
 	/**
 	 * Empties all proxy configuration.
 	 */
@@ -1051,6 +1235,36 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	boolean isTransportModeLoggingOnly();
 
+	/**
+	 * @see #withSmtpPipelining(Boolean)
+	 */
+	boolean isSmtpPipelining();
+
+	/**
+	 * @see #withRenderedMessageCacheSize(Integer)
+	 */
+	Integer getRenderedMessageCacheSize();
+
+	/**
+	 * @see #withRenderedMessageCacheHeapBudget(Integer)
+	 */
+	Integer getRenderedMessageCacheHeapBudget();
+
+	/**
+	 * @see #withVirtualThreads(Boolean)
+	 */
+	boolean isVirtualThreads();
+
+	/**
+	 * @see #withThreadPoolQueueCapacity(Integer)
+	 */
+	Integer getThreadPoolQueueCapacity();
+
+	/**
+	 * @see #withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy)
+	 */
+	ThreadPoolRejectionPolicy getThreadPoolRejectionPolicy();
+
 	/**
 	 * @see #withProperties(Properties)
 	 */
@@ -1068,4 +1282,16 @@ public interface MailerGenericBuilder<T extends MailerGenericBuilder<?>> {
 	 */
 	@Nullable
 	OAuth2AccessTokenProvider getOAuth2AccessTokenProvider();
+
+	/**
+	 * @see #withMetricsRecorder(MetricsRecorder)
+	 */
+	@NotNull
+	MetricsRecorder getMetricsRecorder();
+
+	/**
+	 * @see #withSendTracer(SendTracer)
+	 */
+	@NotNull
+	SendTracer getSendTracer();
 }
@@ -0,0 +1,129 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Receives the measurements of a Mailer and its connection pool, so they can be bound to any metrics library without Simple Java Mail depending
+ * on one. The Micrometer binding is available in the micrometer-module.
+ * <p>
+ * Tags are passed as alternating key and value pairs. Timings are in nanoseconds. Implementations must be thread-safe and should return quickly,
+ * as they are invoked on the sending threads. Every method does nothing by default, so an implementation only needs to override what it supports.
+ *
+ * @see MailerGenericBuilder#withMetricsRecorder(MetricsRecorder)
+ */
+public interface MetricsRecorder {
+
+	/**
+	 * Records nothing, which is the default.
+	 */
+	MetricsRecorder NOOP = new MetricsRecorder() {
+	};
+
+	/**
+	 * Timer: producing the MimeMessage from an Email, including S/MIME signing and encryption.
+	 */
+	String MIME_BUILD_TIME = "simplejavamail.mime.build";
+	/**
+	 * Timer: S/MIME signing of a MimeMessage. DKIM signatures are computed while the message is written to the server and are part of {@link #SEND_TIME}.
+	 */
+	String SMIME_SIGN_TIME = "simplejavamail.smime.sign";
+	/**
+	 * Timer: S/MIME encryption of a MimeMessage.
+	 */
+	String SMIME_ENCRYPT_TIME = "simplejavamail.smime.encrypt";
+	/**
+	 * Amount: size in bytes of the rendered message, recorded only when the message is rendered anyway, which is when a maximum email size is
+	 * configured or the rendered message cache is enabled.
+	 */
+	String MESSAGE_SIZE = "simplejavamail.message.size";
+	/**
+	 * Timer: connecting and authenticating a new transport that is not pooled, tagged with {@link #TAG_OUTCOME}. Pooled transports are connected
+	 * by the connection pool, where {@link #POOL_CLAIM_WAIT_TIME} includes connecting when no idle transport was available.
+	 */
+	String CONNECT_TIME = "simplejavamail.transport.connect";
+	/**
+	 * Timer: submitting a message over a connected transport, tagged with {@link #TAG_OUTCOME}.
+	 */
+	String SEND_TIME = "simplejavamail.send";
+	/**
+	 * Counter: SMTP replies to message submissions, tagged with {@link #TAG_SMTP_CODE}.
+	 */
+	String SEND_RESPONSES = "simplejavamail.send.responses";
+	/**
+	 * Timer: waiting for a pooled transport to become available, tagged with {@link #TAG_CLUSTER} and {@link #TAG_OUTCOME}.
+	 */
+	String POOL_CLAIM_WAIT_TIME = "simplejavamail.pool.claim.wait";
+	/**
+	 * Counter: pooled transports discarded after a failure, tagged with {@link #TAG_CLUSTER}.
+	 */
+	String POOL_INVALIDATED = "simplejavamail.pool.invalidated";
+	/**
+	 * Gauge: pooled transports currently claimed, tagged with {@link #TAG_CLUSTER}.
+	 */
+	String POOL_ACTIVE_LEASES = "simplejavamail.pool.leases.active";
+	/**
+	 * Gauge: the maximum number of pooled transports of all servers in a cluster together, tagged with {@link #TAG_CLUSTER}.
+	 */
+	String POOL_CAPACITY = "simplejavamail.pool.capacity";
+	/**
+	 * Gauge: the number of pooled transports a cluster currently allows to be claimed at once, which is lower than {@link #POOL_CAPACITY} after a
+	 * server replied 421 because of too many connections, tagged with {@link #TAG_CLUSTER}.
+	 */
+	String POOL_LIMIT = "simplejavamail.pool.limit";
+	/**
+	 * Counter: lookups of S/MIME signing keys in the key cache, tagged with {@link #TAG_RESULT}. A miss means a PKCS12 keystore was parsed.
+	 */
+	String SMIME_KEY_CACHE_LOOKUPS = "simplejavamail.smime.keycache.lookups";
+	/**
+	 * Counter: lookups of S/MIME encryption recipients in the recipient cache, tagged with {@link #TAG_RESULT}. A miss means a recipient certificate
+	 * was parsed.
+	 */
+	String SMIME_RECIPIENT_CACHE_LOOKUPS = "simplejavamail.smime.recipientcache.lookups";
+	/**
+	 * Counter: lookups of DKIM signing keys in the key cache, tagged with {@link #TAG_RESULT}. A miss means a DKIM private key was parsed.
+	 */
+	String DKIM_KEY_CACHE_LOOKUPS = "simplejavamail.dkim.keycache.lookups";
+
+	/**
+	 * Either {@link #OUTCOME_SUCCESS} or {@link #OUTCOME_FAILURE}.
+	 */
+	String TAG_OUTCOME = "outcome";
+	String TAG_SMTP_CODE = "code";
+	String TAG_CLUSTER = "cluster";
+	/**
+	 * Either {@link #RESULT_HIT} or {@link #RESULT_MISS}.
+	 */
+	String TAG_RESULT = "result";
+
+	String OUTCOME_SUCCESS = "success";
+	String OUTCOME_FAILURE = "failure";
+	String RESULT_HIT = "hit";
+	String RESULT_MISS = "miss";
+
+	/**
+	 * Increments the counter with the given name and tags by one.
+	 */
+	default void incrementCounter(@NotNull final String name, @NotNull final String... tags) {
+	}
+
+	/**
+	 * Records one timing for the timer with the given name and tags.
+	 */
+	default void recordTime(@NotNull final String name, final long nanos, @NotNull final String... tags) {
+	}
+
+	/**
+	 * Records one amount, such as a size in bytes, for the distribution with the given name and tags.
+	 */
+	default void recordAmount(@NotNull final String name, final long amount, @NotNull final String... tags) {
+	}
+
+	/**
+	 * Registers a gauge that reports the current value of the given supplier whenever it is sampled. This happens once per cluster, so the supplier
+	 * may be sampled for as long as the recorder lives.
+	 */
+	default void registerGauge(@NotNull final String name, @NotNull final Supplier<? extends Number> value, @NotNull final String... tags) {
+	}
+}
@@ -0,0 +1,49 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+
+import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
+
+/**
+ * Recipient the SMTP server refused with its {@code RCPT TO} reply while the message itself was still accepted for the remaining recipients.
+ * <p>
+ * This only happens with SMTP pipelining enabled, where the envelope is committed before the individual recipient replies are known.
+ *
+ * @see MailSubmissionReceipt#getRejectedRecipients()
+ * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+ */
+public final class RejectedRecipient implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@NotNull private final String address;
+	@NotNull private final SmtpServerResponse smtpResponse;
+
+	public RejectedRecipient(@NotNull final String address, @NotNull final SmtpServerResponse smtpResponse) {
+		this.address = checkNonEmptyArgument(address, "address");
+		this.smtpResponse = checkNonEmptyArgument(smtpResponse, "smtpResponse");
+	}
+
+	/**
+	 * @return The envelope address as it was offered to the server with {@code RCPT TO}.
+	 */
+	@NotNull
+	public String getAddress() {
+		return address;
+	}
+
+	/**
+	 * @return The server's reply to the {@code RCPT TO} command for this address, such as {@code 550 5.1.1 user unknown}.
+	 */
+	@NotNull
+	public SmtpServerResponse getSmtpResponse() {
+		return smtpResponse;
+	}
+
+	@Override
+	public String toString() {
+		return address + " (" + smtpResponse.getReturnCode() + ")";
+	}
+}
@@ -0,0 +1,38 @@
+package org.simplejavamail.api.mailer;
+
+/**
+ * The phases of sending an email, as reported to a {@link SendTracer} and broken down in {@link MailSubmissionReceipt#getPhaseDurations()}.
+ * <p>
+ * Some phases run inside others: S/MIME signing and encryption are part of producing the MimeMessage, and DKIM signatures are computed when
+ * the message is written, which is during the SMTP submission (or while checking the maximum email size). The durations in the receipt
+ * exclude such nested phases, so they add up to the time spent in all phases together.
+ */
+public enum SendPhase {
+	/**
+	 * Applying the defaults and overrides of the Mailer to the email.
+	 *
+	 * @see org.simplejavamail.api.mailer.config.EmailGovernance
+	 */
+	GOVERNANCE,
+	/**
+	 * Validating the email before it is sent.
+	 *
+	 * @see Mailer#validate(org.simplejavamail.api.email.Email)
+	 */
+	VALIDATION,
+	/**
+	 * Claiming a transport from the connection pool, or connecting a new transport when the batch-module is not available.
+	 */
+	TRANSPORT_CLAIM,
+	/**
+	 * Producing the MimeMessage from the email, including checking its size and caching its rendering, if configured.
+	 */
+	MIME_PRODUCTION,
+	SMIME_SIGNING,
+	SMIME_ENCRYPTION,
+	DKIM_SIGNING,
+	/**
+	 * Submitting the message to the server, from the envelope up to and including the DATA phase.
+	 */
+	SMTP_SUBMISSION
+}
@@ -0,0 +1,38 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives the phases of sending a single email, as started by {@link SendTracer#startTrace(org.simplejavamail.api.email.Email)}.
+ * <p>
+ * Phases are properly nested and never overlap, but when sending asynchronously, the first phases run on the thread calling the Mailer and the
+ * remaining ones on the thread sending the email. Every method does nothing by default.
+ */
+public interface SendTrace {
+
+	/**
+	 * Ignores all phases.
+	 */
+	SendTrace NOOP = new SendTrace() {
+	};
+
+	default void phaseStarted(@NotNull final SendPhase phase) {
+	}
+
+	/**
+	 * @param durationNanos The time spent in the phase, including nested phases.
+	 * @param failure       The exception that ended the phase, if any.
+	 */
+	default void phaseEnded(@NotNull final SendPhase phase, final long durationNanos, @Nullable final Throwable failure) {
+	}
+
+	/**
+	 * Invoked once the email was sent or sending failed, after which no more phases are reported.
+	 *
+	 * @param receipt The receipt of the submission, if it succeeded.
+	 * @param failure The exception that made sending fail, if it did.
+	 */
+	default void ended(@Nullable final MailSubmissionReceipt receipt, @Nullable final Throwable failure) {
+	}
+}
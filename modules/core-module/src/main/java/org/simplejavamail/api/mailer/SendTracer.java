@@ -0,0 +1,28 @@
+package org.simplejavamail.api.mailer;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.email.Email;
+
+/**
+ * Traces the phases of sending a single email, to find out where the time goes when sends are slow. The OpenTelemetry adapter is available in
+ * the opentelemetry-module.
+ *
+ * @see MailerGenericBuilder#withSendTracer(SendTracer)
+ * @see MailSubmissionReceipt#getPhaseDurations()
+ */
+public interface SendTracer {
+
+	/**
+	 * Traces nothing, which is the default.
+	 */
+	SendTracer NOOP = email -> SendTrace.NOOP;
+
+	/**
+	 * Invoked on the thread that calls the Mailer, before anything else is done for the email.
+	 *
+	 * @param email The email as it was passed to the Mailer.
+	 * @return The trace that is notified of each phase of this send.
+	 */
+	@NotNull
+	SendTrace startTrace(@NotNull Email email);
+}
@@ -15,8 +15,21 @@ public enum LoadBalancingStrategy {
 	/**
 	 * Randomly choose a connection pool (server) to request a connection ({@link jakarta.mail.Transport}) object from.
 	 */
-	RANDOM_ACCESS;
+	RANDOM_ACCESS,
+	/**
+	 * Choose the connection pool (server) with the fewest connections claimed or being claimed. A server that failed five times in a row is skipped
+	 * for thirty seconds and then gradually taken back into use.
+	 */
+	LEAST_OUTSTANDING,
+	/**
+	 * Choose the connection pool (server) that is expected to be quickest, based on a moving average of how long its connections were in use for
+	 * successful sends and the number of connections claimed from it. A server that failed five times in a row is skipped for thirty seconds and then
+	 * gradually taken back into use.
+	 */
+	EWMA_LATENCY;
 
 	public static final String ROUND_ROBIN_REF = "ROUND_ROBIN";
 	public static final String RANDOM_ACCESS_REF = "RANDOM_ACCESS";
+	public static final String LEAST_OUTSTANDING_REF = "LEAST_OUTSTANDING";
+	public static final String EWMA_LATENCY_REF = "EWMA_LATENCY";
 }
@@ -6,6 +6,8 @@ import org.simplejavamail.api.mailer.CustomMailer;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.MailerGenericBuilder;
 import org.simplejavamail.api.mailer.MailerRegularBuilder;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendTracer;
 
 import java.io.PrintStream;
 import java.util.List;
@@ -97,6 +99,36 @@ public interface OperationalConfig {
 	 */
 	boolean isTransportModeLoggingOnly();
 
+	/**
+	 * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	boolean isSmtpPipelining();
+
+	/**
+	 * @see MailerGenericBuilder#withRenderedMessageCacheSize(Integer)
+	 */
+	int getRenderedMessageCacheSize();
+
+	/**
+	 * @see MailerGenericBuilder#withRenderedMessageCacheHeapBudget(Integer)
+	 */
+	int getRenderedMessageCacheHeapBudget();
+
+	/**
+	 * @see MailerGenericBuilder#withVirtualThreads(Boolean)
+	 */
+	boolean isVirtualThreads();
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 */
+	int getThreadPoolQueueCapacity();
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy)
+	 */
+	ThreadPoolRejectionPolicy getThreadPoolRejectionPolicy();
+
 	/**
 	 * @see MailerGenericBuilder#withDebugLogging(Boolean)
 	 */
@@ -165,4 +197,16 @@ public interface OperationalConfig {
 	 */
 	@Nullable
 	OAuth2AccessTokenProvider getOAuth2AccessTokenProvider();
+
+	/**
+	 * @see MailerGenericBuilder#withMetricsRecorder(MetricsRecorder)
+	 */
+	@NotNull
+	MetricsRecorder getMetricsRecorder();
+
+	/**
+	 * @see MailerGenericBuilder#withSendTracer(SendTracer)
+	 */
+	@NotNull
+	SendTracer getSendTracer();
 }
@@ -0,0 +1,28 @@
+package org.simplejavamail.api.mailer.config;
+
+/**
+ * Defines what happens to an async send when the queue of the thread pool is full, which can only happen when the queue is bounded (see
+ * {@link org.simplejavamail.api.mailer.MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)}).
+ *
+ * @see org.simplejavamail.api.mailer.Mailer#getAsyncQueueDepth()
+ */
+@SuppressWarnings("unused")
+public enum ThreadPoolRejectionPolicy {
+	/**
+	 * The calling thread waits until there is room in the queue again, slowing down the producer of emails.
+	 */
+	BLOCK,
+	/**
+	 * The send is rejected right away with an {@link org.simplejavamail.api.mailer.AsyncSendRejectedException}, through the returned future, so
+	 * load can be shed upstream.
+	 */
+	FAIL_FAST,
+	/**
+	 * The calling thread sends the email itself, so the send is no longer asynchronous, but nothing is queued either.
+	 */
+	CALLER_RUNS;
+
+	public static final String BLOCK_REF = "BLOCK";
+	public static final String FAIL_FAST_REF = "FAIL_FAST";
+	public static final String CALLER_RUNS_REF = "CALLER_RUNS";
+}
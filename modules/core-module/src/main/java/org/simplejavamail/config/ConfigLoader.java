@@ -8,6 +8,7 @@ import org.simplejavamail.api.email.config.DeliveryStatusNotification;
 import org.simplejavamail.api.email.config.DkimConfig;
 import org.simplejavamail.api.mailer.config.ConnectionPoolClusterConfig;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 import org.simplejavamail.api.mailer.config.SessionDebugOutput;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.internal.util.SimpleConversions;
@@ -92,6 +93,12 @@ import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
  * <li>simplejavamail.defaults.trustedhosts</li>
  * <li>simplejavamail.defaults.verifyserveridentity</li>
  * <li>simplejavamail.transport.mode.logging.only</li>
+ * <li>simplejavamail.smtp.pipelining</li>
+ * <li>simplejavamail.renderedmessagecache.size</li>
+ * <li>simplejavamail.renderedmessagecache.heapbudget</li>
+ * <li>simplejavamail.defaults.virtualthreads</li>
+ * <li>simplejavamail.defaults.poolsize.queuecapacity</li>
+ * <li>simplejavamail.defaults.poolsize.rejectionpolicy</li>
  * <li>simplejavamail.opportunistic.tls</li>
  * <li>simplejavamail.smime.signing.keystore</li>
  * <li>simplejavamail.smime.signing.keystore_password</li>
@@ -101,6 +108,9 @@ import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
  * <li>simplejavamail.smime.signing.algorithm</li>
  * <li>simplejavamail.smime.encryption.key_encapsulation_algorithm</li>
  * <li>simplejavamail.smime.encryption.cipher</li>
+ * <li>simplejavamail.smime.signing.streaming_spool_threshold</li>
+ * <li>simplejavamail.smime.encryption.streaming_spool_threshold</li>
+ * <li>simplejavamail.smime.decryption.parallelism</li>
  * <li>simplejavamail.dkim.signing.private_key_file_or_data</li>
  * <li>simplejavamail.dkim.signing.selector</li>
  * <li>simplejavamail.dkim.signing.signing_domain</li>
@@ -109,6 +119,7 @@ import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
  * <li>simplejavamail.dkim.signing.header_canonicalization</li>
  * <li>simplejavamail.dkim.signing.body_canonicalization</li>
  * <li>simplejavamail.dkim.signing.algorithm</li>
+ * <li>simplejavamail.dkim.signing.streaming_spool_threshold</li>
  * <li>simplejavamail.embeddedimages.dynamicresolution.enable.dir</li>
  * <li>simplejavamail.embeddedimages.dynamicresolution.enable.url</li>
  * <li>simplejavamail.embeddedimages.dynamicresolution.enable.classpath</li>
@@ -208,6 +219,12 @@ public final class ConfigLoader {
 		DEFAULT_TRUSTED_HOSTS("simplejavamail.defaults.trustedhosts"),
 		DEFAULT_VERIFY_SERVER_IDENTITY("simplejavamail.defaults.verifyserveridentity"),
 		TRANSPORT_MODE_LOGGING_ONLY("simplejavamail.transport.mode.logging.only"),
+		SMTP_PIPELINING("simplejavamail.smtp.pipelining"),
+		RENDERED_MESSAGE_CACHE_SIZE("simplejavamail.renderedmessagecache.size"),
+		RENDERED_MESSAGE_CACHE_HEAP_BUDGET("simplejavamail.renderedmessagecache.heapbudget"),
+		DEFAULT_VIRTUAL_THREADS("simplejavamail.defaults.virtualthreads"),
+		DEFAULT_POOL_QUEUE_CAPACITY("simplejavamail.defaults.poolsize.queuecapacity"),
+		DEFAULT_POOL_REJECTION_POLICY("simplejavamail.defaults.poolsize.rejectionpolicy"),
 		OPPORTUNISTIC_TLS("simplejavamail.opportunistic.tls"),
 		SMIME_SIGNING_KEYSTORE("simplejavamail.smime.signing.keystore"),
 		SMIME_SIGNING_KEYSTORE_PASSWORD("simplejavamail.smime.signing.keystore_password"),
@@ -216,6 +233,9 @@ public final class ConfigLoader {
 		SMIME_SIGNING_ALGORITHM("simplejavamail.smime.signing.algorithm"),
 		SMIME_ENCRYPTION_KEY_ENCAPSULATION_ALGORITHM("simplejavamail.smime.encryption.key_encapsulation_algorithm"),
 		SMIME_ENCRYPTION_CIPHER("simplejavamail.smime.encryption.cipher"),
+		SMIME_SIGNING_STREAMING_SPOOL_THRESHOLD("simplejavamail.smime.signing.streaming_spool_threshold"),
+		SMIME_ENCRYPTION_STREAMING_SPOOL_THRESHOLD("simplejavamail.smime.encryption.streaming_spool_threshold"),
+		SMIME_DECRYPTION_PARALLELISM("simplejavamail.smime.decryption.parallelism"),
 		DKIM_PRIVATE_KEY_FILE_OR_DATA("simplejavamail.dkim.signing.private_key_file_or_data"),
 		DKIM_SELECTOR("simplejavamail.dkim.signing.selector"),
 		DKIM_SIGNING_DOMAIN("simplejavamail.dkim.signing.signing_domain"),
@@ -224,6 +244,7 @@ public final class ConfigLoader {
 		DKIM_SIGNING_HEADER_CANONICALIZATION("simplejavamail.dkim.signing.header_canonicalization"),
 		DKIM_SIGNING_BODY_CANONICALIZATION("simplejavamail.dkim.signing.body_canonicalization"),
 		DKIM_SIGNING_ALGORITHM("simplejavamail.dkim.signing.algorithm"),
+		DKIM_SIGNING_STREAMING_SPOOL_THRESHOLD("simplejavamail.dkim.signing.streaming_spool_threshold"),
 		SMIME_ENCRYPTION_CERTIFICATE("simplejavamail.smime.encryption.certificate"),
 		EMBEDDEDIMAGES_DYNAMICRESOLUTION_ENABLE_DIR("simplejavamail.embeddedimages.dynamicresolution.enable.dir"),
 		EMBEDDEDIMAGES_DYNAMICRESOLUTION_ENABLE_CLASSPATH("simplejavamail.embeddedimages.dynamicresolution.enable.classpath"),
@@ -650,6 +671,11 @@ public final class ConfigLoader {
 		} catch (final IllegalArgumentException nfe) {
 			// Not a LoadBalancingStrategy
 		}
+		try {
+			return ThreadPoolRejectionPolicy.valueOf(propertyValue);
+		} catch (final IllegalArgumentException nfe) {
+			// Not a ThreadPoolRejectionPolicy
+		}
 		// return value as is (string)
 		return propertyValue;
 	}
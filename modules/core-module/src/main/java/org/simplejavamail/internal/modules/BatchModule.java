@@ -5,6 +5,7 @@ import jakarta.mail.Transport;
 import org.jetbrains.annotations.NotNull;
 import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -32,11 +33,14 @@ public interface BatchModule {
 	CompletableFuture<Void> executeAsync(@NotNull ExecutorService executorService, @NotNull String processName, @NotNull Runnable operation);
 
 	/**
+	 * @param queueCapacity   The maximum number of queued tasks, or {@code 0} for an unbounded queue.
+	 * @param rejectionPolicy What to do with new tasks once a bounded queue is full.
 	 * @return A NonJvmBlockingThreadPoolExecutor instance that by default doesn't block the JVM from exiting
 	 * and produces properly named thread.
 	 */
 	@NotNull
-	ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime);
+	ExecutorService createDefaultExecutorService(final int threadPoolSize, final int keepAliveTime, final int queueCapacity,
+			@NotNull final ThreadPoolRejectionPolicy rejectionPolicy);
 
 	/**
 	 * Initializes the connection pool cluster if not initialized yet.
@@ -47,11 +51,19 @@ public interface BatchModule {
 
 	/**
 	 * @param stickySession Indicates whether transport should be from this specific Session, or any session instance from the cluster. Useful when testing connections.
+	 * @param onVirtualThread Indicates whether the claim is made by a Mailer sending on its own virtual threads, which are not limited by the size of a
+	 *                        thread pool, so the claim waits for the cluster's connection limit without timeout.
 	 *
 	 * @return A (new) {@link Transport} for the given session from the SMTP connection pool.
 	 */
 	@NotNull
-	LifecycleDelegatingTransport acquireTransport(@NotNull UUID clusterKey, @NotNull Session session, boolean stickySession);
+	LifecycleDelegatingTransport acquireTransport(@NotNull UUID clusterKey, @NotNull Session session, boolean stickySession, boolean onVirtualThread);
+
+	/**
+	 * Counts a message submitted over the transport towards the maximum number of messages per connection, if the transport was acquired from a
+	 * connection pool that limits them. Does nothing for other transports.
+	 */
+	void countMessageSent(@NotNull Transport transport);
 
 	/**
 	 * Shuts down connection pool(s) and closes remaining open connections. Waits until all connections still in use become available again to deallocate them as well.
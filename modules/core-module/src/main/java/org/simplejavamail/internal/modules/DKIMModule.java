@@ -2,9 +2,11 @@ package org.simplejavamail.internal.modules;
 
 import jakarta.mail.internet.MimeMessage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.mailer.MetricsRecorder;
 
 /**
  * This interface only serves to hide the DKIM implementation behind an easy-to-load-with-reflection class.
@@ -18,13 +20,21 @@ public interface DKIMModule {
 	 * {@code org.simplejavamail.utils.mail.dkim.DkimMessage} and {@code org.simplejavamail.utils.mail.dkim.DkimSigner}
 	 * during the physical sending of the message.
 	 *
-	 * @param email The Email from which the MimeMessage was produced. Used to take fixed Message-ID from, if applicable.
-	 * @param messageToSign The message to be signed when sent.
-	 * @param dkimConfig    The {@link DkimConfig} containing all DKIM signing details
-	 * @param fromRecipient The "From" recipient to be used as identity
+	 * @param email           The Email from which the MimeMessage was produced. Used to take fixed Message-ID from, if applicable.
+	 * @param messageToSign   The message to be signed when sent.
+	 * @param dkimConfig      The {@link DkimConfig} containing all DKIM signing details
+	 * @param fromRecipient   The "From" recipient to be used as identity
+	 * @param metricsRecorder Receives the lookups in the DKIM key cache.
 	 * @return The original mime message wrapped in a new one that performs signing when sent.
 	 */
-	MimeMessage signMessageWithDKIM(@NotNull Email email, @NotNull MimeMessage messageToSign, @NotNull DkimConfig dkimConfig, @NotNull Recipient fromRecipient);
+	MimeMessage signMessageWithDKIM(@NotNull Email email, @NotNull MimeMessage messageToSign, @NotNull DkimConfig dkimConfig, @NotNull Recipient fromRecipient,
+			@NotNull MetricsRecorder metricsRecorder);
+
+	/**
+	 * Removes the private key parsed from the given DKIM configuration from the key cache, or all keys when {@code null}, so the key is parsed again
+	 * the next time it is used.
+	 */
+	void invalidateCachedDkimKeys(@Nullable DkimConfig dkimConfig);
 
 	/**
 	 * @return Whether the email has been properly wrapped in a MimeMessage subtype that overrides Message-ID. This is to
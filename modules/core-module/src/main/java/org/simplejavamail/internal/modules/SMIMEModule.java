@@ -14,6 +14,7 @@ import org.simplejavamail.api.internal.outlooksupport.model.OutlookMessage;
 import org.simplejavamail.api.internal.smimesupport.builder.SmimeParseResult;
 import org.simplejavamail.api.internal.smimesupport.model.AttachmentDecryptionResult;
 import org.simplejavamail.api.internal.smimesupport.model.SmimeDetails;
+import org.simplejavamail.api.mailer.MetricsRecorder;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
 
 import java.security.cert.X509Certificate;
@@ -72,11 +73,19 @@ public interface SMIMEModule {
 
 	boolean verifyValidSignature(@NotNull MimeMessage mimeMessage, @NotNull OriginalSmimeDetails messageSmimeDetails);
 
+	/**
+	 * @param metricsRecorder Receives whether the signing key was found in the key cache.
+	 */
 	@NotNull
-	MimeMessage signMessageWithSmime(@NotNull Session session, @NotNull final Email email, @NotNull MimeMessage messageToProtect, @NotNull SmimeSigningConfig smimeSigningConfig);
+	MimeMessage signMessageWithSmime(@NotNull Session session, @NotNull final Email email, @NotNull MimeMessage messageToProtect, @NotNull SmimeSigningConfig smimeSigningConfig,
+			@NotNull MetricsRecorder metricsRecorder);
 
+	/**
+	 * @param metricsRecorder Receives whether the recipient was found in the recipient cache, which is only used for streaming encryption.
+	 */
 	@NotNull
-        MimeMessage encryptMessageWithSmime(@NotNull Session session, @NotNull final Email email, @NotNull MimeMessage messageToProtect, @NotNull SmimeEncryptionConfig smimeEncryptionConfig);
+        MimeMessage encryptMessageWithSmime(@NotNull Session session, @NotNull final Email email, @NotNull MimeMessage messageToProtect, @NotNull SmimeEncryptionConfig smimeEncryptionConfig,
+			@NotNull MetricsRecorder metricsRecorder);
 
         /**
          * Encrypts a MimeMessage for multiple recipients in a single S/MIME envelope. Each cert in {@code recipientCerts}
@@ -92,12 +101,14 @@ public interface SMIMEModule {
          *                               Duplicate certs are allowed; the underlying generator deduplicates naturally.
          * @param keyEncapsulationAlgorithm Optional name of the key-encapsulation algorithm (e.g. {@code "RSA_OAEP_SHA256"}).
          * @param cipherAlgorithm        Optional name of the content-encryption algorithm (e.g. {@code "AES256_CBC"}).
+         * @param metricsRecorder        Receives whether each recipient was found in the recipient cache.
          */
         @NotNull
         MimeMessage encryptMessageWithSmimeForRecipients(@Nullable Session session, @NotNull Email email, @NotNull MimeMessage messageToProtect,
                         @NotNull Collection<X509Certificate> recipientCerts,
                         @Nullable String keyEncapsulationAlgorithm,
-                        @Nullable String cipherAlgorithm);
+                        @Nullable String cipherAlgorithm,
+                        @NotNull MetricsRecorder metricsRecorder);
 
 	/**
 	 * @return Whether the email has been properly wrapped in a MimeMessage subtype that overrides Message-ID. This is to
@@ -106,6 +117,12 @@ public interface SMIMEModule {
 	 */
     boolean isMessageIdFixingMessage(MimeMessage message);
 
+	/**
+	 * Removes the private key parsed from the given keystore from the key cache, or all keys when {@code null}, so the keystore is parsed again
+	 * the next time it is used.
+	 */
+	void invalidateCachedSmimeKeys(@Nullable Pkcs12Config pkcs12Config);
+
 	/**
 	 * @return Whether the given attachment is S/MIME signed / encrypted. Defers to {@code SmimeRecognitionUtil.isGeneratedSmimeMessageId(..)}.
 	 */
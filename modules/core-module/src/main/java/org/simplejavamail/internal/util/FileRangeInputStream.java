@@ -0,0 +1,157 @@
+package org.simplejavamail.internal.util;
+
+import jakarta.mail.internet.SharedInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+
+/**
+ * A {@link SharedInputStream} over a range of a file, which opens the file only while it is being read, and closes it again when the end of the
+ * range is reached. A MimeMessage parsed from it refers to the content of its parts as ranges of the file, so a part is read from the file each time
+ * its content is read, and no file handle is held in between.
+ * <p>
+ * Unlike {@link jakarta.mail.util.SharedFileInputStream}, the file should not change while it is referred to, since the ranges are only checked
+ * against its length when they're read.
+ */
+public class FileRangeInputStream extends InputStream implements SharedInputStream {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	@NotNull private final File file;
+	private final long start;
+	private final long end;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	@Nullable private RandomAccessFile openFile;
+	private long bufferPosition;
+	private int bufferLength;
+	private long position;
+	private long markPosition;
+	private boolean closed;
+
+	/**
+	 * A stream over the whole file.
+	 */
+	public FileRangeInputStream(@NotNull final File file) {
+		this(file, 0, file.length());
+	}
+
+	private FileRangeInputStream(@NotNull final File file, final long start, final long end) {
+		this.file = file;
+		this.start = start;
+		this.end = end;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fillBuffer()) {
+			return -1;
+		}
+		return buffer[(int) (position++ - bufferPosition)] & 0xff;
+	}
+
+	@Override
+	public int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!fillBuffer()) {
+			return -1;
+		}
+		final int read = (int) Math.min(len, bufferPosition + bufferLength - position);
+		System.arraycopy(buffer, (int) (position - bufferPosition), b, off, read);
+		position += read;
+		return read;
+	}
+
+	/**
+	 * @return Whether the buffer holds the byte at the current position, which is false at the end of the range.
+	 */
+	private boolean fillBuffer() throws IOException {
+		if (closed) {
+			throw new IOException("stream is closed");
+		}
+		if (position >= bufferPosition && position < bufferPosition + bufferLength) {
+			return true;
+		}
+		final long remaining = end - start - position;
+		if (remaining <= 0) {
+			closeFile();
+			return false;
+		}
+		if (openFile == null) {
+			openFile = new RandomAccessFile(file, "r");
+		}
+		openFile.seek(start + position);
+		final int read = openFile.read(buffer, 0, (int) Math.min(BUFFER_SIZE, remaining));
+		if (read <= 0) {
+			throw new IOException("file " + file + " ended before the expected range, was it changed?");
+		}
+		bufferPosition = position;
+		bufferLength = read;
+		return true;
+	}
+
+	@Override
+	public long skip(final long n) {
+		final long skipped = Math.max(0, Math.min(n, end - start - position));
+		position += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return (int) Math.min(Integer.MAX_VALUE, end - start - position);
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(final int readLimit) {
+		markPosition = position;
+	}
+
+	@Override
+	public synchronized void reset() {
+		position = markPosition;
+	}
+
+	/**
+	 * @see SharedInputStream#getPosition()
+	 */
+	@Override
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * @see SharedInputStream#newStream(long, long)
+	 */
+	@Override
+	public InputStream newStream(final long start, final long end) {
+		if (start < 0) {
+			throw new IllegalArgumentException("start < 0");
+		}
+		final long length = this.end - this.start;
+		return new FileRangeInputStream(file, this.start + Math.min(start, length), this.start + (end == -1 ? length : Math.min(end, length)));
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		closeFile();
+	}
+
+	private void closeFile() throws IOException {
+		if (openFile != null) {
+			openFile.close();
+			openFile = null;
+		}
+	}
+}
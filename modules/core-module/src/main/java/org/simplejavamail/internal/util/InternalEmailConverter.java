@@ -10,6 +10,4 @@ import org.simplejavamail.api.email.Email;
  */
 public interface InternalEmailConverter {
 	MimeMessage emailToMimeMessage(@NotNull Email email);
-
-	byte[] mimeMessageToEMLByteArray(@NotNull MimeMessage mimeMessage);
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.simplejavamail.internal.util;
+
+import jakarta.mail.internet.SharedInputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A {@link SharedInputStream} over a memory-mapped file. A MimeMessage parsed from it refers to the content of its parts as slices of the mapping,
+ * so the file is neither copied onto the heap while parsing, nor when the content of a part is read. The operating system pages the file in as it
+ * is read.
+ * <p>
+ * The file is closed as soon as it is mapped, but the mapping itself is only released when the last stream referring to it is garbage collected.
+ * Until then, the file should not be changed, and on Windows it cannot be deleted.
+ */
+public class MemoryMappedInputStream extends InputStream implements SharedInputStream {
+
+	@NotNull private final ByteBuffer buffer;
+	private int markPosition;
+
+	private MemoryMappedInputStream(@NotNull final ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * @return A stream over the whole file, which should be smaller than 2 GB.
+	 */
+	@NotNull
+	public static MemoryMappedInputStream map(@NotNull final File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("file " + file + " is too large to be memory-mapped in one piece: " + channel.size() + " bytes");
+			}
+			return new MemoryMappedInputStream(channel.map(READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	@Override
+	public int read() {
+		return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+	}
+
+	@Override
+	public int read(final byte @NotNull [] b, final int off, final int len) {
+		if (len == 0) {
+			return 0;
+		}
+		if (!buffer.hasRemaining()) {
+			return -1;
+		}
+		final int read = Math.min(len, buffer.remaining());
+		buffer.get(b, off, read);
+		return read;
+	}
+
+	@Override
+	public long skip(final long n) {
+		final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+		moveTo(buffer, buffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return buffer.remaining();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(final int readLimit) {
+		markPosition = buffer.position();
+	}
+
+	@Override
+	public synchronized void reset() {
+		moveTo(buffer, markPosition);
+	}
+
+	/**
+	 * @see SharedInputStream#getPosition()
+	 */
+	@Override
+	public long getPosition() {
+		return buffer.position();
+	}
+
+	/**
+	 * @see SharedInputStream#newStream(long, long)
+	 */
+	@Override
+	public InputStream newStream(final long start, final long end) {
+		if (start < 0) {
+			throw new IllegalArgumentException("start < 0");
+		}
+		final ByteBuffer range = buffer.duplicate();
+		// cast to Buffer, so the Java 8 method signatures are used when compiling with a newer JDK
+		((Buffer) range).limit(end == -1 ? buffer.limit() : (int) Math.min(end, buffer.limit()));
+		moveTo(range, (int) Math.min(start, range.limit()));
+		return new MemoryMappedInputStream(range.slice());
+	}
+
+	private static void moveTo(@NotNull final ByteBuffer buffer, final int position) {
+		((Buffer) buffer).position(position);
+	}
+}
@@ -0,0 +1,155 @@
+package org.simplejavamail.internal.util;
+
+import jakarta.mail.util.SharedByteArrayInputStream;
+import jakarta.mail.util.SharedFileInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Collects a rendered message on the heap up to a threshold, after which everything moves to a temporary file, so rendering large messages doesn't
+ * grow the heap. Once closed, the spooled bytes can be read any number of times as a {@link jakarta.mail.internet.SharedInputStream}, which lets a
+ * MimeMessage parsed from it refer to its content instead of copying it.
+ * <p>
+ * A temporary file is unlinked as soon as it is opened for reading, so the disk space is released when the last stream reading it is closed or
+ * garbage collected. On platforms that don't allow deleting open files, the file is deleted when the JVM exits instead.
+ */
+public class MessageSpool extends OutputStream {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MessageSpool.class);
+
+	private final long heapThreshold;
+	@Nullable private ByteArrayOutputStream heapOutputStream = new ByteArrayOutputStream();
+	@Nullable private OutputStream fileOutputStream;
+	@Nullable private File spoolFile;
+	@Nullable private SharedFileInputStream spoolFileInputStream;
+	@Nullable private byte[] bytes;
+	private long size;
+	private boolean closed;
+
+	/**
+	 * @param heapThreshold The number of bytes kept on the heap at most. Zero spools everything to a file.
+	 */
+	public MessageSpool(final long heapThreshold) {
+		this.heapThreshold = heapThreshold;
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		prepareFor(1).write(b);
+		size++;
+	}
+
+	@Override
+	public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+		prepareFor(len).write(b, off, len);
+		size += len;
+	}
+
+	@NotNull
+	private OutputStream prepareFor(final int len) throws IOException {
+		if (closed) {
+			throw new IOException("message spool is already closed");
+		}
+		if (heapOutputStream != null && !keepOnHeap(size + len)) {
+			spoolFile = File.createTempFile("simplejavamail-spool-", ".eml");
+			fileOutputStream = new BufferedOutputStream(new FileOutputStream(spoolFile));
+			heapOutputStream.writeTo(fileOutputStream);
+			heapOutputStream = null;
+		}
+		return heapOutputStream != null ? heapOutputStream : fileOutputStream;
+	}
+
+	/**
+	 * Decides whether the spooled bytes stay on the heap once they grow to the given size. When this returns {@code false}, everything moves to a
+	 * temporary file and this is not asked again.
+	 */
+	protected boolean keepOnHeap(final long sizeAfterWrite) {
+		return sizeAfterWrite <= heapThreshold;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			if (heapOutputStream != null) {
+				bytes = heapOutputStream.toByteArray();
+				heapOutputStream = null;
+			} else if (fileOutputStream != null) {
+				fileOutputStream.close();
+			}
+		}
+	}
+
+	/**
+	 * @return A stream over everything written to the spool, which must be closed first.
+	 */
+	@NotNull
+	public synchronized InputStream newSharedInputStream() throws IOException {
+		if (!closed) {
+			throw new IllegalStateException("message spool must be closed before it can be read");
+		}
+		if (bytes != null) {
+			return new SharedByteArrayInputStream(bytes);
+		}
+		if (spoolFileInputStream == null) {
+			spoolFileInputStream = new SharedFileInputStream(spoolFile);
+			if (!spoolFile.delete()) {
+				LOGGER.debug("could not unlink message spool file {} while it is open, deleting it on exit", spoolFile);
+				spoolFile.deleteOnExit();
+			}
+		}
+		return spoolFileInputStream.newStream(0, -1);
+	}
+
+	/**
+	 * Closes the spool and releases everything it holds: the spooled bytes, the stream reading the temporary file and the file itself. Meant for when
+	 * spooling failed halfway or its result is no longer needed; streams obtained from {@link #newSharedInputStream()} can't be read afterwards.
+	 */
+	public synchronized void discard() {
+		closed = true;
+		heapOutputStream = null;
+		bytes = null;
+		closeQuietly(fileOutputStream);
+		closeQuietly(spoolFileInputStream);
+		spoolFileInputStream = null;
+		if (spoolFile != null && !spoolFile.delete() && spoolFile.exists()) {
+			LOGGER.debug("could not delete message spool file {}, deleting it on exit", spoolFile);
+			spoolFile.deleteOnExit();
+		}
+	}
+
+	private static void closeQuietly(@Nullable final Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException e) {
+				LOGGER.debug("error closing message spool stream", e);
+			}
+		}
+	}
+
+	/**
+	 * @return The number of bytes written so far.
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * @return Whether the spooled bytes moved to a temporary file.
+	 */
+	public boolean isSpooledToFile() {
+		return spoolFile != null;
+	}
+}
@@ -0,0 +1,141 @@
+package org.simplejavamail.internal.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.SendPhase;
+import org.simplejavamail.api.mailer.SendTrace;
+import org.simplejavamail.api.mailer.SendTracer;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times the phases of sending a single email and reports them to its {@link SendTrace}. The timer is bound to the thread working on the send,
+ * so the phases can be timed from wherever they happen, including the optional modules, without passing the timer around.
+ * <p>
+ * The phases of one send never run concurrently. They may run on different threads one after the other, handed over through an executor.
+ */
+public final class SendPhaseTimer {
+
+	private static final ThreadLocal<SendPhaseTimer> CURRENT = new ThreadLocal<>();
+
+	@NotNull private final SendTrace trace;
+	// time spent in each phase, excluding the nested phases
+	private final Map<SendPhase, Long> phaseDurations = new EnumMap<>(SendPhase.class);
+	private final Deque<RunningPhase> runningPhases = new ArrayDeque<>();
+	private final AtomicBoolean traceEnded = new AtomicBoolean();
+
+	private SendPhaseTimer(@NotNull final SendTrace trace) {
+		this.trace = trace;
+	}
+
+	/**
+	 * @see SendTracer#startTrace(Email)
+	 */
+	@NotNull
+	public static SendPhaseTimer start(@NotNull final SendTracer tracer, @NotNull final Email email) {
+		return new SendPhaseTimer(tracer.startTrace(email));
+	}
+
+	/**
+	 * Runs the operation with this timer bound to the current thread, so the phases it runs are timed.
+	 */
+	public <T, E extends Exception> T runBound(@NotNull final TimedOperation<T, E> operation)
+			throws E {
+		final SendPhaseTimer previous = CURRENT.get();
+		CURRENT.set(this);
+		try {
+			return operation.run();
+		} finally {
+			if (previous != null) {
+				CURRENT.set(previous);
+			} else {
+				CURRENT.remove();
+			}
+		}
+	}
+
+	/**
+	 * Runs the operation as the given phase of the send the current thread is working on, if any.
+	 */
+	public static <T, E extends Exception> T timePhase(@NotNull final SendPhase phase, @NotNull final TimedOperation<T, E> operation)
+			throws E {
+		final SendPhaseTimer timer = CURRENT.get();
+		if (timer == null) {
+			return operation.run();
+		}
+		timer.phaseStarted(phase);
+		try {
+			final T result = operation.run();
+			timer.phaseEnded(null);
+			return result;
+		} catch (RuntimeException | Error e) {
+			timer.phaseEnded(e);
+			throw e;
+		} catch (Exception e) {
+			timer.phaseEnded(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * @return The time spent so far in each phase of the send the current thread is working on, in nanoseconds and excluding nested phases.
+	 * Empty if the current thread is not working on a send.
+	 */
+	@NotNull
+	public static Map<SendPhase, Long> currentPhaseDurations() {
+		final SendPhaseTimer timer = CURRENT.get();
+		return timer != null ? new EnumMap<>(timer.phaseDurations) : Collections.<SendPhase, Long>emptyMap();
+	}
+
+	/**
+	 * Ends the trace, unless it already ended, so a failure that is handled at several levels is only reported once.
+	 *
+	 * @see SendTrace#ended(MailSubmissionReceipt, Throwable)
+	 */
+	public void ended(@Nullable final MailSubmissionReceipt receipt, @Nullable final Throwable failure) {
+		if (traceEnded.compareAndSet(false, true)) {
+			trace.ended(receipt, failure);
+		}
+	}
+
+	private void phaseStarted(@NotNull final SendPhase phase) {
+		trace.phaseStarted(phase);
+		runningPhases.push(new RunningPhase(phase, System.nanoTime()));
+	}
+
+	private void phaseEnded(@Nullable final Throwable failure) {
+		final RunningPhase runningPhase = runningPhases.pop();
+		final long duration = System.nanoTime() - runningPhase.startNanos;
+		phaseDurations.merge(runningPhase.phase, duration - runningPhase.nestedNanos, Long::sum);
+		final RunningPhase enclosingPhase = runningPhases.peek();
+		if (enclosingPhase != null) {
+			enclosingPhase.nestedNanos += duration;
+		}
+		trace.phaseEnded(runningPhase.phase, duration, failure);
+	}
+
+	private static final class RunningPhase {
+		@NotNull private final SendPhase phase;
+		private final long startNanos;
+		private long nestedNanos;
+
+		private RunningPhase(@NotNull final SendPhase phase, final long startNanos) {
+			this.phase = phase;
+			this.startNanos = startNanos;
+		}
+	}
+
+	/**
+	 * An operation that is run as a phase, which may throw one type of checked exception.
+	 */
+	public interface TimedOperation<T, E extends Exception> {
+		T run() throws E;
+	}
+}
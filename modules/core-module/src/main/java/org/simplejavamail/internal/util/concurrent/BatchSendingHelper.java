@@ -0,0 +1,203 @@
+package org.simplejavamail.internal.util.concurrent;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.MailException;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.MailSubmissionResult;
+import org.simplejavamail.api.mailer.Mailer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
+import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
+import static org.simplejavamail.internal.util.Preconditions.verifyNonnull;
+
+/**
+ * Runs the batch sending APIs of {@link Mailer}, for the Mailer implementation as well as for the default methods, which differ only in how a
+ * chunk of emails is sent.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchSendingHelper {
+
+	/**
+	 * @see Mailer#sendMailsInParallelBatch(Iterable, Consumer)
+	 */
+	public static final int DEFAULT_PARALLEL_BATCH_CHUNK_SIZE = 50;
+
+	/**
+	 * Sends a chunk of a parallel batch.
+	 */
+	public interface ChunkSender {
+		/**
+		 * @return A future that completes once the result of every email in the chunk has been reported to the result consumer.
+		 */
+		@NotNull
+		CompletableFuture<Void> sendChunk(@NotNull List<Email> chunk, @NotNull Consumer<MailSubmissionResult> resultConsumer);
+	}
+
+	/**
+	 * Reads the source in chunks on the calling thread, keeping at most {@code parallelism} chunks in flight, and passes the results to the
+	 * consumer one at a time.
+	 *
+	 * @see Mailer#sendMailsInParallelBatch(Iterable, int, int, Consumer)
+	 */
+	@NotNull
+	public static CompletableFuture<Void> sendInParallelChunks(final Iterable<Email> emails, final int parallelism, final int chunkSize,
+			final Consumer<MailSubmissionResult> resultConsumer, @NotNull final ChunkSender chunkSender) {
+		val checkedEmails = verifyNonnull(emails);
+		val checkedResultConsumer = verifyNonnull(resultConsumer);
+		assumeTrue(parallelism > 0, "parallelism should be at least 1");
+		assumeTrue(chunkSize > 0, "chunkSize should be at least 1");
+
+		val batchCompleted = new CompletableFuture<Void>();
+		val firstFailure = new AtomicReference<Throwable>();
+		// the source itself counts as pending until it is drained, so the batch can't complete while chunks are still being read
+		val pendingChunks = new AtomicInteger(1);
+		val chunksInFlight = new Semaphore(parallelism);
+		final Runnable chunkFinished = () -> {
+			if (pendingChunks.decrementAndGet() == 0) {
+				if (firstFailure.get() != null) {
+					batchCompleted.completeExceptionally(firstFailure.get());
+				} else {
+					batchCompleted.complete(null);
+				}
+			}
+		};
+		final Consumer<MailSubmissionResult> serializedResultConsumer = result -> {
+			synchronized (batchCompleted) {
+				try {
+					checkedResultConsumer.accept(result);
+				} catch (RuntimeException e) {
+					firstFailure.compareAndSet(null, e);
+				}
+			}
+		};
+
+		try {
+			val emailIterator = checkedEmails.iterator();
+			while (emailIterator.hasNext() && firstFailure.get() == null) {
+				// backpressure: only take the next chunk from the source once a chunk slot is available
+				chunksInFlight.acquire();
+				val chunk = new ArrayList<Email>(chunkSize);
+				while (chunk.size() < chunkSize && emailIterator.hasNext()) {
+					chunk.add(emailIterator.next());
+				}
+				pendingChunks.incrementAndGet();
+				try {
+					chunkSender.sendChunk(chunk, serializedResultConsumer)
+							.whenComplete((unused, throwable) -> {
+								if (throwable != null) {
+									firstFailure.compareAndSet(null, throwable);
+								}
+								chunksInFlight.release();
+								chunkFinished.run();
+							});
+				} catch (RuntimeException e) {
+					chunksInFlight.release();
+					chunkFinished.run();
+					throw e;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			firstFailure.compareAndSet(null, e);
+		} catch (RuntimeException e) {
+			firstFailure.compareAndSet(null, e);
+		}
+		chunkFinished.run();
+		return batchCompleted;
+	}
+
+	/**
+	 * Sends a chunk one email at a time with {@link Mailer#sendMailAndGetReceipt(Email, boolean)} on the mailer's executor, reporting every
+	 * email's result rather than stopping at the first failure.
+	 */
+	@NotNull
+	public static CompletableFuture<Void> sendChunkOneByOne(@NotNull final Mailer mailer, @NotNull final List<Email> chunk,
+			@NotNull final Consumer<MailSubmissionResult> resultConsumer) {
+		return AsyncOperationHelper.executeAsync(mailer.getOperationalConfig().getExecutorService(), "sendMailsInParallelBatch process", () -> {
+			for (final Email email : chunk) {
+				final MailSubmissionReceipt receipt;
+				try {
+					receipt = sendMailAndGetReceipt(mailer, email);
+				} catch (final MailException e) {
+					resultConsumer.accept(MailSubmissionResult.failed(email, e));
+					continue;
+				}
+				resultConsumer.accept(MailSubmissionResult.succeeded(email, receipt));
+			}
+		});
+	}
+
+	/**
+	 * Sends the emails one at a time with {@link Mailer#sendMailAndGetReceipt(Email, boolean)}, reading the source only once and stopping at the
+	 * first failure.
+	 *
+	 * @see Mailer#sendMailsInSimpleBatchAndGetReceipts(Iterable, boolean)
+	 */
+	@NotNull
+	public static CompletableFuture<List<MailSubmissionReceipt>> sendInSimpleBatchOneByOne(@NotNull final Mailer mailer, final Iterable<Email> emails,
+			final boolean async) {
+		val checkedEmails = verifyNonnull(emails);
+		if (!async) {
+			return CompletableFuture.completedFuture(sendOneByOne(mailer, checkedEmails));
+		}
+		try {
+			return CompletableFuture.supplyAsync(() -> sendOneByOne(mailer, checkedEmails), mailer.getOperationalConfig().getExecutorService());
+		} catch (RuntimeException e) {
+			return AsyncOperationHelper.failedFuture(e);
+		}
+	}
+
+	@NotNull
+	private static List<MailSubmissionReceipt> sendOneByOne(@NotNull final Mailer mailer, @NotNull final Iterable<Email> emails) {
+		val receipts = new ArrayList<MailSubmissionReceipt>();
+		for (final Email email : emails) {
+			receipts.add(sendMailAndGetReceipt(mailer, email));
+		}
+		return receipts;
+	}
+
+	/**
+	 * A failed send surfaces as a {@link CompletionException} when the implementation reports it through the future, so its cause is unwrapped.
+	 */
+	@NotNull
+	private static MailSubmissionReceipt sendMailAndGetReceipt(@NotNull final Mailer mailer, @NotNull final Email email) {
+		try {
+			return mailer.sendMailAndGetReceipt(email, false).join();
+		} catch (final CompletionException e) {
+			throw toMailException(email, e.getCause() != null ? e.getCause() : e);
+		} catch (final RuntimeException e) {
+			throw toMailException(email, e);
+		}
+	}
+
+	@NotNull
+	private static MailException toMailException(@NotNull final Email email, @NotNull final Throwable e) {
+		if (e instanceof MailException) {
+			return (MailException) e;
+		}
+		val emailId = ofNullable(email.getId())
+				.map(id -> format("ID: '%s'", id))
+				.orElse(format("Subject: '%s'", email.getSubject()));
+		return new BatchSendingException(format("Failed to send email %s", emailId), e);
+	}
+
+	private static class BatchSendingException extends MailException {
+		BatchSendingException(final String message, final Throwable cause) {
+			super(message, cause);
+		}
+	}
+}
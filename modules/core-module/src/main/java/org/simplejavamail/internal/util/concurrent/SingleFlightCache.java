@@ -0,0 +1,181 @@
+package org.simplejavamail.internal.util.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A thread-safe cache for values that are expensive to produce, such as parsed keys. When several threads ask for the same missing value at once,
+ * only one of them produces it while the others wait for the result, so a cold start doesn't produce the same value once for every thread.
+ * <p>
+ * Values expire a fixed time after they were produced, and when the cache grows beyond its maximum size, the least recently used values are
+ * evicted. Failures are not cached: the threads waiting for a value that failed to be produced receive the same exception, and the next lookup
+ * tries again.
+ */
+public class SingleFlightCache<K, V> {
+
+	@NotNull private final String lookupsMetricName;
+	private final int maximumSize;
+	private final long timeToLiveNanos;
+	@NotNull private final LongSupplier nanoClock;
+
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param lookupsMetricName Name of the counter that lookups are reported to, tagged with {@link MetricsRecorder#TAG_RESULT}.
+	 * @param maximumSize       The number of values kept at most.
+	 * @param timeToLive        How long a value is kept after it was produced, in the given unit.
+	 */
+	public SingleFlightCache(@NotNull final String lookupsMetricName, final int maximumSize, final long timeToLive, @NotNull final TimeUnit unit) {
+		this(lookupsMetricName, maximumSize, unit.toNanos(timeToLive), System::nanoTime);
+	}
+
+	SingleFlightCache(@NotNull final String lookupsMetricName, final int maximumSize, final long timeToLiveNanos, @NotNull final LongSupplier nanoClock) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximumSize should be at least 1, was " + maximumSize);
+		}
+		this.lookupsMetricName = lookupsMetricName;
+		this.maximumSize = maximumSize;
+		this.timeToLiveNanos = timeToLiveNanos;
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * @return The cached value for the key, or the value produced by the loader if there was none, or it expired. The loader should not return
+	 * {@code null}, and any exception it throws is passed on.
+	 */
+	@NotNull
+	public V get(@NotNull final K key, @NotNull final Function<? super K, ? extends V> loader, @NotNull final MetricsRecorder metricsRecorder) {
+		while (true) {
+			final long now = nanoClock.getAsLong();
+			final Entry<V> cachedEntry = entries.get(key);
+			if (cachedEntry != null && !cachedEntry.isExpired(now, timeToLiveNanos)) {
+				hits.increment();
+				metricsRecorder.incrementCounter(lookupsMetricName, MetricsRecorder.TAG_RESULT, MetricsRecorder.RESULT_HIT);
+				cachedEntry.lastAccess = now;
+				return cachedEntry.await();
+			}
+			if (cachedEntry != null) {
+				entries.remove(key, cachedEntry);
+			}
+			final Entry<V> newEntry = new Entry<>(now);
+			if (entries.putIfAbsent(key, newEntry) == null) {
+				misses.increment();
+				metricsRecorder.incrementCounter(lookupsMetricName, MetricsRecorder.TAG_RESULT, MetricsRecorder.RESULT_MISS);
+				return load(key, newEntry, loader);
+			}
+			// another thread just started producing the value, so wait for that one instead
+		}
+	}
+
+	@NotNull
+	private V load(@NotNull final K key, @NotNull final Entry<V> entry, @NotNull final Function<? super K, ? extends V> loader) {
+		final V value;
+		try {
+			value = loader.apply(key);
+			if (value == null) {
+				throw new IllegalStateException("cache loader returned null for key " + key);
+			}
+		} catch (RuntimeException | Error e) {
+			entries.remove(key, entry);
+			entry.value.completeExceptionally(e);
+			throw e;
+		}
+		entry.loadedAt = nanoClock.getAsLong();
+		entry.value.complete(value);
+		evictLeastRecentlyUsed();
+		return value;
+	}
+
+	/**
+	 * A linear scan, which is cheap enough for the small sizes this cache is meant for.
+	 */
+	private void evictLeastRecentlyUsed() {
+		while (entries.size() > maximumSize) {
+			Map.Entry<K, Entry<V>> leastRecentlyUsed = null;
+			for (final Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+				final Entry<V> entry = candidate.getValue();
+				if (entry.value.isDone() && (leastRecentlyUsed == null || entry.lastAccess - leastRecentlyUsed.getValue().lastAccess < 0)) {
+					leastRecentlyUsed = candidate;
+				}
+			}
+			if (leastRecentlyUsed == null) {
+				return; // everything is still loading
+			}
+			entries.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+		}
+	}
+
+	/**
+	 * Removes the value for the given key, or all values when the key is {@code null}, so the next lookup produces it again. Threads already waiting
+	 * for a value still receive it.
+	 */
+	public void invalidate(@Nullable final K key) {
+		if (key != null) {
+			entries.remove(key);
+		} else {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return The number of values currently cached or being produced, including expired values that haven't been looked up since.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return The number of lookups that found a value, either cached or being produced by another thread.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return The number of lookups that produced the value.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private static final class Entry<V> {
+		private final CompletableFuture<V> value = new CompletableFuture<>();
+		private volatile long loadedAt;
+		private volatile long lastAccess;
+
+		private Entry(final long now) {
+			this.lastAccess = now;
+		}
+
+		private boolean isExpired(final long now, final long timeToLiveNanos) {
+			return value.isDone() && now - loadedAt >= timeToLiveNanos;
+		}
+
+		@NotNull
+		private V await() {
+			try {
+				return value.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw e;
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package org.simplejavamail.internal.util.concurrent;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates executors backed by virtual threads when running on Java 21 or newer. As the library itself is compiled for Java 8, the virtual thread
+ * API is looked up reflectively once, and tried out by starting a virtual thread, as on Java 19 and 20 the API exists but only works with preview
+ * features enabled.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class VirtualThreadSupport {
+
+	@Nullable private static final Method THREAD_OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+	@Nullable private static final Method BUILDER_NAME = findMethod("java.lang.Thread$Builder", "name", String.class, long.class);
+	@Nullable private static final Method BUILDER_FACTORY = findMethod("java.lang.Thread$Builder", "factory");
+	@Nullable private static final Method NEW_THREAD_PER_TASK_EXECUTOR = findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+	@Nullable private static final Method THREAD_IS_VIRTUAL = findMethod(Thread.class, "isVirtual");
+	private static final boolean AVAILABLE = THREAD_OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null
+			&& NEW_THREAD_PER_TASK_EXECUTOR != null && THREAD_IS_VIRTUAL != null && canStartVirtualThread();
+
+	/**
+	 * @return Whether the current runtime supports virtual threads.
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	/**
+	 * @return Whether the given thread is a virtual thread, which is never the case on runtimes that don't support them.
+	 */
+	public static boolean isVirtualThread(@NotNull final Thread thread) {
+		if (!AVAILABLE) {
+			return false;
+		}
+		try {
+			return (Boolean) THREAD_IS_VIRTUAL.invoke(thread);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to determine whether thread is virtual", e);
+		}
+	}
+
+	/**
+	 * @param threadNamePrefix Prefix for the names of the virtual threads, which are numbered starting at 1.
+	 * @return An executor that starts a new virtual thread for each task.
+	 * @throws IllegalStateException If the current runtime does not support virtual threads.
+	 * @see #isAvailable()
+	 */
+	@NotNull
+	public static ExecutorService newVirtualThreadPerTaskExecutor(@NotNull final String threadNamePrefix) {
+		if (!isAvailable()) {
+			throw new IllegalStateException("Virtual threads require Java 21 or newer, current runtime is " + System.getProperty("java.version"));
+		}
+		try {
+			final Object builder = BUILDER_NAME.invoke(THREAD_OF_VIRTUAL.invoke(null), threadNamePrefix, 1L);
+			final ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+			return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to create virtual thread executor", e);
+		}
+	}
+
+	@SuppressWarnings("ConstantConditions") // only called when all methods were found
+	private static boolean canStartVirtualThread() {
+		try {
+			final ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY.invoke(THREAD_OF_VIRTUAL.invoke(null));
+			threadFactory.newThread(() -> {}).start();
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	@Nullable
+	private static Method findMethod(@NotNull final String className, @NotNull final String methodName, @NotNull final Class<?>... parameterTypes) {
+		try {
+			return findMethod(Class.forName(className), methodName, parameterTypes);
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static Method findMethod(@NotNull final Class<?> type, @NotNull final String methodName, @NotNull final Class<?>... parameterTypes) {
+		try {
+			return type.getMethod(methodName, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
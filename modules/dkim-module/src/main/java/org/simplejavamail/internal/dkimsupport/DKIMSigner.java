@@ -3,21 +3,32 @@ package org.simplejavamail.internal.dkimsupport;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendPhase;
 import org.simplejavamail.internal.modules.DKIMModule;
+import org.simplejavamail.internal.util.SendPhaseTimer;
+import org.simplejavamail.internal.util.concurrent.SingleFlightCache;
 import org.simplejavamail.utils.mail.dkim.Canonicalization;
+import org.simplejavamail.utils.mail.dkim.DkimMessage;
 import org.simplejavamail.utils.mail.dkim.DkimSigner;
 import org.simplejavamail.utils.mail.dkim.SigningAlgorithm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
 import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.simplejavamail.internal.util.MiscUtil.defaultTo;
 import static org.simplejavamail.utils.mail.dkim.Canonicalization.RELAXED;
@@ -32,40 +43,123 @@ public class DKIMSigner implements DKIMModule {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DKIMSigner.class);
 
+	private static final int SIGNER_TEMPLATE_CACHE_MAXIMUM_SIZE = 100;
+	private static final int SIGNER_TEMPLATE_CACHE_TIME_TO_LIVE_MINUTES = 60;
 	/**
-	 * @see DKIMModule#signMessageWithDKIM(Email email, MimeMessage, DkimConfig, Recipient)
+	 * Parsed private keys and the signer settings derived from them, per DKIM configuration. A {@link DkimSigner} itself can't be shared, as it
+	 * holds the identity of the sender and a stateful {@link java.security.Signature}, but creating one from a parsed key is cheap. Bounded, so
+	 * keys that are rotated out eventually leave the cache.
 	 */
-	public MimeMessage signMessageWithDKIM(@NotNull Email email, @NotNull final MimeMessage messageToSign, @NotNull final DkimConfig dkimConfig, @NotNull final Recipient fromRecipient) {
+	private static final SingleFlightCache<DkimConfig, DkimSignerTemplate> SIGNER_TEMPLATE_CACHE = new SingleFlightCache<>(
+			MetricsRecorder.DKIM_KEY_CACHE_LOOKUPS, SIGNER_TEMPLATE_CACHE_MAXIMUM_SIZE, SIGNER_TEMPLATE_CACHE_TIME_TO_LIVE_MINUTES, TimeUnit.MINUTES);
+
+	/**
+	 * @see DKIMModule#signMessageWithDKIM(Email email, MimeMessage, DkimConfig, Recipient, MetricsRecorder)
+	 */
+	@Override
+	public MimeMessage signMessageWithDKIM(@NotNull Email email, @NotNull final MimeMessage messageToSign, @NotNull final DkimConfig dkimConfig, @NotNull final Recipient fromRecipient,
+			@NotNull final MetricsRecorder metricsRecorder) {
 		LOGGER.debug("signing MimeMessage with DKIM...");
 		try {
-			final DkimSigner dkimSigner = new DkimSigner(dkimConfig.getDkimSigningDomain(), dkimConfig.getDkimSelector(), new ByteArrayInputStream(dkimConfig.getDkimPrivateKeyData()));
-
-			defaultTo(dkimConfig.getExcludedHeadersFromDkimDefaultSigningList(), Collections.<String>emptySet())
-					.forEach(dkimSigner::removeHeaderToSign);
+			final DkimSignerTemplate signerTemplate = retrieveSignerTemplate(dkimConfig, metricsRecorder);
+			final DkimSigner dkimSigner = signerTemplate.createSigner();
 			dkimSigner.setIdentity(fromRecipient.getAddress());
-			dkimSigner.setHeaderCanonicalization(mapToNativeCanonicalization(defaultTo(dkimConfig.getHeaderCanonicalization(), DkimConfig.Canonicalization.RELAXED)));
-			dkimSigner.setBodyCanonicalization(mapToNativeCanonicalization(defaultTo(dkimConfig.getBodyCanonicalization(), DkimConfig.Canonicalization.RELAXED)));
-			dkimSigner.setSigningAlgorithm(SigningAlgorithm.valueOf(defaultTo(dkimConfig.getSigningAlgorithm(), SHA256_WITH_RSA.name())));
-			dkimSigner.setLengthParam(defaultTo(dkimConfig.getUseLengthParam(), false));
-			dkimSigner.setZParam(false);
 
 			// during our junit tests, we don't want to actually connect to the internet to check the domain key
 			if (fromRecipient.getAddress().endsWith("supersecret-testing-domain.com")) {
 				dkimSigner.setCheckDomainKey(false);
 			}
 
+			if (dkimConfig.getStreamingSpoolThreshold() != null) {
+				final StreamingDkimSigner streamingSigner = new StreamingDkimSigner(dkimSigner, signerTemplate.signingDomain, signerTemplate.selector,
+						signerTemplate.privateKey, signerTemplate.excludedHeaders);
+				return StreamingDkimMessage.spool(messageToSign, streamingSigner, email.getId(), dkimConfig.getStreamingSpoolThreshold());
+			}
 			return new DkimMessageIdFixingMimeMessage(messageToSign, dkimSigner, email.getId());
-		} catch (IOException | NoSuchAlgorithmException | InvalidKeySpecException | MessagingException e) {
+		} catch (MessagingException | IOException e) {
 			throw new org.simplejavamail.internal.dkimsupport.DKIMSigningException(org.simplejavamail.internal.dkimsupport.DKIMSigningException.ERROR_SIGNING_DKIM_INVALID_DOMAINKEY, e);
 		}
 	}
 
+	@Override
+	public void invalidateCachedDkimKeys(@Nullable final DkimConfig dkimConfig) {
+		SIGNER_TEMPLATE_CACHE.invalidate(dkimConfig);
+	}
+
+	/**
+	 * Keys that fail to parse are not cached, so every attempt to sign with them fails the same way.
+	 */
+	@NotNull
+	private static DkimSignerTemplate retrieveSignerTemplate(@NotNull final DkimConfig dkimConfig, @NotNull final MetricsRecorder metricsRecorder) {
+		return SIGNER_TEMPLATE_CACHE.get(dkimConfig, config -> {
+			try {
+				final DkimSignerTemplate template = new DkimSignerTemplate(config);
+				template.createSigner(); // validates the settings before caching them
+				return template;
+			} catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+				throw new org.simplejavamail.internal.dkimsupport.DKIMSigningException(org.simplejavamail.internal.dkimsupport.DKIMSigningException.ERROR_SIGNING_DKIM_INVALID_DOMAINKEY, e);
+			}
+		}, metricsRecorder);
+	}
+
+	/**
+	 * The immutable part of a signer: everything but the identity of the sender.
+	 */
+	private static final class DkimSignerTemplate {
+		private final String signingDomain;
+		private final String selector;
+		private final RSAPrivateKey privateKey;
+		private final Set<String> excludedHeaders;
+		private final Canonicalization headerCanonicalization;
+		private final Canonicalization bodyCanonicalization;
+		private final SigningAlgorithm signingAlgorithm;
+		private final boolean lengthParam;
+
+		private DkimSignerTemplate(@NotNull final DkimConfig dkimConfig)
+				throws NoSuchAlgorithmException, InvalidKeySpecException {
+			this.signingDomain = dkimConfig.getDkimSigningDomain();
+			this.selector = dkimConfig.getDkimSelector();
+			this.privateKey = (RSAPrivateKey) KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(dkimConfig.getDkimPrivateKeyData()));
+			this.excludedHeaders = new HashSet<>(defaultTo(dkimConfig.getExcludedHeadersFromDkimDefaultSigningList(), Collections.<String>emptySet()));
+			this.headerCanonicalization = mapToNativeCanonicalization(defaultTo(dkimConfig.getHeaderCanonicalization(), DkimConfig.Canonicalization.RELAXED));
+			this.bodyCanonicalization = mapToNativeCanonicalization(defaultTo(dkimConfig.getBodyCanonicalization(), DkimConfig.Canonicalization.RELAXED));
+			this.signingAlgorithm = SigningAlgorithm.valueOf(defaultTo(dkimConfig.getSigningAlgorithm(), SHA256_WITH_RSA.name()));
+			this.lengthParam = defaultTo(dkimConfig.getUseLengthParam(), false);
+		}
+
+		@NotNull
+		private DkimSigner createSigner() {
+			final DkimSigner dkimSigner = new PhaseTimingDkimSigner(signingDomain, selector, privateKey);
+			excludedHeaders.forEach(dkimSigner::removeHeaderToSign);
+			dkimSigner.setHeaderCanonicalization(headerCanonicalization);
+			dkimSigner.setBodyCanonicalization(bodyCanonicalization);
+			dkimSigner.setSigningAlgorithm(signingAlgorithm);
+			dkimSigner.setLengthParam(lengthParam);
+			dkimSigner.setZParam(false);
+			return dkimSigner;
+		}
+	}
+
+	/**
+	 * Signing happens whenever the message is written, so the signature is timed as a phase of whatever send is writing it.
+	 */
+	private static class PhaseTimingDkimSigner extends DkimSigner {
+		PhaseTimingDkimSigner(final String signingDomain, final String selector, final RSAPrivateKey privateKey) {
+			super(signingDomain, selector, privateKey);
+		}
+
+		@Override
+		protected String sign(final DkimMessage message) throws MessagingException {
+			return SendPhaseTimer.timePhase(SendPhase.DKIM_SIGNING, () -> super.sign(message));
+		}
+	}
+
 	private static Canonicalization mapToNativeCanonicalization(DkimConfig.Canonicalization canonicalization) {
 		return canonicalization == DkimConfig.Canonicalization.SIMPLE ? SIMPLE : RELAXED;
 	}
 
 	@Override
 	public boolean isMessageIdFixingMessage(MimeMessage message) {
-		return message instanceof DkimMessageIdFixingMimeMessage;
+		return message instanceof DkimMessageIdFixingMimeMessage || message instanceof StreamingDkimMessage;
 	}
 }
\ No newline at end of file
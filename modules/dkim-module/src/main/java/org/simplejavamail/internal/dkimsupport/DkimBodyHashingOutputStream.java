@@ -0,0 +1,102 @@
+package org.simplejavamail.internal.dkimsupport;
+
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.utils.mail.dkim.Canonicalization;
+
+import java.io.OutputStream;
+import java.security.MessageDigest;
+
+import static org.simplejavamail.utils.mail.dkim.Canonicalization.RELAXED;
+
+/**
+ * Computes the DKIM body hash (the {@code bh=} tag) of a message body while it is being written, applying the simple or relaxed body
+ * canonicalization of RFC 6376 on the fly, so the body never has to be held in memory. Expects line endings to be normalized to CRLF already.
+ * <p>
+ * Line breaks are held back until more content follows, which is how trailing empty lines are left out. In relaxed mode, whitespace is held back
+ * the same way, so runs of whitespace are reduced to a single space and whitespace at the end of a line is left out.
+ */
+class DkimBodyHashingOutputStream extends OutputStream {
+
+	private static final byte[] CRLF = {'\r', '\n'};
+
+	@NotNull private final MessageDigest messageDigest;
+	private final boolean relaxed;
+
+	private final byte[] buffer = new byte[8192];
+	private int buffered;
+
+	private long pendingLineBreaks;
+	private boolean pendingWhitespace;
+	private boolean hasContent;
+	private long canonicalLength;
+	private byte[] bodyHash;
+
+	DkimBodyHashingOutputStream(@NotNull final MessageDigest messageDigest, @NotNull final Canonicalization bodyCanonicalization) {
+		this.messageDigest = messageDigest;
+		this.relaxed = bodyCanonicalization == RELAXED;
+	}
+
+	@Override
+	public void write(final int b) {
+		if (b == '\r') {
+			return; // always followed by \n, which ends the line
+		}
+		if (b == '\n') {
+			pendingWhitespace = false;
+			pendingLineBreaks++;
+		} else if (relaxed && (b == ' ' || b == '\t')) {
+			pendingWhitespace = true;
+		} else {
+			for (; pendingLineBreaks > 0; pendingLineBreaks--) {
+				emit(CRLF[0]);
+				emit(CRLF[1]);
+			}
+			if (pendingWhitespace) {
+				emit(' ');
+				pendingWhitespace = false;
+			}
+			emit(b);
+			hasContent = true;
+		}
+	}
+
+	@Override
+	public void write(final byte @NotNull [] b, final int off, final int len) {
+		for (int i = off; i < off + len; i++) {
+			write(b[i]);
+		}
+	}
+
+	private void emit(final int b) {
+		if (buffered == buffer.length) {
+			messageDigest.update(buffer, 0, buffered);
+			buffered = 0;
+		}
+		buffer[buffered++] = (byte) b;
+		canonicalLength++;
+	}
+
+	/**
+	 * Ends the body with a single line break, or in relaxed mode leaves an empty body empty.
+	 *
+	 * @return The body hash.
+	 */
+	byte[] finish() {
+		if (bodyHash == null) {
+			if (hasContent || !relaxed) {
+				emit(CRLF[0]);
+				emit(CRLF[1]);
+			}
+			messageDigest.update(buffer, 0, buffered);
+			bodyHash = messageDigest.digest();
+		}
+		return bodyHash.clone();
+	}
+
+	/**
+	 * @return The length of the canonicalized body in bytes (the {@code l=} tag), which is only complete after {@link #finish()}.
+	 */
+	long getCanonicalLength() {
+		return canonicalLength;
+	}
+}
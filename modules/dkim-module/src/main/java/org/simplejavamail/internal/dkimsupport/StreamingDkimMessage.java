@@ -0,0 +1,214 @@
+package org.simplejavamail.internal.dkimsupport;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeUtility;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
+import org.eclipse.angus.mail.util.CRLFOutputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.internal.util.MessageSpool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Enumeration;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.simplejavamail.internal.util.MiscUtil.valueNullOrEmpty;
+
+/**
+ * A DKIM signed message that is encoded only once, into a {@link MessageSpool}, while the body hash is computed along the way. The message is parsed
+ * back from the spool by reference, so its content is read from the spool when sent and is never buffered on the heap, unlike with
+ * {@link DkimMessageIdFixingMimeMessage}. As with that message, the signature itself is computed whenever the message is written.
+ * <p>
+ * If the content is replaced after spooling, the body hash is computed again while writing, by encoding the new content twice.
+ */
+public class StreamingDkimMessage extends SMTPMessage {
+
+	private static final byte[] HEADER_SEPARATOR = {'\r', '\n', '\r', '\n'};
+
+	@NotNull private final StreamingDkimSigner signer;
+	@NotNull private final DkimBodyHashingOutputStream spooledBodyHash;
+	@Nullable private final String messageId;
+	private boolean contentReplaced;
+
+	private StreamingDkimMessage(@NotNull final Session session, @NotNull final InputStream spooledMessage, @NotNull final StreamingDkimSigner signer,
+			@NotNull final DkimBodyHashingOutputStream spooledBodyHash, @Nullable final String messageId)
+			throws MessagingException {
+		super(session, spooledMessage);
+		this.signer = signer;
+		this.spooledBodyHash = spooledBodyHash;
+		this.messageId = messageId;
+	}
+
+	/**
+	 * Encodes the given message into a spool, hashing its body on the way, and parses it back.
+	 *
+	 * @param heapThreshold See {@link org.simplejavamail.api.email.config.DkimConfig#getStreamingSpoolThreshold()}.
+	 */
+	@NotNull
+	static StreamingDkimMessage spool(@NotNull final MimeMessage messageToSign, @NotNull final StreamingDkimSigner signer, @Nullable final String messageId,
+			final int heapThreshold)
+			throws MessagingException, IOException {
+		final MessageSpool spool = new MessageSpool(heapThreshold);
+		try {
+			final BodyHashingTeeOutputStream teeOutputStream = new BodyHashingTeeOutputStream(spool, signer.newBodyHashingStream());
+			messageToSign.writeTo(teeOutputStream);
+			teeOutputStream.close();
+			return new StreamingDkimMessage(messageToSign.getSession(), spool.newSharedInputStream(), signer, teeOutputStream.bodyHashingStream, messageId);
+		} catch (MessagingException | IOException | RuntimeException e) {
+			spool.discard();
+			throw e;
+		}
+	}
+
+	@Override
+	protected void updateMessageID() throws MessagingException {
+		if (valueNullOrEmpty(messageId)) {
+			super.updateMessageID();
+		} else {
+			setHeader("Message-ID", messageId);
+		}
+	}
+
+	/**
+	 * Leaves the header fields of the spooled content alone, which the regular implementation would parse the whole content for.
+	 */
+	@Override
+	protected synchronized void updateHeaders() throws MessagingException {
+		if (!isSpooledContentUntouched()) {
+			super.updateHeaders();
+			return;
+		}
+		setHeader("MIME-Version", "1.0");
+		if (getHeader("Date") == null) {
+			setSentDate(new Date());
+		}
+		updateMessageID();
+	}
+
+	@Override
+	public synchronized void setDataHandler(final DataHandler dh) throws MessagingException {
+		super.setDataHandler(dh);
+		contentReplaced = true;
+	}
+
+	/**
+	 * Writes the DKIM-Signature header, followed by the other headers and the spooled body.
+	 */
+	@Override
+	public void writeTo(final OutputStream os, final String[] ignoreList) throws IOException, MessagingException {
+		if (!saved) {
+			saveChanges();
+		}
+		final boolean bodyIsSpooled = isSpooledContentUntouched();
+		final DkimBodyHashingOutputStream bodyHash;
+		if (bodyIsSpooled) {
+			bodyHash = spooledBodyHash;
+		} else {
+			bodyHash = signer.newBodyHashingStream();
+			writeEncodedContent(new CRLFOutputStream(bodyHash));
+		}
+
+		writeln(os, signer.sign(this, bodyHash));
+		for (final Enumeration<String> headerLines = getNonMatchingHeaderLines(ignoreList); headerLines.hasMoreElements(); ) {
+			writeln(os, headerLines.nextElement());
+		}
+		writeln(os, "");
+		os.flush();
+
+		if (bodyIsSpooled) {
+			try (InputStream spooledBody = getContentStream()) {
+				final byte[] buffer = new byte[8192];
+				for (int read; (read = spooledBody.read(buffer)) != -1; ) {
+					os.write(buffer, 0, read);
+				}
+			}
+		} else {
+			writeEncodedContent(os);
+		}
+		os.flush();
+	}
+
+	private boolean isSpooledContentUntouched() {
+		return !contentReplaced && contentStream != null;
+	}
+
+	private void writeEncodedContent(@NotNull final OutputStream os) throws IOException, MessagingException {
+		final OutputStream encodingOutputStream = MimeUtility.encode(os, getEncoding());
+		getDataHandler().writeTo(encodingOutputStream);
+		encodingOutputStream.flush(); // completes the encoding without closing the underlying stream
+	}
+
+	private static void writeln(@NotNull final OutputStream os, @NotNull final String line) throws IOException {
+		os.write(line.getBytes(UTF_8));
+		os.write('\r');
+		os.write('\n');
+	}
+
+	@Override
+	public String toString() {
+		try {
+			return format("StreamingDkimMessage<id:%s, subject:%s>", super.getMessageID(), super.getSubject());
+		} catch (MessagingException e) {
+			throw new IllegalStateException("should not reach here");
+		}
+	}
+
+	/**
+	 * Passes everything on to the spool, while everything after the first empty line (the body) is also passed on to the body hash.
+	 */
+	private static final class BodyHashingTeeOutputStream extends OutputStream {
+		@NotNull private final OutputStream spool;
+		@NotNull private final DkimBodyHashingOutputStream bodyHashingStream;
+		@NotNull private final OutputStream crlfBodyHashingStream;
+		private int matchedSeparatorBytes;
+
+		private BodyHashingTeeOutputStream(@NotNull final OutputStream spool, @NotNull final DkimBodyHashingOutputStream bodyHashingStream) {
+			this.spool = spool;
+			this.bodyHashingStream = bodyHashingStream;
+			this.crlfBodyHashingStream = new CRLFOutputStream(bodyHashingStream);
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			spool.write(b);
+			if (matchedSeparatorBytes == HEADER_SEPARATOR.length) {
+				crlfBodyHashingStream.write(b);
+			} else {
+				matchSeparator(b);
+			}
+		}
+
+		@Override
+		public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+			spool.write(b, off, len);
+			int bodyStart = off;
+			while (matchedSeparatorBytes < HEADER_SEPARATOR.length && bodyStart < off + len) {
+				matchSeparator(b[bodyStart++]);
+			}
+			if (matchedSeparatorBytes == HEADER_SEPARATOR.length && bodyStart < off + len) {
+				crlfBodyHashingStream.write(b, bodyStart, off + len - bodyStart);
+			}
+		}
+
+		private void matchSeparator(final int b) {
+			if (b == HEADER_SEPARATOR[matchedSeparatorBytes]) {
+				matchedSeparatorBytes++;
+			} else {
+				matchedSeparatorBytes = b == HEADER_SEPARATOR[0] ? 1 : 0;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			crlfBodyHashingStream.flush();
+			spool.close();
+		}
+	}
+}
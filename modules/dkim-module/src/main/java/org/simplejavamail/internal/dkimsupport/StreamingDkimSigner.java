@@ -0,0 +1,247 @@
+package org.simplejavamail.internal.dkimsupport;
+
+import jakarta.mail.Header;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.util.QPEncoderStream;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.SendPhase;
+import org.simplejavamail.internal.util.SendPhaseTimer;
+import org.simplejavamail.utils.mail.dkim.Canonicalization;
+import org.simplejavamail.utils.mail.dkim.DkimException;
+import org.simplejavamail.utils.mail.dkim.DkimSigner;
+import org.simplejavamail.utils.mail.dkim.DkimSigningException;
+import org.simplejavamail.utils.mail.dkim.DomainKeyUtil;
+import org.simplejavamail.utils.mail.dkim.SigningAlgorithm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+/**
+ * Computes DKIM signatures for {@link StreamingDkimMessage}, which hashes the body itself while it is spooled. The DKIM library only signs bodies
+ * it buffered itself, so this signer produces the DKIM-Signature header the same way the library does, with the same tags in the same order
+ * and folding, but from a precomputed body hash.
+ * <p>
+ * The settings (algorithm, canonicalization, identity, length tag and domain key check) are taken from a {@link DkimSigner} configured the
+ * regular way, so both signing modes are configured and validated by the same code.
+ */
+class StreamingDkimSigner {
+
+	/**
+	 * The default header fields signed by the DKIM library, which doesn't expose them.
+	 */
+	private static final List<String> DEFAULT_HEADERS_TO_SIGN = asList("From", "To", "Subject", "Content-Description", "Content-ID", "Content-Type",
+			"Content-Transfer-Encoding", "Cc", "Date", "In-Reply-To", "List-Subscribe", "List-Post", "List-Owner", "List-Id", "List-Archive",
+			"List-Help", "List-Unsubscribe", "MIME-Version", "Message-ID", "Resent-Sender", "Resent-Cc", "Resent-Date", "Resent-To", "Reply-To",
+			"References", "Resent-Message-ID", "Resent-From", "Sender");
+	private static final String MANDATORY_HEADER_TO_SIGN = "From";
+	private static final int MAX_HEADER_LENGTH = 67;
+
+	@NotNull private final DkimSigner configuredSigner;
+	@NotNull private final String signingDomain;
+	@NotNull private final String selector;
+	@NotNull private final PrivateKey privateKey;
+	@NotNull private final Set<String> headersToSign = new TreeSet<>(CASE_INSENSITIVE_ORDER);
+
+	StreamingDkimSigner(@NotNull final DkimSigner configuredSigner, @NotNull final String signingDomain, @NotNull final String selector,
+			@NotNull final PrivateKey privateKey, @NotNull final Set<String> excludedHeaders) {
+		this.configuredSigner = configuredSigner;
+		this.signingDomain = signingDomain;
+		this.selector = selector.trim();
+		this.privateKey = privateKey;
+		this.headersToSign.addAll(DEFAULT_HEADERS_TO_SIGN);
+		for (final String excludedHeader : excludedHeaders) {
+			if (!MANDATORY_HEADER_TO_SIGN.equalsIgnoreCase(excludedHeader)) {
+				this.headersToSign.remove(excludedHeader);
+			}
+		}
+	}
+
+	/**
+	 * @return A stream that computes the body hash of whatever is written to it, after line endings are normalized to CRLF.
+	 */
+	@NotNull
+	DkimBodyHashingOutputStream newBodyHashingStream()
+			throws DkimSigningException {
+		final SigningAlgorithm signingAlgorithm = configuredSigner.getSigningAlgorithm();
+		try {
+			return new DkimBodyHashingOutputStream(MessageDigest.getInstance(signingAlgorithm.getHashNotation()), configuredSigner.getBodyCanonicalization());
+		} catch (NoSuchAlgorithmException e) {
+			throw new DkimSigningException("Unknown hashing algorithm: " + signingAlgorithm.getHashNotation(), e);
+		}
+	}
+
+	/**
+	 * @return The complete DKIM-Signature header line for the given message, whose body was hashed by the given stream.
+	 */
+	@NotNull
+	String sign(@NotNull final MimeMessage message, @NotNull final DkimBodyHashingOutputStream bodyHash)
+			throws MessagingException {
+		return SendPhaseTimer.timePhase(SendPhase.DKIM_SIGNING, () -> createSignatureHeader(message, bodyHash));
+	}
+
+	@NotNull
+	private String createSignatureHeader(@NotNull final MimeMessage message, @NotNull final DkimBodyHashingOutputStream bodyHash)
+			throws MessagingException {
+		if (configuredSigner.isCheckDomainKey()) {
+			checkDomainKey();
+		}
+		final Canonicalization headerCanonicalization = configuredSigner.getHeaderCanonicalization();
+
+		final Map<String, String> tags = new LinkedHashMap<>();
+		tags.put("v", "1");
+		tags.put("a", configuredSigner.getSigningAlgorithm().getDkimNotation());
+		tags.put("q", "dns/txt");
+		tags.put("c", headerCanonicalization.getType() + "/" + configuredSigner.getBodyCanonicalization().getType());
+		tags.put("t", Long.toString(determineSentDate(message).getTime() / 1000));
+		tags.put("s", selector);
+		tags.put("d", signingDomain);
+		if (configuredSigner.getIdentity() != null) {
+			tags.put("i", quotedPrintable(configuredSigner.getIdentity()));
+		}
+
+		final StringBuilder headerNames = new StringBuilder();
+		final StringBuilder headerContent = new StringBuilder();
+		final Set<String> missingMandatoryHeaders = new TreeSet<>(CASE_INSENSITIVE_ORDER);
+		missingMandatoryHeaders.add(MANDATORY_HEADER_TO_SIGN);
+		for (final Header header : compileHeadersToSign(message)) {
+			headerNames.append(header.getName()).append(":");
+			headerContent.append(headerCanonicalization.canonicalizeHeader(header.getName(), header.getValue())).append("\r\n");
+			missingMandatoryHeaders.remove(header.getName());
+		}
+		if (!missingMandatoryHeaders.isEmpty()) {
+			throw new DkimSigningException("Could not find mandatory headers: " + String.join(", ", missingMandatoryHeaders));
+		}
+		tags.put("h", headerNames.substring(0, headerNames.length() - 1));
+
+		final byte[] bodyHashBytes = bodyHash.finish();
+		if (configuredSigner.getLengthParam()) {
+			tags.put("l", Long.toString(bodyHash.getCanonicalLength()));
+		}
+		tags.put("bh", base64Encode(bodyHashBytes));
+
+		final String serializedSignature = serializeSignature(tags);
+		headerContent.append(headerCanonicalization.canonicalizeHeader("DKIM-Signature", serializedSignature));
+		final byte[] signature = createSignature(headerContent.toString().getBytes(UTF_8));
+		return "DKIM-Signature: " + serializedSignature + fold(base64Encode(signature), 3);
+	}
+
+	private void checkDomainKey()
+			throws DkimSigningException {
+		try {
+			DomainKeyUtil.getDomainKey(signingDomain, selector).check(configuredSigner.getIdentity(), privateKey);
+		} catch (DkimException e) {
+			throw new DkimSigningException("Failed to obtain the domain key for " + signingDomain + "." + selector, e);
+		}
+	}
+
+	@NotNull
+	private static Date determineSentDate(@NotNull final MimeMessage message)
+			throws MessagingException {
+		final Date sentDate = message.getSentDate();
+		return sentDate != null ? sentDate : new Date();
+	}
+
+	/**
+	 * Bottom-up, so when a header field occurs more than once, the last one is signed first (RFC 6376 section 5.4.2).
+	 */
+	@NotNull
+	private List<Header> compileHeadersToSign(@NotNull final MimeMessage message)
+			throws MessagingException {
+		final LinkedList<Header> headers = new LinkedList<>();
+		for (final Header header : Collections.list(message.getAllHeaders())) {
+			if (headersToSign.contains(header.getName())) {
+				headers.addFirst(header);
+			}
+		}
+		return headers;
+	}
+
+	@NotNull
+	private byte[] createSignature(final byte[] signedContent)
+			throws DkimSigningException {
+		try {
+			final Signature signature = Signature.getInstance(configuredSigner.getSigningAlgorithm().getJavaNotation());
+			signature.initSign(privateKey);
+			signature.update(signedContent);
+			return signature.sign();
+		} catch (GeneralSecurityException e) {
+			throw new DkimSigningException("Failed to create signature", e);
+		}
+	}
+
+	@NotNull
+	private static String serializeSignature(@NotNull final Map<String, String> tags) {
+		int position = 0;
+		final StringBuilder builder = new StringBuilder();
+		for (final Map.Entry<String, String> tag : tags.entrySet()) {
+			final String serializedTag = tag.getKey() + "=" + tag.getValue() + ";";
+			if (position + serializedTag.length() + 1 > MAX_HEADER_LENGTH) {
+				position = serializedTag.length();
+				builder.append("\r\n\t").append(serializedTag);
+			} else {
+				builder.append(" ").append(serializedTag);
+				position += 1 + serializedTag.length();
+			}
+		}
+		builder.append("\r\n\tb=");
+		return builder.toString().trim();
+	}
+
+	@NotNull
+	private static String fold(@NotNull final String value, final int offset) {
+		int position = 0;
+		int firstLineOffset = offset;
+		final StringBuilder builder = new StringBuilder();
+		while (true) {
+			final int remaining = value.length() - position;
+			if (firstLineOffset > 0 && remaining > MAX_HEADER_LENGTH - firstLineOffset) {
+				builder.append(value, position, position + MAX_HEADER_LENGTH - firstLineOffset);
+				position += MAX_HEADER_LENGTH - firstLineOffset;
+				firstLineOffset = 0;
+			} else if (remaining > MAX_HEADER_LENGTH) {
+				builder.append("\r\n\t").append(value, position, position + MAX_HEADER_LENGTH);
+				position += MAX_HEADER_LENGTH;
+			} else {
+				return builder.append("\r\n\t").append(value, position, value.length()).toString();
+			}
+		}
+	}
+
+	@NotNull
+	private static String base64Encode(final byte[] bytes) {
+		return Base64.getEncoder().encodeToString(bytes);
+	}
+
+	@NotNull
+	private static String quotedPrintable(@NotNull final String value)
+			throws DkimSigningException {
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (QPEncoderStream qpEncoderStream = new QPEncoderStream(bytes)) {
+				qpEncoderStream.write(value.getBytes(UTF_8));
+			}
+			return bytes.toString(UTF_8.name()).replaceAll(";", "=3B").replaceAll(" ", "=20");
+		} catch (IOException e) {
+			throw new DkimSigningException("Unable to encode the signing identity: " + value, e);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package org.simplejavamail.metrics.micrometer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Binds the measurements of a Mailer and its connection pool to a Micrometer {@link MeterRegistry}, using the metric names and tags from
+ * {@link MetricsRecorder}. Message sizes are recorded as a distribution summary in bytes.
+ * <p>
+ * Usage: {@code MailerBuilder.withSMTPServer(..).withMetricsRecorder(new MicrometerMetricsRecorder(meterRegistry)).buildMailer()}
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+
+	@NotNull private final MeterRegistry meterRegistry;
+
+	public MicrometerMetricsRecorder(@NotNull final MeterRegistry meterRegistry) {
+		this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+	}
+
+	/**
+	 * @see MetricsRecorder#incrementCounter(String, String...)
+	 */
+	@Override
+	public void incrementCounter(@NotNull final String name, @NotNull final String... tags) {
+		meterRegistry.counter(name, tags).increment();
+	}
+
+	/**
+	 * @see MetricsRecorder#recordTime(String, long, String...)
+	 */
+	@Override
+	public void recordTime(@NotNull final String name, final long nanos, @NotNull final String... tags) {
+		meterRegistry.timer(name, tags).record(nanos, NANOSECONDS);
+	}
+
+	/**
+	 * @see MetricsRecorder#recordAmount(String, long, String...)
+	 */
+	@Override
+	public void recordAmount(@NotNull final String name, final long amount, @NotNull final String... tags) {
+		DistributionSummary.builder(name)
+				.tags(tags)
+				.baseUnit(MESSAGE_SIZE.equals(name) ? "bytes" : null)
+				.register(meterRegistry)
+				.record(amount);
+	}
+
+	/**
+	 * The gauge keeps a strong reference to the supplier, so it reports for as long as the registry lives.
+	 *
+	 * @see MetricsRecorder#registerGauge(String, Supplier, String...)
+	 */
+	@Override
+	public void registerGauge(@NotNull final String name, @NotNull final Supplier<? extends Number> value, @NotNull final String... tags) {
+		Gauge.builder(name, value::get)
+				.tags(tags)
+				.strongReference(true)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,108 @@
+package org.simplejavamail.tracing.opentelemetry;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.SendPhase;
+import org.simplejavamail.api.mailer.SendTrace;
+import org.simplejavamail.api.mailer.SendTracer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Traces each send as an OpenTelemetry span named {@value #SEND_SPAN_NAME}, with a child span per {@link SendPhase} named after the phase (such
+ * as {@code simplejavamail.mime_production}). The send span is a child of the span that is current on the thread calling the Mailer, so it
+ * becomes part of the trace of whatever the application was doing when it sent the email, even when the email is sent asynchronously.
+ * <p>
+ * Usage: {@code MailerBuilder.withSMTPServer(..).withSendTracer(new OpenTelemetrySendTracer(openTelemetry)).buildMailer()}
+ */
+public class OpenTelemetrySendTracer implements SendTracer {
+
+	public static final String INSTRUMENTATION_SCOPE_NAME = "org.simplejavamail";
+	public static final String SEND_SPAN_NAME = "simplejavamail.send";
+
+	public static final String ATTRIBUTE_EMAIL_ID = "simplejavamail.email.id";
+	public static final String ATTRIBUTE_SMTP_CODE = "simplejavamail.smtp.code";
+	public static final String ATTRIBUTE_REJECTED_RECIPIENTS = "simplejavamail.smtp.rejected_recipients";
+
+	@NotNull private final Tracer tracer;
+
+	public OpenTelemetrySendTracer(@NotNull final OpenTelemetry openTelemetry) {
+		this.tracer = requireNonNull(openTelemetry, "openTelemetry").getTracer(INSTRUMENTATION_SCOPE_NAME);
+	}
+
+	/**
+	 * @see SendTracer#startTrace(Email)
+	 */
+	@NotNull
+	@Override
+	public SendTrace startTrace(@NotNull final Email email) {
+		final Span sendSpan = tracer.spanBuilder(SEND_SPAN_NAME)
+				.setParent(Context.current())
+				.setSpanKind(SpanKind.CLIENT)
+				.startSpan();
+		if (email.getId() != null) {
+			sendSpan.setAttribute(ATTRIBUTE_EMAIL_ID, email.getId());
+		}
+		return new OpenTelemetrySendTrace(sendSpan);
+	}
+
+	/**
+	 * The phases of a send never overlap, so the spans of the running phases can be kept as a simple stack, even though they may be started and
+	 * ended on different threads one after the other.
+	 */
+	private class OpenTelemetrySendTrace implements SendTrace {
+		@NotNull private final Span sendSpan;
+		private final Deque<Span> phaseSpans = new ArrayDeque<>();
+
+		private OpenTelemetrySendTrace(@NotNull final Span sendSpan) {
+			this.sendSpan = sendSpan;
+		}
+
+		@Override
+		public void phaseStarted(@NotNull final SendPhase phase) {
+			final Span parentSpan = phaseSpans.isEmpty() ? sendSpan : phaseSpans.peek();
+			phaseSpans.push(tracer.spanBuilder("simplejavamail." + phase.name().toLowerCase(Locale.ROOT))
+					.setParent(Context.root().with(parentSpan))
+					.startSpan());
+		}
+
+		@Override
+		public void phaseEnded(@NotNull final SendPhase phase, final long durationNanos, @Nullable final Throwable failure) {
+			endSpan(phaseSpans.pop(), failure);
+		}
+
+		@Override
+		public void ended(@Nullable final MailSubmissionReceipt receipt, @Nullable final Throwable failure) {
+			if (receipt != null) {
+				if (receipt.getEmailId() != null) {
+					sendSpan.setAttribute(ATTRIBUTE_EMAIL_ID, receipt.getEmailId());
+				}
+				receipt.getSmtpResponse().ifPresent(response -> sendSpan.setAttribute(ATTRIBUTE_SMTP_CODE, response.getReturnCode()));
+				if (receipt.hasRejectedRecipients()) {
+					sendSpan.setAttribute(ATTRIBUTE_REJECTED_RECIPIENTS, receipt.getRejectedRecipients().size());
+				}
+			}
+			endSpan(sendSpan, failure);
+		}
+
+		private void endSpan(@NotNull final Span span, @Nullable final Throwable failure) {
+			if (failure != null) {
+				span.recordException(failure);
+				span.setStatus(StatusCode.ERROR, failure.getMessage());
+			}
+			span.end();
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package org.simplejavamail.internal.outlooksupport.converter;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.MessagingException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.internal.util.InternalEmailConverter;
+import org.simplejavamail.internal.util.MessageSpool;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A {@code message/rfc822} data source for a nested Outlook message, which builds and renders the MimeMessage only when its content is read,
+ * typically when the outer message is written.
+ * <p>
+ * A rendering up to {@link #HEAP_THRESHOLD} is kept, so reading the data again doesn't render the message again. This matters, because JavaMail
+ * reads a part once to choose its transfer encoding and once more to write it, and because the same nested message may be attached in more than one
+ * place. A larger rendering is moved to a temporary file instead, which is discarded as soon as the stream reading it is closed, so no temporary
+ * files outlive the conversion of the outer message. These are rendered again for every read.
+ */
+class NestedMessageDataSource implements DataSource {
+
+	private static final long HEAP_THRESHOLD = 1024 * 1024;
+
+	@NotNull private final InternalEmailConverter internalEmailConverter;
+	@Nullable private Email email;
+	@Nullable private MessageSpool rendering;
+
+	NestedMessageDataSource(@NotNull final Email email, @NotNull final InternalEmailConverter internalEmailConverter) {
+		this.email = email;
+		this.internalEmailConverter = internalEmailConverter;
+	}
+
+	@Override
+	public synchronized InputStream getInputStream() throws IOException {
+		if (rendering != null) {
+			return rendering.newSharedInputStream();
+		}
+		final MessageSpool spool = render();
+		if (!spool.isSpooledToFile()) {
+			rendering = spool;
+			email = null; // no longer needed once the rendering is kept
+			return spool.newSharedInputStream();
+		}
+		return new FilterInputStream(spool.newSharedInputStream()) {
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				} finally {
+					spool.discard();
+				}
+			}
+		};
+	}
+
+	@NotNull
+	private MessageSpool render() throws IOException {
+		final MessageSpool spool = new MessageSpool(HEAP_THRESHOLD);
+		try {
+			internalEmailConverter.emailToMimeMessage(email).writeTo(spool);
+			spool.close();
+			return spool;
+		} catch (final MessagingException e) {
+			spool.discard();
+			throw new IOException(OutlookMessageException.ERROR_CONVERTING_NESTED_OUTLOOK_MSG, e);
+		} catch (final IOException | RuntimeException e) {
+			spool.discard();
+			throw e;
+		}
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		throw new IOException("nested Outlook message is read-only");
+	}
+
+	@Override
+	public String getContentType() {
+		return "message/rfc822";
+	}
+
+	@Override
+	public String getName() {
+		return ""; // like the ByteArrayDataSource used before, the attachment name is set separately
+	}
+}
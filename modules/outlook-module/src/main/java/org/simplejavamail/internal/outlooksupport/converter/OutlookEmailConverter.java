@@ -1,10 +1,9 @@
 package org.simplejavamail.internal.outlooksupport.converter;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import jakarta.activation.DataSource;
 import jakarta.mail.internet.MimeUtility;
-import jakarta.mail.util.ByteArrayDataSource;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.email.EmailStartingBuilder;
@@ -27,6 +26,7 @@ import org.slf4j.Logger;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import static jakarta.mail.Message.RecipientType.BCC;
@@ -54,7 +54,8 @@ public class OutlookEmailConverter implements OutlookModule {
 				emailStartingBuilder.startingBlank().ignoringDefaults(),
 				parseOutlookMsg(checkNonEmptyArgument(msgFile, "msgFile")),
 				builderFactory,
-				internalEmailConverter);
+				internalEmailConverter,
+				new IdentityHashMap<>());
 	}
 
 	@Override
@@ -67,7 +68,8 @@ public class OutlookEmailConverter implements OutlookModule {
 				emailStartingBuilder.startingBlank().ignoringDefaults(),
 				parseOutlookMsg(checkNonEmptyArgument(msgFileName, "msgFile")),
 				builderFactory,
-				internalEmailConverter);
+				internalEmailConverter,
+				new IdentityHashMap<>());
 	}
 	
 	@Override
@@ -80,14 +82,16 @@ public class OutlookEmailConverter implements OutlookModule {
 				emailStartingBuilder.startingBlank().ignoringDefaults(),
 				parseOutlookMsg(checkNonEmptyArgument(msgInputStream, "msgInputStream")),
 				builderFactory,
-				internalEmailConverter);
+				internalEmailConverter,
+				new IdentityHashMap<>());
 	}
 	
 	private static EmailFromOutlookMessage buildEmailFromOutlookMessage(
 			@NotNull final EmailPopulatingBuilder builder,
 			@NotNull final OutlookMessage outlookMessage,
 			@NotNull final EmailPopulatingBuilderFactory builderFactory,
-			@NotNull final InternalEmailConverter internalEmailConverter) {
+			@NotNull final InternalEmailConverter internalEmailConverter,
+			@NotNull final Map<OutlookMessage, NestedMessageDataSource> nestedMessages) {
 		checkNonEmptyArgument(builder, "emailBuilder");
 		checkNonEmptyArgument(outlookMessage, "outlookMessage");
 		outlookMessage.getHeadersMap().entrySet().stream()
@@ -120,17 +124,9 @@ public class OutlookEmailConverter implements OutlookModule {
 			final OutlookAttachment attachment = outlookMessage.getOutlookAttachments().get(i);
 			if (attachment instanceof OutlookMsgAttachment) {
 				final OutlookMessage nestedMsg = ((OutlookMsgAttachment) attachment).getOutlookMessage();
-				final Email email = buildEmailFromOutlookMessage(builderFactory.create(), nestedMsg, builderFactory, internalEmailConverter)
-						.getEmailBuilder().buildEmail();
-				final MimeMessage message = internalEmailConverter.emailToMimeMessage(email);
-				try {
-					final byte[] mimedata = internalEmailConverter.mimeMessageToEMLByteArray(message);
-					builder.withAttachment(nestedMsg.getSubject() + ".eml", new ByteArrayDataSource(mimedata, "message/rfc822"));
-				} catch (IllegalStateException e) {
-					boolean reasonIsEmptyMessage = e.getCause() instanceof MessagingException && e.getCause().getMessage().equals("No MimeMessage content");
-					if (!reasonIsEmptyMessage) throw e;
-					// :sadface: nested message attachment is actually invalid (possibly empty because of #396),
-					// so we're just going to ignore it
+				final DataSource nestedMessage = convertNestedMessage(nestedMsg, builderFactory, internalEmailConverter, nestedMessages);
+				if (nestedMessage != null) {
+					builder.withAttachment(nestedMsg.getSubject() + ".eml", nestedMessage);
 				}
 			}
 		}
@@ -138,6 +134,38 @@ public class OutlookEmailConverter implements OutlookModule {
 		return new EmailFromOutlookMessage(builder, new OutlookMessageProxy(outlookMessage), extractOutlookMessageData(outlookMessage));
 	}
 
+	/**
+	 * Converts the nested message to an Email, which is only converted to a MimeMessage and rendered to EML once its data is read, see
+	 * {@link NestedMessageDataSource}. A nested message that is attached more than once is converted only once and shares its rendering.
+	 *
+	 * @return {@code null} if the nested message is empty.
+	 */
+	@Nullable
+	private static DataSource convertNestedMessage(
+			@NotNull final OutlookMessage nestedMsg,
+			@NotNull final EmailPopulatingBuilderFactory builderFactory,
+			@NotNull final InternalEmailConverter internalEmailConverter,
+			@NotNull final Map<OutlookMessage, NestedMessageDataSource> nestedMessages) {
+		if (nestedMessages.containsKey(nestedMsg)) {
+			return nestedMessages.get(nestedMsg);
+		}
+		final Email email = buildEmailFromOutlookMessage(builderFactory.create(), nestedMsg, builderFactory, internalEmailConverter, nestedMessages)
+				.getEmailBuilder().buildEmail();
+		// :sadface: nested message attachment is actually invalid (possibly empty because of #396),
+		// so we're just going to ignore it
+		final NestedMessageDataSource nestedMessage = hasContent(email) ? new NestedMessageDataSource(email, internalEmailConverter) : null;
+		nestedMessages.put(nestedMsg, nestedMessage);
+		return nestedMessage;
+	}
+
+	/**
+	 * @return Whether a MimeMessage produced for the email has any content, which it doesn't without a body, attachments or embedded images.
+	 */
+	private static boolean hasContent(@NotNull final Email email) {
+		return email.getPlainText() != null || email.getHTMLText() != null || email.getCalendarText() != null
+				|| !email.getAttachments().isEmpty() || !email.getEmbeddedImages().isEmpty() || email.getEmailToForward() != null;
+	}
+
 	@NotNull
 	private static OutlookMessageData extractOutlookMessageData(@NotNull final OutlookMessage outlookMessage) {
 		return new OutlookMessageData(
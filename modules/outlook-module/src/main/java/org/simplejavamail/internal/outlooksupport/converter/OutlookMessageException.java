@@ -14,6 +14,7 @@ import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgume
 class OutlookMessageException extends MailException {
 
 	static final String ERROR_PARSING_OUTLOOK_MSG = "Unable to parse Outlook message";
+	static final String ERROR_CONVERTING_NESTED_OUTLOOK_MSG = "Unable to convert nested Outlook message";
 
 	OutlookMessageException(@SuppressWarnings("SameParameterValue") @NotNull final String message, @Nullable final Exception cause) {
 		super(checkNonEmptyArgument(message, "message"), cause);
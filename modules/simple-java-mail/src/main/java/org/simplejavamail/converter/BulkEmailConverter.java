@@ -0,0 +1,265 @@
+package org.simplejavamail.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.converter.BulkConversionResult;
+import org.simplejavamail.api.converter.BulkConversionSummary;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static org.simplejavamail.internal.util.Preconditions.assumeTrue;
+import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Utility to convert many .eml and .msg files to {@link Email} instances in parallel, such as a whole exported mailbox.
+ * <p>
+ * The files are converted on a work-stealing pool, and each result is handed to a consumer as soon as it is available, so results arrive in no
+ * particular order. To keep memory use bounded regardless of the number of files, only a limited number of files is converted or waiting to be
+ * consumed at any time: files are taken from the given directory or stream only when there is room. A file that cannot be converted (or a
+ * subdirectory that cannot be read) is reported to the consumer as a failed {@link BulkConversionResult} and doesn't stop the rest of the batch.
+ * <p>
+ * If you use .msg files, make sure you load the following dependency: <em>org.simplejavamail::outlook-message-parser</em>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class BulkEmailConverter {
+
+	private static final Logger LOGGER = getLogger(BulkEmailConverter.class);
+
+	private BulkEmailConverter() {
+		// util / helper class
+	}
+
+	/**
+	 * Delegates to {@link #convertDirectory(File, Pkcs12Config, int, int, Consumer)}, with a thread per available processor and at most twice
+	 * as many files in flight.
+	 */
+	@NotNull
+	public static BulkConversionSummary convertDirectory(@NotNull final File directory, @NotNull final Consumer<BulkConversionResult> resultConsumer) {
+		final int parallelism = Runtime.getRuntime().availableProcessors();
+		return convertDirectory(directory, null, parallelism, parallelism * 2, resultConsumer);
+	}
+
+	/**
+	 * Converts all .eml and .msg files in the given directory and its subdirectories, see {@link #convertFiles(Stream, Pkcs12Config, int, int,
+	 * Consumer)}. Files with other extensions are skipped. A subdirectory that cannot be read is reported as a failed result for that path.
+	 */
+	@NotNull
+	public static BulkConversionSummary convertDirectory(@NotNull final File directory, @Nullable final Pkcs12Config pkcs12Config, final int parallelism,
+			final int maxInFlight, @NotNull final Consumer<BulkConversionResult> resultConsumer) {
+		checkNonEmptyArgument(directory, "directory");
+		try (Stream<Path> paths = Files.walk(directory.toPath())) {
+			return convert(new DirectoryWalk(paths.iterator(), directory), pkcs12Config, parallelism, maxInFlight, resultConsumer);
+		} catch (final IOException e) {
+			throw new EmailConverterException(format(EmailConverterException.ERROR_LISTING_DIRECTORY, directory), e);
+		}
+	}
+
+	/**
+	 * Converts the given files in parallel and hands each result to the consumer, returning when all results have been consumed. Files ending with
+	 * .eml are converted with {@link EmailConverter#emlToEmail(File, Pkcs12Config)} and files ending with .msg with {@link
+	 * EmailConverter#outlookMsgToEmail(File, Pkcs12Config)}. Any other file is reported as a failure.
+	 * <p>
+	 * The consumer is called from the conversion threads, so it should be thread-safe. If it throws an exception, no more files are converted and
+	 * the exception is rethrown, wrapped in an {@link EmailConverterException}, once the files already in flight have been handled.
+	 *
+	 * @param files          The files to convert, which are taken from the stream as room becomes available.
+	 * @param pkcs12Config   Optional config for decrypting S/MIME encrypted messages.
+	 * @param parallelism    The number of threads converting files.
+	 * @param maxInFlight    The maximum number of files being converted or waiting to be consumed, which should be at least the parallelism to
+	 *                       keep all threads busy.
+	 * @param resultConsumer Receives the result of each file, whether it was converted or not.
+	 * @return The number of files converted and failed, and the throughput reached.
+	 * @throws EmailConverterException If the consumer failed, or if interrupted while waiting for room.
+	 */
+	@NotNull
+	public static BulkConversionSummary convertFiles(@NotNull final Stream<File> files, @Nullable final Pkcs12Config pkcs12Config, final int parallelism,
+			final int maxInFlight, @NotNull final Consumer<BulkConversionResult> resultConsumer) {
+		checkNonEmptyArgument(files, "files");
+		return convert(new Iterator<PendingFile>() {
+			private final Iterator<File> remainingFiles = files.iterator();
+
+			@Override
+			public boolean hasNext() {
+				return remainingFiles.hasNext();
+			}
+
+			@Override
+			public PendingFile next() {
+				return new PendingFile(remainingFiles.next(), null);
+			}
+		}, pkcs12Config, parallelism, maxInFlight, resultConsumer);
+	}
+
+	@NotNull
+	private static BulkConversionSummary convert(@NotNull final Iterator<PendingFile> remainingFiles, @Nullable final Pkcs12Config pkcs12Config,
+			final int parallelism, final int maxInFlight, @NotNull final Consumer<BulkConversionResult> resultConsumer) {
+		checkNonEmptyArgument(resultConsumer, "resultConsumer");
+		assumeTrue(parallelism > 0, "parallelism should be at least 1");
+		assumeTrue(maxInFlight > 0, "maxInFlight should be at least 1");
+
+		final ForkJoinPool conversionPool = new ForkJoinPool(parallelism, pool -> {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("Simple Java Mail bulk conversion " + thread.getPoolIndex());
+			return thread;
+		}, null, true);
+		final Semaphore inFlight = new Semaphore(maxInFlight);
+		final AtomicInteger convertedFiles = new AtomicInteger();
+		final AtomicInteger failedFiles = new AtomicInteger();
+		final AtomicLong bytes = new AtomicLong();
+		final AtomicReference<RuntimeException> consumerFailure = new AtomicReference<>();
+		final long start = System.nanoTime();
+		try {
+			while (consumerFailure.get() == null && remainingFiles.hasNext()) {
+				final PendingFile pendingFile = remainingFiles.next();
+				inFlight.acquire();
+				conversionPool.execute(() -> {
+					try {
+						if (consumerFailure.get() == null) {
+							final BulkConversionResult result;
+							if (pendingFile.listingFailure != null) {
+								result = new BulkConversionResult(pendingFile.file, null, pendingFile.listingFailure, 0);
+							} else {
+								bytes.addAndGet(pendingFile.file.length());
+								result = convertFile(pendingFile.file, pkcs12Config);
+							}
+							(result.isConverted() ? convertedFiles : failedFiles).incrementAndGet();
+							consumeResult(resultConsumer, result, consumerFailure);
+						}
+					} finally {
+						inFlight.release();
+					}
+				});
+			}
+			inFlight.acquire(maxInFlight); // waits for the files still in flight
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			conversionPool.shutdownNow();
+			throw new EmailConverterException(EmailConverterException.ERROR_BULK_CONVERSION_INTERRUPTED, e);
+		} finally {
+			conversionPool.shutdown();
+		}
+		if (consumerFailure.get() != null) {
+			throw consumerFailure.get();
+		}
+		final BulkConversionSummary summary = new BulkConversionSummary(convertedFiles.get(), failedFiles.get(), bytes.get(), System.nanoTime() - start);
+		LOGGER.debug("bulk conversion finished: {}", summary);
+		return summary;
+	}
+
+	/**
+	 * @return Whether the file has an .eml or .msg extension, regardless of case.
+	 */
+	public static boolean isSupportedFile(@NotNull final File file) {
+		final String fileName = file.getName().toLowerCase(Locale.ROOT);
+		return fileName.endsWith(".eml") || fileName.endsWith(".msg");
+	}
+
+	@NotNull
+	private static BulkConversionResult convertFile(@NotNull final File file, @Nullable final Pkcs12Config pkcs12Config) {
+		final long start = System.nanoTime();
+		try {
+			if (!isSupportedFile(file)) {
+				throw new EmailConverterException(format(EmailConverterException.ERROR_UNSUPPORTED_FILE_TYPE, file));
+			}
+			final Email email = file.getName().toLowerCase(Locale.ROOT).endsWith(".msg")
+					? EmailConverter.outlookMsgToEmail(file, pkcs12Config)
+					: EmailConverter.emlToEmail(file, pkcs12Config);
+			return new BulkConversionResult(file, email, null, System.nanoTime() - start);
+		} catch (final Exception e) {
+			LOGGER.debug("failed to convert {}", file, e);
+			return new BulkConversionResult(file, null, e, System.nanoTime() - start);
+		} catch (final LinkageError e) {
+			// such as a NoClassDefFoundError for a .msg file when the outlook-module is missing
+			LOGGER.debug("failed to convert {}", file, e);
+			return new BulkConversionResult(file, null, new EmailConverterException(format(EmailConverterException.ERROR_CONVERTING_FILE, file), e),
+					System.nanoTime() - start);
+		}
+	}
+
+	private static void consumeResult(@NotNull final Consumer<BulkConversionResult> resultConsumer, @NotNull final BulkConversionResult result,
+			@NotNull final AtomicReference<RuntimeException> consumerFailure) {
+		try {
+			resultConsumer.accept(result);
+		} catch (final RuntimeException e) {
+			consumerFailure.compareAndSet(null, new EmailConverterException(format(EmailConverterException.ERROR_CONSUMING_BULK_CONVERSION_RESULT, result.getFile()), e));
+		}
+	}
+
+	private static final class PendingFile {
+		@NotNull private final File file;
+		@Nullable private final Exception listingFailure;
+
+		private PendingFile(@NotNull final File file, @Nullable final Exception listingFailure) {
+			this.file = file;
+			this.listingFailure = listingFailure;
+		}
+	}
+
+	/**
+	 * Takes the supported files from a directory walk as they are needed. The walk reports a subdirectory it cannot read by throwing from the
+	 * iterator, after which it carries on with the next entry, so that subdirectory becomes a failed file rather than ending the walk.
+	 */
+	private static final class DirectoryWalk implements Iterator<PendingFile> {
+		@NotNull private final Iterator<Path> paths;
+		@NotNull private final File directory;
+		@Nullable private PendingFile next;
+
+		private DirectoryWalk(@NotNull final Iterator<Path> paths, @NotNull final File directory) {
+			this.paths = paths;
+			this.directory = directory;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null) {
+				try {
+					if (!paths.hasNext()) {
+						return false;
+					}
+					final Path path = paths.next();
+					if (Files.isRegularFile(path) && isSupportedFile(path.toFile())) {
+						next = new PendingFile(path.toFile(), null);
+					}
+				} catch (final UncheckedIOException e) {
+					final File failedPath = e.getCause() instanceof FileSystemException && ((FileSystemException) e.getCause()).getFile() != null
+							? new File(((FileSystemException) e.getCause()).getFile())
+							: directory;
+					LOGGER.debug("failed to list {}", failedPath, e);
+					next = new PendingFile(failedPath, new EmailConverterException(format(EmailConverterException.ERROR_LISTING_DIRECTORY, failedPath), e.getCause()));
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public PendingFile next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final PendingFile pendingFile = next;
+			next = null;
+			return pendingFile;
+		}
+	}
+}
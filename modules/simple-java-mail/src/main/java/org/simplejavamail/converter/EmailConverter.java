@@ -3,6 +3,7 @@ package org.simplejavamail.converter;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.InternetHeaders;
 import jakarta.mail.internet.MimeMessage;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
@@ -10,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.CalendarMethod;
 import org.simplejavamail.api.email.ContentTransferEncoding;
 import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.EmailEnvelope;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.email.OriginalSmimeDetails;
 import org.simplejavamail.api.email.OriginalSmimeDetails.SmimeMode;
@@ -32,7 +34,10 @@ import org.simplejavamail.email.internal.EmailStartingBuilderImpl;
 import org.simplejavamail.email.internal.InternalEmailPopulatingBuilder;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
+import org.simplejavamail.internal.util.FileRangeInputStream;
+import org.simplejavamail.internal.util.MemoryMappedInputStream;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -41,6 +46,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -120,7 +127,9 @@ public final class EmailConverter {
 	 * @param mimeMessage The MimeMessage from which to create the {@link Email}.
 	 * @param pkcs12Config Private key store for decrypting S/MIME encrypted attachments
 	 *                        (only needed when the message is encrypted rather than just signed).
-	 * @param fetchAttachmentData When false only the names of the attachments are retrieved but no data
+	 * @param fetchAttachmentData When false, the attachment data is not read while parsing. Each attachment refers to its MIME part instead, which is
+	 *                            decoded each time the attachment's data is read. When the MimeMessage was parsed from a {@link
+	 *                            jakarta.mail.internet.SharedInputStream}, the parts refer to their range of that stream, so nothing is copied.
 	 */
 	@NotNull
 	public static EmailPopulatingBuilder mimeMessageToEmailBuilder(@NotNull final MimeMessage mimeMessage, @Nullable final Pkcs12Config pkcs12Config, final boolean fetchAttachmentData) {
@@ -481,6 +490,39 @@ public final class EmailConverter {
 		}
 	}
 
+	/**
+	 * Delegates to {@link #emlToEmailBuilder(File, Pkcs12Config, Session, boolean)}.
+	 */
+	@NotNull
+	public static Email emlToEmail(@NotNull final File emlFile, @Nullable final Pkcs12Config pkcs12Config, @NotNull final Session session, final boolean fetchAttachmentData) {
+		return emlToEmailBuilder(emlFile, pkcs12Config, session, fetchAttachmentData).buildEmail();
+	}
+
+	/**
+	 * Like {@link #emlToEmailBuilder(File, Pkcs12Config, Session)}, but when attachment data is not fetched, the file is parsed as a {@link
+	 * FileRangeInputStream}, so the attachments refer to their range of the file instead of holding a copy of it. Their data is then read from the
+	 * file and decoded each time it is read, which makes this mode suitable for processing many files of which the attachments are rarely needed.
+	 * The file should not be changed or deleted while the email still refers to it.
+	 * <p>
+	 * This is the way to convert EML files that are too large to copy onto the heap. To parse a large file faster, at the cost of keeping it mapped
+	 * into memory (and on Windows, undeletable) until the message is garbage collected, parse it with {@link #emlToMimeMessageMemoryMapped(File,
+	 * Session)} and convert the result with {@link #mimeMessageToEmailBuilder(MimeMessage, Pkcs12Config, boolean)} instead.
+	 *
+	 * @param fetchAttachmentData See {@link #mimeMessageToEmailBuilder(MimeMessage, Pkcs12Config, boolean)}.
+	 */
+	@NotNull
+	public static EmailPopulatingBuilder emlToEmailBuilder(@NotNull final File emlFile, @Nullable final Pkcs12Config pkcs12Config, @NotNull final Session session,
+			final boolean fetchAttachmentData) {
+		if (fetchAttachmentData) {
+			return emlToEmailBuilder(emlFile, pkcs12Config, session);
+		}
+		try (final FileRangeInputStream emlInputStream = new FileRangeInputStream(checkNonEmptyArgument(emlFile, "emlFile"))) {
+			return mimeMessageToEmailBuilder(emlToMimeMessage(emlInputStream, session), pkcs12Config, false);
+		} catch (final IOException e) {
+			throw new EmailConverterException(format(EmailConverterException.PARSE_ERROR_EML_FROM_FILE, e.getMessage()), e);
+		}
+	}
+
 	/**
 	 * Delegates to {@link #emlToEmailBuilder(InputStream, Session)} using a dummy {@link Session} instance.
 	 */
@@ -552,6 +594,63 @@ public final class EmailConverter {
 		return mimeMessageToEmailBuilder(mimeMessage, pkcs12Config);
 	}
 
+	/*
+		To EmailEnvelope instance
+	 */
+
+	/**
+	 * Reads the id, sender, recipients, subject and sent date from the headers of the given message, without looking at its content.
+	 */
+	@NotNull
+	public static EmailEnvelope mimeMessageToEnvelope(@NotNull final MimeMessage mimeMessage) {
+		checkNonEmptyArgument(mimeMessage, "mimeMessage");
+		final InternetAddress from = MimeMessageParser.parseFromAddress(mimeMessage);
+		final List<Recipient> recipients = new ArrayList<>();
+		for (final InternetAddress to : MimeMessageParser.parseToAddresses(mimeMessage)) {
+			recipients.add(new Recipient(to.getPersonal(), to.getAddress(), TO, null));
+		}
+		//noinspection QuestionableName
+		for (final InternetAddress cc : MimeMessageParser.parseCcAddresses(mimeMessage)) {
+			recipients.add(new Recipient(cc.getPersonal(), cc.getAddress(), CC, null));
+		}
+		for (final InternetAddress bcc : MimeMessageParser.parseBccAddresses(mimeMessage)) {
+			recipients.add(new Recipient(bcc.getPersonal(), bcc.getAddress(), BCC, null));
+		}
+		return new EmailEnvelope(
+				MimeMessageParser.parseMessageId(mimeMessage),
+				from != null ? new Recipient(from.getPersonal(), from.getAddress(), null, null) : null,
+				recipients,
+				MimeMessageParser.parseSubject(mimeMessage),
+				MimeMessageParser.parseSentDate(mimeMessage));
+	}
+
+	/**
+	 * Delegates to {@link #emlToEnvelope(InputStream)}, reading the file through a buffer.
+	 */
+	@NotNull
+	public static EmailEnvelope emlToEnvelope(@NotNull final File emlFile) {
+		try (final InputStream emlInputStream = new BufferedInputStream(new FileInputStream(checkNonEmptyArgument(emlFile, "emlFile")))) {
+			return emlToEnvelope(emlInputStream);
+		} catch (final IOException e) {
+			throw new EmailConverterException(format(EmailConverterException.PARSE_ERROR_EML_FROM_FILE, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Reads only the top-level header block of the EML data and passes it to {@link #mimeMessageToEnvelope(MimeMessage)}. The stream is read up to
+	 * and including the empty line that ends the headers, so the body and attachments are neither read nor parsed, regardless of their size.
+	 * <p>
+	 * The headers are read byte by byte, so pass a buffered stream unless the stream should be left positioned at the start of the body.
+	 */
+	@NotNull
+	public static EmailEnvelope emlToEnvelope(@NotNull final InputStream emlInputStream) {
+		try {
+			return mimeMessageToEnvelope(new HeadersOnlyMimeMessage(new InternetHeaders(checkNonEmptyArgument(emlInputStream, "emlInputStream"))));
+		} catch (final MessagingException e) {
+			throw new EmailConverterException(format(EmailConverterException.PARSE_ERROR_EML_FROM_STREAM, e.getMessage()), e);
+		}
+	}
+
 	/*
 		To MimeMessage instance
 	 */
@@ -690,6 +789,37 @@ public final class EmailConverter {
 		}
 	}
 
+	/**
+	 * Delegates to {@link #emlToMimeMessageMemoryMapped(File, Session)} using {@link #createDummySession()}.
+	 */
+	@NotNull
+	public static MimeMessage emlToMimeMessageMemoryMapped(@NotNull final File emlFile) {
+		return emlToMimeMessageMemoryMapped(emlFile, createDummySession());
+	}
+
+	/**
+	 * Like {@link #emlToMimeMessage(File, Session)}, but parses the file as a {@link MemoryMappedInputStream}, so the parts of the message refer to
+	 * slices of the mapped file instead of copying it onto the heap. This speeds up parsing large files considerably, and the parts are only read
+	 * (from the page cache) when their content is read.
+	 * <p>
+	 * The file is mapped until the message and anything produced from it are garbage collected. Until then, the file should not be changed, and
+	 * on Windows it cannot be deleted. Files of 2 GB and larger cannot be mapped.
+	 * <p>
+	 * To convert the message to an email, pass it to {@link #mimeMessageToEmailBuilder(MimeMessage, Pkcs12Config, boolean)}. When attachment data is
+	 * fetched, the attachments are copied from the mapped file. Otherwise, they are decoded from the mapped file whenever their data is read. To
+	 * convert files without mapping them, see {@link #emlToEmailBuilder(File, Pkcs12Config, Session, boolean)}.
+	 */
+	@NotNull
+	public static MimeMessage emlToMimeMessageMemoryMapped(@NotNull final File emlFile, @NotNull final Session session) {
+		final MemoryMappedInputStream emlInputStream;
+		try {
+			emlInputStream = MemoryMappedInputStream.map(checkNonEmptyArgument(emlFile, "emlFile"));
+		} catch (final IOException e) {
+			throw new EmailConverterException(format(EmailConverterException.PARSE_ERROR_EML_FROM_FILE, e.getMessage()), e);
+		}
+		return emlToMimeMessage(emlInputStream, session);
+	}
+
 	/**
 	 * Delegates to {@link #emlToMimeMessage(String, Session)} with an empty {@link Session} instance.
 	 */
@@ -910,4 +1040,13 @@ public final class EmailConverter {
 		return Session.getInstance(new Properties());
 	}
 
+	/**
+	 * A message consisting of only the given headers, so they can be read using the regular {@link MimeMessage} accessors.
+	 */
+	private static class HeadersOnlyMimeMessage extends MimeMessage {
+		HeadersOnlyMimeMessage(@NotNull final InternetHeaders headers) {
+			super((Session) null);
+			this.headers = headers;
+		}
+	}
 }
@@ -11,8 +11,17 @@ class EmailConverterException extends MailException {
 	static final String PARSE_ERROR_EML_FROM_FILE = "Error parsing EML data from file: %s";
 	static final String PARSE_ERROR_EML_FROM_STREAM = "Error parsing EML data from input stream: %s";
 	static final String ERROR_READING_EML_INPUTSTREAM = "Error reading EML string from given InputStream";
+	static final String ERROR_UNSUPPORTED_FILE_TYPE = "Unsupported file type, expected .eml or .msg: %s";
+	static final String ERROR_LISTING_DIRECTORY = "Error listing files in directory: %s";
+	static final String ERROR_BULK_CONVERSION_INTERRUPTED = "Interrupted while converting files in bulk";
+	static final String ERROR_CONSUMING_BULK_CONVERSION_RESULT = "Error consuming the conversion result of file: %s";
+	static final String ERROR_CONVERTING_FILE = "Error converting file: %s";
 
-	EmailConverterException(final String message, final Exception cause) {
+	EmailConverterException(final String message) {
+		super(message);
+	}
+
+	EmailConverterException(final String message, final Throwable cause) {
 		super(message, cause);
 	}
 }
\ No newline at end of file
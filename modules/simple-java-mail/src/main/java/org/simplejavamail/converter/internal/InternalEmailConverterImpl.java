@@ -20,9 +20,4 @@ public class InternalEmailConverterImpl implements InternalEmailConverter {
 	public MimeMessage emailToMimeMessage(@NotNull final Email email) {
 		return EmailConverter.emailToMimeMessage(email);
 	}
-
-	@Override
-	public byte[] mimeMessageToEMLByteArray(@NotNull final MimeMessage mimeMessage) {
-		return EmailConverter.mimeMessageToEMLByteArray(mimeMessage);
-	}
 }
@@ -60,6 +60,9 @@ public final class MimeMessageParser {
 
 	/**
 	 * Extracts the content of a MimeMessage recursively.
+	 *
+	 * @param fetchAttachmentData Whether to read the data of attachments and embedded images into memory. Otherwise, their data sources refer to
+	 *                            the MIME parts they were parsed from and decode them each time they're read.
 	 */
 	public static ParsedMimeMessageComponents parseMimeMessage(@NotNull final MimeMessage mimeMessage, boolean fetchAttachmentData) {
 		final ParsedMimeMessageComponents parsedComponents = new ParsedMimeMessageComponents();
@@ -352,6 +355,8 @@ public final class MimeMessageParser {
 	 * Parses the MimePart to create a DataSource.
 	 *
 	 * @param part the current part to be processed
+	 * @param fetchAttachmentData Whether to copy the data, or to refer to the part, which can be read any number of times, each time decoding it
+	 *                            from its (shared) content stream.
 	 * @return the DataSource
 	 */
 	@NotNull
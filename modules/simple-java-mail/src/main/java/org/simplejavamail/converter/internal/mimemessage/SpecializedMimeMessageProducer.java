@@ -8,7 +8,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.config.DeliveryStatusNotification;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendPhase;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.SendPhaseTimer;
+import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
 import org.simplejavamail.mailer.internal.util.MessageIdFixingMimeMessage;
 
 import java.io.UnsupportedEncodingException;
@@ -72,8 +76,14 @@ public abstract class SpecializedMimeMessageProducer {
 			3. DKIM signing
 		 */
 
+		final MetricsRecorder metricsRecorder = SessionBasedEmailToMimeMessageConverter.resolveMetricsRecorder(session);
+
 		if (email.getSmimeSigningConfig() != null) {
-			message = ModuleLoader.loadSmimeModule().signMessageWithSmime(session, email, message, email.getSmimeSigningConfig());
+			final long startTime = System.nanoTime();
+			final MimeMessage messageToSign = message;
+			message = SendPhaseTimer.timePhase(SendPhase.SMIME_SIGNING,
+					() -> ModuleLoader.loadSmimeModule().signMessageWithSmime(session, email, messageToSign, email.getSmimeSigningConfig(), metricsRecorder));
+			metricsRecorder.recordTime(MetricsRecorder.SMIME_SIGN_TIME, System.nanoTime() - startTime);
 		}
 
 		/*
@@ -105,15 +115,23 @@ public abstract class SpecializedMimeMessageProducer {
 						? email.getSmimeEncryptionConfig().getKeyEncapsulationAlgorithm() : null;
 				final String cipherAlg = email.getSmimeEncryptionConfig() != null
 						? email.getSmimeEncryptionConfig().getCipherAlgorithm() : null;
-				message = ModuleLoader.loadSmimeModule()
-						.encryptMessageWithSmimeForRecipients(session, email, message, effectiveCerts, keyAlg, cipherAlg);
+				final long startTime = System.nanoTime();
+				final MimeMessage messageToEncrypt = message;
+				message = SendPhaseTimer.timePhase(SendPhase.SMIME_ENCRYPTION, () -> ModuleLoader.loadSmimeModule()
+						.encryptMessageWithSmimeForRecipients(session, email, messageToEncrypt, effectiveCerts, keyAlg, cipherAlg, metricsRecorder));
+				metricsRecorder.recordTime(MetricsRecorder.SMIME_ENCRYPT_TIME, System.nanoTime() - startTime);
 			}
 		} else if (email.getSmimeEncryptionConfig() != null) {
-			message = ModuleLoader.loadSmimeModule().encryptMessageWithSmime(session, email, message, email.getSmimeEncryptionConfig());
+			final long startTime = System.nanoTime();
+			final MimeMessage messageToEncrypt = message;
+			message = SendPhaseTimer.timePhase(SendPhase.SMIME_ENCRYPTION,
+					() -> ModuleLoader.loadSmimeModule().encryptMessageWithSmime(session, email, messageToEncrypt, email.getSmimeEncryptionConfig(), metricsRecorder));
+			metricsRecorder.recordTime(MetricsRecorder.SMIME_ENCRYPT_TIME, System.nanoTime() - startTime);
 		}
 
 		if (email.getDkimConfig() != null) {
-			message = ModuleLoader.loadDKIMModule().signMessageWithDKIM(email, message, email.getDkimConfig(), checkNonEmptyArgument(email.getFromRecipient(), "fromRecipient"));
+			message = ModuleLoader.loadDKIMModule().signMessageWithDKIM(email, message, email.getDkimConfig(), checkNonEmptyArgument(email.getFromRecipient(), "fromRecipient"),
+					metricsRecorder);
 		}
 
 		if (email.getBounceToRecipient() != null || email.getDeliveryStatusNotification() != null) {
@@ -14,7 +14,10 @@ import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.email.config.DkimConfig;
 import org.simplejavamail.api.email.config.SmimeEncryptionConfig;
 import org.simplejavamail.api.email.config.SmimeSigningConfig;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.config.Pkcs12Config;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
 import org.slf4j.Logger;
 
 import java.util.Collection;
@@ -273,26 +276,53 @@ public class MailerHelper {
 	}
 
 	/**
-	 * @see org.simplejavamail.internal.modules.DKIMModule#signMessageWithDKIM(Email, MimeMessage, DkimConfig, Recipient)
+	 * @see org.simplejavamail.internal.modules.DKIMModule#signMessageWithDKIM(Email, MimeMessage, DkimConfig, Recipient, MetricsRecorder)
 	 */
 	@SuppressWarnings("unused")
 	public static MimeMessage signMessageWithDKIM(@NotNull final MimeMessage messageToSign, @NotNull final Email emailContainingSigningDetails) {
 		val dkimConfig = requireNonNull(emailContainingSigningDetails.getDkimConfig(), "email.dkimConfig");
 		val fromRecipient = requireNonNull(emailContainingSigningDetails.getFromRecipient(), "email.fromRecipient");
-		return ModuleLoader.loadDKIMModule().signMessageWithDKIM(emailContainingSigningDetails, messageToSign, dkimConfig, fromRecipient);
+		return ModuleLoader.loadDKIMModule().signMessageWithDKIM(emailContainingSigningDetails, messageToSign, dkimConfig, fromRecipient, MetricsRecorder.NOOP);
 	}
 
 	/**
 	 * Depending on the Email configuration, signs and then encrypts message (both steps optional), using the S/MIME module.
 	 *
-	 * @see org.simplejavamail.internal.modules.SMIMEModule#signMessageWithSmime(Session, Email, MimeMessage, SmimeSigningConfig)
-	 * @see org.simplejavamail.internal.modules.SMIMEModule#encryptMessageWithSmime(Session, Email, MimeMessage, SmimeEncryptionConfig)
+	 * @see org.simplejavamail.internal.modules.SMIMEModule#signMessageWithSmime(Session, Email, MimeMessage, SmimeSigningConfig, MetricsRecorder)
+	 * @see org.simplejavamail.internal.modules.SMIMEModule#encryptMessageWithSmime(Session, Email, MimeMessage, SmimeEncryptionConfig, MetricsRecorder)
 	 */
 	@SuppressWarnings("unused")
 	public static MimeMessage signAndOrEncryptMessageWithSmime(@NotNull final Session session, @NotNull final MimeMessage messageToProtect, @NotNull final Email emailContainingSmimeDetails) {
+		final MetricsRecorder metricsRecorder = SessionBasedEmailToMimeMessageConverter.resolveMetricsRecorder(session);
 		MimeMessage message = messageToProtect;
-		message = ModuleLoader.loadSmimeModule().signMessageWithSmime(session, emailContainingSmimeDetails, message, requireNonNull(emailContainingSmimeDetails.getSmimeSigningConfig(), "SmimeSigningConfig"));
-		message = ModuleLoader.loadSmimeModule().encryptMessageWithSmime(session, emailContainingSmimeDetails, message, requireNonNull(emailContainingSmimeDetails.getSmimeEncryptionConfig(), "SmimeEncryptionConfig"));
+		message = ModuleLoader.loadSmimeModule().signMessageWithSmime(session, emailContainingSmimeDetails, message, requireNonNull(emailContainingSmimeDetails.getSmimeSigningConfig(), "SmimeSigningConfig"),
+				metricsRecorder);
+		message = ModuleLoader.loadSmimeModule().encryptMessageWithSmime(session, emailContainingSmimeDetails, message, requireNonNull(emailContainingSmimeDetails.getSmimeEncryptionConfig(), "SmimeEncryptionConfig"),
+				metricsRecorder);
 		return message;
 	}
+
+	/**
+	 * Private keys are parsed from PKCS12 keystores once and then cached for a while, so after replacing a key in a keystore, or to release a key
+	 * before it expires from the cache, invalidate the key here. Keystores with different content, passwords or alias are cached separately anyway.
+	 *
+	 * @param pkcs12Config The keystore configuration the key was parsed from, or {@code null} to invalidate all cached keys.
+	 * @see org.simplejavamail.internal.modules.SMIMEModule#invalidateCachedSmimeKeys(Pkcs12Config)
+	 */
+	@SuppressWarnings("unused")
+	public static void invalidateCachedSmimeKeys(@Nullable final Pkcs12Config pkcs12Config) {
+		ModuleLoader.loadSmimeModule().invalidateCachedSmimeKeys(pkcs12Config);
+	}
+
+	/**
+	 * DKIM private keys are parsed once and then cached for a while, so to release a key before it expires from the cache, invalidate it here.
+	 * Configurations with a different key or signer settings are cached separately anyway.
+	 *
+	 * @param dkimConfig The DKIM configuration the key was parsed from, or {@code null} to invalidate all cached keys.
+	 * @see org.simplejavamail.internal.modules.DKIMModule#invalidateCachedDkimKeys(DkimConfig)
+	 */
+	@SuppressWarnings("unused")
+	public static void invalidateCachedDkimKeys(@Nullable final DkimConfig dkimConfig) {
+		ModuleLoader.loadDKIMModule().invalidateCachedDkimKeys(dkimConfig);
+	}
 }
@@ -58,6 +58,7 @@ import static org.simplejavamail.config.ConfigLoader.Property.DKIM_EXCLUDED_HEAD
 import static org.simplejavamail.config.ConfigLoader.Property.DKIM_PRIVATE_KEY_FILE_OR_DATA;
 import static org.simplejavamail.config.ConfigLoader.Property.DKIM_SELECTOR;
 import static org.simplejavamail.config.ConfigLoader.Property.DKIM_SIGNING_ALGORITHM;
+import static org.simplejavamail.config.ConfigLoader.Property.DKIM_SIGNING_STREAMING_SPOOL_THRESHOLD;
 import static org.simplejavamail.config.ConfigLoader.Property.DKIM_SIGNING_BODY_CANONICALIZATION;
 import static org.simplejavamail.config.ConfigLoader.Property.DKIM_SIGNING_DOMAIN;
 import static org.simplejavamail.config.ConfigLoader.Property.DKIM_SIGNING_HEADER_CANONICALIZATION;
@@ -65,12 +66,15 @@ import static org.simplejavamail.config.ConfigLoader.Property.DKIM_SIGNING_USE_L
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_ENCRYPTION_CERTIFICATE;
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_ENCRYPTION_CIPHER;
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_ENCRYPTION_KEY_ENCAPSULATION_ALGORITHM;
+import static org.simplejavamail.config.ConfigLoader.Property.SMIME_ENCRYPTION_STREAMING_SPOOL_THRESHOLD;
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_SIGNING_ALGORITHM;
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_SIGNING_KEYSTORE;
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_SIGNING_KEYSTORE_PASSWORD;
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_SIGNING_KEY_ALIAS;
 import static org.simplejavamail.config.ConfigLoader.Property.SMIME_SIGNING_KEY_PASSWORD;
+import static org.simplejavamail.config.ConfigLoader.Property.SMIME_SIGNING_STREAMING_SPOOL_THRESHOLD;
 import static org.simplejavamail.config.ConfigLoader.getBooleanProperty;
+import static org.simplejavamail.config.ConfigLoader.getIntegerProperty;
 import static org.simplejavamail.config.ConfigLoader.getProperty;
 import static org.simplejavamail.config.ConfigLoader.getStringProperty;
 import static org.simplejavamail.config.ConfigLoader.hasProperty;
@@ -218,6 +222,7 @@ public class EmailGovernanceImpl implements EmailGovernance {
 							.keyPassword(checkNonEmptyArgument(getStringProperty(SMIME_SIGNING_KEY_PASSWORD), "Key password property"))
 							.build())
 					.signatureAlgorithm(hasProperty(SMIME_SIGNING_ALGORITHM) ? getStringProperty(SMIME_SIGNING_ALGORITHM) : null)
+					.streamingSpoolThreshold(hasProperty(SMIME_SIGNING_STREAMING_SPOOL_THRESHOLD) ? getIntegerProperty(SMIME_SIGNING_STREAMING_SPOOL_THRESHOLD) : null)
 					.build());
 		}
 		if (allDefaults.getSmimeEncryptionConfig() == null && hasProperty(SMIME_ENCRYPTION_CERTIFICATE)) {
@@ -225,6 +230,7 @@ public class EmailGovernanceImpl implements EmailGovernance {
 					.x509Certificate(verifyNonnullOrEmpty(getStringProperty(SMIME_ENCRYPTION_CERTIFICATE)))
 					.keyEncapsulationAlgorithm(hasProperty(SMIME_ENCRYPTION_KEY_ENCAPSULATION_ALGORITHM) ? getStringProperty(SMIME_ENCRYPTION_KEY_ENCAPSULATION_ALGORITHM) : null)
 					.cipherAlgorithm(hasProperty(SMIME_ENCRYPTION_CIPHER) ? getStringProperty(SMIME_ENCRYPTION_CIPHER) : null)
+					.streamingSpoolThreshold(hasProperty(SMIME_ENCRYPTION_STREAMING_SPOOL_THRESHOLD) ? getIntegerProperty(SMIME_ENCRYPTION_STREAMING_SPOOL_THRESHOLD) : null)
 					.build());
 		}
 		if (!suppressDkimSigningDefault && allDefaults.getDkimConfig() == null && hasProperty(DKIM_PRIVATE_KEY_FILE_OR_DATA)) {
@@ -235,7 +241,8 @@ public class EmailGovernanceImpl implements EmailGovernance {
 					.excludedHeadersFromDkimDefaultSigningList(verifyNonnullOrEmpty(getStringProperty(DKIM_EXCLUDED_HEADERS_FROM_DEFAULT_SIGNING_LIST)))
 					.headerCanonicalization(hasProperty(DKIM_SIGNING_HEADER_CANONICALIZATION) ? getProperty(DKIM_SIGNING_HEADER_CANONICALIZATION) : null)
 					.bodyCanonicalization(hasProperty(DKIM_SIGNING_BODY_CANONICALIZATION) ? getProperty(DKIM_SIGNING_BODY_CANONICALIZATION) : null)
-					.signingAlgorithm(hasProperty(DKIM_SIGNING_ALGORITHM) ? getStringProperty(DKIM_SIGNING_ALGORITHM) : null);
+					.signingAlgorithm(hasProperty(DKIM_SIGNING_ALGORITHM) ? getStringProperty(DKIM_SIGNING_ALGORITHM) : null)
+					.streamingSpoolThreshold(hasProperty(DKIM_SIGNING_STREAMING_SPOOL_THRESHOLD) ? getIntegerProperty(DKIM_SIGNING_STREAMING_SPOOL_THRESHOLD) : null);
 			val dkimPrivateKeyFileOrData = verifyNonnullOrEmpty(getStringProperty(DKIM_PRIVATE_KEY_FILE_OR_DATA));
 			dkimConfigBuilder.dkimPrivateKeyData(DkimPrivateKeyPropertyResolver.resolve(dkimPrivateKeyFileOrData));
 			allDefaults.signWithDomainKey(dkimConfigBuilder.build());
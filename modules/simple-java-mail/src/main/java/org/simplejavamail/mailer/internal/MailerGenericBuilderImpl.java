@@ -8,6 +8,8 @@ import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.config.DkimConfig;
 import org.simplejavamail.api.mailer.CustomMailer;
 import org.simplejavamail.api.mailer.MailerGenericBuilder;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendTracer;
 import org.simplejavamail.api.mailer.config.ConnectionPoolClusterConfig;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
@@ -15,8 +17,12 @@ import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.OAuth2AccessTokenProvider;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
 import org.simplejavamail.api.mailer.config.SessionDebugOutput;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 import org.simplejavamail.config.ConfigLoader.Property;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.concurrent.VirtualThreadSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
@@ -50,6 +56,8 @@ import static org.simplejavamail.internal.util.Preconditions.verifyNonnullOrEmpt
  */
 @SuppressWarnings({"UnusedReturnValue", "unchecked"})
 abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> implements InternalMailerBuilder<T> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MailerGenericBuilderImpl.class);
 	
 	/**
 	 * @see MailerGenericBuilder#async()
@@ -245,6 +253,36 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	private boolean transportModeLoggingOnly;
 
+	/**
+	 * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	private boolean smtpPipelining;
+
+	/**
+	 * @see MailerGenericBuilder#withRenderedMessageCacheSize(Integer)
+	 */
+	private Integer renderedMessageCacheSize;
+
+	/**
+	 * @see MailerGenericBuilder#withRenderedMessageCacheHeapBudget(Integer)
+	 */
+	private Integer renderedMessageCacheHeapBudget;
+
+	/**
+	 * @see MailerGenericBuilder#withVirtualThreads(Boolean)
+	 */
+	private boolean virtualThreads;
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 */
+	private Integer threadPoolQueueCapacity;
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy)
+	 */
+	private ThreadPoolRejectionPolicy threadPoolRejectionPolicy;
+
 	/**
 	 * @see MailerGenericBuilder#withCustomMailer(CustomMailer)
 	 */
@@ -256,6 +294,18 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	 */
 	@Nullable
 	private OAuth2AccessTokenProvider oauth2AccessTokenProvider;
+
+	/**
+	 * @see MailerGenericBuilder#withMetricsRecorder(MetricsRecorder)
+	 */
+	@NotNull
+	private MetricsRecorder metricsRecorder = MetricsRecorder.NOOP;
+
+	/**
+	 * @see MailerGenericBuilder#withSendTracer(SendTracer)
+	 */
+	@NotNull
+	private SendTracer sendTracer = SendTracer.NOOP;
 	
 	/**
 	 * Sets defaults configured for proxy host, proxy port, proxy username, proxy password and proxy bridge port (used in authenticated proxy).
@@ -296,6 +346,12 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		this.connectionPoolLoadBalancingStrategy	= verifyNonnullOrEmpty(valueOrProperty(null, Property.DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY, LoadBalancingStrategy.valueOf(DEFAULT_CONNECTIONPOOL_LOADBALANCING_STRATEGY)));
 		this.connectionPoolClusterConfigs			= valueOrProperty(null, Property.DEFAULT_CONNECTIONPOOL_CLUSTER_CONFIGS, Collections.emptyMap());
 		this.transportModeLoggingOnly 				= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.TRANSPORT_MODE_LOGGING_ONLY, DEFAULT_TRANSPORT_MODE_LOGGING_ONLY));
+		this.smtpPipelining 						= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.SMTP_PIPELINING, DEFAULT_SMTP_PIPELINING));
+		this.renderedMessageCacheSize				= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.RENDERED_MESSAGE_CACHE_SIZE, DEFAULT_RENDERED_MESSAGE_CACHE_SIZE));
+		this.renderedMessageCacheHeapBudget			= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.RENDERED_MESSAGE_CACHE_HEAP_BUDGET, DEFAULT_RENDERED_MESSAGE_CACHE_HEAP_BUDGET));
+		this.virtualThreads							= verifyNonnullOrEmpty(valueOrPropertyAsBoolean(null, Property.DEFAULT_VIRTUAL_THREADS, DEFAULT_VIRTUAL_THREADS));
+		this.threadPoolQueueCapacity					= verifyNonnullOrEmpty(valueOrPropertyAsInteger(null, Property.DEFAULT_POOL_QUEUE_CAPACITY, DEFAULT_THREAD_POOL_QUEUE_CAPACITY));
+		this.threadPoolRejectionPolicy				= verifyNonnullOrEmpty(valueOrProperty(null, Property.DEFAULT_POOL_REJECTION_POLICY, ThreadPoolRejectionPolicy.valueOf(DEFAULT_THREAD_POOL_REJECTION_POLICY)));
 
 		final String trustedHosts = valueOrPropertyAsString(null, Property.DEFAULT_TRUSTED_HOSTS, null);
 		if (trustedHosts != null) {
@@ -363,6 +419,12 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 				getConnectionPoolLoadBalancingStrategy(),
 				connectionPoolClusterConfigs,
 				isTransportModeLoggingOnly(),
+				isSmtpPipelining(),
+				getRenderedMessageCacheSize(),
+				getRenderedMessageCacheHeapBudget(),
+				isVirtualThreads(),
+				getThreadPoolQueueCapacity(),
+				getThreadPoolRejectionPolicy(),
 				isDebugLogging(),
 				getDebugPrinter(),
 				isDisableAllClientValidation(),
@@ -372,7 +434,9 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 				getExecutorService() != null ? getExecutorService() : determineDefaultExecutorService(),
 				isExecutorServiceUserProvided(),
 				getCustomMailer(),
-				getOAuth2AccessTokenProvider());
+				getOAuth2AccessTokenProvider(),
+				getMetricsRecorder(),
+				getSendTracer());
 	}
 	
 	/**
@@ -670,6 +734,60 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		this.transportModeLoggingOnly = transportModeLoggingOnly;
 		return (T) this;
 	}
+
+	/**
+	 * @see MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	@Override
+	public T withSmtpPipelining(@NotNull final Boolean smtpPipelining) {
+		this.smtpPipelining = smtpPipelining;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withRenderedMessageCacheSize(Integer)
+	 */
+	@Override
+	public T withRenderedMessageCacheSize(@NotNull final Integer renderedMessageCacheSize) {
+		this.renderedMessageCacheSize = renderedMessageCacheSize;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withRenderedMessageCacheHeapBudget(Integer)
+	 */
+	@Override
+	public T withRenderedMessageCacheHeapBudget(@NotNull final Integer renderedMessageCacheHeapBudget) {
+		this.renderedMessageCacheHeapBudget = renderedMessageCacheHeapBudget;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withVirtualThreads(Boolean)
+	 */
+	@Override
+	public T withVirtualThreads(@NotNull final Boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 */
+	@Override
+	public T withThreadPoolQueueCapacity(@NotNull final Integer threadPoolQueueCapacity) {
+		this.threadPoolQueueCapacity = threadPoolQueueCapacity;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy)
+	 */
+	@Override
+	public T withThreadPoolRejectionPolicy(@NotNull final ThreadPoolRejectionPolicy threadPoolRejectionPolicy) {
+		this.threadPoolRejectionPolicy = threadPoolRejectionPolicy;
+		return (T) this;
+	}
 	
 	/**
 	 * @see MailerGenericBuilder#trustingSSLHosts(String...)
@@ -751,6 +869,24 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 		return (T) this;
 	}
 
+	/**
+	 * @see MailerGenericBuilder#withMetricsRecorder(MetricsRecorder)
+	 */
+	@Override
+	public T withMetricsRecorder(@NotNull MetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+		return (T) this;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#withSendTracer(SendTracer)
+	 */
+	@Override
+	public T withSendTracer(@NotNull SendTracer sendTracer) {
+		this.sendTracer = sendTracer;
+		return (T) this;
+	}
+
 	/**
 	 * @see MailerGenericBuilder#resetDisableAllClientValidations()
 	 */
@@ -802,8 +938,15 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 
 	@NotNull
 	private ExecutorService determineDefaultExecutorService() {
+		if (isVirtualThreads()) {
+			if (VirtualThreadSupport.isAvailable()) {
+				return VirtualThreadSupport.newVirtualThreadPerTaskExecutor("Simple Java Mail async mail sender, virtual thread ");
+			}
+			LOGGER.warn("virtual threads were requested for sending asynchronously, but require Java 21 or newer; using the regular thread pool instead");
+		}
 		return (ModuleLoader.batchModuleAvailable())
-				? ModuleLoader.loadBatchModule().createDefaultExecutorService(getThreadPoolSize(), getThreadPoolKeepAliveTime())
+				? ModuleLoader.loadBatchModule().createDefaultExecutorService(getThreadPoolSize(), getThreadPoolKeepAliveTime(),
+						getThreadPoolQueueCapacity(), getThreadPoolRejectionPolicy())
 				: Executors.newSingleThreadExecutor();
 	}
 
@@ -883,6 +1026,54 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	public T resetTransportModeLoggingOnly() {
 		return withTransportModeLoggingOnly(DEFAULT_TRANSPORT_MODE_LOGGING_ONLY);
 	}
+
+	/**
+	 * @see MailerGenericBuilder#resetSmtpPipelining()
+	 */
+	@Override
+	public T resetSmtpPipelining() {
+		return withSmtpPipelining(DEFAULT_SMTP_PIPELINING);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetRenderedMessageCacheSize()
+	 */
+	@Override
+	public T resetRenderedMessageCacheSize() {
+		return withRenderedMessageCacheSize(DEFAULT_RENDERED_MESSAGE_CACHE_SIZE);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetRenderedMessageCacheHeapBudget()
+	 */
+	@Override
+	public T resetRenderedMessageCacheHeapBudget() {
+		return withRenderedMessageCacheHeapBudget(DEFAULT_RENDERED_MESSAGE_CACHE_HEAP_BUDGET);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetVirtualThreads()
+	 */
+	@Override
+	public T resetVirtualThreads() {
+		return withVirtualThreads(DEFAULT_VIRTUAL_THREADS);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetThreadPoolQueueCapacity()
+	 */
+	@Override
+	public T resetThreadPoolQueueCapacity() {
+		return withThreadPoolQueueCapacity(DEFAULT_THREAD_POOL_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * @see MailerGenericBuilder#resetThreadPoolRejectionPolicy()
+	 */
+	@Override
+	public T resetThreadPoolRejectionPolicy() {
+		return withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy.valueOf(DEFAULT_THREAD_POOL_REJECTION_POLICY));
+	}
 	
 	/**
 	 * @see MailerGenericBuilder#clearProxy()
@@ -1260,6 +1451,54 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	public boolean isTransportModeLoggingOnly() {
 		return transportModeLoggingOnly;
 	}
+
+	/**
+	 * @see MailerGenericBuilder#isSmtpPipelining()
+	 */
+	@Override
+	public boolean isSmtpPipelining() {
+		return smtpPipelining;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getRenderedMessageCacheSize()
+	 */
+	@Override
+	public Integer getRenderedMessageCacheSize() {
+		return renderedMessageCacheSize;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getRenderedMessageCacheHeapBudget()
+	 */
+	@Override
+	public Integer getRenderedMessageCacheHeapBudget() {
+		return renderedMessageCacheHeapBudget;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#isVirtualThreads()
+	 */
+	@Override
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getThreadPoolQueueCapacity()
+	 */
+	@Override
+	public Integer getThreadPoolQueueCapacity() {
+		return threadPoolQueueCapacity;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getThreadPoolRejectionPolicy()
+	 */
+	@Override
+	public ThreadPoolRejectionPolicy getThreadPoolRejectionPolicy() {
+		return threadPoolRejectionPolicy;
+	}
 	
 	/**
 	 * @see MailerGenericBuilder#getProperties()
@@ -1287,4 +1526,22 @@ abstract class MailerGenericBuilderImpl<T extends MailerGenericBuilderImpl<?>> i
 	public OAuth2AccessTokenProvider getOAuth2AccessTokenProvider() {
 		return oauth2AccessTokenProvider;
 	}
+
+	/**
+	 * @see MailerGenericBuilder#getMetricsRecorder()
+	 */
+	@Override
+	@NotNull
+	public MetricsRecorder getMetricsRecorder() {
+		return metricsRecorder;
+	}
+
+	/**
+	 * @see MailerGenericBuilder#getSendTracer()
+	 */
+	@Override
+	@NotNull
+	public SendTracer getSendTracer() {
+		return sendTracer;
+	}
 }
@@ -9,8 +9,10 @@ import org.simplejavamail.MailException;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
 import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.MailSubmissionResult;
 import org.simplejavamail.api.mailer.Mailer;
 import org.simplejavamail.api.mailer.OpenConnectionCallback;
+import org.simplejavamail.api.mailer.SendPhase;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.ProxyConfig;
@@ -19,7 +21,9 @@ import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.config.ConfigLoader;
 import org.simplejavamail.converter.internal.mimemessage.SpecializedMimeMessageProducer;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.SendPhaseTimer;
 import org.simplejavamail.internal.util.concurrent.AsyncOperationHelper;
+import org.simplejavamail.internal.util.concurrent.BatchSendingHelper;
 import org.simplejavamail.mailer.MailerHelper;
 import org.simplejavamail.mailer.internal.util.SmtpAuthenticator;
 import org.slf4j.Logger;
@@ -32,7 +36,9 @@ import java.util.function.Supplier;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static java.util.Optional.ofNullable;
 import static org.simplejavamail.api.mailer.config.TransportStrategy.SMTP_OAUTH2;
@@ -406,18 +412,19 @@ public class MailerImpl implements Mailer {
 	@NotNull
 	public final CompletableFuture<MailSubmissionReceipt> sendMailAndGetReceipt(final Email userProvidedEmail, final boolean async) {
 		val checkedEmail = verifyNonnull(userProvidedEmail);
+		val sendPhaseTimer = SendPhaseTimer.start(operationalConfig.getSendTracer(), checkedEmail);
 
 		if (!async) {
-			val email = prepareEmailForSending(checkedEmail);
-			SendMailClosure sendMailClosure = new SendMailClosure(operationalConfig, session, email, proxyServer,
+			val email = prepareEmailForSending(checkedEmail, sendPhaseTimer);
+			SendMailClosure sendMailClosure = new SendMailClosure(operationalConfig, session, email, sendPhaseTimer, proxyServer,
 					operationalConfig.isTransportModeLoggingOnly(), smtpConnectionCounter);
 			sendMailClosure.run();
 			return CompletableFuture.completedFuture(sendMailClosure.getReceipt());
 		}
 
 		try {
-			val email = prepareEmailForSending(checkedEmail);
-			SendMailClosure sendMailClosure = new SendMailClosure(operationalConfig, session, email, proxyServer,
+			val email = prepareEmailForSending(checkedEmail, sendPhaseTimer);
+			SendMailClosure sendMailClosure = new SendMailClosure(operationalConfig, session, email, sendPhaseTimer, proxyServer,
 					operationalConfig.isTransportModeLoggingOnly(), smtpConnectionCounter);
 			return ModuleLoader.batchModuleAvailable()
 					? ModuleLoader.loadBatchModule()
@@ -427,6 +434,8 @@ public class MailerImpl implements Mailer {
 						.executeAsync(operationalConfig.getExecutorService(), "sendMail process", sendMailClosure)
 						.thenApply(unused -> sendMailClosure.getReceipt());
 		} catch (RuntimeException e) {
+			// such as when the executor rejects the send, which then never gets to end the trace itself
+			sendPhaseTimer.ended(null, e);
 			return AsyncOperationHelper.failedFuture(e);
 		}
 	}
@@ -457,13 +466,31 @@ public class MailerImpl implements Mailer {
 	@Override
 	@NotNull
 	public final CompletableFuture<Void> sendMailsInSimpleBatch(final Iterable<Email> emails, final boolean async) {
+		return sendMailsInSimpleBatchAndGetReceipts(emails, async).thenApply(receipts -> (Void) null);
+	}
+
+	/**
+	 * @see Mailer#sendMailsInSimpleBatchAndGetReceipts(Iterable)
+	 */
+	@Override
+	@NotNull
+	public final CompletableFuture<List<MailSubmissionReceipt>> sendMailsInSimpleBatchAndGetReceipts(final Iterable<Email> emails) {
+		return sendMailsInSimpleBatchAndGetReceipts(emails, getOperationalConfig().isAsync());
+	}
+
+	/**
+	 * @see Mailer#sendMailsInSimpleBatchAndGetReceipts(Iterable, boolean)
+	 */
+	@Override
+	@NotNull
+	public final CompletableFuture<List<MailSubmissionReceipt>> sendMailsInSimpleBatchAndGetReceipts(final Iterable<Email> emails, final boolean async) {
 		val checkedEmails = verifyNonnull(emails);
 
 		if (!async) {
 			SendMailsInSimpleBatchClosure sendMailsInSimpleBatchClosure = new SendMailsInSimpleBatchClosure(operationalConfig, session, checkedEmails,
 					this::prepareEmailForSending, proxyServer, operationalConfig.isTransportModeLoggingOnly(), smtpConnectionCounter);
 			sendMailsInSimpleBatchClosure.run();
-			return CompletableFuture.completedFuture(null);
+			return CompletableFuture.completedFuture(sendMailsInSimpleBatchClosure.getReceipts());
 		}
 
 		try {
@@ -472,17 +499,60 @@ public class MailerImpl implements Mailer {
 			return ModuleLoader.batchModuleAvailable()
 					? ModuleLoader.loadBatchModule()
 						.executeAsync(operationalConfig.getExecutorService(), "sendMailsInSimpleBatch process", sendMailsInSimpleBatchClosure)
+						.thenApply(unused -> sendMailsInSimpleBatchClosure.getReceipts())
 					: AsyncOperationHelper
-						.executeAsync(operationalConfig.getExecutorService(), "sendMailsInSimpleBatch process", sendMailsInSimpleBatchClosure);
+						.executeAsync(operationalConfig.getExecutorService(), "sendMailsInSimpleBatch process", sendMailsInSimpleBatchClosure)
+						.thenApply(unused -> sendMailsInSimpleBatchClosure.getReceipts());
 		} catch (RuntimeException e) {
 			return AsyncOperationHelper.failedFuture(e);
 		}
 	}
 
+	/**
+	 * @see Mailer#sendMailsInParallelBatch(Iterable, Consumer)
+	 */
+	@Override
+	@NotNull
+	public final CompletableFuture<Void> sendMailsInParallelBatch(final Iterable<Email> emails, final Consumer<MailSubmissionResult> resultConsumer) {
+		val parallelism = ModuleLoader.batchModuleAvailable()
+				? operationalConfig.getConnectionPoolMaxSize()
+				: operationalConfig.getThreadPoolSize();
+		return sendMailsInParallelBatch(emails, parallelism, BatchSendingHelper.DEFAULT_PARALLEL_BATCH_CHUNK_SIZE, resultConsumer);
+	}
+
+	/**
+	 * @see Mailer#sendMailsInParallelBatch(Iterable, int, int, Consumer)
+	 */
+	@Override
+	@NotNull
+	public final CompletableFuture<Void> sendMailsInParallelBatch(final Iterable<Email> emails, final int parallelism, final int chunkSize,
+			final Consumer<MailSubmissionResult> resultConsumer) {
+		return BatchSendingHelper.sendInParallelChunks(emails, parallelism, chunkSize, resultConsumer, (chunk, chunkResultConsumer) -> {
+			val chunkClosure = new SendMailsInParallelBatchChunkClosure(operationalConfig, session, chunk, this::prepareEmailForSending,
+					chunkResultConsumer, proxyServer, operationalConfig.isTransportModeLoggingOnly(), smtpConnectionCounter);
+			return ModuleLoader.batchModuleAvailable()
+					? ModuleLoader.loadBatchModule().executeAsync(operationalConfig.getExecutorService(), "sendMailsInParallelBatch process", chunkClosure)
+					: AsyncOperationHelper.executeAsync(operationalConfig.getExecutorService(), "sendMailsInParallelBatch process", chunkClosure);
+		});
+	}
+
+	/**
+	 * Prepares the email as the first phases of the send that is timed by the given timer, which ends the trace if the email is rejected.
+	 */
+	@NotNull
+	private Email prepareEmailForSending(final Email userProvidedEmail, final SendPhaseTimer sendPhaseTimer) {
+		try {
+			return sendPhaseTimer.runBound(() -> prepareEmailForSending(userProvidedEmail));
+		} catch (RuntimeException e) {
+			sendPhaseTimer.ended(null, e);
+			throw e;
+		}
+	}
+
 	@NotNull
 	private Email prepareEmailForSending(final Email userProvidedEmail) {
-		val email = emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail);
-		if (validate(email)) {
+		val email = SendPhaseTimer.timePhase(SendPhase.GOVERNANCE, () -> emailGovernance.produceEmailApplyingDefaultsAndOverrides(userProvidedEmail));
+		if (SendPhaseTimer.timePhase(SendPhase.VALIDATION, () -> validate(email))) {
 			return email;
 		}
 		throw new IllegalStateException("Email not valid, but no MailException was thrown for it");
@@ -504,6 +574,7 @@ public class MailerImpl implements Mailer {
 	 */
 	@Override
 	public Future<Void> shutdownConnectionPool() {
+		SessionBasedEmailToMimeMessageConverter.clearRenderedMessageCache(session);
 		if (!operationalConfig.isExecutorServiceIsUserProvided()) {
 			operationalConfig.getExecutorService().shutdown();
 		}
@@ -571,6 +642,15 @@ public class MailerImpl implements Mailer {
 		return operationalConfig;
 	}
 
+	/**
+	 * @see Mailer#getAsyncQueueDepth()
+	 */
+	@Override
+	public int getAsyncQueueDepth() {
+		val executorService = operationalConfig.getExecutorService();
+		return executorService instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executorService).getQueue().size() : 0;
+	}
+
 	/**
 	 * @see Mailer#getEmailGovernance()
 	 */
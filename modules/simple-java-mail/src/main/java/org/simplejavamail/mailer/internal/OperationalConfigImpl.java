@@ -7,10 +7,13 @@ import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendTracer;
 import org.simplejavamail.api.mailer.config.ConnectionPoolClusterConfig;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.OAuth2AccessTokenProvider;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 
 import java.io.PrintStream;
 import java.util.List;
@@ -115,6 +118,36 @@ class OperationalConfigImpl implements OperationalConfig {
 	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withTransportModeLoggingOnly(Boolean)
 	 */
 	private final boolean transportModeLoggingOnly;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSmtpPipelining(Boolean)
+	 */
+	private final boolean smtpPipelining;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withRenderedMessageCacheSize(Integer)
+	 */
+	private final int renderedMessageCacheSize;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withRenderedMessageCacheHeapBudget(Integer)
+	 */
+	private final int renderedMessageCacheHeapBudget;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withVirtualThreads(Boolean)
+	 */
+	private final boolean virtualThreads;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withThreadPoolQueueCapacity(Integer)
+	 */
+	private final int threadPoolQueueCapacity;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy)
+	 */
+	private final ThreadPoolRejectionPolicy threadPoolRejectionPolicy;
 	
 	/**
 	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withDebugLogging(Boolean)
@@ -173,6 +206,20 @@ class OperationalConfigImpl implements OperationalConfig {
 	@Getter(AccessLevel.NONE)
 	private final OAuth2AccessTokenProvider oauth2AccessTokenProvider;
 
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withMetricsRecorder(MetricsRecorder)
+	 */
+	@NotNull
+	@ToString.Exclude
+	private final MetricsRecorder metricsRecorder;
+
+	/**
+	 * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSendTracer(SendTracer)
+	 */
+	@NotNull
+	@ToString.Exclude
+	private final SendTracer sendTracer;
+
 	@Override
 	@Nullable
 	public OAuth2AccessTokenProvider getOAuth2AccessTokenProvider() {
@@ -10,6 +10,7 @@ import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.An
 import org.simplejavamail.api.mailer.EmailTooBigException;
 import org.simplejavamail.api.mailer.MailSubmissionReceipt;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.internal.util.SendPhaseTimer;
 import org.simplejavamail.mailer.internal.util.TransportRunner;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -31,14 +32,17 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 	@NotNull private final OperationalConfig operationalConfig;
 	@NotNull private final Session session;
 	@NotNull private final Email email;
+	@NotNull private final SendPhaseTimer sendPhaseTimer;
 	private final boolean transportModeLoggingOnly;
 	@Nullable private MailSubmissionReceipt receipt;
 
-	SendMailClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Email email, @Nullable AnonymousSocks5Server proxyServer, boolean transportModeLoggingOnly, @NotNull AtomicInteger smtpConnectionCounter) {
+	SendMailClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Email email, @NotNull SendPhaseTimer sendPhaseTimer,
+			@Nullable AnonymousSocks5Server proxyServer, boolean transportModeLoggingOnly, @NotNull AtomicInteger smtpConnectionCounter) {
 		super(smtpConnectionCounter, proxyServer);
 		this.operationalConfig = operationalConfig;
 		this.session = session;
 		this.email = email;
+		this.sendPhaseTimer = sendPhaseTimer;
 		this.transportModeLoggingOnly = transportModeLoggingOnly;
 	}
 
@@ -46,17 +50,7 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 	public void executeClosure() {
 		LOGGER.trace("sending email...");
 		try {
-			if (transportModeLoggingOnly) {
-				SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
-				LOGGER.info("TRANSPORT_MODE_LOGGING_ONLY: skipping actual sending...");
-				receipt = TransportRunner.buildReceipt(email, null);
-			} else if (operationalConfig.getCustomMailer() != null) {
-				val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
-				operationalConfig.getCustomMailer().sendMessage(operationalConfig, session, email, message);
-				receipt = TransportRunner.buildReceipt(email, null);
-			} else {
-				receipt = TransportRunner.sendMessage(operationalConfig.getClusterKey(), session, email);
-			}
+			receipt = sendPhaseTimer.runBound(this::sendMail);
 		} catch (final MessagingException e) {
 			handleException(e, GENERIC_ERROR);
 		} catch (final MailerException | EmailTooBigException e) {
@@ -64,6 +58,27 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 		} catch (final Exception e) {
 			handleException(e, UNKNOWN_ERROR);
 		}
+		sendPhaseTimer.ended(receipt, null);
+	}
+
+	@NotNull
+	private MailSubmissionReceipt sendMail()
+			throws MessagingException {
+		if (transportModeLoggingOnly) {
+			SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email));
+			LOGGER.info("TRANSPORT_MODE_LOGGING_ONLY: skipping actual sending...");
+			return TransportRunner.buildReceipt(email, null);
+		} else if (operationalConfig.getCustomMailer() != null) {
+			val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
+			try {
+				operationalConfig.getCustomMailer().sendMessage(operationalConfig, session, email, message);
+			} finally {
+				SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+			}
+			return TransportRunner.buildReceipt(email, null);
+		} else {
+			return TransportRunner.sendMessage(operationalConfig.getClusterKey(), session, email);
+		}
 	}
 
 	@NotNull
@@ -79,6 +94,8 @@ class SendMailClosure extends AbstractProxyServerSyncingClosure {
 		val emailId = ofNullable(email.getId())
 				.map(id -> format("ID: '%s'", id))
 				.orElse(format("Subject: '%s'", email.getSubject()));
-		throw new MailerException(format(errorMsg, emailId), e);
+		val mailerException = new MailerException(format(errorMsg, emailId), e);
+		sendPhaseTimer.ended(null, mailerException);
+		throw mailerException;
 	}
 }
@@ -0,0 +1,165 @@
+package org.simplejavamail.mailer.internal;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import lombok.val;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.MailException;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
+import org.simplejavamail.api.mailer.EmailTooBigException;
+import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.MailSubmissionResult;
+import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.TransportRunner;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
+import static org.simplejavamail.internal.util.Preconditions.checkNonEmptyArgument;
+import static org.simplejavamail.mailer.internal.MailerException.GENERIC_ERROR;
+import static org.simplejavamail.mailer.internal.MailerException.MAILER_ERROR;
+import static org.simplejavamail.mailer.internal.MailerException.UNKNOWN_ERROR;
+
+/**
+ * Sends one chunk of a parallel batch over one claimed transport, reporting the result of each email rather than stopping at the first failure.
+ * <p>
+ * If the transport is lost while sending, it is discarded and the rest of the chunk continues on a newly claimed transport.
+ */
+class SendMailsInParallelBatchChunkClosure extends AbstractProxyServerSyncingClosure {
+
+	@NotNull private final OperationalConfig operationalConfig;
+	@NotNull private final Session session;
+	@NotNull private final List<Email> userProvidedEmails;
+	@NotNull private final Function<Email, Email> emailPreparer;
+	@NotNull private final Consumer<MailSubmissionResult> resultConsumer;
+	private final boolean transportModeLoggingOnly;
+
+	SendMailsInParallelBatchChunkClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull List<Email> userProvidedEmails,
+			@NotNull Function<Email, Email> emailPreparer, @NotNull Consumer<MailSubmissionResult> resultConsumer, @Nullable AnonymousSocks5Server proxyServer,
+			boolean transportModeLoggingOnly, @NotNull AtomicInteger smtpConnectionCounter) {
+		super(smtpConnectionCounter, proxyServer);
+		this.operationalConfig = operationalConfig;
+		this.session = session;
+		this.userProvidedEmails = userProvidedEmails;
+		this.emailPreparer = emailPreparer;
+		this.resultConsumer = resultConsumer;
+		this.transportModeLoggingOnly = transportModeLoggingOnly;
+	}
+
+	@Override
+	public void executeClosure() {
+		LOGGER.trace("sending chunk of {} emails in parallel batch...", userProvidedEmails.size());
+		if (transportModeLoggingOnly || operationalConfig.getCustomMailer() != null) {
+			for (val userProvidedEmail : userProvidedEmails) {
+				sendWithoutTransport(userProvidedEmail);
+			}
+		} else {
+			int next = 0;
+			while (next < userProvidedEmails.size()) {
+				next = sendOnClaimedTransport(next);
+			}
+		}
+	}
+
+	private void sendWithoutTransport(@NotNull final Email userProvidedEmail) {
+		Email email = null;
+		try {
+			email = emailPreparer.apply(userProvidedEmail);
+			val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
+			try {
+				if (transportModeLoggingOnly) {
+					LOGGER.info("TRANSPORT_MODE_LOGGING_ONLY: skipping actual sending...");
+				} else {
+					checkNonEmptyArgument(operationalConfig.getCustomMailer(), "customMailer").sendMessage(operationalConfig, session, email, message);
+				}
+			} finally {
+				SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+			}
+			reportSuccess(userProvidedEmail, TransportRunner.buildReceipt(email, null));
+		} catch (final Exception e) {
+			reportFailure(userProvidedEmail, email, e);
+		}
+	}
+
+	/**
+	 * @return The index of the first email that was not sent yet, which is only before the end of the chunk if the transport was lost.
+	 */
+	private int sendOnClaimedTransport(final int start) {
+		try {
+			return TransportRunner.runOnTransport(operationalConfig.getClusterKey(), session, (transport, actualSessionUsed) -> {
+				for (int i = start; i < userProvidedEmails.size(); i++) {
+					val userProvidedEmail = userProvidedEmails.get(i);
+					final Email email;
+					try {
+						email = emailPreparer.apply(userProvidedEmail);
+					} catch (final Exception e) {
+						// the email never reached the transport, so the transport can be used for the next one
+						reportFailure(userProvidedEmail, null, e);
+						continue;
+					}
+					try {
+						reportSuccess(userProvidedEmail, TransportRunner.sendMessageOnTransport(transport, actualSessionUsed, email));
+					} catch (final Exception e) {
+						reportFailure(userProvidedEmail, email, e);
+						if (!transport.isConnected()) {
+							// makes sure the transport is discarded instead of returned to the pool
+							throw new TransportLostException(i + 1);
+						}
+					}
+				}
+				return userProvidedEmails.size();
+			});
+		} catch (final TransportLostException e) {
+			LOGGER.debug("transport lost while sending parallel batch chunk, resuming on a new transport");
+			return e.resumeAt;
+		} catch (final MessagingException | RuntimeException e) {
+			// no transport could be claimed or connected, so the remainder of this chunk fails
+			for (int i = start; i < userProvidedEmails.size(); i++) {
+				reportFailure(userProvidedEmails.get(i), null, e);
+			}
+			return userProvidedEmails.size();
+		}
+	}
+
+	private void reportSuccess(@NotNull final Email userProvidedEmail, @NotNull final MailSubmissionReceipt receipt) {
+		resultConsumer.accept(MailSubmissionResult.succeeded(userProvidedEmail, receipt));
+	}
+
+	private void reportFailure(@NotNull final Email userProvidedEmail, @Nullable final Email email, @NotNull final Exception e) {
+		val failedEmail = ofNullable(email).orElse(userProvidedEmail);
+		LOGGER.trace("Failed to send email {} in parallel batch\n{}", failedEmail.getId(), failedEmail);
+		resultConsumer.accept(MailSubmissionResult.failed(userProvidedEmail, toMailException(failedEmail, e)));
+	}
+
+	@NotNull
+	private static MailException toMailException(@NotNull final Email email, @NotNull final Exception e) {
+		val emailId = ofNullable(email.getId())
+				.map(id -> format("ID: '%s'", id))
+				.orElse(format("Subject: '%s'", email.getSubject()));
+		if (e instanceof MessagingException) {
+			return new MailerException(format(GENERIC_ERROR, emailId), e);
+		} else if (e instanceof MailerException || e instanceof EmailTooBigException) {
+			return new MailerException(format(MAILER_ERROR, emailId), e);
+		} else if (e instanceof MailException) {
+			return (MailException) e;
+		}
+		return new MailerException(format(UNKNOWN_ERROR, emailId), e);
+	}
+
+	private static class TransportLostException extends MessagingException {
+		private static final long serialVersionUID = 1L;
+
+		private final int resumeAt;
+
+		TransportLostException(final int resumeAt) {
+			super("transport lost");
+			this.resumeAt = resumeAt;
+		}
+	}
+}
@@ -11,11 +11,15 @@ import org.simplejavamail.MailException;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.authenticatedsockssupport.socks5server.AnonymousSocks5Server;
 import org.simplejavamail.api.mailer.EmailTooBigException;
+import org.simplejavamail.api.mailer.MailSubmissionReceipt;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
+import org.simplejavamail.mailer.internal.util.PipeliningSMTPTransport;
 import org.simplejavamail.mailer.internal.util.TransportConnectionHelper;
 import org.simplejavamail.mailer.internal.util.TransportRunner;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -36,6 +40,7 @@ class SendMailsInSimpleBatchClosure extends AbstractProxyServerSyncingClosure {
 	@NotNull private final Iterable<Email> userProvidedEmails;
 	@NotNull private final Function<Email, Email> emailPreparer;
 	private final boolean transportModeLoggingOnly;
+	@NotNull private final List<MailSubmissionReceipt> receipts = new ArrayList<>();
 	@Nullable private Email currentEmail;
 
 	SendMailsInSimpleBatchClosure(@NotNull OperationalConfig operationalConfig, @NotNull Session session, @NotNull Iterable<Email> userProvidedEmails,
@@ -81,7 +86,9 @@ class SendMailsInSimpleBatchClosure extends AbstractProxyServerSyncingClosure {
 	private void convertAndLogEmailsOnly(@NotNull final Iterator<Email> emailIterator)
 			throws MessagingException {
 		while (emailIterator.hasNext()) {
-			SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, prepareNextEmail(emailIterator));
+			val email = prepareNextEmail(emailIterator);
+			SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email));
+			receipts.add(TransportRunner.buildReceipt(email, null));
 		}
 	}
 
@@ -91,22 +98,32 @@ class SendMailsInSimpleBatchClosure extends AbstractProxyServerSyncingClosure {
 		while (emailIterator.hasNext()) {
 			val email = prepareNextEmail(emailIterator);
 			final MimeMessage message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
-			customMailer.sendMessage(operationalConfig, session, email, message);
+			try {
+				customMailer.sendMessage(operationalConfig, session, email, message);
+			} finally {
+				SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+			}
+			receipts.add(TransportRunner.buildReceipt(email, null));
 		}
 	}
 
 	private void sendEmailsUsingSingleTransport(@NotNull final Iterator<Email> emailIterator)
 			throws MessagingException {
-		try (Transport transport = session.getTransport()) {
+		try (Transport transport = operationalConfig.isSmtpPipelining() ? PipeliningSMTPTransport.obtainTransport(session) : session.getTransport()) {
 			TransportConnectionHelper.connectTransport(transport, session);
 			while (emailIterator.hasNext()) {
-				TransportRunner.sendMessageOnTransport(transport, session, prepareNextEmail(emailIterator));
+				receipts.add(TransportRunner.sendMessageOnTransport(transport, session, prepareNextEmail(emailIterator)));
 			}
 		} finally {
 			LOGGER.trace("closing transport");
 		}
 	}
 
+	@NotNull
+	List<MailSubmissionReceipt> getReceipts() {
+		return receipts;
+	}
+
 	private Email prepareNextEmail(@NotNull final Iterator<Email> emailIterator) {
 		currentEmail = null;
 		currentEmail = emailPreparer.apply(emailIterator.next());
@@ -135,7 +135,7 @@ class SendMailsWithOpenConnectionClosure<E extends Exception> extends AbstractPr
 	private MailSubmissionReceipt convertAndLogEmailOnly(@NotNull final Email userProvidedEmail) {
 		try {
 			val email = prepareEmail(userProvidedEmail);
-			SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email);
+			SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(session, email));
 			return TransportRunner.buildReceipt(email, null);
 		} catch (final MessagingException e) {
 			handleException(e, GENERIC_ERROR);
@@ -8,21 +8,26 @@ import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.val;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.mailer.EmailTooBigException;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendPhase;
 import org.simplejavamail.api.mailer.config.EmailGovernance;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.converter.internal.mimemessage.ImmutableDelegatingSMTPMessage;
 import org.simplejavamail.converter.internal.mimemessage.MimeMessageProducerHelper;
 import org.simplejavamail.email.internal.InternalEmail;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
+import org.simplejavamail.internal.util.SendPhaseTimer;
 import org.simplejavamail.mailer.internal.util.MessageIdFixingMimeMessage;
+import org.simplejavamail.mailer.internal.util.RenderedMessageCache;
 import org.simplejavamail.mailer.internal.util.SessionLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 
 import static java.lang.String.format;
@@ -49,50 +54,172 @@ public class SessionBasedEmailToMimeMessageConverter {
     private final Session session;
     private final OperationalConfig operationalConfig;
     private final EmailGovernance emailGovernance;
+    @Nullable
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final RenderedMessageCache renderedMessageCache;
 
     public static void primeSession(Session session, OperationalConfig operationalConfig, EmailGovernance emailGovernance) {
-        session.getProperties().put(MIMEMESSAGE_CONVERTER_KEY, new SessionBasedEmailToMimeMessageConverter(session, operationalConfig, emailGovernance));
+        val renderedMessageCache = operationalConfig.getRenderedMessageCacheSize() > 0
+                ? new RenderedMessageCache(operationalConfig.getRenderedMessageCacheSize(), operationalConfig.getRenderedMessageCacheHeapBudget())
+                : null;
+        session.getProperties().put(MIMEMESSAGE_CONVERTER_KEY, new SessionBasedEmailToMimeMessageConverter(session, operationalConfig, emailGovernance, renderedMessageCache));
+    }
+
+    /**
+     * Drops all cached renderings of the Mailer this Session belongs to, if the rendered message cache is enabled.
+     */
+    public static void clearRenderedMessageCache(@NotNull Session session) {
+        val mimeMessageConverter = (SessionBasedEmailToMimeMessageConverter) session.getProperties().get(MIMEMESSAGE_CONVERTER_KEY);
+        if (mimeMessageConverter != null && mimeMessageConverter.renderedMessageCache != null) {
+            mimeMessageConverter.renderedMessageCache.clear();
+        }
+    }
+
+    /**
+     * @return The metrics recorder of the Mailer this Session belongs to, or {@link MetricsRecorder#NOOP} if it does not belong to a Mailer.
+     */
+    @NotNull
+    public static MetricsRecorder resolveMetricsRecorder(@NotNull Session session) {
+        val mimeMessageConverter = (SessionBasedEmailToMimeMessageConverter) session.getProperties().get(MIMEMESSAGE_CONVERTER_KEY);
+        return mimeMessageConverter != null ? mimeMessageConverter.operationalConfig.getMetricsRecorder() : MetricsRecorder.NOOP;
+    }
+
+    /**
+     * @return Whether the Mailer this Session belongs to sends asynchronously on virtual threads it created itself, rather than on a user-provided
+     * executor.
+     */
+    public static boolean resolveSendsOnVirtualThreads(@NotNull Session session) {
+        val mimeMessageConverter = (SessionBasedEmailToMimeMessageConverter) session.getProperties().get(MIMEMESSAGE_CONVERTER_KEY);
+        return mimeMessageConverter != null && mimeMessageConverter.operationalConfig.isVirtualThreads()
+                && !mimeMessageConverter.operationalConfig.isExecutorServiceIsUserProvided();
     }
 
     public static void unprimeSession(@NotNull Session session) {
         session.getProperties().remove(MIMEMESSAGE_CONVERTER_KEY);
     }
 
+    /**
+     * Call once the message produced by {@link #convertAndLogMimeMessage(Session, Email)} was sent or failed to be sent, so a cached rendering it
+     * was served from can be deleted once evicted.
+     */
+    public static void releaseMimeMessage(@NotNull MimeMessage message) {
+        RenderedMessageCache.releaseMessage(message);
+    }
+
     @NotNull
     public static MimeMessage convertAndLogMimeMessage(Session session, final Email email) throws MessagingException {
+        return SendPhaseTimer.timePhase(SendPhase.MIME_PRODUCTION, () -> convertAndLogMimeMessageUsingSession(session, email));
+    }
+
+    @NotNull
+    private static MimeMessage convertAndLogMimeMessageUsingSession(Session session, final Email email) throws MessagingException {
         val mimeMessageConverter = (SessionBasedEmailToMimeMessageConverter) session.getProperties().get(MIMEMESSAGE_CONVERTER_KEY);
+        val renderedMessageCache = mimeMessageConverter.renderedMessageCache;
+        if (renderedMessageCache != null && email.getId() != null) {
+            return convertAndLogMimeMessageUsingCache(renderedMessageCache, session, mimeMessageConverter, email, email.getId());
+        }
+
         val mimeMessage = mimeMessageConverter.convertAndLogMimeMessage(email);
         val governance = mimeMessageConverter.emailGovernance;
 
         if (governance.getMaximumEmailSize() != null) {
-            val emailSize = calculateEmailSize(mimeMessage);
-            if (emailSize > governance.getMaximumEmailSize()) {
-                throw new EmailTooBigException(emailSize, governance.getMaximumEmailSize());
-            }
+            val size = verifyEmailSize(mimeMessage, governance.getMaximumEmailSize());
+            mimeMessageConverter.operationalConfig.getMetricsRecorder().recordAmount(MetricsRecorder.MESSAGE_SIZE, size);
         }
         return mimeMessage;
     }
 
-    private static int calculateEmailSize(MimeMessage mimeMessage) throws MessagingException {
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+    /**
+     * Serves the rendering cached for the email id if it was rendered from the same email, or renders the message once into the cache, verifying
+     * its size while doing so. A cached rendering is logged just like a newly produced message.
+     */
+    @NotNull
+    private static MimeMessage convertAndLogMimeMessageUsingCache(RenderedMessageCache renderedMessageCache, Session session,
+            SessionBasedEmailToMimeMessageConverter mimeMessageConverter, Email email, String emailId) throws MessagingException {
+        val startTime = System.nanoTime();
+        val cachedMessage = renderedMessageCache.obtainRenderedMessage(session, emailId, email);
+        if (cachedMessage != null) {
+            LOGGER.trace("reusing rendered message for email {}", emailId);
+            try {
+                return mimeMessageConverter.logMimeMessage(email, cachedMessage, startTime);
+            } catch (MessagingException | RuntimeException e) {
+                releaseMimeMessage(cachedMessage);
+                throw e;
+            }
+        }
+
+        val mimeMessage = mimeMessageConverter.convertAndLogMimeMessage(email);
+        val maximumEmailSize = mimeMessageConverter.emailGovernance.getMaximumEmailSize();
+        val spool = renderedMessageCache.newMessageSpool();
+        val os = maximumEmailSize != null ? new SizeLimitingOutputStream(maximumEmailSize, spool) : spool;
+        try {
+            mimeMessage.writeTo(os);
+            spool.close();
+        } catch (IOException e) {
+            spool.discard();
+            rethrowIfSizeLimitExceeded(e, os, maximumEmailSize);
+            throw new RuntimeException("error trying to render email", e);
+        } catch (MessagingException | RuntimeException e) {
+            spool.discard();
+            rethrowIfSizeLimitExceeded(e, os, maximumEmailSize);
+            throw e;
+        }
+        mimeMessageConverter.operationalConfig.getMetricsRecorder().recordAmount(MetricsRecorder.MESSAGE_SIZE, spool.size());
+        return renderedMessageCache.cacheRenderedMessage(session, emailId, email, spool, mimeMessage);
+    }
+
+    /**
+     * Renders the message into a stream that only counts bytes, so the message is never held in memory as a whole, and stops rendering as soon
+     * as the maximum size is exceeded.
+     *
+     * @return The size of the message in bytes.
+     */
+    private static long verifyEmailSize(MimeMessage mimeMessage, int maximumEmailSize) throws MessagingException {
+        val os = new SizeLimitingOutputStream(maximumEmailSize, null);
+        try {
             mimeMessage.writeTo(os);
-            return os.size();
+            return os.size;
         } catch (IOException e) {
+            rethrowIfSizeLimitExceeded(e, os, maximumEmailSize);
             throw new RuntimeException("error trying to calculate email size", e);
+        } catch (MessagingException | RuntimeException e) {
+            rethrowIfSizeLimitExceeded(e, os, maximumEmailSize);
+            throw e;
+        }
+    }
+
+    /**
+     * DataContentHandlers are free to wrap the IOException of the stream they write to (in a MessagingException or another IOException), so
+     * the cause chain is searched for the exceeded limit rather than just the exception itself.
+     */
+    private static void rethrowIfSizeLimitExceeded(Exception e, OutputStream os, @Nullable Integer maximumEmailSize) {
+        if (maximumEmailSize != null && os instanceof SizeLimitingOutputStream) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause() != cause ? cause.getCause() : null) {
+                if (cause instanceof SizeLimitExceededException) {
+                    throw new EmailTooBigException(((SizeLimitingOutputStream) os).size, maximumEmailSize);
+                }
+            }
         }
     }
 
     @NotNull
     private MimeMessage convertAndLogMimeMessage(final Email email) throws MessagingException {
+        val startTime = System.nanoTime();
         val message = convertMimeMessage(email, session);
 
-        SessionLogger.logSession(session, operationalConfig.isAsync(), "mail");
-
         if (!messageIsProperlyWrappedForCustomMessageId(message)) {
             throw new AssertionError("Wrong MimeMessage type; would be unable to fix Message-ID on message.saveChanges()");
         }
 
         message.saveChanges(); // some headers and id's will be set for this specific message
+        return logMimeMessage(email, message, startTime);
+    }
+
+    @NotNull
+    private MimeMessage logMimeMessage(final Email email, final MimeMessage message, final long startTime) throws MessagingException {
+        SessionLogger.logSession(session, operationalConfig.isAsync(), "mail");
+        operationalConfig.getMetricsRecorder().recordTime(MetricsRecorder.MIME_BUILD_TIME, System.nanoTime() - startTime);
 
         //noinspection deprecation
         ((InternalEmail) email).updateId(message.getMessageID());
@@ -129,4 +256,47 @@ public class SessionBasedEmailToMimeMessageConverter {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Passes everything written to it on to the target (or discards it if there is none), but counts the bytes and fails once there are more
+     * than the given limit.
+     */
+    private static class SizeLimitingOutputStream extends OutputStream {
+        private final long limit;
+        @Nullable
+        private final OutputStream target;
+        private long size;
+
+        SizeLimitingOutputStream(final long limit, @Nullable final OutputStream target) {
+            this.limit = limit;
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            count(1);
+            if (target != null) {
+                target.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            count(len);
+            if (target != null) {
+                target.write(b, off, len);
+            }
+        }
+
+        private void count(final int len) throws SizeLimitExceededException {
+            size += len;
+            if (size > limit) {
+                throw new SizeLimitExceededException();
+            }
+        }
+    }
+
+    private static class SizeLimitExceededException extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+}
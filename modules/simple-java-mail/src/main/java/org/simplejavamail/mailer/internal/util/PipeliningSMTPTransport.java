@@ -0,0 +1,327 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import jakarta.mail.event.TransportEvent;
+import jakarta.mail.internet.InternetAddress;
+import lombok.val;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSSLTransport;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.eclipse.angus.mail.util.PropUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.mailer.RejectedRecipient;
+import org.simplejavamail.api.mailer.SmtpServerResponse;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.addAll;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Angus {@link SMTPTransport} that writes the envelope of each message ({@code MAIL FROM}, every {@code RCPT TO} and {@code DATA}) in one go and only
+ * then reads the replies, as described in <a href="https://www.rfc-editor.org/rfc/rfc2920">RFC 2920</a>. This turns a round trip per envelope command
+ * into a fixed number of round trips per message regardless of the number of recipients, while these round trips are what limits the throughput of
+ * a connection on high-latency links.
+ * <p>
+ * Pipelining is only used if the server advertised {@code PIPELINING} in its {@code EHLO} reply, otherwise this transport behaves exactly like its
+ * parent. Command construction (including address normalization, {@code SMTPUTF8} and the {@code NOTIFY} options of an {@code SMTPMessage}) and the
+ * actual data transfer are left to Angus; only the handling of the replies is taken over, since the replies to the {@code RCPT TO} commands are only
+ * known once {@code DATA} has been committed already. Recipients refused by the server therefore no longer fail the message as long as another
+ * recipient was accepted, but are collected for the {@link org.simplejavamail.api.mailer.MailSubmissionReceipt} instead, and are reported to transport
+ * listeners with a {@link TransportEvent#MESSAGE_PARTIALLY_DELIVERED} event.
+ *
+ * @see org.simplejavamail.api.mailer.MailerGenericBuilder#withSmtpPipelining(Boolean)
+ */
+public class PipeliningSMTPTransport extends SMTPTransport {
+
+	private static final Logger LOGGER = getLogger(PipeliningSMTPTransport.class);
+
+	@NotNull private final String protocol;
+	@NotNull private final List<String> deferredCommands = new ArrayList<>();
+	@NotNull private final List<RejectedRecipient> rejectedRecipients = new ArrayList<>();
+	@Nullable private Message message;
+	@Nullable private Address[] recipients;
+	// the outcome of a pipelined envelope, which Angus can't know about as it only saw the replies faked while deferring
+	@Nullable private Address[] validSentAddresses;
+	@Nullable private Address[] validUnsentAddresses;
+	@Nullable private Address[] invalidAddresses;
+	private boolean pipelining;
+	private boolean deferring;
+	private boolean dataAlreadyAccepted;
+
+	private PipeliningSMTPTransport(@NotNull final Session session, @NotNull final String protocol) {
+		super(session, new URLName(protocol, null, -1, null, null, null), protocol, "smtps".equals(protocol));
+		this.protocol = protocol;
+	}
+
+	/**
+	 * @return A pipelining transport if the session is configured for Angus' own {@code smtp} or {@code smtps} provider, otherwise the session's
+	 * regular transport (for example when a custom provider was registered for the protocol).
+	 */
+	@NotNull
+	public static Transport obtainTransport(@NotNull final Session session)
+			throws NoSuchProviderException {
+		val protocol = session.getProperty("mail.transport.protocol");
+		if (protocol != null) {
+			val providerClassName = session.getProvider(protocol).getClassName();
+			if (("smtp".equals(protocol) && SMTPTransport.class.getName().equals(providerClassName)) ||
+					("smtps".equals(protocol) && SMTPSSLTransport.class.getName().equals(providerClassName))) {
+				return new PipeliningSMTPTransport(session, protocol);
+			}
+		}
+		LOGGER.debug("SMTP pipelining not available for transport protocol {}, using the regular transport", protocol);
+		return session.getTransport();
+	}
+
+	/**
+	 * @return The recipients the server refused for the last message, while accepting it for the others.
+	 */
+	@NotNull
+	public synchronized List<RejectedRecipient> getRejectedRecipients() {
+		return new ArrayList<>(rejectedRecipients);
+	}
+
+	@Override
+	public synchronized void sendMessage(final Message message, final Address[] addresses)
+			throws MessagingException {
+		this.message = message;
+		this.recipients = addresses;
+		rejectedRecipients.clear();
+		try {
+			super.sendMessage(message, addresses);
+		} finally {
+			this.message = null;
+			this.recipients = null;
+			validSentAddresses = null;
+			validUnsentAddresses = null;
+			invalidAddresses = null;
+			pipelining = false;
+			deferring = false;
+			dataAlreadyAccepted = false;
+			deferredCommands.clear();
+		}
+	}
+
+	/**
+	 * Lets Angus compose the {@code MAIL FROM} command, but holds it back so it can be sent along with the rest of the envelope.
+	 */
+	@Override
+	protected void mailFrom()
+			throws MessagingException {
+		// with reportsuccess, Angus fails every message with the replies to RCPT TO, which it won't get to see here
+		pipelining = supportsExtension("PIPELINING") && !getReportSuccess();
+		deferring = pipelining;
+		try {
+			super.mailFrom();
+		} finally {
+			deferring = false;
+		}
+	}
+
+	/**
+	 * Lets Angus compose the {@code RCPT TO} commands as well, then sends the whole envelope and evaluates the actual replies.
+	 */
+	@Override
+	protected void rcptTo()
+			throws MessagingException {
+		if (!pipelining) {
+			super.rcptTo();
+			return;
+		}
+
+		deferring = true;
+		try {
+			super.rcptTo();
+		} finally {
+			deferring = false;
+		}
+
+		val addresses = expandGroups(recipients);
+		val envelope = new ArrayList<String>(deferredCommands);
+		deferredCommands.clear();
+		// with CHUNKING, Angus sends the content with BDAT commands, which are not part of the envelope
+		val pipelineData = !usesChunking();
+		if (pipelineData) {
+			envelope.add("DATA");
+		}
+
+		// Angus flushes each command, but with Nagle's algorithm whatever follows the first command still leaves in a single segment
+		for (val command : envelope) {
+			super.sendCommand(command);
+		}
+
+		val mailFromReturnCode = super.readServerResponse();
+		val mailFromResponse = getLastServerResponse();
+
+		val accepted = new ArrayList<Address>();
+		val validUnsent = new ArrayList<Address>();
+		val invalid = new ArrayList<Address>();
+		MessagingException recipientFailures = null;
+		for (int i = 0; i < addresses.size(); i++) {
+			val address = addresses.get(i);
+			val returnCode = super.readServerResponse();
+			if (returnCode >= 200 && returnCode < 300) {
+				accepted.add(address);
+			} else {
+				(returnCode >= 400 && returnCode < 500 ? validUnsent : invalid).add(address);
+				rejectedRecipients.add(new RejectedRecipient(address.getAddress(), new SmtpServerResponse(returnCode, getLastServerResponse())));
+				val failure = new SMTPAddressFailedException(address, envelope.get(i + 1), returnCode, getLastServerResponse());
+				if (recipientFailures == null) {
+					recipientFailures = failure;
+				} else {
+					recipientFailures.setNextException(failure);
+				}
+			}
+		}
+		val dataReturnCode = pipelineData ? super.readServerResponse() : 354;
+		val dataResponse = getLastServerResponse();
+
+		if (mailFromReturnCode != 250) {
+			failEnvelope(pipelineData && dataReturnCode == 354, new ArrayList<>(addresses), new ArrayList<>());
+			throw new SMTPSendFailedException(envelope.get(0), mailFromReturnCode, mailFromResponse, null,
+					validSentAddresses, validUnsentAddresses, invalidAddresses);
+		} else if (accepted.isEmpty()) {
+			failEnvelope(pipelineData && dataReturnCode == 354, validUnsent, invalid);
+			throw new SendFailedException("Invalid Addresses", recipientFailures,
+					validSentAddresses, validUnsentAddresses, invalidAddresses);
+		} else if (dataReturnCode != 354) {
+			accepted.addAll(validUnsent);
+			failEnvelope(false, accepted, invalid);
+			throw new SMTPSendFailedException("DATA", dataReturnCode, dataResponse, recipientFailures,
+					validSentAddresses, validUnsentAddresses, invalidAddresses);
+		}
+
+		if (!rejectedRecipients.isEmpty()) {
+			LOGGER.debug("SMTP server refused {} of {} recipients, sending to the remaining recipients: {}",
+					rejectedRecipients.size(), addresses.size(), rejectedRecipients);
+		}
+		validSentAddresses = accepted.toArray(new Address[0]);
+		validUnsentAddresses = validUnsent.toArray(new Address[0]);
+		invalidAddresses = invalid.toArray(new Address[0]);
+		dataAlreadyAccepted = pipelineData;
+	}
+
+	/**
+	 * Swallows Angus' own {@code DATA} command if it was already sent with the envelope.
+	 */
+	@Override
+	protected void sendCommand(final String cmd)
+			throws MessagingException {
+		if (deferring) {
+			deferredCommands.add(cmd);
+		} else if (!dataAlreadyAccepted || !"DATA".equals(cmd)) {
+			super.sendCommand(cmd);
+		}
+	}
+
+	/**
+	 * Answers for the replies that are read in {@link #rcptTo()} instead. The last server response of the transport is left as is on purpose, so it
+	 * still reflects the actual reply to {@code DATA}.
+	 */
+	@Override
+	protected int readServerResponse()
+			throws MessagingException {
+		if (deferring) {
+			return 250;
+		} else if (dataAlreadyAccepted) {
+			dataAlreadyAccepted = false;
+			return 354;
+		}
+		return super.readServerResponse();
+	}
+
+	/**
+	 * Reports the message as not delivered to the transport listeners, the same way Angus does when it fails an envelope, and resets the SMTP session
+	 * for the next message.
+	 */
+	private void failEnvelope(final boolean dataModeEntered, @NotNull final List<Address> validUnsent, @NotNull final List<Address> invalid) {
+		rejectedRecipients.clear();
+		validSentAddresses = new Address[0];
+		validUnsentAddresses = validUnsent.toArray(new Address[0]);
+		invalidAddresses = invalid.toArray(new Address[0]);
+		super.notifyTransportListeners(TransportEvent.MESSAGE_NOT_DELIVERED, validSentAddresses, validUnsentAddresses, invalidAddresses, message);
+		resetEnvelope(dataModeEntered);
+	}
+
+	/**
+	 * Sends {@code RSET}, unless the server entered data mode regardless of the failed envelope, in which case everything up to the terminating dot
+	 * would be taken as message content. The connection is closed then instead, as it is when the reset fails.
+	 */
+	private void resetEnvelope(final boolean dataModeEntered) {
+		if (dataModeEntered) {
+			LOGGER.debug("SMTP server entered data mode after failed pipelined envelope, closing connection");
+			closeQuietly();
+			return;
+		}
+		try {
+			super.sendCommand("RSET");
+			super.readServerResponse();
+		} catch (MessagingException e) {
+			LOGGER.debug("unable to reset SMTP session after failed pipelined envelope, closing connection", e);
+			closeQuietly();
+		}
+	}
+
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (MessagingException closeException) {
+			LOGGER.trace("closing transport failed", closeException);
+		}
+	}
+
+	/**
+	 * Angus reports the addresses from its own bookkeeping, which for a pipelined envelope considers every recipient accepted. These are replaced by
+	 * the actual outcome here, where a message that was sent while some recipients were refused is reported as partially delivered.
+	 */
+	@Override
+	protected void notifyTransportListeners(final int type, final Address[] validSent, final Address[] validUnsent, final Address[] invalid,
+			final Message msg) {
+		if (validSentAddresses == null || validUnsentAddresses == null || invalidAddresses == null) {
+			super.notifyTransportListeners(type, validSent, validUnsent, invalid, msg);
+		} else if (type == TransportEvent.MESSAGE_DELIVERED) {
+			val partiallyDelivered = validUnsentAddresses.length > 0 || invalidAddresses.length > 0;
+			super.notifyTransportListeners(partiallyDelivered ? TransportEvent.MESSAGE_PARTIALLY_DELIVERED : type,
+					validSentAddresses, validUnsentAddresses, invalidAddresses, msg);
+		} else if (type == TransportEvent.MESSAGE_NOT_DELIVERED) {
+			val unsent = new ArrayList<Address>();
+			addAll(unsent, validSentAddresses);
+			addAll(unsent, validUnsentAddresses);
+			super.notifyTransportListeners(type, new Address[0], unsent.toArray(new Address[0]), invalidAddresses, msg);
+		} else {
+			super.notifyTransportListeners(type, validSentAddresses, validUnsentAddresses, invalidAddresses, msg);
+		}
+	}
+
+	private boolean usesChunking() {
+		return PropUtil.getIntProperty(session.getProperties(), "mail." + protocol + ".chunksize", -1) > 0 && supportsExtension("CHUNKING");
+	}
+
+	@NotNull
+	private static List<InternetAddress> expandGroups(@Nullable final Address[] addresses)
+			throws MessagingException {
+		val expandedAddresses = new ArrayList<InternetAddress>();
+		if (addresses != null) {
+			for (val address : addresses) {
+				val internetAddress = (InternetAddress) address;
+				if (internetAddress.isGroup()) {
+					addAll(expandedAddresses, internetAddress.getGroup(false));
+				} else {
+					expandedAddresses.add(internetAddress);
+				}
+			}
+		}
+		return expandedAddresses;
+	}
+}
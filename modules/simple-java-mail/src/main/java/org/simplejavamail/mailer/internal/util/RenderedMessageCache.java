@@ -0,0 +1,350 @@
+package org.simplejavamail.mailer.internal.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import lombok.val;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.api.email.AttachmentResource;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.internal.util.MessageSpool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps the final encoded form of sent emails by email id, so resending the same email (a retry after a transient failure, or submitting it
+ * again through another cluster member) streams the previously rendered bytes instead of building the MIME tree, encoding attachments and
+ * signing / encrypting all over again. A rendering is only reused for an email with the same content as the one it was rendered from, otherwise
+ * the email is rendered again and replaces it. To check this, only a digest of the email and weak references to the data it doesn't describe
+ * (attachment data sources, a forwarded message and S/MIME certificates) are kept, so the cache doesn't hold on to the email and its attachments.
+ * <p>
+ * Rendered messages are kept on the heap as long as the total stays within the heap budget, beyond that they are spooled to a temporary file
+ * (see {@link MessageSpool}). The least recently used message is evicted once the maximum number of entries is reached. A spooled file that is
+ * still being sent when evicted is deleted once sending is done, which the send path reports with {@link #releaseMessage(MimeMessage)}.
+ * <p>
+ * Each Mailer has its own cache (see {@link org.simplejavamail.api.mailer.MailerGenericBuilder#withRenderedMessageCacheSize(Integer)}), so the
+ * cached renderings always belong to the email defaults and overrides of that Mailer.
+ */
+public class RenderedMessageCache {
+
+	/**
+	 * Heap is claimed from the budget in chunks of at least this size while rendering, rather than for every write.
+	 */
+	private static final int HEAP_RESERVATION_CHUNK = 8 * 1024;
+
+	private final int maximumEntries;
+	private final long heapBudget;
+
+	private final LinkedHashMap<String, RenderedMessage> renderedMessages = new LinkedHashMap<>(16, 0.75f, true);
+	/**
+	 * Heap claimed by cached renderings as well as by renderings still in progress.
+	 */
+	private final AtomicLong heapUsed = new AtomicLong();
+
+	public RenderedMessageCache(final int maximumEntries, final long heapBudget) {
+		this.maximumEntries = maximumEntries;
+		this.heapBudget = heapBudget;
+	}
+
+	/**
+	 * @return A new message parsed from the cached rendering for the given email id, or {@code null} if there is none or if it was rendered from
+	 * an email with different content.
+	 */
+	@Nullable
+	public MimeMessage obtainRenderedMessage(@NotNull final Session session, @NotNull final String emailId, @NotNull final Email email)
+			throws MessagingException {
+		val renderingKey = new RenderingKey(email);
+		final RenderedMessage renderedMessage;
+		final InputStream is;
+		synchronized (this) {
+			renderedMessage = renderedMessages.get(emailId);
+			if (renderedMessage == null || !renderedMessage.renderingKey.matches(renderingKey)) {
+				return null;
+			}
+			is = lease(renderedMessage);
+		}
+		return toLeasedMessage(session, renderedMessage, is);
+	}
+
+	/**
+	 * @return A spool to render a message into, which keeps the message on the heap as long as it fits in what is left of the heap budget.
+	 */
+	@NotNull
+	public MessageSpool newMessageSpool() {
+		return new BudgetedMessageSpool();
+	}
+
+	/**
+	 * Caches what was rendered into the given spool under the email id, replacing any previous rendering.
+	 *
+	 * @param email           The email that was rendered, against which later sends with the same id are compared.
+	 * @param spool           The closed spool (obtained from {@link #newMessageSpool()}) into which the original message was written.
+	 * @param originalMessage The message that was rendered, from which the SMTP envelope options (bounce address and DSN) are kept.
+	 * @return A new message parsed from the cached rendering, so even the first send uses exactly the bytes that are cached.
+	 */
+	@NotNull
+	public MimeMessage cacheRenderedMessage(@NotNull final Session session, @NotNull final String emailId, @NotNull final Email email,
+			@NotNull final MessageSpool spool, @NotNull final MimeMessage originalMessage)
+			throws MessagingException {
+		val renderedMessage = new RenderedMessage(new RenderingKey(email), spool, originalMessage instanceof SMTPMessage ? (SMTPMessage) originalMessage : null);
+		final InputStream is;
+		synchronized (this) {
+			release(renderedMessages.put(emailId, renderedMessage));
+			val iterator = renderedMessages.entrySet().iterator();
+			while (renderedMessages.size() > maximumEntries && iterator.hasNext()) {
+				final Map.Entry<String, RenderedMessage> eldest = iterator.next();
+				iterator.remove();
+				release(eldest.getValue());
+			}
+			is = lease(renderedMessage);
+		}
+		return toLeasedMessage(session, renderedMessage, is);
+	}
+
+	/**
+	 * Gives the lease on the rendering back once the message obtained from the cache was sent or failed to be sent, so an evicted spool file can be
+	 * deleted. Does nothing for messages that don't come from a cache, or of which the lease was returned already. The message must not be used
+	 * anymore afterwards.
+	 */
+	public static void releaseMessage(@NotNull final MimeMessage message) {
+		if (message instanceof LeasedMessage) {
+			((LeasedMessage) message).returnLease();
+		}
+	}
+
+	/**
+	 * Removes all cached renderings and deletes their spool files, if any.
+	 */
+	public synchronized void clear() {
+		for (val renderedMessage : renderedMessages.values()) {
+			release(renderedMessage);
+		}
+		renderedMessages.clear();
+	}
+
+	/**
+	 * Opens the rendering for reading while holding the lock, so it can't be released in the meantime.
+	 */
+	@NotNull
+	private InputStream lease(@NotNull final RenderedMessage renderedMessage)
+			throws MessagingException {
+		try {
+			final InputStream is = renderedMessage.spool.newSharedInputStream();
+			renderedMessage.leases++;
+			return is;
+		} catch (IOException e) {
+			throw new MessagingException("unable to read rendered message from its spool file", e);
+		}
+	}
+
+	/**
+	 * The content is not parsed until needed and the headers are left untouched, so the message is written out exactly as it was rendered.
+	 */
+	@NotNull
+	private MimeMessage toLeasedMessage(@NotNull final Session session, @NotNull final RenderedMessage renderedMessage, @NotNull final InputStream is)
+			throws MessagingException {
+		try {
+			val message = new LeasedMessage(session, is, this, renderedMessage);
+			message.setEnvelopeFrom(renderedMessage.envelopeFrom);
+			message.setNotifyOptions(renderedMessage.notifyOptions);
+			message.setReturnOption(renderedMessage.returnOption);
+			return message;
+		} catch (MessagingException | RuntimeException e) {
+			returnLease(renderedMessage);
+			throw e;
+		}
+	}
+
+	private synchronized void returnLease(@NotNull final RenderedMessage renderedMessage) {
+		renderedMessage.leases--;
+		if (renderedMessage.evicted && renderedMessage.leases == 0) {
+			renderedMessage.spool.discard();
+		}
+	}
+
+	/**
+	 * A rendering on the heap is released right away, as messages still being sent keep their own reference to its bytes. A rendering in a file
+	 * is released once no message is being sent from it anymore, as they all read from the same file.
+	 */
+	private void release(@Nullable final RenderedMessage renderedMessage) {
+		if (renderedMessage != null) {
+			renderedMessage.evicted = true;
+			if (renderedMessage.leases == 0 || !renderedMessage.spool.isSpooledToFile()) {
+				renderedMessage.spool.discard();
+			}
+		}
+	}
+
+	private boolean tryClaimHeap(final long bytes) {
+		for (long used = heapUsed.get(); used + bytes <= heapBudget; used = heapUsed.get()) {
+			if (heapUsed.compareAndSet(used, used + bytes)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Claims heap from the budget of the cache while it grows, so renderings in progress at the same time can't overrun the budget together. The
+	 * claim is given back when the bytes move to a file or when the spool is discarded.
+	 */
+	private final class BudgetedMessageSpool extends MessageSpool {
+		private long heapClaimed;
+
+		private BudgetedMessageSpool() {
+			super(0);
+		}
+
+		@Override
+		protected boolean keepOnHeap(final long sizeAfterWrite) {
+			if (sizeAfterWrite <= heapClaimed) {
+				return true;
+			}
+			final long needed = sizeAfterWrite - heapClaimed;
+			final long chunk = Math.max(needed, HEAP_RESERVATION_CHUNK);
+			if (tryClaimHeap(chunk)) {
+				heapClaimed += chunk;
+				return true;
+			} else if (needed < chunk && tryClaimHeap(needed)) {
+				heapClaimed += needed;
+				return true;
+			}
+			releaseHeapClaim(heapClaimed);
+			return false;
+		}
+
+		@Override
+		public synchronized void close() throws IOException {
+			super.close();
+			if (!isSpooledToFile()) {
+				releaseHeapClaim(heapClaimed - size());
+			}
+		}
+
+		@Override
+		public synchronized void discard() {
+			super.discard();
+			releaseHeapClaim(heapClaimed);
+		}
+
+		private void releaseHeapClaim(final long bytes) {
+			heapUsed.addAndGet(-bytes);
+			heapClaimed -= bytes;
+		}
+	}
+
+	private static final class RenderedMessage {
+		@NotNull private final RenderingKey renderingKey;
+		@NotNull private final MessageSpool spool;
+		@Nullable private final String envelopeFrom;
+		private final int notifyOptions;
+		private final int returnOption;
+		// guarded by the cache
+		private int leases;
+		private boolean evicted;
+
+		private RenderedMessage(@NotNull final RenderingKey renderingKey, @NotNull final MessageSpool spool, @Nullable final SMTPMessage smtpMessage) {
+			this.renderingKey = renderingKey;
+			this.spool = spool;
+			this.envelopeFrom = smtpMessage != null ? smtpMessage.getEnvelopeFrom() : null;
+			this.notifyOptions = smtpMessage != null ? smtpMessage.getNotifyOptions() : 0;
+			this.returnOption = smtpMessage != null ? smtpMessage.getReturnOption() : 0;
+		}
+	}
+
+	/**
+	 * Identifies the content of an email without holding on to it: a digest of its description, which includes everything but the data of
+	 * attachments and embedded images, the DKIM key and S/MIME certificates, and weak references to the objects that hold that data, which must be
+	 * the very same for an email to match. The DKIM key is small and digested along.
+	 */
+	private static final class RenderingKey {
+		@NotNull private final byte[] digest;
+		@NotNull private final List<WeakReference<Object>> sharedContent = new ArrayList<>();
+
+		private RenderingKey(@NotNull final Email email) {
+			this.digest = digest(email);
+			addSharedContent(email.getAttachments());
+			addSharedContent(email.getEmbeddedImages());
+			addSharedContent(email.getDecryptedAttachments());
+			sharedContent.add(new WeakReference<>(email.getEmailToForward()));
+			sharedContent.add(new WeakReference<>(email.getSmimeSignedEmail()));
+			for (val recipient : email.getRecipients()) {
+				sharedContent.add(new WeakReference<>(recipient.getSmimeCertificate()));
+			}
+		}
+
+		private void addSharedContent(@NotNull final List<AttachmentResource> resources) {
+			for (val resource : resources) {
+				sharedContent.add(new WeakReference<>(resource.getDataSource()));
+			}
+		}
+
+		@NotNull
+		private static byte[] digest(@NotNull final Email email) {
+			try {
+				val messageDigest = MessageDigest.getInstance("SHA-256");
+				messageDigest.update(email.toString().getBytes(UTF_8));
+				if (email.getDkimConfig() != null) {
+					messageDigest.update(email.getDkimConfig().getDkimPrivateKeyData());
+				}
+				return messageDigest.digest();
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("SHA-256 is a mandatory MessageDigest algorithm", e);
+			}
+		}
+
+		/**
+		 * Shared content that was garbage collected since can't be the same as that of the other email, which still refers to it.
+		 */
+		private boolean matches(@NotNull final RenderingKey other) {
+			if (!Arrays.equals(digest, other.digest) || sharedContent.size() != other.sharedContent.size()) {
+				return false;
+			}
+			for (int i = 0; i < sharedContent.size(); i++) {
+				if (sharedContent.get(i).get() != other.sharedContent.get(i).get()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Holds a lease on the rendering until it is given back with {@link #releaseMessage(MimeMessage)}. A message that is never released still closes
+	 * the spool file when it is garbage collected.
+	 */
+	private static final class LeasedMessage extends SMTPMessage {
+		@NotNull private final RenderedMessageCache cache;
+		@NotNull private final RenderedMessage renderedMessage;
+		private boolean leaseReturned;
+
+		private LeasedMessage(@NotNull final Session session, @NotNull final InputStream is, @NotNull final RenderedMessageCache cache,
+				@NotNull final RenderedMessage renderedMessage)
+				throws MessagingException {
+			super(session, is);
+			this.cache = cache;
+			this.renderedMessage = renderedMessage;
+		}
+
+		private synchronized void returnLease() {
+			if (!leaseReturned) {
+				leaseReturned = true;
+				cache.returnLease(renderedMessage);
+			}
+		}
+	}
+}
@@ -4,8 +4,10 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import lombok.val;
+import org.simplejavamail.api.mailer.MetricsRecorder;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.mailer.internal.OAuth2AccessTokenResolver;
+import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
 
 /**
  * @see #connectTransport(Transport, Session)
@@ -16,10 +18,24 @@ public class TransportConnectionHelper {
      * To connect using OAuth2 authentication, we need to connect slightly differently as we can't use only Session properties and the traditional Authenticator class for
      * providing password. Instead, <em>mail.smtp.auth.mechanisms</em> is set to {@code "XOAUTH2"} and the built-in OAuth2 Security Provider should take over and use the
      * token as the password, and that is only possible using the alternative {@link Transport#connect(String, String)}.
+     * <p>
+     * The time it takes to connect and authenticate is reported to the metrics recorder of the Mailer the Session belongs to.
      *
      * @see <a href="https://eclipse-ee4j.github.io/angus-mail/OAuth2">https://eclipse-ee4j.github.io/angus-mail/OAuth2</a>
      */
     public static void connectTransport(Transport transport, Session session) throws MessagingException {
+        val metricsRecorder = SessionBasedEmailToMimeMessageConverter.resolveMetricsRecorder(session);
+        val startTime = System.nanoTime();
+        try {
+            connectTransportUsingConfiguredAuthentication(transport, session);
+        } catch (MessagingException | RuntimeException e) {
+            metricsRecorder.recordTime(MetricsRecorder.CONNECT_TIME, System.nanoTime() - startTime, MetricsRecorder.TAG_OUTCOME, MetricsRecorder.OUTCOME_FAILURE);
+            throw e;
+        }
+        metricsRecorder.recordTime(MetricsRecorder.CONNECT_TIME, System.nanoTime() - startTime, MetricsRecorder.TAG_OUTCOME, MetricsRecorder.OUTCOME_SUCCESS);
+    }
+
+    private static void connectTransportUsingConfiguredAuthentication(Transport transport, Session session) throws MessagingException {
         if (session.getProperties().containsKey(TransportStrategy.OAUTH2_TOKEN_PROPERTY)
                 || session.getProperties().containsKey(TransportStrategy.OAUTH2_TOKEN_PROVIDER_PROPERTY)) {
             val username = session.getProperties().getProperty(TransportStrategy.SMTP_TLS.propertyNameUsername());
@@ -1,9 +1,11 @@
 package org.simplejavamail.mailer.internal.util;
 
+import jakarta.mail.Address;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
 import lombok.val;
 import org.eclipse.angus.mail.smtp.SMTPTransport;
 import org.jetbrains.annotations.NotNull;
@@ -11,14 +13,20 @@ import org.jetbrains.annotations.Nullable;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.internal.batchsupport.LifecycleDelegatingTransport;
 import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.RejectedRecipient;
+import org.simplejavamail.api.mailer.SendPhase;
 import org.simplejavamail.api.mailer.SmtpServerResponse;
 import org.simplejavamail.internal.moduleloader.ModuleLoader;
 import org.simplejavamail.internal.modules.BatchModule;
 import org.simplejavamail.internal.util.MiscUtil;
+import org.simplejavamail.internal.util.SendPhaseTimer;
+import org.simplejavamail.internal.util.concurrent.VirtualThreadSupport;
 import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
 import org.slf4j.Logger;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.UUID;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -49,14 +57,59 @@ public class TransportRunner {
 	public static MailSubmissionReceipt sendMessageOnTransport(@NotNull final Transport transport, @NotNull final Session actualSessionUsed, @NotNull Email email)
 			throws MessagingException {
 		val message = SessionBasedEmailToMimeMessageConverter.convertAndLogMimeMessage(actualSessionUsed, email);
-		val actualRecipients = email.getOverrideReceivers().isEmpty()
-				? message.getAllRecipients()
-				: MiscUtil.asInternetAddresses(email.getOverrideReceivers(), UTF_8).toArray(new InternetAddress[0]);
-		transport.sendMessage(message, actualRecipients);
+		try {
+			val actualRecipients = email.getOverrideReceivers().isEmpty()
+					? message.getAllRecipients()
+					: MiscUtil.asInternetAddresses(email.getOverrideReceivers(), UTF_8).toArray(new InternetAddress[0]);
+			sendMessageAndRecordMetrics(transport, actualSessionUsed, message, actualRecipients);
+		} finally {
+			SessionBasedEmailToMimeMessageConverter.releaseMimeMessage(message);
+		}
 		LOGGER.trace("...email sent");
 		return buildReceipt(email, transport);
 	}
 
+	private static void sendMessageAndRecordMetrics(@NotNull final Transport transport, @NotNull final Session actualSessionUsed,
+			@NotNull final MimeMessage message, final Address[] actualRecipients)
+			throws MessagingException {
+		val metricsRecorder = SessionBasedEmailToMimeMessageConverter.resolveMetricsRecorder(actualSessionUsed);
+		val startTime = System.nanoTime();
+		try {
+			SendPhaseTimer.timePhase(SendPhase.SMTP_SUBMISSION, () -> {
+				transport.sendMessage(message, actualRecipients);
+				return null;
+			});
+		} catch (MessagingException | RuntimeException e) {
+			metricsRecorder.recordTime(MetricsRecorder.SEND_TIME, System.nanoTime() - startTime, MetricsRecorder.TAG_OUTCOME, MetricsRecorder.OUTCOME_FAILURE);
+			recordSmtpResponse(metricsRecorder, transport);
+			throw e;
+		} finally {
+			// a pooled connection may be limited in the number of messages it sends, delivered or not
+			if (ModuleLoader.batchModuleAvailable()) {
+				ModuleLoader.loadBatchModule().countMessageSent(transport);
+			}
+		}
+		metricsRecorder.recordTime(MetricsRecorder.SEND_TIME, System.nanoTime() - startTime, MetricsRecorder.TAG_OUTCOME, MetricsRecorder.OUTCOME_SUCCESS);
+		recordSmtpResponse(metricsRecorder, transport);
+	}
+
+	private static void recordSmtpResponse(@NotNull final MetricsRecorder metricsRecorder, @NotNull final Transport transport) {
+		if (transport instanceof SMTPTransport) {
+			metricsRecorder.incrementCounter(MetricsRecorder.SEND_RESPONSES, MetricsRecorder.TAG_SMTP_CODE, String.valueOf(((SMTPTransport) transport).getLastReturnCode()));
+		}
+	}
+
+	/**
+	 * Claims one transport for a series of sends, such as a chunk of a parallel batch. A pooled transport is returned to the pool afterwards, unless
+	 * the operation failed, in which case it is discarded.
+	 *
+	 * @param clusterKey The cluster key to use for the connection pool, which was randomly generated in the Mailer builder if not provided.
+	 */
+	public static <T> T runOnTransport(@NotNull final UUID clusterKey, final Session session, @NotNull final TransportOperation<T> operation)
+			throws MessagingException {
+		return runOnSessionTransport(clusterKey, session, false, operation);
+	}
+
 	public static void connect(@NotNull UUID clusterKey, final Session session)
 			throws MessagingException {
 		runOnSessionTransport(clusterKey, session, true, (transport, actualSessionUsed) -> {
@@ -68,7 +121,11 @@ public class TransportRunner {
 
 	@NotNull
 	public static MailSubmissionReceipt buildReceipt(@NotNull final Email email, @Nullable final Transport transport) {
-		return new MailSubmissionReceipt(email.getId(), extractSmtpServerResponse(transport), Instant.now());
+		val rejectedRecipients = transport instanceof PipeliningSMTPTransport
+				? ((PipeliningSMTPTransport) transport).getRejectedRecipients()
+				: Collections.<RejectedRecipient>emptyList();
+		return new MailSubmissionReceipt(email.getId(), extractSmtpServerResponse(transport), Instant.now(), rejectedRecipients,
+				SendPhaseTimer.currentPhaseDurations());
 	}
 
 	@Nullable
@@ -86,7 +143,10 @@ public class TransportRunner {
 			return sendUsingConnectionPool(ModuleLoader.loadBatchModule(), clusterKey, session, stickySession, operation);
 		} else {
 			try (Transport transport = session.getTransport()) {
-				TransportConnectionHelper.connectTransport(transport, session);
+				SendPhaseTimer.timePhase(SendPhase.TRANSPORT_CLAIM, () -> {
+					TransportConnectionHelper.connectTransport(transport, session);
+					return null;
+				});
 				return operation.run(transport, session);
 			} finally {
 				LOGGER.trace("closing transport");
@@ -96,19 +156,23 @@ public class TransportRunner {
 
 	private static <T> T sendUsingConnectionPool(@NotNull BatchModule batchModule, @NotNull UUID clusterKey, Session session, boolean stickySession, TransportOperation<T> operation)
 			throws MessagingException {
-		LifecycleDelegatingTransport delegatingTransport = batchModule.acquireTransport(clusterKey, session, stickySession);
+		// only sends on the Mailer's own virtual threads are not limited by a thread pool and may wait for the connection limit without timeout
+		val onVirtualThread = SessionBasedEmailToMimeMessageConverter.resolveSendsOnVirtualThreads(session)
+				&& VirtualThreadSupport.isVirtualThread(Thread.currentThread());
+		LifecycleDelegatingTransport delegatingTransport = SendPhaseTimer.timePhase(SendPhase.TRANSPORT_CLAIM,
+				() -> batchModule.acquireTransport(clusterKey, session, stickySession, onVirtualThread));
 		try {
 			T result = operation.run(delegatingTransport.getTransport(), delegatingTransport.getSessionUsedToObtainTransport());
 			delegatingTransport.signalTransportUsed();
 			return result;
 		} catch (final Throwable t) {
 			// always make sure claimed resources are released
-			delegatingTransport.signalTransportFailed();
+			delegatingTransport.signalTransportFailed(t);
 			throw t;
 		}
 	}
 
-	private interface TransportOperation<T> {
+	public interface TransportOperation<T> {
 		T run(Transport transport, Session actualSessionUsed)
 				throws MessagingException;
 	}
@@ -0,0 +1,107 @@
+package org.simplejavamail.converter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.simplejavamail.api.converter.BulkConversionResult;
+import org.simplejavamail.api.converter.BulkConversionSummary;
+import org.simplejavamail.api.email.Email;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static demo.ResourceFolderHelper.determineResourceFolder;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkEmailConverterTest {
+
+	private static final String RESOURCE_TEST_MESSAGES = determineResourceFolder("simple-java-mail") + "/test/resources/test-messages";
+
+	@Test
+	public void convertDirectoryMatchesConvertingEachFile() throws Exception {
+		final Map<File, BulkConversionResult> results = new ConcurrentHashMap<>();
+		final BulkConversionSummary summary = BulkEmailConverter.convertDirectory(new File(RESOURCE_TEST_MESSAGES), null, 4, 4,
+				result -> results.put(result.getFile(), result));
+
+		final List<File> testMessages;
+		try (Stream<Path> files = Files.list(new File(RESOURCE_TEST_MESSAGES).toPath())) {
+			testMessages = files.map(Path::toFile).collect(Collectors.toList());
+		}
+		assertThat(results.keySet()).containsExactlyInAnyOrderElementsOf(testMessages);
+		assertThat(summary.getConvertedFiles() + summary.getFailedFiles()).isEqualTo(testMessages.size());
+		assertThat(summary.getBytes()).isEqualTo(testMessages.stream().mapToLong(File::length).sum());
+		assertThat(summary.getFilesPerSecond()).isPositive();
+
+		for (final File testMessage : testMessages) {
+			final BulkConversionResult result = results.get(testMessage);
+			final Email expectedEmail = testMessage.getName().endsWith(".msg")
+					? EmailConverter.outlookMsgToEmail(testMessage)
+					: EmailConverter.emlToEmail(testMessage);
+			assertThat(result.isConverted()).as(testMessage.getName()).isTrue();
+			assertThat(result.getEmail()).as(testMessage.getName()).isEqualTo(expectedEmail);
+		}
+	}
+
+	@Test
+	public void failedFilesAreReportedWithoutAbortingTheBatch(@TempDir final Path directory) throws Exception {
+		final File validEml = Files.write(directory.resolve("valid.eml"), "Subject: valid\r\n\r\nBody\r\n".getBytes(UTF_8)).toFile();
+		final File brokenMsg = Files.write(directory.resolve("broken.msg"), "not an Outlook message".getBytes(UTF_8)).toFile();
+		final File unsupportedFile = Files.write(directory.resolve("notes.txt"), "not an email".getBytes(UTF_8)).toFile();
+
+		final Map<File, BulkConversionResult> results = new ConcurrentHashMap<>();
+		final BulkConversionSummary summary = BulkEmailConverter.convertFiles(Stream.of(brokenMsg, unsupportedFile, validEml), null, 2, 2,
+				result -> results.put(result.getFile(), result));
+
+		assertThat(summary.getConvertedFiles()).isEqualTo(1);
+		assertThat(summary.getFailedFiles()).isEqualTo(2);
+		assertThat(results.get(validEml).getEmail().getSubject()).isEqualTo("valid");
+		assertThat(results.get(brokenMsg).isConverted()).isFalse();
+		assertThat(results.get(brokenMsg).getFailure()).isNotNull();
+		assertThat(results.get(unsupportedFile).getFailure()).hasMessageContaining("Unsupported file type");
+	}
+
+	@Test
+	public void filesAreOnlyTakenWhileThereIsRoomInFlight(@TempDir final Path directory) throws Exception {
+		final List<File> files = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			files.add(Files.write(directory.resolve("message" + i + ".eml"), ("Subject: message " + i + "\r\n\r\nBody\r\n").getBytes(UTF_8)).toFile());
+		}
+		final int maxInFlight = 3;
+		final AtomicInteger takenFiles = new AtomicInteger();
+		final AtomicInteger consumedFiles = new AtomicInteger();
+		final AtomicInteger maxObservedInFlight = new AtomicInteger();
+
+		BulkEmailConverter.convertFiles(files.stream().peek(file -> maxObservedInFlight.accumulateAndGet(takenFiles.incrementAndGet() - consumedFiles.get(), Math::max)),
+				null, 4, maxInFlight, result -> consumedFiles.incrementAndGet());
+
+		assertThat(consumedFiles).hasValue(files.size());
+		// the file taken last may be waiting for room, while the files in flight are still being converted
+		assertThat(maxObservedInFlight.get()).isLessThanOrEqualTo(maxInFlight + 1);
+	}
+
+	@Test
+	public void consumerFailureStopsTheBatch(@TempDir final Path directory) throws Exception {
+		final List<File> files = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			files.add(Files.write(directory.resolve("message" + i + ".eml"), ("Subject: message " + i + "\r\n\r\nBody\r\n").getBytes(UTF_8)).toFile());
+		}
+		final AtomicInteger consumedFiles = new AtomicInteger();
+
+		assertThatThrownBy(() -> BulkEmailConverter.convertFiles(files.stream(), null, 1, 1, result -> {
+			consumedFiles.incrementAndGet();
+			throw new IllegalStateException("consumer broke");
+		}))
+				.isInstanceOf(EmailConverterException.class)
+				.hasRootCauseMessage("consumer broke");
+		assertThat(consumedFiles).hasValue(1);
+	}
+}
@@ -16,6 +16,7 @@ import org.simplejavamail.api.email.CalendarMethod;
 import org.simplejavamail.api.email.ContentTransferEncoding;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailAssert;
+import org.simplejavamail.api.email.EmailEnvelope;
 import org.simplejavamail.api.email.OriginalSmimeDetails;
 import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.outlook.OutlookEmailConversionResult;
@@ -29,9 +30,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -39,8 +43,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Random;
 import java.util.TimeZone;
 import java.util.regex.Matcher;
+import java.util.stream.Stream;
 
 import static demo.ResourceFolderHelper.determineResourceFolder;
 import static jakarta.mail.Message.RecipientType.BCC;
@@ -80,6 +86,115 @@ public class EmailConverterTest {
 		assertThat(Files.deleteIfExists(mimeMessageEml)).isTrue();
 	}
 
+	@Test
+	public void emlFileConversionWithoutFetchingAttachmentDataReadsAttachmentsOnDemand(@TempDir final Path tempDir) throws Exception {
+		final int attachmentSize = 16 * 1024 * 1024;
+		final byte[] attachmentData = new byte[attachmentSize];
+		new Random(42).nextBytes(attachmentData);
+		final Email email = EmailBuilder.startingBlank()
+				.from("from@example.com")
+				.withRecipients(new Recipient(null, "to@example.com", TO, null))
+				.withSubject("lazy attachments")
+				.withPlainText("body")
+				.withAttachment("large.bin", attachmentData, "application/octet-stream")
+				.buildEmail();
+		final Path emlFile = Files.write(tempDir.resolve("lazy.eml"), EmailConverter.emailToEML(email).getBytes(UTF_8));
+
+		final long usedHeapBefore = usedHeapAfterGc();
+		final Email lazyEmail = EmailConverter.emlToEmail(emlFile.toFile(), null, Session.getInstance(new Properties()), false);
+		final long retainedHeap = usedHeapAfterGc() - usedHeapBefore;
+
+		assertThat(lazyEmail.getSubject()).isEqualTo("lazy attachments");
+		assertThat(lazyEmail.getPlainText()).isEqualTo("body");
+		assertThat(retainedHeap).as("heap retained by the parsed email").isLessThan(attachmentSize / 8);
+		assertThat(lazyEmail.getAttachments()).hasSize(1);
+		final AttachmentResource lazyAttachment = lazyEmail.getAttachments().get(0);
+		assertThat(lazyAttachment.getName()).isEqualTo("large.bin");
+		assertThat(lazyAttachment.getDataSource()).isNotInstanceOf(ByteArrayDataSource.class);
+		assertThat(lazyAttachment.readAllBytes()).isEqualTo(attachmentData);
+		assertThat(lazyAttachment.readAllBytes()).as("reading the attachment again").isEqualTo(attachmentData);
+
+		final Email eagerEmail = EmailConverter.emlToEmail(emlFile.toFile());
+		assertThat(lazyAttachment.getDataSource().getContentType()).isEqualTo(eagerEmail.getAttachments().get(0).getDataSource().getContentType());
+		assertThat(eagerEmail.getAttachments().get(0).readAllBytes()).isEqualTo(attachmentData);
+	}
+
+	@Test
+	public void memoryMappedEmlConversionMatchesRegularConversion() throws Exception {
+		final List<File> emlFiles = new ArrayList<>();
+		try (Stream<Path> testMessages = Files.list(new File(RESOURCE_TEST_MESSAGES).toPath())) {
+			testMessages.filter(path -> path.toString().endsWith(".eml")).sorted().forEach(path -> emlFiles.add(path.toFile()));
+		}
+		assertThat(emlFiles).isNotEmpty();
+
+		for (final File emlFile : emlFiles) {
+			final Email regularEmail = EmailConverter.emlToEmail(emlFile);
+			final Email memoryMappedEmail = EmailConverter.mimeMessageToEmail(EmailConverter.emlToMimeMessageMemoryMapped(emlFile));
+			assertThat(memoryMappedEmail).as(emlFile.getName()).isEqualTo(regularEmail);
+
+			final Email lazyEmail = EmailConverter.mimeMessageToEmailBuilder(EmailConverter.emlToMimeMessageMemoryMapped(emlFile), null, false).buildEmail();
+			assertThat(lazyEmail.getAttachments()).as(emlFile.getName()).hasSameSizeAs(regularEmail.getAttachments());
+			for (int i = 0; i < regularEmail.getAttachments().size(); i++) {
+				assertThat(lazyEmail.getAttachments().get(i).readAllBytes()).as(emlFile.getName()).isEqualTo(regularEmail.getAttachments().get(i).readAllBytes());
+			}
+		}
+	}
+
+	@Test
+	public void envelopeMatchesFullConversion() throws Exception {
+		final List<File> emlFiles = new ArrayList<>();
+		try (Stream<Path> testMessages = Files.list(new File(RESOURCE_TEST_MESSAGES).toPath())) {
+			testMessages.filter(path -> path.toString().endsWith(".eml")).sorted().forEach(path -> emlFiles.add(path.toFile()));
+		}
+		assertThat(emlFiles).isNotEmpty();
+
+		for (final File emlFile : emlFiles) {
+			final Email email = EmailConverter.emlToEmail(emlFile);
+			final EmailEnvelope envelope = EmailConverter.emlToEnvelope(emlFile);
+			assertThat(envelope.getId()).as(emlFile.getName()).isEqualTo(email.getId());
+			assertThat(envelope.getFromRecipient()).as(emlFile.getName()).isEqualTo(email.getFromRecipient());
+			assertThat(envelope.getRecipients()).as(emlFile.getName()).isEqualTo(email.getRecipients());
+			assertThat(envelope.getSubject()).as(emlFile.getName()).isEqualTo(email.getSubject());
+			assertThat(envelope.getSentDate()).as(emlFile.getName()).isEqualTo(email.getSentDate());
+		}
+	}
+
+	@Test
+	public void envelopeStopsReadingAtTheEndOfTheHeaders() {
+		final String headers = "Message-ID: <envelope@candyshop.org>\r\n"
+				+ "Date: Tue, 13 Oct 2026 10:15:00 +0200\r\n"
+				+ "From: \"C. Cane\" <candycane@candyshop.org>\r\n"
+				+ "To: =?UTF-8?Q?Ch=C3=B6co_Bo?= <chocobo@candyshop.org>, gummy@candyshop.org\r\n"
+				+ "Cc: lollypop@candyshop.org\r\n"
+				+ "Subject: =?UTF-8?Q?We_should_meet_up=21?=\r\n"
+				+ "Content-Type: text/plain\r\n"
+				+ "\r\n";
+		final InputStream body = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("the body should not be read");
+			}
+		};
+		final EmailEnvelope envelope = EmailConverter.emlToEnvelope(new SequenceInputStream(new ByteArrayInputStream(headers.getBytes(UTF_8)), body));
+
+		assertThat(envelope.getId()).isEqualTo("<envelope@candyshop.org>");
+		assertThat(envelope.getFromRecipient()).isEqualTo(new Recipient("C. Cane", "candycane@candyshop.org", null, null));
+		assertThat(envelope.getRecipients()).containsExactly(
+				new Recipient("Chöco Bo", "chocobo@candyshop.org", TO, null),
+				new Recipient(null, "gummy@candyshop.org", TO, null),
+				new Recipient(null, "lollypop@candyshop.org", CC, null));
+		assertThat(envelope.getSubject()).isEqualTo("We should meet up!");
+		assertThat(envelope.getSentDate()).isEqualTo(Date.from(OffsetDateTime.of(2026, 10, 13, 10, 15, 0, 0, ZoneOffset.ofHours(2)).toInstant()));
+	}
+
+	private static long usedHeapAfterGc() {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
 	@Test
 	public void testOutlookBasicConversions() {
 		final Recipient elias = new Recipient("Elias Laugher", "elias.laugher@gmail.com", null, null);
@@ -257,6 +372,22 @@ public class EmailConverterTest {
 		});
 	}
 
+	@Test
+	public void testOutlookNestedMessageIsRenderedOnceAndWrittenWithTheOuterMessage() throws Exception {
+		final Email email = EmailConverter.outlookMsgToEmail(new File(RESOURCE_TEST_MESSAGES + "/#298 Email with nested msg with own attachment.msg"));
+		final AttachmentResource nestedMessage = email.getAttachments().get(1);
+		assertThat(nestedMessage.getName()).isEqualTo("This msg file is an attachment.eml");
+		assertThat(nestedMessage.getDataSource().getContentType()).isEqualTo("message/rfc822");
+
+		final byte[] renderedNestedMessage = nestedMessage.readAllBytes();
+		assertThat(nestedMessage.readAllBytes()).isEqualTo(renderedNestedMessage);
+		assertThat(EmailConverter.emlToEmail(new ByteArrayInputStream(renderedNestedMessage)).getAttachments())
+				.extracting("name").containsExactly("Something.docx");
+
+		final Email outerEmailRoundtrip = EmailConverter.emlToEmail(EmailConverter.emailToEML(email));
+		assertThat(outerEmailRoundtrip.getAttachments()).extracting("name").contains("This msg file is an attachment.eml");
+	}
+
 	@Test
 	public void testOutlookMessageWithNestedMessages()
 			throws Exception {
@@ -8,24 +8,32 @@ import org.simplejavamail.api.email.EmailAssert;
 import org.simplejavamail.api.email.OriginalSmimeDetails.SmimeMode;
 import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.config.ConfigLoader;
 import org.simplejavamail.converter.EmailConverter;
+import org.simplejavamail.internal.smimesupport.builder.SmimeParseResultBuilder;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
 import testutil.SecureTestDataHelper;
 
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.util.ByteArrayDataSource;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static demo.ResourceFolderHelper.determineResourceFolder;
 import static jakarta.mail.Message.RecipientType.TO;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assumptions.assumeThat;
@@ -182,6 +190,80 @@ public class ReadSmimeSelfSignedTest {
 				+ "\n");
 	}
 
+	@Test
+	public void testParallelAttachmentDecryptionKeepsOrderAndSmimeMetadata()
+			throws Exception {
+		final String signedEml = new String(Files.readAllBytes(Paths.get(RESOURCES_MESSAGES + "/S_MIME test message signed.eml")), UTF_8);
+		final MimeMessage signedMessage = new MimeMessage(Session.getInstance(new Properties()), new ByteArrayInputStream(signedEml.getBytes(UTF_8)));
+		final List<AttachmentResource> attachments = asList(
+				new AttachmentResource("valid-1.p7s", new ByteArrayDataSource(extractMessageBody(signedEml).getBytes(UTF_8), "multipart/signed")),
+				new AttachmentResource("plain.txt", new ByteArrayDataSource("not signed", "text/plain")),
+				new AttachmentResource("invalid.p7s", new ByteArrayDataSource(extractMessageBody(createInvalidSignedEml()).getBytes(UTF_8), "multipart/signed")),
+				new AttachmentResource("valid-2.p7s", new ByteArrayDataSource(extractMessageBody(signedEml).getBytes(UTF_8), "multipart/signed")));
+
+		final SmimeParseResultBuilder serialResult = new SMIMESupport().decryptAttachments(attachments, signedMessage, null);
+
+		final Properties parallelDecryption = new Properties();
+		parallelDecryption.setProperty("simplejavamail.smime.decryption.parallelism", "4");
+		ConfigLoader.loadProperties(parallelDecryption, true);
+		final SmimeParseResultBuilder parallelResult;
+		try {
+			parallelResult = new SMIMESupport().decryptAttachments(attachments, signedMessage, null);
+		} finally {
+			ConfigLoader.loadProperties(ConfigLoader.DEFAULT_CONFIG_FILENAME, false);
+		}
+
+		assertThat(parallelResult.getOriginalSmimeDetails()).isEqualTo(serialResult.getOriginalSmimeDetails());
+		assertThat(parallelResult.getOriginalSmimeDetails().getSmimeSignatureValid()).isFalse();
+		assertThat(parallelResult.getDecryptedAttachmentResults()).extracting(AttachmentDecryptionResult::getSmimeMode)
+				.containsExactly(SmimeMode.SIGNED, SmimeMode.PLAIN, SmimeMode.SIGNED, SmimeMode.SIGNED);
+		assertThat(unwrappedPlainTexts(parallelResult)).isEqualTo(unwrappedPlainTexts(serialResult));
+		assertThat(unwrappedPlainTexts(parallelResult).get(2)).contains("BROKEN attachment.");
+		assertThat(unwrappedPlainTexts(parallelResult).get(3)).doesNotContain("BROKEN");
+	}
+
+	@Test
+	public void testParallelAttachmentDecryptionSharesPoolBetweenMessagesWithDifferentAttachmentCounts()
+			throws Exception {
+		final String signedEml = new String(Files.readAllBytes(Paths.get(RESOURCES_MESSAGES + "/S_MIME test message signed.eml")), UTF_8);
+		final MimeMessage signedMessage = new MimeMessage(Session.getInstance(new Properties()), new ByteArrayInputStream(signedEml.getBytes(UTF_8)));
+		final List<AttachmentResource> attachments = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			attachments.add(new AttachmentResource("valid-" + i + ".p7s", new ByteArrayDataSource(extractMessageBody(signedEml).getBytes(UTF_8), "multipart/signed")));
+		}
+
+		final Properties parallelDecryption = new Properties();
+		parallelDecryption.setProperty("simplejavamail.smime.decryption.parallelism", "4");
+		ConfigLoader.loadProperties(parallelDecryption, true);
+		final ExecutorService messageParsers = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<SmimeParseResultBuilder>> results = new ArrayList<>();
+			for (int i = 0; i < 40; i++) {
+				// two or three S/MIME attachments, which must not make the messages replace each other's decryption pool
+				final List<AttachmentResource> messageAttachments = attachments.subList(0, 2 + i % 2);
+				results.add(messageParsers.submit(() -> new SMIMESupport().decryptAttachments(messageAttachments, signedMessage, null)));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				assertThat(results.get(i).get().getDecryptedAttachmentResults()).extracting(AttachmentDecryptionResult::getSmimeMode)
+						.hasSize(2 + i % 2)
+						.containsOnly(SmimeMode.SIGNED);
+			}
+		} finally {
+			messageParsers.shutdown();
+			ConfigLoader.loadProperties(ConfigLoader.DEFAULT_CONFIG_FILENAME, false);
+		}
+	}
+
+	private static List<String> unwrappedPlainTexts(final SmimeParseResultBuilder result) {
+		final List<String> plainTexts = new ArrayList<>();
+		for (final AttachmentDecryptionResult decryptedAttachment : result.getDecryptedAttachmentResults()) {
+			plainTexts.add(decryptedAttachment.getSmimeMode() == SmimeMode.PLAIN
+					? decryptedAttachment.getAttachmentResource().getName()
+					: EmailConverter.emlToEmail(decryptedAttachment.getAttachmentResource().getDataSourceInputStream()).getPlainText());
+		}
+		return plainTexts;
+	}
+
 	@Test
 	public void testEncryptedMessageMsg() {
 		Email emailParsedFromMsg = EmailConverter.outlookMsgToEmail(new File(RESOURCES_MESSAGES + "/S_MIME test message encrypted.msg"), loadPkcs12KeyStore());
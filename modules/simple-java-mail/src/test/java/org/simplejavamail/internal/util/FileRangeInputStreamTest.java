@@ -0,0 +1,74 @@
+package org.simplejavamail.internal.util;
+
+import jakarta.mail.internet.SharedInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FileRangeInputStreamTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void readsTheWholeFileAndNestedRanges() throws IOException {
+		final Path file = Files.write(tempDir.resolve("range.txt"), "0123456789abcdefghij".getBytes(UTF_8));
+
+		try (FileRangeInputStream stream = new FileRangeInputStream(file.toFile())) {
+			assertThat(readFully(stream)).isEqualTo("0123456789abcdefghij");
+
+			final InputStream range = stream.newStream(5, 15);
+			assertThat(readFully(range)).isEqualTo("56789abcde");
+			assertThat(readFully(((SharedInputStream) stream.newStream(5, 15)).newStream(2, -1))).isEqualTo("789abcde");
+			assertThat(readFully(stream.newStream(15, 100))).isEqualTo("fghij");
+			assertThat(readFully(stream.newStream(25, -1))).isEmpty();
+		}
+	}
+
+	@Test
+	public void positionMarkAndResetFollowWhatWasRead() throws IOException {
+		final Path file = Files.write(tempDir.resolve("mark.txt"), "0123456789".getBytes(UTF_8));
+
+		try (FileRangeInputStream stream = new FileRangeInputStream(file.toFile())) {
+			assertThat(stream.read()).isEqualTo('0');
+			stream.mark(100);
+			assertThat(stream.read(new byte[4], 0, 4)).isEqualTo(4);
+			assertThat(stream.getPosition()).isEqualTo(5);
+			stream.reset();
+			assertThat(stream.getPosition()).isEqualTo(1);
+			assertThat(stream.skip(2)).isEqualTo(2);
+			assertThat(stream.read()).isEqualTo('3');
+			assertThat(stream.available()).isEqualTo(6);
+		}
+	}
+
+	@Test
+	public void rangesAreReadFromTheFileOnlyWhenRead() throws IOException {
+		final Path file = Files.write(tempDir.resolve("lazy.txt"), "0123456789".getBytes(UTF_8));
+		final FileRangeInputStream stream = new FileRangeInputStream(file.toFile());
+		final InputStream range = stream.newStream(2, 4);
+		stream.close();
+
+		Files.write(file, "abcdefghij".getBytes(UTF_8));
+		assertThat(readFully(range)).isEqualTo("cd");
+		assertThatThrownBy(stream::read).isInstanceOf(IOException.class).hasMessage("stream is closed");
+	}
+
+	private static String readFully(final InputStream inputStream) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[3];
+		for (int read; (read = inputStream.read(buffer, 0, buffer.length)) != -1; ) {
+			bytes.write(buffer, 0, read);
+		}
+		return bytes.toString(UTF_8.name());
+	}
+}
@@ -0,0 +1,140 @@
+package org.simplejavamail.internal.util.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightCacheTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	public void concurrentLookupsOfMissingValueLoadItOnce()
+			throws Exception {
+		final SingleFlightCache<String, String> cache = new SingleFlightCache<>("lookups", 10, SECONDS.toNanos(60), clock::get);
+		final CountDownLatch loaderStarted = new CountDownLatch(1);
+		final CountDownLatch releaseLoader = new CountDownLatch(1);
+		final RecordingMetricsRecorder metricsRecorder = new RecordingMetricsRecorder();
+
+		final ExecutorService executor = Executors.newFixedThreadPool(20);
+		try {
+			final List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				results.add(executor.submit(() -> cache.get("key", key -> {
+					loaderStarted.countDown();
+					awaitUninterruptibly(releaseLoader);
+					return "value-" + loads.incrementAndGet();
+				}, metricsRecorder)));
+			}
+			assertThat(loaderStarted.await(10, SECONDS)).isTrue();
+			releaseLoader.countDown();
+			for (final Future<String> result : results) {
+				assertThat(result.get(10, SECONDS)).isEqualTo("value-1");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(loads).hasValue(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(19);
+		assertThat(metricsRecorder.counted).hasSize(20)
+				.containsOnlyOnce("lookups result=miss")
+				.contains("lookups result=hit");
+	}
+
+	@Test
+	public void failuresAreNotCached() {
+		final SingleFlightCache<String, String> cache = new SingleFlightCache<>("lookups", 10, SECONDS.toNanos(60), clock::get);
+
+		assertThatThrownBy(() -> cache.get("key", key -> {
+			loads.incrementAndGet();
+			throw new IllegalStateException("keystore unavailable");
+		}, MetricsRecorder.NOOP)).isInstanceOf(IllegalStateException.class).hasMessage("keystore unavailable");
+		assertThat(cache.size()).isZero();
+
+		assertThat(cache.get("key", this::load, MetricsRecorder.NOOP)).isEqualTo("key-2");
+	}
+
+	@Test
+	public void valuesExpireAfterTimeToLive() {
+		final SingleFlightCache<String, String> cache = new SingleFlightCache<>("lookups", 10, SECONDS.toNanos(60), clock::get);
+
+		assertThat(cache.get("key", this::load, MetricsRecorder.NOOP)).isEqualTo("key-1");
+		clock.addAndGet(SECONDS.toNanos(59));
+		assertThat(cache.get("key", this::load, MetricsRecorder.NOOP)).isEqualTo("key-1");
+		clock.addAndGet(SECONDS.toNanos(1));
+		assertThat(cache.get("key", this::load, MetricsRecorder.NOOP)).isEqualTo("key-2");
+		assertThat(cache.size()).isOne();
+	}
+
+	@Test
+	public void leastRecentlyUsedValuesAreEvictedBeyondMaximumSize() {
+		final SingleFlightCache<String, String> cache = new SingleFlightCache<>("lookups", 2, SECONDS.toNanos(60), clock::get);
+
+		cache.get("a", this::load, MetricsRecorder.NOOP);
+		clock.incrementAndGet();
+		cache.get("b", this::load, MetricsRecorder.NOOP);
+		clock.incrementAndGet();
+		cache.get("a", this::load, MetricsRecorder.NOOP);
+		clock.incrementAndGet();
+		cache.get("c", this::load, MetricsRecorder.NOOP);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("a", this::load, MetricsRecorder.NOOP)).isEqualTo("a-1");
+		assertThat(cache.get("c", this::load, MetricsRecorder.NOOP)).isEqualTo("c-3");
+		assertThat(cache.get("b", this::load, MetricsRecorder.NOOP)).isEqualTo("b-4");
+	}
+
+	@Test
+	public void invalidatedValuesAreLoadedAgain() {
+		final SingleFlightCache<String, String> cache = new SingleFlightCache<>("lookups", 10, SECONDS.toNanos(60), clock::get);
+		cache.get("a", this::load, MetricsRecorder.NOOP);
+		cache.get("b", this::load, MetricsRecorder.NOOP);
+
+		cache.invalidate("a");
+		assertThat(cache.get("a", this::load, MetricsRecorder.NOOP)).isEqualTo("a-3");
+		assertThat(cache.get("b", this::load, MetricsRecorder.NOOP)).isEqualTo("b-2");
+
+		cache.invalidate(null);
+		assertThat(cache.size()).isZero();
+		assertThat(cache.get("b", this::load, MetricsRecorder.NOOP)).isEqualTo("b-4");
+	}
+
+	private String load(final String key) {
+		return key + "-" + loads.incrementAndGet();
+	}
+
+	private static void awaitUninterruptibly(final CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class RecordingMetricsRecorder implements MetricsRecorder {
+		private final List<String> counted = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void incrementCounter(@NotNull final String name, @NotNull final String... tags) {
+			counted.add(name + " " + tags[0] + "=" + tags[1]);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.simplejavamail.mailer;
 
+import jakarta.activation.DataSource;
 import jakarta.mail.Address;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
@@ -7,25 +8,42 @@ import jakarta.mail.Provider;
 import jakarta.mail.Session;
 import jakarta.mail.URLName;
 import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
 import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.simplejavamail.MailException;
 import org.simplejavamail.api.email.Email;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
+import org.simplejavamail.api.email.OriginalSmimeDetails.SmimeMode;
 import org.simplejavamail.api.email.config.DkimConfig;
+import org.simplejavamail.api.email.config.SmimeEncryptionConfig;
+import org.simplejavamail.api.email.config.SmimeSigningConfig;
+import org.simplejavamail.api.mailer.AsyncSendRejectedException;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.EmailTooBigException;
 import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.MailSubmissionResult;
 import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendPhase;
+import org.simplejavamail.api.mailer.SendTrace;
+import org.simplejavamail.api.mailer.SendTracer;
 import org.simplejavamail.api.mailer.SmtpServerResponse;
 import org.simplejavamail.api.mailer.config.OAuth2AccessTokenProvider;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.SessionDebugOutput;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 import org.simplejavamail.api.mailer.config.TransportStrategy;
 import org.simplejavamail.config.ConfigLoader;
 import org.simplejavamail.converter.EmailConverter;
 import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.internal.dkimsupport.StreamingDkimMessage;
+import org.simplejavamail.internal.smimesupport.StreamingSmimeMessage;
+import org.simplejavamail.internal.util.concurrent.AsyncOperationHelper;
+import org.simplejavamail.internal.util.concurrent.VirtualThreadSupport;
 import org.simplejavamail.converter.internal.mimemessage.ImmutableDelegatingSMTPMessage;
 import org.simplejavamail.mailer.internal.MailerRegularBuilderImpl;
 import org.simplejavamail.mailer.internal.SessionBasedEmailToMimeMessageConverter;
@@ -39,25 +57,42 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.net.InetAddress;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static demo.ResourceFolderHelper.determineResourceFolder;
 import static jakarta.mail.Message.RecipientType.TO;
 import static java.util.Calendar.APRIL;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -496,6 +531,193 @@ public class MailerTest {
 						"h=Content-Type:MIME-Version:Subject:Message-ID:To:"+/*Reply-To:*/"From:Date;");
 	}
 
+	@Test
+	public void testDKIMStreamingSigningMatchesBufferedSigning()
+			throws IOException {
+		String privateDERkeyBase64 =
+				"MIICdgIBADANBgkqhkiG9w0BAQEFAASCAmAwggJcAgEAAoGBAMYuC7ZjFBSWJtP6JH8w1deJE+5sLwkUacZcW4MTVQXTM33BzN8Ec64KO1Hk2B9oxkpdunKt"
+						+ "BggwbWMlGU5gGu4PpQ20cdPcfBIkUMlQKaakHPPGNYaF9dQaZIRy8XON6g1sOJGALXtUYX1r5hdDH13kC/YBw9f1Dsi2smrB0qabAgMBAAECgYAdWbBuYJoWum4hssg49hiVhT2ob+k"
+						+ "/ZQCNWhxLe096P18+3rbiyJwBSI6kgEnpzPChDuSQG0PrbpCkwFfRHbafDIPiMi5b6YZkJoFmmOmBHsewS1VdR/phk+aPQV2SoJ0S0FAGZkOnOkagHfmEMSgjZzTpJouu5NU8mwqz8z"
+						+ "/s0QJBAOUnELTMG/Se3Pw4FQ49K49lA81QaMoL63lYIEvc6uSVoJSEcrBFxv5sfJW2LFWs8VIDyTvYzsCjLwZj6nwA3k0CQQDdZgVHX7crlpUxO/cjKtTa/Nq9S6XLv3S6XX3YJJ9/Z"
+						+ "pYpqAWJbbR+8scBgVxS+9NLLeHhlx/EvkaZRdLhwRyHAkEAtr1ThkqrFIXHxt9Wczd20HCG+qlgF5gv3WHYx4bSTx2/pBCHgWjzyxtqst1HN7+l5nicdrxsDJVVv+vYJ7FtlQJAWPgG"
+						+ "Zwgvs3Rvv7k5NwifQOEbhbZAigAGCF5Jk/Ijpi6zaUn7754GSn2FOzWgxDguUKe/fcgdHBLai/1jIRVZQQJAXF2xzWMwP+TmX44QxK52QHVI8mhNzcnH7A311gWns6AbLcuLA9quwjU"
+						+ "YJMRlfXk67lJXCleZL15EpVPrQ34KlA==";
+
+		for (DkimConfig.Canonicalization canonicalization : DkimConfig.Canonicalization.values()) {
+			String bufferedEml = null;
+			for (Integer spoolThreshold : Arrays.asList(null, 0, 1024 * 1024)) {
+				// plain text only, as multipart boundaries and content ids are random for each message
+				final Email email = EmailBuilder.startingBlank()
+						.from("Mr Sender", "mr.sender@supersecret-testing-domain.com")
+						.withRecipients(EmailHelper.parsedRecipients("Mr Receiver", true, TO, "mr.receiver@domain.com"))
+						.withSubject("hey")
+						.withPlainText("We should meet up!  \t\n\n  With  some \t whitespace and trailing empty lines  \n\n\n")
+						.fixingMessageId("<123@456>")
+						.fixingSentDate(new Date(1_600_000_000_000L))
+						.signWithDomainKey(DkimConfig.builder()
+								.dkimPrivateKeyData(Base64.getDecoder().decode(privateDERkeyBase64))
+								.dkimSigningDomain("supersecret-testing-domain.com")
+								.dkimSelector("dkim1")
+								.headerCanonicalization(canonicalization)
+								.bodyCanonicalization(canonicalization)
+								.useLengthParam(true)
+								.streamingSpoolThreshold(spoolThreshold)
+								.build())
+						.buildEmail();
+
+				final MimeMessage dkimSignedMessage = EmailConverter.emailToMimeMessage(email);
+				assertThat(dkimSignedMessage).isInstanceOf(spoolThreshold == null ? DkimMessage.class : StreamingDkimMessage.class);
+
+				final String eml = EmailConverter.mimeMessageToEML(dkimSignedMessage);
+				if (spoolThreshold == null) {
+					bufferedEml = eml;
+				} else {
+					assertThat(eml).as("streaming %s signing with spool threshold %s", canonicalization, spoolThreshold).isEqualTo(bufferedEml);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSmimeStreamingSigningAndEncryptionRoundTrip() {
+		final SmimeSigningConfig signingConfig = SmimeSigningConfig.builder()
+				.pkcs12Config(TestDataHelper.loadPkcs12KeyStore())
+				.streamingSpoolThreshold(0)
+				.build();
+		final SmimeEncryptionConfig encryptionConfig = SmimeEncryptionConfig.builder()
+				.x509Certificate(new File(RESOURCES_PKCS + "/smime_test_user.pem.standard.crt"))
+				.streamingSpoolThreshold(0)
+				.build();
+
+		final Email signedEmail = EmailHelper.createDummyEmailBuilder(true, true, false, true, false, false)
+				.clearBounceTo()
+				.signWithSmime(signingConfig)
+				.buildEmail();
+		final MimeMessage signedMessage = EmailConverter.emailToMimeMessage(signedEmail);
+		assertThat(signedMessage).isInstanceOf(StreamingSmimeMessage.class);
+
+		final Email receivedSignedEmail = EmailConverter.emlToEmail(EmailConverter.mimeMessageToEML(signedMessage), TestDataHelper.loadPkcs12KeyStore());
+		assertThat(receivedSignedEmail.getOriginalSmimeDetails().getSmimeMode()).isEqualTo(SmimeMode.SIGNED);
+		assertThat(receivedSignedEmail.getOriginalSmimeDetails().getSmimeMicalg()).isEqualTo("sha-256");
+		assertThat(receivedSignedEmail.getOriginalSmimeDetails().getSmimeSignatureValid()).isTrue();
+		assertThat(receivedSignedEmail.getPlainText()).isEqualTo(signedEmail.getPlainText());
+		assertThat(receivedSignedEmail.getAttachments()).hasSize(signedEmail.getAttachments().size() + 1); // the signature, smime.p7s
+
+		final Email signedAndEncryptedEmail = EmailHelper.createDummyEmailBuilder(true, true, false, true, false, false)
+				.clearBounceTo()
+				.signWithSmime(signingConfig)
+				.encryptWithSmime(encryptionConfig)
+				.buildEmail();
+		final MimeMessage signedAndEncryptedMessage = EmailConverter.emailToMimeMessage(signedAndEncryptedEmail);
+		assertThat(signedAndEncryptedMessage).isInstanceOf(StreamingSmimeMessage.class);
+
+		final Email receivedEmail = EmailConverter.emlToEmail(EmailConverter.mimeMessageToEML(signedAndEncryptedMessage), TestDataHelper.loadPkcs12KeyStore());
+		assertThat(receivedEmail.getOriginalSmimeDetails().getSmimeMode()).isEqualTo(SmimeMode.SIGNED_ENCRYPTED);
+		assertThat(receivedEmail.getSmimeSignedEmail()).isNotNull();
+		assertThat(receivedEmail.getSmimeSignedEmail().getOriginalSmimeDetails().getSmimeSignatureValid()).isTrue();
+		assertThat(receivedEmail.getPlainText()).isEqualTo(signedAndEncryptedEmail.getPlainText());
+		assertThat(receivedEmail.getHTMLText()).isEqualTo(signedAndEncryptedEmail.getHTMLText());
+	}
+
+	@Test
+	public void testSmimeStreamingSigningAndEncryptionKeepsLargeContentOffTheHeap()
+			throws IOException, MessagingException {
+		final int attachmentSize = 32 * 1024 * 1024;
+		final Email email = EmailBuilder.startingBlank()
+				.from("Mr Sender", "mr.sender@supersecret-testing-domain.com")
+				.withRecipients(EmailHelper.parsedRecipients("Mr Receiver", true, TO, "mr.receiver@domain.com"))
+				.withSubject("large attachment")
+				.withPlainText("See attachment")
+				.withAttachment("large.bin", new GeneratedDataSource("large.bin", attachmentSize))
+				.signWithSmime(SmimeSigningConfig.builder()
+						.pkcs12Config(TestDataHelper.loadPkcs12KeyStore())
+						.streamingSpoolThreshold(1024 * 1024)
+						.build())
+				.encryptWithSmime(SmimeEncryptionConfig.builder()
+						.x509Certificate(new File(RESOURCES_PKCS + "/smime_test_user.pem.standard.crt"))
+						.streamingSpoolThreshold(1024 * 1024)
+						.build())
+				.buildEmail();
+
+		final long usedHeapBefore = usedHeapAfterGc();
+		final MimeMessage message = EmailConverter.emailToMimeMessage(email);
+		final long retainedHeap = usedHeapAfterGc() - usedHeapBefore;
+
+		assertThat(message).isInstanceOf(StreamingSmimeMessage.class);
+		assertThat(retainedHeap).as("heap retained by the signed and encrypted message").isLessThan(attachmentSize / 8);
+
+		final CountingOutputStream sent = new CountingOutputStream();
+		message.writeTo(sent);
+		assertThat(sent.count).isGreaterThan(attachmentSize * 4L / 3);
+	}
+
+	private static long usedHeapAfterGc() {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Produces its content on the fly, so the attachment itself never occupies the heap, and counts how much of it was read.
+	 */
+	private static class GeneratedDataSource implements DataSource {
+		private final String name;
+		private final int size;
+		private long bytesRead;
+
+		private GeneratedDataSource(final String name, final int size) {
+			this.name = name;
+			this.size = size;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new InputStream() {
+				private int position;
+
+				@Override
+				public int read() {
+					if (position >= size) {
+						return -1;
+					}
+					bytesRead++;
+					return (position++ * 31) & 0xFF;
+				}
+			};
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getContentType() {
+			return "application/octet-stream";
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+		private long count;
+
+		@Override
+		public void write(final int b) {
+			count++;
+		}
+
+		@Override
+		public void write(final byte @NotNull [] b, final int off, final int len) {
+			count += len;
+		}
+	}
+
 	@Test
 	public void testSSLSocketFactoryClassConfig() {
 		final Mailer mailer = MailerBuilder
@@ -739,6 +961,379 @@ public class MailerTest {
 		assertThat(transportState.sentMessages).hasSize(2);
 	}
 
+	@Test
+	public void testParallelBatch_sendEmails_reportsEachEmailAndContinuesAfterFailure() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+
+		final Session session = createCountingTransportSession();
+		final CountingTransportState transportState = getCountingTransportState(session);
+		final Email invalidEmail = EmailBuilder.startingBlank()
+				.from("sender@example.com")
+				.withSubject("Email without recipients")
+				.withPlainText("Simple batch body")
+				.buildEmail();
+		final List<MailSubmissionResult> results = new ArrayList<>();
+
+		try (Mailer mailer = MailerBuilder.usingSession(session).buildMailer()) {
+			mailer.sendMailsInParallelBatch(Arrays.asList(
+					createBatchEmail("First batch email", "first@example.com"),
+					createBatchEmail("Second batch email", "second@example.com"),
+					invalidEmail,
+					createBatchEmail("Fourth batch email", "fourth@example.com"),
+					createBatchEmail("Fifth batch email", "fifth@example.com")), 2, 2, results::add).get();
+		}
+
+		assertThat(results).hasSize(5);
+		assertThat(results).filteredOn(MailSubmissionResult::isSuccess).hasSize(4);
+		assertThat(results).filteredOn(result -> !result.isSuccess())
+				.singleElement()
+				.satisfies(result -> {
+					assertThat(result.getEmail()).isSameAs(invalidEmail);
+					assertThat(result.getFailure()).get().isInstanceOf(MailException.class);
+				});
+		// at most one transport per chunk (fewer if the pool hands out a released one again), as the invalid email didn't cost the chunk its transport
+		assertThat(transportState.connectCount.get()).isBetween(2, 3);
+		assertThat(transportState.sentMessages).extracting(MimeMessage::getSubject)
+				.containsExactlyInAnyOrder("First batch email", "Second batch email", "Fourth batch email", "Fifth batch email");
+	}
+
+	@Test
+	public void testMaximumEmailSize_stopsRenderingOnceExceeded() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+
+		final Session session = createCountingTransportSession();
+		final CountingTransportState transportState = getCountingTransportState(session);
+		final Email smallEmail = createBatchEmail("Small email", "small@example.com");
+		final GeneratedDataSource bigAttachment = new GeneratedDataSource("big.bin", 4 * 1024 * 1024);
+		final Email bigEmail = EmailBuilder.copying(createBatchEmail("Big email", "big@example.com"))
+				.withAttachment("big.bin", bigAttachment)
+				.buildEmail();
+
+		try (Mailer mailer = MailerBuilder.usingSession(session).withMaximumEmailSize(16 * 1024).buildMailer()) {
+			mailer.sendMail(smallEmail, false);
+			assertThatThrownBy(() -> mailer.sendMail(bigEmail, false))
+					.hasMessageStartingWith("Failed to send email [ID:")
+					.getCause()
+					.isInstanceOf(EmailTooBigException.class)
+					.hasMessageContaining("bytes exceeds maximum allowed size of 16384 bytes");
+		}
+
+		// rendering was aborted near the limit, instead of encoding the whole attachment just to measure it
+		assertThat(bigAttachment.bytesRead).isPositive().isLessThan(256 * 1024);
+		assertThat(transportState.sentMessages).extracting(MimeMessage::getSubject).containsExactly("Small email");
+	}
+
+	@Test
+	public void testRenderedMessageCache_resendsExactlyWhatWasRendered_onHeapAndSpilled() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+
+		for (final int heapBudget : new int[] { 1024 * 1024, 0 }) {
+			final Session session = createCountingTransportSession();
+			final CountingTransportState transportState = getCountingTransportState(session);
+			final Email email = EmailBuilder.copying(createBatchEmail("Cached email", "to@example.com"))
+					.fixingMessageId("<render-once@example.com>")
+					.withRecipients(EmailHelper.parsedRecipients(null, false, Message.RecipientType.BCC, "bcc@example.com"))
+					.withBounceTo("bounce@example.com")
+					.withAttachment("data.bin", new byte[8 * 1024], "application/octet-stream")
+					.buildEmail();
+
+			try (Mailer mailer = MailerBuilder.usingSession(session)
+					.withRenderedMessageCacheSize(10)
+					.withRenderedMessageCacheHeapBudget(heapBudget)
+					.buildMailer()) {
+				mailer.sendMail(email, false);
+				mailer.sendMail(email, false);
+
+				assertThat(transportState.sentMessages).hasSize(2);
+				// a second rendering would have used a new multipart boundary
+				assertThat(EmailConverter.mimeMessageToEML(transportState.sentMessages.get(1)))
+						.isEqualTo(EmailConverter.mimeMessageToEML(transportState.sentMessages.get(0)));
+				assertThat(transportState.sentMessages.get(1).getMessageID()).isEqualTo("<render-once@example.com>");
+				assertThat(((SMTPMessage) transportState.sentMessages.get(1)).getEnvelopeFrom()).isEqualTo("bounce@example.com");
+				assertThat(transportState.sentRecipients.get(1)).extracting(Address::toString)
+						.containsExactlyInAnyOrder("to@example.com", "bcc@example.com");
+			}
+		}
+	}
+
+	@Test
+	public void testRenderedMessageCache_rendersAgainWhenEmailWithSameIdChanges() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+
+		final Session session = createCountingTransportSession();
+		final CountingTransportState transportState = getCountingTransportState(session);
+		final Email email = EmailBuilder.copying(createBatchEmail("Cached email", "to@example.com"))
+				.fixingMessageId("<render-once@example.com>")
+				.buildEmail();
+		final Email changedEmail = EmailBuilder.copying(createBatchEmail("Changed email", "other@example.com"))
+				.fixingMessageId("<render-once@example.com>")
+				.buildEmail();
+
+		try (Mailer mailer = MailerBuilder.usingSession(session).withRenderedMessageCacheSize(10).buildMailer()) {
+			mailer.sendMail(email, false);
+			mailer.sendMail(changedEmail, false);
+			mailer.sendMail(email, false);
+		}
+
+		assertThat(transportState.sentMessages).extracting(MimeMessage::getSubject)
+				.containsExactly("Cached email", "Changed email", "Cached email");
+		assertThat(transportState.sentRecipients.get(1)).extracting(Address::toString).containsExactly("other@example.com");
+		assertThat(transportState.sentRecipients.get(2)).extracting(Address::toString).containsExactly("to@example.com");
+	}
+
+	@Test
+	public void testRenderedMessageCache_logsAndRecordsCachedRenderingsLikeNewOnes() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		final RecordingMetricsRecorder metricsRecorder = new RecordingMetricsRecorder();
+
+		final Session session = createCountingTransportSession();
+		final CountingTransportState transportState = getCountingTransportState(session);
+		final Email email = EmailBuilder.copying(createBatchEmail("Cached email", "to@example.com"))
+				.fixingMessageId("<render-once@example.com>")
+				.buildEmail();
+
+		try (Mailer mailer = MailerBuilder.usingSession(session)
+				.withRenderedMessageCacheSize(10)
+				.withMetricsRecorder(metricsRecorder)
+				.buildMailer()) {
+			mailer.sendMail(email, false);
+			mailer.sendMail(email, false);
+		}
+
+		assertThat(transportState.sentMessages).hasSize(2);
+		assertThat(metricsRecorder.timers).filteredOn(MetricsRecorder.MIME_BUILD_TIME::equals).hasSize(2);
+		assertThat(email.getId()).isEqualTo("<render-once@example.com>");
+	}
+
+	@Test
+	public void testDefaultBatchMethods_validateReadSourceOnceAndReportFailedSends() throws Exception {
+		final ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			final OperationalConfig operationalConfig = mock(OperationalConfig.class);
+			doReturn(executorService).when(operationalConfig).getExecutorService();
+			final Mailer mailer = mock(Mailer.class, CALLS_REAL_METHODS);
+			doReturn(operationalConfig).when(mailer).getOperationalConfig();
+
+			final Email goodEmail = createBatchEmail("Good email", "good@example.com");
+			final Email badEmail = createBatchEmail("Bad email", "bad@example.com");
+			final MailSubmissionReceipt receipt = new MailSubmissionReceipt("<good@example.com>", null, java.time.Instant.now());
+			doReturn(CompletableFuture.completedFuture(receipt)).when(mailer).sendMailAndGetReceipt(goodEmail, false);
+			doReturn(AsyncOperationHelper.failedFuture(new IllegalStateException("server went away"))).when(mailer).sendMailAndGetReceipt(badEmail, false);
+
+			final AtomicInteger iterations = new AtomicInteger();
+			final Iterable<Email> readOnce = () -> {
+				assertThat(iterations.incrementAndGet()).isEqualTo(1);
+				return Collections.singletonList(goodEmail).iterator();
+			};
+			assertThat(mailer.sendMailsInSimpleBatchAndGetReceipts(readOnce, false).get()).containsExactly(receipt);
+
+			final List<MailSubmissionResult> results = new CopyOnWriteArrayList<>();
+			mailer.sendMailsInParallelBatch(Arrays.asList(goodEmail, badEmail), 2, 1, results::add).get(10, SECONDS);
+			assertThat(results).hasSize(2);
+			assertThat(results).filteredOn(MailSubmissionResult::isSuccess).extracting(MailSubmissionResult::getEmail).containsExactly(goodEmail);
+			assertThat(results).filteredOn(result -> !result.isSuccess()).singleElement()
+					.satisfies(result -> assertThat(result.getFailure().get()).hasRootCauseInstanceOf(IllegalStateException.class));
+
+			assertThatThrownBy(() -> mailer.sendMailsInParallelBatch(Arrays.asList(goodEmail), 0, 1, results::add))
+					.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> mailer.sendMailsInParallelBatch(Arrays.asList(goodEmail), 1, 0, results::add))
+					.isInstanceOf(IllegalArgumentException.class);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testVirtualThreads_sendsAsyncOnVirtualThreadsWhenAvailable() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+
+		final Session session = createCountingTransportSession();
+		final CountingTransportState transportState = getCountingTransportState(session);
+
+		try (Mailer mailer = MailerBuilder.usingSession(session).withVirtualThreads(true).buildMailer()) {
+			assertThat(mailer.getOperationalConfig().isVirtualThreads()).isTrue();
+			if (VirtualThreadSupport.isAvailable()) {
+				assertThat(mailer.getOperationalConfig().getExecutorService()).isNotInstanceOf(ThreadPoolExecutor.class);
+			} else {
+				// falls back to the regular thread pool on older runtimes
+				assertThat(mailer.getOperationalConfig().getExecutorService()).isInstanceOf(ThreadPoolExecutor.class);
+			}
+			mailer.sendMail(createBatchEmail("Virtual email", "virtual@example.com"), true).get();
+		}
+
+		assertThat(transportState.sentMessages).extracting(MimeMessage::getSubject).containsExactly("Virtual email");
+	}
+
+	@Test
+	public void testBoundedThreadPoolQueue_failFast_rejectsSendsBeyondCapacity() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		final CountDownLatch sendingAllowed = new CountDownLatch(1);
+		final CustomMailer customMailerMock = mock(CustomMailer.class);
+		doAnswer(invocation -> sendingAllowed.await(10, SECONDS)).when(customMailerMock)
+				.sendMessage(any(OperationalConfig.class), any(Session.class), any(Email.class), any(MimeMessage.class));
+
+		try (Mailer mailer = createFullyConfiguredMailerBuilder(false, "", null)
+				.withCustomMailer(customMailerMock)
+				.withThreadPoolSize(1)
+				.withThreadPoolQueueCapacity(1)
+				.withThreadPoolRejectionPolicy(ThreadPoolRejectionPolicy.FAIL_FAST)
+				.buildMailer()) {
+			final CompletableFuture<Void> sending = mailer.sendMail(createBatchEmail("Sending", "sending@example.com"), true);
+			final CompletableFuture<Void> queued = mailer.sendMail(createBatchEmail("Queued", "queued@example.com"), true);
+			final CompletableFuture<Void> rejected = mailer.sendMail(createBatchEmail("Rejected", "rejected@example.com"), true);
+
+			assertThat(mailer.getAsyncQueueDepth()).isEqualTo(1);
+			assertThatThrownBy(rejected::get).hasCauseInstanceOf(AsyncSendRejectedException.class);
+
+			sendingAllowed.countDown();
+			sending.get();
+			queued.get();
+			assertThat(mailer.getAsyncQueueDepth()).isZero();
+		}
+
+		verify(customMailerMock, times(2)).sendMessage(any(OperationalConfig.class), any(Session.class), any(Email.class), any(MimeMessage.class));
+	}
+
+	@Test
+	public void testMetricsRecorder_recordsBuildConnectSendAndPoolMetrics() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		final RecordingMetricsRecorder metricsRecorder = new RecordingMetricsRecorder();
+
+		final Session session = createCountingTransportSession();
+		final String cluster;
+
+		try (Mailer mailer = MailerBuilder.usingSession(session)
+				.withMetricsRecorder(metricsRecorder)
+				.withMaximumEmailSize(1024 * 1024)
+				.buildMailer()) {
+			mailer.sendMail(createBatchEmail("Pooled email", "pooled@example.com"));
+			mailer.withOpenConnection(sender -> sender.sendMail(createBatchEmail("Direct email", "direct@example.com")));
+
+			assertThat(metricsRecorder.gauges).containsOnlyKeys(MetricsRecorder.POOL_ACTIVE_LEASES, MetricsRecorder.POOL_CAPACITY, MetricsRecorder.POOL_LIMIT);
+			assertThat(metricsRecorder.gauges.get(MetricsRecorder.POOL_ACTIVE_LEASES).get().intValue()).isZero();
+			assertThat(metricsRecorder.gauges.get(MetricsRecorder.POOL_CAPACITY).get().intValue())
+					.isEqualTo(mailer.getOperationalConfig().getConnectionPoolMaxSize());
+			assertThat(metricsRecorder.gauges.get(MetricsRecorder.POOL_LIMIT).get().intValue())
+					.isEqualTo(mailer.getOperationalConfig().getConnectionPoolMaxSize());
+			cluster = mailer.getOperationalConfig().getClusterKey().toString();
+		}
+
+		assertThat(metricsRecorder.timers).containsExactlyInAnyOrder(
+				MetricsRecorder.MIME_BUILD_TIME,
+				MetricsRecorder.POOL_CLAIM_WAIT_TIME + "[cluster=" + cluster + ", outcome=success]",
+				MetricsRecorder.SEND_TIME + "[outcome=success]",
+				MetricsRecorder.MIME_BUILD_TIME,
+				MetricsRecorder.CONNECT_TIME + "[outcome=success]",
+				MetricsRecorder.SEND_TIME + "[outcome=success]");
+		assertThat(metricsRecorder.counters).containsExactly(
+				MetricsRecorder.SEND_RESPONSES + "[code=250]",
+				MetricsRecorder.SEND_RESPONSES + "[code=250]");
+		assertThat(metricsRecorder.amounts).hasSize(2).allSatisfy(size -> assertThat(size).isPositive());
+	}
+
+	@Test
+	public void testSendTracer_tracesNestedPhasesAndReceiptBreaksDownExclusiveDurations() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		final List<String> tracedPhases = new CopyOnWriteArrayList<>();
+		final AtomicReference<MailSubmissionReceipt> tracedReceipt = new AtomicReference<>();
+		final SendTracer sendTracer = email -> new SendTrace() {
+			@Override
+			public void phaseStarted(@NotNull final SendPhase phase) {
+				tracedPhases.add("start " + phase);
+			}
+
+			@Override
+			public void phaseEnded(@NotNull final SendPhase phase, final long durationNanos, @Nullable final Throwable failure) {
+				assertThat(failure).isNull();
+				tracedPhases.add("end " + phase);
+			}
+
+			@Override
+			public void ended(@Nullable final MailSubmissionReceipt receipt, @Nullable final Throwable failure) {
+				assertThat(failure).isNull();
+				tracedReceipt.set(receipt);
+			}
+		};
+
+		String privateDERkeyBase64 =
+				"MIICdgIBADANBgkqhkiG9w0BAQEFAASCAmAwggJcAgEAAoGBAMYuC7ZjFBSWJtP6JH8w1deJE+5sLwkUacZcW4MTVQXTM33BzN8Ec64KO1Hk2B9oxkpdunKt"
+						+ "BggwbWMlGU5gGu4PpQ20cdPcfBIkUMlQKaakHPPGNYaF9dQaZIRy8XON6g1sOJGALXtUYX1r5hdDH13kC/YBw9f1Dsi2smrB0qabAgMBAAECgYAdWbBuYJoWum4hssg49hiVhT2ob+k"
+						+ "/ZQCNWhxLe096P18+3rbiyJwBSI6kgEnpzPChDuSQG0PrbpCkwFfRHbafDIPiMi5b6YZkJoFmmOmBHsewS1VdR/phk+aPQV2SoJ0S0FAGZkOnOkagHfmEMSgjZzTpJouu5NU8mwqz8z"
+						+ "/s0QJBAOUnELTMG/Se3Pw4FQ49K49lA81QaMoL63lYIEvc6uSVoJSEcrBFxv5sfJW2LFWs8VIDyTvYzsCjLwZj6nwA3k0CQQDdZgVHX7crlpUxO/cjKtTa/Nq9S6XLv3S6XX3YJJ9/Z"
+						+ "pYpqAWJbbR+8scBgVxS+9NLLeHhlx/EvkaZRdLhwRyHAkEAtr1ThkqrFIXHxt9Wczd20HCG+qlgF5gv3WHYx4bSTx2/pBCHgWjzyxtqst1HN7+l5nicdrxsDJVVv+vYJ7FtlQJAWPgG"
+						+ "Zwgvs3Rvv7k5NwifQOEbhbZAigAGCF5Jk/Ijpi6zaUn7754GSn2FOzWgxDguUKe/fcgdHBLai/1jIRVZQQJAXF2xzWMwP+TmX44QxK52QHVI8mhNzcnH7A311gWns6AbLcuLA9quwjU"
+						+ "YJMRlfXk67lJXCleZL15EpVPrQ34KlA==";
+
+		final Email email = EmailBuilder.copying(createBatchEmail("Traced email", "traced@example.com"))
+				.from("sender@supersecret-testing-domain.com")
+				.signWithDomainKey(DkimConfig.builder()
+						.dkimPrivateKeyData(new ByteArrayInputStream(Base64.getDecoder().decode(privateDERkeyBase64)))
+						.dkimSigningDomain("supersecret-testing-domain.com")
+						.dkimSelector("dkim1")
+						.build())
+				.signWithSmime(new File(RESOURCES_PKCS + "/smime_keystore.pkcs12"), "letmein", "smime_test_user_alias_rsa", "letmein", null)
+				.buildEmail();
+
+		final MailSubmissionReceipt receipt;
+		try (Mailer mailer = MailerBuilder.usingSession(createCountingTransportSession())
+				.withSendTracer(sendTracer)
+				.withMaximumEmailSize(1024 * 1024)
+				.buildMailer()) {
+			receipt = mailer.sendMailAndGetReceipt(email, true).get();
+		}
+
+		assertThat(tracedReceipt).hasValue(receipt);
+		// the size check renders the message, which is when it is signed with DKIM
+		final List<String> mimeProductionPhases = tracedPhases.subList(tracedPhases.indexOf("start MIME_PRODUCTION") + 1, tracedPhases.indexOf("end MIME_PRODUCTION"));
+		assertThat(mimeProductionPhases).startsWith("start SMIME_SIGNING", "end SMIME_SIGNING", "start DKIM_SIGNING", "end DKIM_SIGNING");
+		assertThat(mimeProductionPhases).allSatisfy(phase -> assertThat(phase).endsWith("SIGNING"));
+		tracedPhases.removeAll(mimeProductionPhases);
+		assertThat(tracedPhases).containsExactly(
+				"start GOVERNANCE", "end GOVERNANCE",
+				"start VALIDATION", "end VALIDATION",
+				"start TRANSPORT_CLAIM", "end TRANSPORT_CLAIM",
+				"start MIME_PRODUCTION", "end MIME_PRODUCTION",
+				"start SMTP_SUBMISSION", "end SMTP_SUBMISSION");
+
+		assertThat(receipt.getPhaseDurations()).containsOnlyKeys(SendPhase.GOVERNANCE, SendPhase.VALIDATION, SendPhase.TRANSPORT_CLAIM,
+				SendPhase.MIME_PRODUCTION, SendPhase.SMIME_SIGNING, SendPhase.DKIM_SIGNING, SendPhase.SMTP_SUBMISSION);
+		assertThat(receipt.getPhaseDurations().values()).allSatisfy(duration -> assertThat(duration).isNotNegative());
+	}
+
+	@Test
+	public void testSendTracer_endsTraceWhenAsyncSendCannotBeSubmitted() throws Exception {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		final List<Throwable> tracedFailures = new CopyOnWriteArrayList<>();
+		final SendTracer sendTracer = email -> new SendTrace() {
+			@Override
+			public void phaseStarted(@NotNull final SendPhase phase) {
+			}
+
+			@Override
+			public void phaseEnded(@NotNull final SendPhase phase, final long durationNanos, @Nullable final Throwable failure) {
+			}
+
+			@Override
+			public void ended(@Nullable final MailSubmissionReceipt receipt, @Nullable final Throwable failure) {
+				tracedFailures.add(failure);
+			}
+		};
+		final ExecutorService shutDownExecutor = Executors.newSingleThreadExecutor();
+		shutDownExecutor.shutdown();
+
+		try (Mailer mailer = MailerBuilder.usingSession(createCountingTransportSession())
+				.withSendTracer(sendTracer)
+				.withExecutorService(shutDownExecutor)
+				.buildMailer()) {
+			final CompletableFuture<MailSubmissionReceipt> rejected = mailer.sendMailAndGetReceipt(createBatchEmail("Rejected", "rejected@example.com"), true);
+
+			assertThat(rejected).isCompletedExceptionally();
+		}
+
+		assertThat(tracedFailures).hasSize(1);
+		assertThat(tracedFailures.get(0)).isNotNull();
+	}
+
 	@Test
 	public void testOpenConnection_sendEmails_allowsCallerCheckpointingBetweenSends() throws Exception {
 		ConfigLoaderTestHelper.clearConfigProperties();
@@ -963,6 +1558,43 @@ public class MailerTest {
 		}
 	}
 
+	private static final class RecordingMetricsRecorder implements MetricsRecorder {
+		private final List<String> counters = new CopyOnWriteArrayList<>();
+		private final List<String> timers = new CopyOnWriteArrayList<>();
+		private final List<Long> amounts = new CopyOnWriteArrayList<>();
+		private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+
+		@Override
+		public void incrementCounter(@NotNull final String name, @NotNull final String... tags) {
+			counters.add(describe(name, tags));
+		}
+
+		@Override
+		public void recordTime(@NotNull final String name, final long nanos, @NotNull final String... tags) {
+			assertThat(nanos).isNotNegative();
+			timers.add(describe(name, tags));
+		}
+
+		@Override
+		public void recordAmount(@NotNull final String name, final long amount, @NotNull final String... tags) {
+			assertThat(name).isEqualTo(MetricsRecorder.MESSAGE_SIZE);
+			amounts.add(amount);
+		}
+
+		@Override
+		public void registerGauge(@NotNull final String name, @NotNull final Supplier<? extends Number> value, @NotNull final String... tags) {
+			gauges.put(name, value);
+		}
+
+		private static String describe(final String name, final String... tags) {
+			final List<String> pairs = new ArrayList<>();
+			for (int i = 0; i < tags.length; i += 2) {
+				pairs.add(tags[i] + "=" + tags[i + 1]);
+			}
+			return pairs.isEmpty() ? name : name + pairs;
+		}
+	}
+
 	private static final class CountingTransportState {
 		private final AtomicInteger connectCount = new AtomicInteger();
 		private final AtomicInteger closeCount = new AtomicInteger();
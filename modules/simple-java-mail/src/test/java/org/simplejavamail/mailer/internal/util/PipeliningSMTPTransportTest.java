@@ -0,0 +1,185 @@
+package org.simplejavamail.mailer.internal.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simplejavamail.MailException;
+import org.simplejavamail.api.email.Email;
+import org.simplejavamail.api.email.Recipient;
+import org.simplejavamail.api.mailer.MailSubmissionReceipt;
+import org.simplejavamail.api.mailer.Mailer;
+import org.simplejavamail.api.mailer.RejectedRecipient;
+import org.simplejavamail.email.EmailBuilder;
+import org.simplejavamail.mailer.MailerBuilder;
+import testutil.ConfigLoaderTestHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static jakarta.mail.Message.RecipientType.CC;
+import static jakarta.mail.Message.RecipientType.TO;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipeliningSMTPTransportTest {
+
+	private PipeliningSmtpServerStub server;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		ConfigLoaderTestHelper.clearConfigProperties();
+		server = new PipeliningSmtpServerStub();
+	}
+
+	@AfterEach
+	void stopServer() throws IOException {
+		server.close();
+	}
+
+	@Test
+	void simpleBatchPipelinesEnvelopeAndReportsRejectedRecipients() throws Exception {
+		final List<MailSubmissionReceipt> receipts;
+		try (Mailer mailer = createPipeliningMailer()) {
+			receipts = mailer.sendMailsInSimpleBatchAndGetReceipts(Arrays.asList(
+					createEmail("First", "first@example.com", "unknown@example.com"),
+					createEmail("Second", "second@example.com", "third@example.com")), false).get();
+		}
+
+		assertThat(receipts).hasSize(2);
+		assertThat(receipts.get(0).isAcceptedByServer()).isTrue();
+		assertThat(receipts.get(0).getSmtpResponse().get().getResponse()).startsWith("250 queued as 1");
+		assertThat(receipts.get(0).getRejectedRecipients()).extracting(RejectedRecipient::getAddress).containsExactly("unknown@example.com");
+		assertThat(receipts.get(0).getRejectedRecipients().get(0).getSmtpResponse().getReturnCode()).isEqualTo(550);
+		assertThat(receipts.get(1).hasRejectedRecipients()).isFalse();
+		assertThat(receipts.get(1).getSmtpResponse().get().getResponse()).startsWith("250 queued as 2");
+
+		assertThat(server.deliveredRecipients).containsExactly(
+				Arrays.asList("first@example.com"),
+				Arrays.asList("second@example.com", "third@example.com"));
+	}
+
+	@Test
+	void simpleBatchFailsWhenAllRecipientsAreRejected() throws Exception {
+		try (Mailer mailer = createPipeliningMailer()) {
+			assertThatThrownBy(() -> mailer.sendMailsInSimpleBatchAndGetReceipts(Arrays.asList(
+					createEmail("Rejected", "unknown@example.com", "unknown-too@example.com")), false))
+					.isInstanceOf(MailException.class)
+					.hasRootCauseMessage("550 5.1.1 no such user\n");
+		}
+
+		assertThat(server.deliveredRecipients).isEmpty();
+		assertThat(server.receivedCommands).contains("RSET");
+	}
+
+	private Mailer createPipeliningMailer() {
+		return MailerBuilder.withSMTPServer("localhost", server.getPort())
+				// the stub withholds all envelope replies until DATA, so without pipelining this times out
+				.withSessionTimeout(5000)
+				.withSmtpPipelining(true)
+				.buildMailer();
+	}
+
+	private static Email createEmail(final String subject, final String to, final String cc) {
+		return EmailBuilder.startingBlank()
+				.from("sender@example.com")
+				.withRecipients(new Recipient(null, to, TO, null), new Recipient(null, cc, CC, null))
+				.withSubject(subject)
+				.withPlainText("pipelined")
+				.buildEmail();
+	}
+
+	/**
+	 * Minimal SMTP server that advertises PIPELINING and, as allowed by RFC 2920, only replies to the envelope once it has received {@code DATA}.
+	 * Recipients with a local part starting with "unknown" are refused.
+	 */
+	private static class PipeliningSmtpServerStub {
+
+		private final ServerSocket serverSocket = new ServerSocket(0);
+		private final List<String> receivedCommands = new CopyOnWriteArrayList<>();
+		private final List<List<String>> deliveredRecipients = new CopyOnWriteArrayList<>();
+		private final Thread serverThread = new Thread(this::serve, "pipelining-smtp-stub");
+
+		PipeliningSmtpServerStub() throws IOException {
+			serverThread.setDaemon(true);
+			serverThread.start();
+		}
+
+		int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		void close() throws IOException {
+			serverSocket.close();
+		}
+
+		private void serve() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					handle(new BufferedReader(new InputStreamReader(socket.getInputStream(), US_ASCII)), socket.getOutputStream());
+				} catch (SocketException e) {
+					// server closed
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+
+		private void handle(final BufferedReader in, final OutputStream out) throws IOException {
+			reply(out, "220 stub ESMTP");
+			String line;
+			while ((line = in.readLine()) != null) {
+				receivedCommands.add(line);
+				if (line.startsWith("EHLO")) {
+					reply(out, "250-stub\r\n250-PIPELINING\r\n250 8BITMIME");
+				} else if (line.startsWith("MAIL FROM:")) {
+					handleTransaction(in, out);
+				} else if (line.equals("QUIT")) {
+					reply(out, "221 bye");
+					return;
+				} else {
+					reply(out, "250 OK");
+				}
+			}
+		}
+
+		private void handleTransaction(final BufferedReader in, final OutputStream out) throws IOException {
+			final StringBuilder replies = new StringBuilder("250 OK");
+			final List<String> accepted = new ArrayList<>();
+			String line;
+			while (!(line = in.readLine()).equals("DATA")) {
+				receivedCommands.add(line);
+				final String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+				if (address.startsWith("unknown")) {
+					replies.append("\r\n550 5.1.1 no such user");
+				} else {
+					accepted.add(address);
+					replies.append("\r\n250 OK");
+				}
+			}
+			receivedCommands.add(line);
+			reply(out, replies.append(accepted.isEmpty() ? "\r\n554 no valid recipients" : "\r\n354 go ahead").toString());
+			if (!accepted.isEmpty()) {
+				while (!in.readLine().equals(".")) {
+					// message content is not relevant here
+				}
+				deliveredRecipients.add(accepted);
+				reply(out, "250 queued as " + deliveredRecipients.size());
+			}
+		}
+
+		private static void reply(final OutputStream out, final String reply) throws IOException {
+			out.write((reply + "\r\n").getBytes(US_ASCII));
+			out.flush();
+		}
+	}
+}
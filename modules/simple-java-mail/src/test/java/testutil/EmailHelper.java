@@ -9,10 +9,13 @@ import org.simplejavamail.api.email.CalendarMethod;
 import org.simplejavamail.api.email.EmailPopulatingBuilder;
 import org.simplejavamail.api.email.Recipient;
 import org.simplejavamail.api.mailer.CustomMailer;
+import org.simplejavamail.api.mailer.MetricsRecorder;
+import org.simplejavamail.api.mailer.SendTracer;
 import org.simplejavamail.api.mailer.config.ConnectionPoolClusterConfig;
 import org.simplejavamail.api.mailer.config.LoadBalancingStrategy;
 import org.simplejavamail.api.mailer.config.OperationalConfig;
 import org.simplejavamail.api.mailer.config.OAuth2AccessTokenProvider;
+import org.simplejavamail.api.mailer.config.ThreadPoolRejectionPolicy;
 import org.simplejavamail.email.EmailBuilder;
 import org.simplejavamail.email.internal.InternalEmailPopulatingBuilder;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
@@ -160,15 +163,23 @@ public class EmailHelper {
 				/*14*/Collections.emptyMap(),
 				/*15*/false,
 				/*16*/false,
-				/*17*/null,
-				/*18*/false,
-				/*19*/ofNullable(hostsToTrust).orElse(Lists.emptyList()),
-				/*20*/trustAllSSLHost,
-				/*21*/verifyServerIdentity,
-				/*22*/newSingleThreadExecutor(),
-					/*23*/false,
-					/*24*/null,
-					/*25*/null);
+				/*17*/0,
+				/*18*/0,
+				/*19*/false,
+				/*20*/0,
+				/*21*/ThreadPoolRejectionPolicy.BLOCK,
+				/*22*/false,
+				/*23*/null,
+				/*24*/false,
+				/*25*/ofNullable(hostsToTrust).orElse(Lists.emptyList()),
+				/*26*/trustAllSSLHost,
+				/*27*/verifyServerIdentity,
+				/*28*/newSingleThreadExecutor(),
+					/*29*/false,
+					/*30*/null,
+					/*31*/null,
+					/*32*/MetricsRecorder.NOOP,
+					/*33*/SendTracer.NOOP);
 	}
 
 	@NotNull
@@ -190,16 +201,24 @@ public class EmailHelper {
 			/*13*/@NotNull final LoadBalancingStrategy connectionPoolLoadBalancingStrategy,
 			/*14*/@NotNull final Map<UUID, ConnectionPoolClusterConfig> connectionPoolClusterConfigs,
 			/*15*/final boolean transportModeLoggingOnly,
-			/*16*/final boolean debugLogging,
-			/*17*/@Nullable final PrintStream debugPrinter,
-			/*18*/final boolean disableAllClientValidation,
-			/*19*/@NotNull final List<String> sslHostsToTrust,
-			/*20*/final boolean trustAllSSLHost,
-			/*21*/final boolean verifyingServerIdentity,
-			/*22*/@NotNull final ExecutorService executorService,
-			/*23*/final boolean isExecutorServiceUserProvided,
-			/*24*/@Nullable final CustomMailer customMailer,
-			/*25*/@Nullable final OAuth2AccessTokenProvider oauth2AccessTokenProvider) {
+			/*16*/final boolean smtpPipelining,
+			/*17*/final int renderedMessageCacheSize,
+			/*18*/final int renderedMessageCacheHeapBudget,
+			/*19*/final boolean virtualThreads,
+			/*20*/final int threadPoolQueueCapacity,
+			/*21*/final ThreadPoolRejectionPolicy threadPoolRejectionPolicy,
+			/*22*/final boolean debugLogging,
+			/*23*/@Nullable final PrintStream debugPrinter,
+			/*24*/final boolean disableAllClientValidation,
+			/*25*/@NotNull final List<String> sslHostsToTrust,
+			/*26*/final boolean trustAllSSLHost,
+			/*27*/final boolean verifyingServerIdentity,
+			/*28*/@NotNull final ExecutorService executorService,
+			/*29*/final boolean isExecutorServiceUserProvided,
+			/*30*/@Nullable final CustomMailer customMailer,
+			/*31*/@Nullable final OAuth2AccessTokenProvider oauth2AccessTokenProvider,
+			/*32*/@NotNull final MetricsRecorder metricsRecorder,
+			/*33*/@NotNull final SendTracer sendTracer) {
 		try {
 			Constructor<?> constructor = Class.forName("org.simplejavamail.mailer.internal.OperationalConfigImpl").getDeclaredConstructors()[0];
 			constructor.setAccessible(true);
@@ -220,16 +239,24 @@ public class EmailHelper {
 					/*13*/connectionPoolLoadBalancingStrategy,
 					/*14*/connectionPoolClusterConfigs,
 					/*15*/transportModeLoggingOnly,
-					/*16*/debugLogging,
-					/*17*/debugPrinter,
-					/*18*/disableAllClientValidation,
-					/*19*/sslHostsToTrust,
-					/*20*/trustAllSSLHost,
-					/*21*/verifyingServerIdentity,
-					/*22*/executorService,
-					/*23*/isExecutorServiceUserProvided,
-					/*24*/customMailer,
-					/*25*/oauth2AccessTokenProvider);
+					/*16*/smtpPipelining,
+					/*17*/renderedMessageCacheSize,
+					/*18*/renderedMessageCacheHeapBudget,
+					/*19*/virtualThreads,
+					/*20*/threadPoolQueueCapacity,
+					/*21*/threadPoolRejectionPolicy,
+					/*22*/debugLogging,
+					/*23*/debugPrinter,
+					/*24*/disableAllClientValidation,
+					/*25*/sslHostsToTrust,
+					/*26*/trustAllSSLHost,
+					/*27*/verifyingServerIdentity,
+					/*28*/executorService,
+					/*29*/isExecutorServiceUserProvided,
+					/*30*/customMailer,
+					/*31*/oauth2AccessTokenProvider,
+					/*32*/metricsRecorder,
+					/*33*/sendTracer);
 		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
 			throw new AssertionError(e.getMessage(), e);
 		}
@@ -11,21 +11,31 @@ import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
 import jakarta.mail.internet.MimePart;
 import jakarta.mail.util.ByteArrayDataSource;
+import org.bouncycastle.asn1.ASN1EncodableVector;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.cms.AttributeTable;
+import org.bouncycastle.asn1.cms.IssuerAndSerialNumber;
 import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.smime.SMIMECapabilitiesAttribute;
+import org.bouncycastle.asn1.smime.SMIMECapability;
+import org.bouncycastle.asn1.smime.SMIMECapabilityVector;
+import org.bouncycastle.asn1.smime.SMIMEEncryptionKeyPreferenceAttribute;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.asn1.x500.RDN;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x500.style.BCStyle;
 import org.bouncycastle.asn1.x500.style.IETFUtils;
 import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaCertStore;
 import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
 import org.bouncycastle.cms.CMSException;
 import org.bouncycastle.cms.SignerId;
+import org.bouncycastle.cms.SignerInfoGenerator;
 import org.bouncycastle.cms.SignerInformation;
 import org.bouncycastle.cms.SignerInformationVerifier;
 import org.bouncycastle.cms.jcajce.JceCMSContentEncryptorBuilder;
 import org.bouncycastle.cms.jcajce.JceKeyTransRecipientInfoGenerator;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
 import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoVerifierBuilder;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.mail.smime.SMIMEEnvelopedGenerator;
@@ -49,11 +59,14 @@ import org.simplejavamail.api.internal.outlooksupport.model.OutlookSmime.Outlook
 import org.simplejavamail.api.internal.outlooksupport.model.OutlookSmime.OutlookSmimeMultipartSigned;
 import org.simplejavamail.api.internal.smimesupport.model.AttachmentDecryptionResult;
 import org.simplejavamail.api.internal.smimesupport.model.SmimeDetails;
+import org.simplejavamail.api.mailer.MetricsRecorder;
 import org.simplejavamail.api.mailer.config.Pkcs12Config;
+import org.simplejavamail.config.ConfigLoader.Property;
 import org.simplejavamail.internal.modules.SMIMEModule;
 import org.simplejavamail.internal.smimesupport.builder.SmimeParseResultBuilder;
 import org.simplejavamail.internal.smimesupport.model.OriginalSmimeDetailsImpl;
 import org.simplejavamail.internal.smimesupport.model.SmimeDetailsImpl;
+import org.simplejavamail.internal.util.concurrent.SingleFlightCache;
 import org.simplejavamail.utils.mail.smime.KeyEncapsulationAlgorithm;
 import org.simplejavamail.utils.mail.smime.SmimeKey;
 import org.simplejavamail.utils.mail.smime.SmimeKeyStore;
@@ -67,32 +80,49 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.Security;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.security.spec.MGF1ParameterSpec;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.crypto.spec.OAEPParameterSpec;
 import javax.crypto.spec.PSource;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_ENCRYPTING_SMIME_FOR_RECIPIENTS;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_DECRYPTING_SMIME_SIGNED_ATTACHMENT;
+import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_DECRYPTING_SMIME_ATTACHMENTS_INTERRUPTED;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_DETERMINING_SMIME_SIGNER;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_EXTRACTING_SIGNEDBY_FROM_SMIME_SIGNED_ATTACHMENT;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_EXTRACTING_SUBJECT_FROM_CERTIFICATE;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_OBTAINING_SMIME_KEY;
 import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_READING_SMIME_CONTENT_TYPE;
+import static org.simplejavamail.internal.smimesupport.SmimeException.ERROR_SIGNING_SMIME;
 import static org.simplejavamail.internal.smimesupport.SmimeException.MIMEPART_ASSUMED_SIGNED_ACTUALLY_NOT_SIGNED;
+import static org.simplejavamail.config.ConfigLoader.Property.SMIME_DECRYPTION_PARALLELISM;
+import static org.simplejavamail.config.ConfigLoader.getIntegerProperty;
+import static org.simplejavamail.config.ConfigLoader.hasProperty;
 import static org.simplejavamail.internal.util.MiscUtil.defaultTo;
 
 
@@ -104,7 +134,30 @@ public class SMIMESupport implements SMIMEModule {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(SMIMESupport.class);
 	private static final List<String> SMIME_MIMETYPES = asList("application/pkcs7-mime", "application/x-pkcs7-mime", "multipart/signed");
-	private static final Map<Pkcs12Config, SmimeKey> SIMPLE_SMIMESTORE_CACHE = new HashMap<>();
+	private static final int SMIME_KEY_CACHE_MAXIMUM_SIZE = 100;
+	private static final int SMIME_KEY_CACHE_TIME_TO_LIVE_MINUTES = 60;
+	/**
+	 * Parsed private keys, keyed by a fingerprint of their keystore configuration rather than the configuration itself, so the cache doesn't hold on
+	 * to the keystore data and passwords. Bounded, so keystores that are rotated out eventually leave the cache.
+	 */
+	private static final SingleFlightCache<String, SmimeKey> SMIME_KEY_CACHE = new SingleFlightCache<>(MetricsRecorder.SMIME_KEY_CACHE_LOOKUPS,
+			SMIME_KEY_CACHE_MAXIMUM_SIZE, SMIME_KEY_CACHE_TIME_TO_LIVE_MINUTES, TimeUnit.MINUTES);
+	private static final int RECIPIENT_INFO_GENERATOR_CACHE_MAXIMUM_SIZE = 10_000;
+	private static final int RECIPIENT_INFO_GENERATOR_CACHE_TIME_TO_LIVE_HOURS = 12;
+	/**
+	 * Recipient info generators, keyed by a fingerprint of the recipient's certificate and the key encapsulation algorithm. A generator holds the
+	 * issuer, serial number and public key parsed from its certificate and creates a new Cipher for each message, so it can be shared.
+	 */
+	private static final SingleFlightCache<String, JceKeyTransRecipientInfoGenerator> RECIPIENT_INFO_GENERATOR_CACHE = new SingleFlightCache<>(
+			MetricsRecorder.SMIME_RECIPIENT_CACHE_LOOKUPS, RECIPIENT_INFO_GENERATOR_CACHE_MAXIMUM_SIZE, RECIPIENT_INFO_GENERATOR_CACHE_TIME_TO_LIVE_HOURS,
+			TimeUnit.HOURS);
+
+	/**
+	 * Created on first use, when attachments are decrypted in parallel.
+	 *
+	 * @see #retrieveDecryptionPool(int)
+	 */
+	@Nullable private static ForkJoinPool decryptionPool;
 
 	static {
 		Security.addProvider(new BouncyCastleProvider());
@@ -246,21 +299,130 @@ public class SMIMESupport implements SMIMEModule {
 			@Nullable final Pkcs12Config pkcs12Config,
 			@NotNull final OriginalSmimeDetails messageSmimeDetails,
 			@Nullable final OriginalSmimeDetailsImpl smimeDetailsToUpdate) {
+		final int configuredParallelism = determineConfiguredDecryptionParallelism();
+		if (configuredParallelism > 1) {
+			// the other attachments are simply passed on, so there is no use in more concurrent decryptions than there are S/MIME attachments
+			final int concurrency = Math.min(configuredParallelism, countSmimeAttachments(attachments));
+			if (concurrency > 1) {
+				return decryptAttachmentsInParallel(attachments, pkcs12Config, messageSmimeDetails, smimeDetailsToUpdate, configuredParallelism, concurrency);
+			}
+		}
 		final List<AttachmentDecryptionResult> decryptedAttachments = new ArrayList<>();
+		for (final AttachmentResource attachment : attachments) {
+			decryptedAttachments.add(decryptAttachment(attachment, pkcs12Config, messageSmimeDetails, smimeDetailsToUpdate));
+		}
+
+		return decryptedAttachments;
+	}
+
+	/**
+	 * @return The configured {@link Property#SMIME_DECRYPTION_PARALLELISM}, or 1 if attachments should be decrypted one by one.
+	 */
+	private static int determineConfiguredDecryptionParallelism() {
+		final Integer configuredParallelism = hasProperty(SMIME_DECRYPTION_PARALLELISM) ? getIntegerProperty(SMIME_DECRYPTION_PARALLELISM) : null;
+		return configuredParallelism != null ? Math.max(1, configuredParallelism) : 1;
+	}
+
+	private int countSmimeAttachments(@NotNull final List<AttachmentResource> attachments) {
+		int smimeAttachments = 0;
 		for (final AttachmentResource attachment : attachments) {
 			if (isSmimeAttachment(attachment)) {
-				try {
-					LOGGER.debug("decrypting S/MIME signed attachment '{}'...", attachment.getName());
-					decryptedAttachments.add(decryptAndUnsignAttachment(attachment, pkcs12Config, messageSmimeDetails, smimeDetailsToUpdate));
-				} catch (Exception e) {
-					throw new SmimeException(format(ERROR_DECRYPTING_SMIME_SIGNED_ATTACHMENT, attachment), e);
+				smimeAttachments++;
+			}
+		}
+		return smimeAttachments;
+	}
+
+	/**
+	 * Decrypts the attachments on a shared fork-join pool, while the results keep the order of the attachments. The pool is sized by the configured
+	 * parallelism, while this message takes up at most the given concurrency from it, so parsing several messages at once shares the pool. The
+	 * validity of each attachment's signature is first recorded separately and then merged into the message's S/MIME details in the order of the
+	 * attachments, just like the serial mode does.
+	 */
+	@NotNull
+	private List<AttachmentDecryptionResult> decryptAttachmentsInParallel(
+			@NotNull final List<AttachmentResource> attachments,
+			@Nullable final Pkcs12Config pkcs12Config,
+			@NotNull final OriginalSmimeDetails messageSmimeDetails,
+			@Nullable final OriginalSmimeDetailsImpl smimeDetailsToUpdate,
+			final int configuredParallelism,
+			final int concurrency) {
+		final AttachmentDecryptionResult[] decryptedAttachments = new AttachmentDecryptionResult[attachments.size()];
+		final OriginalSmimeDetailsImpl[] attachmentSmimeDetails = new OriginalSmimeDetailsImpl[attachments.size()];
+		final AtomicInteger nextAttachment = new AtomicInteger();
+		final List<Callable<Void>> decryptionTasks = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			decryptionTasks.add(() -> {
+				for (int index; (index = nextAttachment.getAndIncrement()) < attachments.size(); ) {
+					attachmentSmimeDetails[index] = smimeDetailsToUpdate != null ? OriginalSmimeDetailsImpl.builder().build() : null;
+					decryptedAttachments[index] = decryptAttachment(attachments.get(index), pkcs12Config, messageSmimeDetails, attachmentSmimeDetails[index]);
+				}
+				return null;
+			});
+		}
+
+		for (final Future<Void> decryptionTask : retrieveDecryptionPool(configuredParallelism).invokeAll(decryptionTasks)) {
+			awaitDecryption(decryptionTask);
+		}
+		if (smimeDetailsToUpdate != null) {
+			for (final OriginalSmimeDetailsImpl attachmentDetails : attachmentSmimeDetails) {
+				if (attachmentDetails.getSmimeSignatureValid() != null) {
+					smimeDetailsToUpdate.completeWithSmimeSignatureValid(attachmentDetails.getSmimeSignatureValid());
 				}
-			} else {
-				decryptedAttachments.add(new AttachmentDecryptionResultImpl(SmimeMode.PLAIN, attachment));
 			}
 		}
+		return new ArrayList<>(Arrays.asList(decryptedAttachments));
+	}
 
-		return decryptedAttachments;
+	private static void awaitDecryption(@NotNull final Future<Void> decryptionTask) {
+		try {
+			decryptionTask.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SmimeException(ERROR_DECRYPTING_SMIME_ATTACHMENTS_INTERRUPTED, e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("should not reach here", e);
+		}
+	}
+
+	/**
+	 * The pool is shared across messages, so parsing many small messages doesn't start new threads every time. It is only replaced when the
+	 * configured parallelism changes. The replaced pool is not shut down, as other threads may still be about to submit to it; its idle threads
+	 * end by themselves.
+	 */
+	@NotNull
+	private static synchronized ForkJoinPool retrieveDecryptionPool(final int configuredParallelism) {
+		if (decryptionPool == null || decryptionPool.getParallelism() != configuredParallelism) {
+			decryptionPool = new ForkJoinPool(configuredParallelism, pool -> {
+				final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("Simple Java Mail S/MIME decryption " + thread.getPoolIndex());
+				return thread;
+			}, null, false);
+		}
+		return decryptionPool;
+	}
+
+	@NotNull
+	private AttachmentDecryptionResult decryptAttachment(
+			@NotNull final AttachmentResource attachment,
+			@Nullable final Pkcs12Config pkcs12Config,
+			@NotNull final OriginalSmimeDetails messageSmimeDetails,
+			@Nullable final OriginalSmimeDetailsImpl smimeDetailsToUpdate) {
+		if (isSmimeAttachment(attachment)) {
+			try {
+				LOGGER.debug("decrypting S/MIME signed attachment '{}'...", attachment.getName());
+				return decryptAndUnsignAttachment(attachment, pkcs12Config, messageSmimeDetails, smimeDetailsToUpdate);
+			} catch (Exception e) {
+				throw new SmimeException(format(ERROR_DECRYPTING_SMIME_SIGNED_ATTACHMENT, attachment), e);
+			}
+		}
+		return new AttachmentDecryptionResultImpl(SmimeMode.PLAIN, attachment);
 	}
 
 	/**
@@ -302,7 +464,7 @@ public class SMIMESupport implements SMIMEModule {
 			@Nullable final OriginalSmimeDetailsImpl smimeDetailsToUpdate)
 			throws MessagingException, IOException {
 		if (pkcs12Config != null) {
-			MimeBodyPart liberatedBodyPart = SmimeUtil.decrypt(mimeBodyPart, retrieveSmimeKeyFromPkcs12Keystore(pkcs12Config));
+			MimeBodyPart liberatedBodyPart = SmimeUtil.decrypt(mimeBodyPart, retrieveSmimeKeyFromPkcs12Keystore(pkcs12Config, MetricsRecorder.NOOP));
 			if (SmimeUtil.getStatus(liberatedBodyPart) == SmimeState.SIGNED_ENVELOPED) {
 				final AttachmentDecryptionResult signedContent = getSignedContent(liberatedBodyPart, null);
 				if (signedContent != null) {
@@ -518,14 +680,60 @@ public class SMIMESupport implements SMIMEModule {
 
 	@NotNull
 	@Override
-	public MimeMessage signMessageWithSmime(@Nullable final Session session, @NotNull final Email email, @NotNull final MimeMessage messageToProtect, @NotNull final SmimeSigningConfig smimeSigningConfig) {
-		return SmimeUtil.sign(session, email.getId(), messageToProtect, retrieveSmimeKeyFromPkcs12Keystore(smimeSigningConfig.getPkcs12Config()),
-				defaultTo(smimeSigningConfig.getSignatureAlgorithm(), SmimeUtil.DEFAULT_SIGNATURE_ALGORITHM_NAME));
+	public MimeMessage signMessageWithSmime(@Nullable final Session session, @NotNull final Email email, @NotNull final MimeMessage messageToProtect, @NotNull final SmimeSigningConfig smimeSigningConfig,
+			@NotNull final MetricsRecorder metricsRecorder) {
+		final SmimeKey smimeKey = retrieveSmimeKeyFromPkcs12Keystore(smimeSigningConfig.getPkcs12Config(), metricsRecorder);
+		final String signatureAlgorithm = defaultTo(smimeSigningConfig.getSignatureAlgorithm(), SmimeUtil.DEFAULT_SIGNATURE_ALGORITHM_NAME);
+		final Integer streamingSpoolThreshold = smimeSigningConfig.getStreamingSpoolThreshold();
+		if (streamingSpoolThreshold == null) {
+			return SmimeUtil.sign(session, email.getId(), messageToProtect, smimeKey, signatureAlgorithm);
+		}
+		try {
+			return StreamingSmimeMessage.sign(session, messageToProtect, createSignerInfoGenerator(smimeKey, signatureAlgorithm),
+					createCertificateStore(smimeKey), email.getId(), streamingSpoolThreshold);
+		} catch (Exception e) {
+			throw new SmimeException(ERROR_SIGNING_SMIME, e);
+		}
+	}
+
+	/**
+	 * Configured the same way as the S/MIME library does for buffered signing.
+	 */
+	@NotNull
+	private static SignerInfoGenerator createSignerInfoGenerator(@NotNull final SmimeKey smimeKey, @NotNull final String signatureAlgorithm)
+			throws OperatorCreationException, CertificateEncodingException {
+		final X509Certificate certificate = smimeKey.getCertificate();
+		final ASN1EncodableVector signedAttributes = new ASN1EncodableVector();
+		signedAttributes.add(new SMIMEEncryptionKeyPreferenceAttribute(new IssuerAndSerialNumber(new X500Name(certificate.getIssuerX500Principal().getName()),
+				certificate.getSerialNumber())));
+		final SMIMECapabilityVector capabilities = new SMIMECapabilityVector();
+		capabilities.addCapability(SMIMECapability.dES_EDE3_CBC);
+		capabilities.addCapability(SMIMECapability.rC2_CBC, 128);
+		capabilities.addCapability(SMIMECapability.dES_CBC);
+		signedAttributes.add(new SMIMECapabilitiesAttribute(capabilities));
+		return new JcaSimpleSignerInfoGeneratorBuilder()
+				.setSignedAttributeGenerator(new AttributeTable(signedAttributes))
+				.setProvider(BouncyCastleProvider.PROVIDER_NAME)
+				.build(signatureAlgorithm, smimeKey.getPrivateKey(), certificate);
+	}
+
+	@NotNull
+	private static JcaCertStore createCertificateStore(@NotNull final SmimeKey smimeKey) throws CertificateEncodingException {
+		final X509Certificate[] certificateChain = smimeKey.getCertificateChain();
+		return new JcaCertStore(certificateChain != null && certificateChain.length > 0
+				? asList(certificateChain)
+				: singletonList(smimeKey.getCertificate()));
 	}
 
 	@NotNull
 	@Override
-	public MimeMessage encryptMessageWithSmime(@Nullable final Session session, @NotNull final Email email, @NotNull final MimeMessage messageToProtect, @NotNull final SmimeEncryptionConfig smimeEncryptionConfige) {
+	public MimeMessage encryptMessageWithSmime(@Nullable final Session session, @NotNull final Email email, @NotNull final MimeMessage messageToProtect, @NotNull final SmimeEncryptionConfig smimeEncryptionConfige,
+			@NotNull final MetricsRecorder metricsRecorder) {
+		if (smimeEncryptionConfige.getStreamingSpoolThreshold() != null) {
+			return encryptMessageWithSmimeForRecipients(session, email, messageToProtect, singletonList(smimeEncryptionConfige.getX509Certificate()),
+					smimeEncryptionConfige.getKeyEncapsulationAlgorithm(), smimeEncryptionConfige.getCipherAlgorithm(),
+					smimeEncryptionConfige.getStreamingSpoolThreshold(), metricsRecorder);
+		}
         return SmimeUtil.encrypt(session, messageToProtect, email.getId(), smimeEncryptionConfige.getX509Certificate(),
                 ofNullable(smimeEncryptionConfige.getKeyEncapsulationAlgorithm())
                         .map(KeyEncapsulationAlgorithm::valueOf)
@@ -539,7 +747,20 @@ public class SMIMESupport implements SMIMEModule {
 	@Override
 	public MimeMessage encryptMessageWithSmimeForRecipients(@Nullable final Session session, @NotNull final Email email,
 			@NotNull final MimeMessage messageToProtect, @NotNull final Collection<X509Certificate> recipientCerts,
-			@Nullable final String keyEncapsulationAlgorithmStr, @Nullable final String cipherAlgorithmStr) {
+			@Nullable final String keyEncapsulationAlgorithmStr, @Nullable final String cipherAlgorithmStr, @NotNull final MetricsRecorder metricsRecorder) {
+		final SmimeEncryptionConfig smimeEncryptionConfig = email.getSmimeEncryptionConfig();
+		return encryptMessageWithSmimeForRecipients(session, email, messageToProtect, recipientCerts, keyEncapsulationAlgorithmStr, cipherAlgorithmStr,
+				smimeEncryptionConfig != null ? smimeEncryptionConfig.getStreamingSpoolThreshold() : null, metricsRecorder);
+	}
+
+	/**
+	 * @param streamingSpoolThreshold See {@link SmimeEncryptionConfig#getStreamingSpoolThreshold()}.
+	 */
+	@NotNull
+	private MimeMessage encryptMessageWithSmimeForRecipients(@Nullable final Session session, @NotNull final Email email,
+			@NotNull final MimeMessage messageToProtect, @NotNull final Collection<X509Certificate> recipientCerts,
+			@Nullable final String keyEncapsulationAlgorithmStr, @Nullable final String cipherAlgorithmStr, @Nullable final Integer streamingSpoolThreshold,
+			@NotNull final MetricsRecorder metricsRecorder) {
 		try {
 			final KeyEncapsulationAlgorithm keyEncapsulationAlgorithm = ofNullable(keyEncapsulationAlgorithmStr)
 					.map(KeyEncapsulationAlgorithm::valueOf)
@@ -548,14 +769,23 @@ public class SMIMESupport implements SMIMEModule {
 					.map(CMSAlgorithmResolver::resolve)
 					.orElse(SmimeUtil.DEFAULT_CIPHER);
 
-			final SMIMEEnvelopedGenerator generator = new SMIMEEnvelopedGenerator();
+			final List<JceKeyTransRecipientInfoGenerator> recipientInfoGenerators = new ArrayList<>();
 			for (X509Certificate cert : recipientCerts) {
-				generator.addRecipientInfoGenerator(createRecipientInfoGenerator(cert, keyEncapsulationAlgorithm));
+				recipientInfoGenerators.add(retrieveRecipientInfoGenerator(cert, keyEncapsulationAlgorithm, metricsRecorder));
 			}
 
 			final OutputEncryptor encryptor = new JceCMSContentEncryptorBuilder(cmsAlgorithm)
 					.setProvider(BouncyCastleProvider.PROVIDER_NAME).build();
 
+			if (streamingSpoolThreshold != null) {
+				return StreamingSmimeMessage.encrypt(session, messageToProtect, recipientInfoGenerators, encryptor, email.getId(), streamingSpoolThreshold);
+			}
+
+			final SMIMEEnvelopedGenerator generator = new SMIMEEnvelopedGenerator();
+			for (JceKeyTransRecipientInfoGenerator recipientInfoGenerator : recipientInfoGenerators) {
+				generator.addRecipientInfoGenerator(recipientInfoGenerator);
+			}
+
 			final MimeMessage encryptedMessage = new SmimeMessageIdFixingMimeMessage(session, email.getId());
 			copyAllHeaders(messageToProtect, encryptedMessage);
 
@@ -569,6 +799,20 @@ public class SMIMESupport implements SMIMEModule {
 		}
 	}
 
+	@NotNull
+	private static JceKeyTransRecipientInfoGenerator retrieveRecipientInfoGenerator(@NotNull final X509Certificate certificate,
+			@NotNull final KeyEncapsulationAlgorithm keyEncapsulationAlgorithm, @NotNull final MetricsRecorder metricsRecorder)
+			throws CertificateEncodingException {
+		final String cacheKey = fingerprint(certificate.getEncoded(), keyEncapsulationAlgorithm.name().getBytes(UTF_8));
+		return RECIPIENT_INFO_GENERATOR_CACHE.get(cacheKey, fingerprint -> {
+			try {
+				return createRecipientInfoGenerator(certificate, keyEncapsulationAlgorithm);
+			} catch (CertificateEncodingException | InvalidAlgorithmParameterException e) {
+				throw new SmimeException(ERROR_ENCRYPTING_SMIME_FOR_RECIPIENTS, e);
+			}
+		}, metricsRecorder);
+	}
+
 	private static JceKeyTransRecipientInfoGenerator createRecipientInfoGenerator(@NotNull final X509Certificate certificate,
 			@NotNull final KeyEncapsulationAlgorithm keyEncapsulationAlgorithm)
 			throws CertificateEncodingException, InvalidAlgorithmParameterException {
@@ -613,19 +857,44 @@ public class SMIMESupport implements SMIMEModule {
 
 	@Override
 	public boolean isMessageIdFixingMessage(MimeMessage message) {
-		return message instanceof SmimeMessageIdFixingMimeMessage || message instanceof SmimeMessageIdFixingSMTPMessage;
+		return message instanceof SmimeMessageIdFixingMimeMessage || message instanceof SmimeMessageIdFixingSMTPMessage || message instanceof StreamingSmimeMessage;
+	}
+
+	@Override
+	public void invalidateCachedSmimeKeys(@Nullable final Pkcs12Config pkcs12Config) {
+		SMIME_KEY_CACHE.invalidate(pkcs12Config != null ? fingerprint(pkcs12Config) : null);
 	}
 
 	@NotNull
-	private SmimeKey retrieveSmimeKeyFromPkcs12Keystore(@NotNull Pkcs12Config pkcs12Config) {
-		if (!SIMPLE_SMIMESTORE_CACHE.containsKey(pkcs12Config)) {
-			SmimeKey smimeKey = produceSmimeKey(pkcs12Config);
+	private SmimeKey retrieveSmimeKeyFromPkcs12Keystore(@NotNull final Pkcs12Config pkcs12Config, @NotNull final MetricsRecorder metricsRecorder) {
+		return SMIME_KEY_CACHE.get(fingerprint(pkcs12Config), fingerprint -> {
+			final SmimeKey smimeKey = produceSmimeKey(pkcs12Config);
 			if (smimeKey == null) {
 				throw new SmimeException(ERROR_OBTAINING_SMIME_KEY);
 			}
-			SIMPLE_SMIMESTORE_CACHE.put(pkcs12Config, smimeKey);
+			return smimeKey;
+		}, metricsRecorder);
+	}
+
+	@NotNull
+	private static String fingerprint(@NotNull final Pkcs12Config pkcs12Config) {
+		return fingerprint(pkcs12Config.getPkcs12StoreData(), new String(pkcs12Config.getStorePassword()).getBytes(UTF_8), pkcs12Config.getKeyAlias().getBytes(UTF_8),
+				new String(pkcs12Config.getKeyPassword()).getBytes(UTF_8));
+	}
+
+	@NotNull
+	private static String fingerprint(final byte[]... parts) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (final byte[] part : parts) {
+				// prefixed with its length, so bytes can't be shifted from one part into another, whatever the parts contain
+				digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(part.length).array());
+				digest.update(part);
+			}
+			return Base64.getEncoder().encodeToString(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is a mandatory MessageDigest algorithm", e);
 		}
-        return SIMPLE_SMIMESTORE_CACHE.get(pkcs12Config);
 	}
 
 	@Nullable
@@ -18,7 +18,9 @@ class SmimeException extends MailException {
 	static final String MIMEPART_ASSUMED_SIGNED_ACTUALLY_NOT_SIGNED = "MimePart that was assumed to be S/MIME signed / encrypted actually wasn't: %n\t%s";
 	static final String ERROR_READING_SMIME_CONTENT_TYPE = "Error reading S/MIME Content-Type header from MimeMessage";
         static final String ERROR_OBTAINING_SMIME_KEY = "Could not find private key in provided PKCS12 keystore";
+        static final String ERROR_SIGNING_SMIME = "Error signing S/MIME message";
         static final String ERROR_ENCRYPTING_SMIME_FOR_RECIPIENTS = "Error encrypting S/MIME message for per-recipient certificates";
+        static final String ERROR_DECRYPTING_SMIME_ATTACHMENTS_INTERRUPTED = "Interrupted while decrypting S/MIME attachments";
 
 	SmimeException(@NotNull final String message) {
 		super(checkNonEmptyArgument(message, "message"));
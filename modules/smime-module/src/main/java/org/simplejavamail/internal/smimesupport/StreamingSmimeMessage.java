@@ -0,0 +1,304 @@
+package org.simplejavamail.internal.smimesupport;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.ContentType;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cms.CMSEnvelopedDataStreamGenerator;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSSignedDataStreamGenerator;
+import org.bouncycastle.cms.RecipientInfoGenerator;
+import org.bouncycastle.cms.SignerInfoGenerator;
+import org.bouncycastle.mail.smime.SMIMESignedGenerator;
+import org.bouncycastle.operator.OutputEncryptor;
+import org.bouncycastle.util.Store;
+import org.bouncycastle.util.io.TeeOutputStream;
+import org.eclipse.angus.mail.smtp.SMTPMessage;
+import org.eclipse.angus.mail.util.CRLFOutputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.simplejavamail.internal.util.MessageSpool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.UUID;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.simplejavamail.internal.util.MiscUtil.valueNullOrEmpty;
+
+/**
+ * An S/MIME signed or encrypted message that is written only once, into a {@link MessageSpool}, while BouncyCastle's streaming CMS generators compute
+ * the detached signature or encrypt the content along the way. The message is parsed back from the spool by reference, so its content is read from
+ * the spool when sent and is never held on the heap, unlike the messages produced by {@link org.simplejavamail.utils.mail.smime.SmimeUtil}.
+ * <p>
+ * The spooled content is written as is, byte for byte, because a signature covers the exact bytes of the signed content. If the content is replaced
+ * after spooling, the message is written the regular way instead.
+ */
+public class StreamingSmimeMessage extends SMTPMessage {
+
+	private static final String SIGNATURE_PROTOCOL = "application/pkcs7-signature";
+	private static final String CONTENT_HEADER_PREFIX = "Content-";
+
+	@Nullable private final String messageId;
+	private boolean contentReplaced;
+
+	private StreamingSmimeMessage(@Nullable final Session session, @NotNull final InputStream spooledMessage, @Nullable final String messageId)
+			throws MessagingException {
+		super(session, spooledMessage);
+		this.messageId = messageId;
+	}
+
+	/**
+	 * Writes the given message into a spool as a multipart/signed message (RFC 8551 section 3.5), signing its content on the way, and parses it back.
+	 *
+	 * @param heapThreshold See {@link org.simplejavamail.api.email.config.SmimeSigningConfig#getStreamingSpoolThreshold()}.
+	 */
+	@NotNull
+	static StreamingSmimeMessage sign(@Nullable final Session session, @NotNull final MimeMessage messageToSign, @NotNull final SignerInfoGenerator signerInfoGenerator,
+			@NotNull final Store<X509CertificateHolder> certificates, @Nullable final String messageId, final int heapThreshold)
+			throws MessagingException, IOException, CMSException {
+		final CMSSignedDataStreamGenerator generator = new CMSSignedDataStreamGenerator();
+		generator.addSignerInfoGenerator(signerInfoGenerator);
+		generator.addCertificates(certificates);
+
+		final String boundary = "----=_Part_" + UUID.randomUUID();
+		final ContentType contentType = new ContentType("multipart", "signed", null);
+		contentType.setParameter("protocol", SIGNATURE_PROTOCOL);
+		contentType.setParameter("micalg", determineMicalg(signerInfoGenerator));
+		contentType.setParameter("boundary", boundary);
+
+		final MessageSpool spool = new MessageSpool(heapThreshold);
+		try {
+			writeNonContentHeaders(messageToSign, spool);
+			writeln(spool, "Content-Type: " + contentType);
+			writeln(spool, "");
+			writeln(spool, "--" + boundary);
+
+			final ByteArrayOutputStream signature = new ByteArrayOutputStream();
+			final OutputStream signingStream = generator.open(signature, false);
+			writeContentEntity(messageToSign, new CRLFOutputStream(new TeeOutputStream(spool, signingStream)));
+			signingStream.close();
+
+			// the line break before a boundary belongs to the boundary, so it is not part of the signed content
+			writeln(spool, "");
+			writeln(spool, "--" + boundary);
+			writeln(spool, "Content-Type: " + SIGNATURE_PROTOCOL + "; name=smime.p7s; smime-type=signed-data");
+			writeln(spool, "Content-Transfer-Encoding: base64");
+			writeln(spool, "Content-Disposition: attachment; filename=\"smime.p7s\"");
+			writeln(spool, "Content-Description: S/MIME Cryptographic Signature");
+			writeln(spool, "");
+			writeln(spool, Base64.getMimeEncoder().encodeToString(signature.toByteArray()));
+			writeln(spool, "--" + boundary + "--");
+			spool.close();
+			return new StreamingSmimeMessage(session, spool.newSharedInputStream(), messageId);
+		} catch (MessagingException | IOException | CMSException | RuntimeException e) {
+			spool.discard();
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the given message into a spool as an application/pkcs7-mime enveloped-data message (RFC 8551 section 3.3), encrypting and Base64
+	 * encoding its content on the way, and parses it back.
+	 *
+	 * @param heapThreshold See {@link org.simplejavamail.api.email.config.SmimeEncryptionConfig#getStreamingSpoolThreshold()}.
+	 */
+	@NotNull
+	static StreamingSmimeMessage encrypt(@Nullable final Session session, @NotNull final MimeMessage messageToEncrypt,
+			@NotNull final Collection<? extends RecipientInfoGenerator> recipientInfoGenerators, @NotNull final OutputEncryptor encryptor,
+			@Nullable final String messageId, final int heapThreshold)
+			throws MessagingException, IOException, CMSException {
+		final CMSEnvelopedDataStreamGenerator generator = new CMSEnvelopedDataStreamGenerator();
+		for (final RecipientInfoGenerator recipientInfoGenerator : recipientInfoGenerators) {
+			generator.addRecipientInfoGenerator(recipientInfoGenerator);
+		}
+
+		final MessageSpool spool = new MessageSpool(heapThreshold);
+		try {
+			writeNonContentHeaders(messageToEncrypt, spool);
+			writeln(spool, "Content-Type: application/pkcs7-mime; name=\"smime.p7m\"; smime-type=enveloped-data");
+			writeln(spool, "Content-Transfer-Encoding: base64");
+			writeln(spool, "Content-Disposition: attachment; filename=\"smime.p7m\"");
+			writeln(spool, "Content-Description: S/MIME Encrypted Message");
+			writeln(spool, "");
+
+			final OutputStream base64Stream = Base64.getMimeEncoder().wrap(new NonClosingOutputStream(spool));
+			final OutputStream encryptingStream = generator.open(base64Stream, encryptor);
+			writeContentEntity(messageToEncrypt, new CRLFOutputStream(encryptingStream));
+			encryptingStream.close();
+			base64Stream.close();
+
+			writeln(spool, "");
+			spool.close();
+			return new StreamingSmimeMessage(session, spool.newSharedInputStream(), messageId);
+		} catch (MessagingException | IOException | CMSException | RuntimeException e) {
+			spool.discard();
+			throw e;
+		}
+	}
+
+	@NotNull
+	private static String determineMicalg(@NotNull final SignerInfoGenerator signerInfoGenerator) {
+		final Object micalg = SMIMESignedGenerator.STANDARD_MICALGS.get(signerInfoGenerator.getDigestAlgorithm().getAlgorithm());
+		return micalg != null ? (String) micalg : "unknown";
+	}
+
+	/**
+	 * The header fields that describe the content move into the content entity that is signed or encrypted, the others stay on the message.
+	 */
+	private static void writeNonContentHeaders(@NotNull final MimeMessage message, @NotNull final OutputStream os)
+			throws MessagingException, IOException {
+		for (final Enumeration<String> headerLines = message.getAllHeaderLines(); headerLines.hasMoreElements(); ) {
+			final String headerLine = headerLines.nextElement();
+			if (!isContentHeader(headerLine)) {
+				writeln(os, headerLine);
+			}
+		}
+	}
+
+	/**
+	 * Writes the content of the given message as a MIME entity: the header fields describing the content, followed by the encoded content.
+	 */
+	private static void writeContentEntity(@NotNull final MimeMessage message, @NotNull final OutputStream os)
+			throws MessagingException, IOException {
+		if (message instanceof StreamingSmimeMessage && ((StreamingSmimeMessage) message).isSpooledContentUntouched()) {
+			// copied verbatim, so a signature in the spooled content stays valid
+			final StreamingSmimeMessage spooledMessage = (StreamingSmimeMessage) message;
+			for (final Enumeration<String> headerLines = spooledMessage.getAllHeaderLines(); headerLines.hasMoreElements(); ) {
+				final String headerLine = headerLines.nextElement();
+				if (isContentHeader(headerLine)) {
+					writeln(os, headerLine);
+				}
+			}
+			writeln(os, "");
+			spooledMessage.writeSpooledContent(os);
+		} else {
+			new ContentEntity(message.getDataHandler()).writeTo(os);
+		}
+		os.flush();
+	}
+
+	private static boolean isContentHeader(@NotNull final String headerLine) {
+		return headerLine.regionMatches(true, 0, CONTENT_HEADER_PREFIX, 0, CONTENT_HEADER_PREFIX.length());
+	}
+
+	private boolean isSpooledContentUntouched() {
+		return !contentReplaced && contentStream != null;
+	}
+
+	@Override
+	protected void updateMessageID() throws MessagingException {
+		if (valueNullOrEmpty(messageId)) {
+			super.updateMessageID();
+		} else {
+			setHeader("Message-ID", messageId);
+		}
+	}
+
+	/**
+	 * Leaves the header fields of the spooled content alone, which the regular implementation would parse the whole content for.
+	 */
+	@Override
+	protected synchronized void updateHeaders() throws MessagingException {
+		if (!isSpooledContentUntouched()) {
+			super.updateHeaders();
+			return;
+		}
+		setHeader("MIME-Version", "1.0");
+		if (getHeader("Date") == null) {
+			setSentDate(new Date());
+		}
+		updateMessageID();
+	}
+
+	@Override
+	public synchronized void setDataHandler(final DataHandler dh) throws MessagingException {
+		super.setDataHandler(dh);
+		contentReplaced = true;
+	}
+
+	/**
+	 * Writes the headers, followed by the spooled content.
+	 */
+	@Override
+	public void writeTo(final OutputStream os, final String[] ignoreList) throws IOException, MessagingException {
+		if (!saved) {
+			saveChanges();
+		}
+		if (!isSpooledContentUntouched()) {
+			super.writeTo(os, ignoreList);
+			return;
+		}
+		for (final Enumeration<String> headerLines = getNonMatchingHeaderLines(ignoreList); headerLines.hasMoreElements(); ) {
+			writeln(os, headerLines.nextElement());
+		}
+		writeln(os, "");
+		writeSpooledContent(os);
+		os.flush();
+	}
+
+	private void writeSpooledContent(@NotNull final OutputStream os) throws IOException, MessagingException {
+		try (InputStream spooledContent = getContentStream()) {
+			final byte[] buffer = new byte[8192];
+			for (int read; (read = spooledContent.read(buffer)) != -1; ) {
+				os.write(buffer, 0, read);
+			}
+		}
+	}
+
+	private static void writeln(@NotNull final OutputStream os, @NotNull final String line) throws IOException {
+		os.write(line.getBytes(UTF_8));
+		os.write('\r');
+		os.write('\n');
+	}
+
+	@Override
+	public String toString() {
+		try {
+			return format("StreamingSmimeMessage<id:%s, subject:%s>", super.getMessageID(), super.getSubject());
+		} catch (MessagingException e) {
+			throw new IllegalStateException("should not reach here");
+		}
+	}
+
+	/**
+	 * The content of a message as a body part of its own, with the Content-Type and Content-Transfer-Encoding header fields determined the same
+	 * way as for the message.
+	 */
+	private static final class ContentEntity extends MimeBodyPart {
+		private ContentEntity(@NotNull final DataHandler content) throws MessagingException {
+			setDataHandler(content);
+			updateHeaders();
+		}
+	}
+
+	/**
+	 * Lets the Base64 encoder finish its last line without closing the spool.
+	 */
+	private static final class NonClosingOutputStream extends FilterOutputStream {
+		private NonClosingOutputStream(@NotNull final OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+}
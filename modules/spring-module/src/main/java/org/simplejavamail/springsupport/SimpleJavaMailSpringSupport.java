@@ -88,6 +88,12 @@ import java.util.Properties;
  * <li>simplejavamail.defaults.trustedhosts</li>
  * <li>simplejavamail.defaults.verifyserveridentity</li>
  * <li>simplejavamail.transport.mode.logging.only</li>
+ * <li>simplejavamail.smtp.pipelining</li>
+ * <li>simplejavamail.renderedmessagecache.size</li>
+ * <li>simplejavamail.renderedmessagecache.heapbudget</li>
+ * <li>simplejavamail.defaults.virtualthreads</li>
+ * <li>simplejavamail.defaults.poolsize.queuecapacity</li>
+ * <li>simplejavamail.defaults.poolsize.rejectionpolicy</li>
  * <li>simplejavamail.opportunistic.tls</li>
  * <li>simplejavamail.smime.signing.keystore</li>
  * <li>simplejavamail.smime.signing.keystore_password</li>
@@ -100,6 +106,9 @@ import java.util.Properties;
  * <li>simplejavamail.smime.signing.algorithm</li>
  * <li>simplejavamail.smime.encryption.key_encapsulation_algorithm</li>
  * <li>simplejavamail.smime.encryption.cipher</li>
+ * <li>simplejavamail.smime.signing.streaming_spool_threshold</li>
+ * <li>simplejavamail.smime.encryption.streaming_spool_threshold</li>
+ * <li>simplejavamail.smime.decryption.parallelism</li>
  * <li>simplejavamail.dkim.signing.private_key_file_or_data</li>
  * <li>simplejavamail.dkim.signing.private-key-file-or-data</li>
  * <li>simplejavamail.dkim.signing.selector</li>
@@ -111,6 +120,7 @@ import java.util.Properties;
  * <li>simplejavamail.dkim.signing.header_canonicalization</li>
  * <li>simplejavamail.dkim.signing.body_canonicalization</li>
  * <li>simplejavamail.dkim.signing.algorithm</li>
+ * <li>simplejavamail.dkim.signing.streaming_spool_threshold</li>
  * <li>simplejavamail.embeddedimages.dynamicresolution.enable.dir</li>
  * <li>simplejavamail.embeddedimages.dynamicresolution.enable.url</li>
  * <li>simplejavamail.embeddedimages.dynamicresolution.enable.classpath</li>
@@ -211,6 +221,12 @@ public class SimpleJavaMailSpringSupport {
 				@Nullable @Value("${simplejavamail.defaults.trustedhosts:#{null}}") final String defaultTrustedHosts,
 				@Nullable @Value("${simplejavamail.defaults.verifyserveridentity:#{null}}") final String defaultVerifyServerIdentity,
 				@Nullable @Value("${simplejavamail.transport.mode.logging.only:#{null}}") final String transportModeLoggingOnly,
+				@Nullable @Value("${simplejavamail.smtp.pipelining:#{null}}") final String smtpPipelining,
+				@Nullable @Value("${simplejavamail.renderedmessagecache.size:#{null}}") final String renderedMessageCacheSize,
+				@Nullable @Value("${simplejavamail.renderedmessagecache.heapbudget:#{null}}") final String renderedMessageCacheHeapBudget,
+				@Nullable @Value("${simplejavamail.defaults.virtualthreads:#{null}}") final String virtualThreads,
+				@Nullable @Value("${simplejavamail.defaults.poolsize.queuecapacity:#{null}}") final String threadPoolQueueCapacity,
+				@Nullable @Value("${simplejavamail.defaults.poolsize.rejectionpolicy:#{null}}") final String threadPoolRejectionPolicy,
 				@Nullable @Value("${simplejavamail.opportunistic.tls:#{null}}") final String opportunisticTls,
 				@Nullable @Value("${simplejavamail.smime.signing.keystore:#{null}}") final String smimeSigningKeyStore,
 				@Nullable @Value("${simplejavamail.smime.signing.keystore_password:#{null}}") final String smimeSigningKeyStorePassword,
@@ -223,6 +239,9 @@ public class SimpleJavaMailSpringSupport {
 				@Nullable @Value("${simplejavamail.smime.signing.algorithm:#{null}}") final String smimeSigningAlgorithm,
 				@Nullable @Value("${simplejavamail.smime.encryption.key_encapsulation_algorithm:#{null}}") final String smimeEncryptionKeyEncapsulationAlgorithm,
 				@Nullable @Value("${simplejavamail.smime.encryption.cipher:#{null}}") final String smimeEncryptionCipher,
+				@Nullable @Value("${simplejavamail.smime.signing.streaming_spool_threshold:#{null}}") final String smimeSigningStreamingSpoolThreshold,
+				@Nullable @Value("${simplejavamail.smime.encryption.streaming_spool_threshold:#{null}}") final String smimeEncryptionStreamingSpoolThreshold,
+				@Nullable @Value("${simplejavamail.smime.decryption.parallelism:#{null}}") final String smimeDecryptionParallelism,
 				@Nullable @Value("${simplejavamail.dkim.signing.private_key_file_or_data:#{null}}") final String dkimSigningPrivateKeyFileOrData,
 				@Nullable @Value("${simplejavamail.dkim.signing.private-key-file-or-data:#{null}}") final String dkimSigningPrivateKeyFileOrDataSpringBoot,
 				@Nullable @Value("${simplejavamail.dkim.signing.selector:#{null}}") final String dkimSigningSelector,
@@ -234,6 +253,7 @@ public class SimpleJavaMailSpringSupport {
 				@Nullable @Value("${simplejavamail.dkim.signing.header_canonicalization:#{null}}") final String dkimSigningHeaderCanonicalization,
 				@Nullable @Value("${simplejavamail.dkim.signing.body_canonicalization:#{null}}") final String dkimSigningBodyCanonicalization,
 				@Nullable @Value("${simplejavamail.dkim.signing.algorithm:#{null}}") final String dkimSigningAlgorithm,
+				@Nullable @Value("${simplejavamail.dkim.signing.streaming_spool_threshold:#{null}}") final String dkimSigningStreamingSpoolThreshold,
 				@Nullable @Value("${simplejavamail.embeddedimages.dynamicresolution.enable.dir:#{null}}") final String embeddedimagesDynamicresolutionEnableDir,
 				@Nullable @Value("${simplejavamail.embeddedimages.dynamicresolution.enable.url:#{null}}") final String embeddedimagesDynamicresolutionEnableUrl,
 				@Nullable @Value("${simplejavamail.embeddedimages.dynamicresolution.enable.classpath:#{null}}") final String embeddedimagesDynamicresolutionEnableClassPath,
@@ -306,6 +326,12 @@ public class SimpleJavaMailSpringSupport {
 		setNullableProperty(emailProperties, Property.DEFAULT_TRUSTED_HOSTS.key(), defaultTrustedHosts);
 		setNullableProperty(emailProperties, Property.DEFAULT_VERIFY_SERVER_IDENTITY.key(), defaultVerifyServerIdentity);
 		setNullableProperty(emailProperties, Property.TRANSPORT_MODE_LOGGING_ONLY.key(), transportModeLoggingOnly);
+		setNullableProperty(emailProperties, Property.SMTP_PIPELINING.key(), smtpPipelining);
+		setNullableProperty(emailProperties, Property.RENDERED_MESSAGE_CACHE_SIZE.key(), renderedMessageCacheSize);
+		setNullableProperty(emailProperties, Property.RENDERED_MESSAGE_CACHE_HEAP_BUDGET.key(), renderedMessageCacheHeapBudget);
+		setNullableProperty(emailProperties, Property.DEFAULT_VIRTUAL_THREADS.key(), virtualThreads);
+		setNullableProperty(emailProperties, Property.DEFAULT_POOL_QUEUE_CAPACITY.key(), threadPoolQueueCapacity);
+		setNullableProperty(emailProperties, Property.DEFAULT_POOL_REJECTION_POLICY.key(), threadPoolRejectionPolicy);
 		setNullableProperty(emailProperties, Property.OPPORTUNISTIC_TLS.key(), opportunisticTls);
 		setNullableProperty(emailProperties, Property.SMIME_SIGNING_KEYSTORE.key(), smimeSigningKeyStore);
 		if (smimeSigningKeyStorePassword != null) {
@@ -327,6 +353,9 @@ public class SimpleJavaMailSpringSupport {
 		setNullableProperty(emailProperties, Property.SMIME_ENCRYPTION_KEY_ENCAPSULATION_ALGORITHM.key(), smimeEncryptionKeyEncapsulationAlgorithm);
 		setNullableProperty(emailProperties, Property.SMIME_ENCRYPTION_CIPHER.key(), smimeEncryptionCipher);
 		setNullableProperty(emailProperties, Property.SMIME_ENCRYPTION_CERTIFICATE.key(), smimeEncryptionCertificate);
+		setNullableProperty(emailProperties, Property.SMIME_SIGNING_STREAMING_SPOOL_THRESHOLD.key(), smimeSigningStreamingSpoolThreshold);
+		setNullableProperty(emailProperties, Property.SMIME_ENCRYPTION_STREAMING_SPOOL_THRESHOLD.key(), smimeEncryptionStreamingSpoolThreshold);
+		setNullableProperty(emailProperties, Property.SMIME_DECRYPTION_PARALLELISM.key(), smimeDecryptionParallelism);
 		if (dkimSigningPrivateKeyFileOrData != null) {
 			setNullableProperty(emailProperties, Property.DKIM_PRIVATE_KEY_FILE_OR_DATA.key(), dkimSigningPrivateKeyFileOrData);
 		} else {
@@ -347,6 +376,7 @@ public class SimpleJavaMailSpringSupport {
 		setNullableProperty(emailProperties, Property.DKIM_SIGNING_HEADER_CANONICALIZATION.key(), dkimSigningHeaderCanonicalization);
 		setNullableProperty(emailProperties, Property.DKIM_SIGNING_BODY_CANONICALIZATION.key(), dkimSigningBodyCanonicalization);
 		setNullableProperty(emailProperties, Property.DKIM_SIGNING_ALGORITHM.key(), dkimSigningAlgorithm);
+		setNullableProperty(emailProperties, Property.DKIM_SIGNING_STREAMING_SPOOL_THRESHOLD.key(), dkimSigningStreamingSpoolThreshold);
 		setNullableProperty(emailProperties, Property.EMBEDDEDIMAGES_DYNAMICRESOLUTION_ENABLE_DIR.key(), embeddedimagesDynamicresolutionEnableDir);
 		setNullableProperty(emailProperties, Property.EMBEDDEDIMAGES_DYNAMICRESOLUTION_ENABLE_CLASSPATH.key(), embeddedimagesDynamicresolutionEnableClassPath);
 		setNullableProperty(emailProperties, Property.EMBEDDEDIMAGES_DYNAMICRESOLUTION_ENABLE_URL.key(), embeddedimagesDynamicresolutionEnableUrl);